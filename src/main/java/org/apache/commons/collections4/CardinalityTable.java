@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Counts the occurrences of the elements of up to two iterables in primitive {@code int} columns.
+ * <p>
+ * The distinct elements are kept in an array in order of first occurrence, next to
+ * their hash codes and one count array per iterable. An open-addressed table of
+ * {@code int} indexes into these arrays finds an element with a single probe sequence,
+ * so counting an element neither boxes an {@link Integer} nor looks the element up twice,
+ * as a {@code Map<O, Integer>} does.
+ * </p>
+ * <p>
+ * Package private, used by the {@link CollectionUtils} cardinality operations.
+ * </p>
+ *
+ * @param <O> the element type.
+ * @since 4.6.1
+ */
+final class CardinalityTable<O> {
+
+    /** Stands for the null element in the keys array. */
+    private static final Object NULL = new Object();
+
+    /** The smallest capacity of the index table. */
+    private static final int MIN_CAPACITY = 16;
+
+    /** The largest number of distinct elements presized for from the reported sizes, past which the table grows. */
+    private static final int MAX_PRESIZE = 1 << 20;
+
+    private static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ h >>> 16;
+    }
+
+    private static int tableSizeFor(final int expected) {
+        final int wanted = Math.max(MIN_CAPACITY, expected) * 2;
+        final int capacity = Integer.highestOneBit(wanted - 1) << 1;
+        return capacity > 0 ? capacity : 1 << 30;
+    }
+
+    /** The distinct elements, in order of first occurrence, with null replaced by {@link #NULL}. */
+    private Object[] keys;
+
+    /** The spread hash codes of the keys. */
+    private int[] hashes;
+
+    /** The counts of the keys in the first column. */
+    private int[] countsA;
+
+    /** The counts of the keys in the second column. */
+    private int[] countsB;
+
+    /** The open-addressed index table, holding an index into the keys plus one, or zero for an empty slot. */
+    private int[] slots;
+
+    /** The number of distinct keys. */
+    private int size;
+
+    /**
+     * Creates a table expecting about the given number of distinct elements.
+     *
+     * @param expected The expected number of distinct elements.
+     */
+    CardinalityTable(final int expected) {
+        final int capacity = tableSizeFor(expected);
+        slots = new int[capacity];
+        final int length = capacity >> 1;
+        keys = new Object[length];
+        hashes = new int[length];
+        countsA = new int[length];
+        countsB = new int[length];
+    }
+
+    /**
+     * Creates a table counting the elements of the two iterables in the first and second column.
+     * <p>
+     * The table starts with room for the distinct elements of the larger iterable, which the
+     * distinct elements of both number at least, and grows if the other one adds more. The sizes
+     * reported by the iterables are only trusted up to {@link #MAX_PRESIZE}, so that a collection
+     * claiming more elements than it holds does not allocate a huge table.
+     * </p>
+     *
+     * @param a The iterable counted in the first column.
+     * @param b The iterable counted in the second column.
+     */
+    CardinalityTable(final Iterable<? extends O> a, final Iterable<? extends O> b) {
+        this(Math.min(Math.max(distinctSize(a), distinctSize(b)), MAX_PRESIZE));
+        for (final O element : a) {
+            addA(element);
+        }
+        for (final O element : b) {
+            // insert may grow the arrays, so it must run before countsB is read
+            final int index = insert(element);
+            countsB[index]++;
+        }
+    }
+
+    /**
+     * Estimates the number of distinct elements of an iterable: exactly for a set or a multiset, by the number of
+     * elements, which bounds it, for another collection.
+     *
+     * @param iterable The iterable.
+     * @return The estimated number of distinct elements.
+     */
+    private static int distinctSize(final Iterable<?> iterable) {
+        if (iterable instanceof MultiSet<?>) {
+            return ((MultiSet<?>) iterable).uniqueSet().size();
+        }
+        return iterable instanceof Collection<?> ? ((Collection<?>) iterable).size() : MIN_CAPACITY;
+    }
+
+    /**
+     * Increments the count of an element in the first column.
+     *
+     * @param element The element, may be null.
+     */
+    void addA(final Object element) {
+        final int index = insert(element);
+        countsA[index]++;
+    }
+
+    /**
+     * Gets the count of the key at an index in the first column.
+     *
+     * @param index The index of the key.
+     * @return The count.
+     */
+    int countA(final int index) {
+        return countsA[index];
+    }
+
+    /**
+     * Gets the count of the key at an index in the second column.
+     *
+     * @param index The index of the key.
+     * @return The count.
+     */
+    int countB(final int index) {
+        return countsB[index];
+    }
+
+    /**
+     * Decrements the count of an element in the first column, unless it is zero.
+     *
+     * @param element The element, may be null.
+     * @return false if the count was zero.
+     */
+    boolean decrementA(final Object element) {
+        final int index = indexOf(element);
+        if (index < 0 || countsA[index] == 0) {
+            return false;
+        }
+        countsA[index]--;
+        return true;
+    }
+
+    /**
+     * Gets the index of an element.
+     *
+     * @param element The element, may be null.
+     * @return The index of the element, or -1 if it has not been counted.
+     */
+    int indexOf(final Object element) {
+        final Object key = element == null ? NULL : element;
+        final int hash = hash(key);
+        final int mask = slots.length - 1;
+        for (int slot = hash & mask;; slot = slot + 1 & mask) {
+            final int entry = slots[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            final int index = entry - 1;
+            if (hashes[index] == hash && key.equals(keys[index])) {
+                return index;
+            }
+        }
+    }
+
+    /**
+     * Gets the index of an element, adding it with zero counts if absent.
+     *
+     * @param element The element, may be null.
+     * @return The index of the element.
+     */
+    private int insert(final Object element) {
+        final Object key = element == null ? NULL : element;
+        final int hash = hash(key);
+        final int mask = slots.length - 1;
+        int slot = hash & mask;
+        for (int entry = slots[slot]; entry != 0; entry = slots[slot]) {
+            final int index = entry - 1;
+            if (hashes[index] == hash && key.equals(keys[index])) {
+                return index;
+            }
+            slot = slot + 1 & mask;
+        }
+        if (size == keys.length) {
+            grow();
+            return insert(element);
+        }
+        final int index = size++;
+        keys[index] = key;
+        hashes[index] = hash;
+        slots[slot] = index + 1;
+        return index;
+    }
+
+    /**
+     * Doubles the index table and the key arrays, keeping the load of the index table at one half at most.
+     */
+    private void grow() {
+        final int capacity = slots.length << 1;
+        final int length = capacity >> 1;
+        keys = Arrays.copyOf(keys, length);
+        hashes = Arrays.copyOf(hashes, length);
+        countsA = Arrays.copyOf(countsA, length);
+        countsB = Arrays.copyOf(countsB, length);
+        slots = new int[capacity];
+        final int mask = capacity - 1;
+        for (int index = 0; index < size; index++) {
+            int slot = hashes[index] & mask;
+            while (slots[slot] != 0) {
+                slot = slot + 1 & mask;
+            }
+            slots[slot] = index + 1;
+        }
+    }
+
+    /**
+     * Gets the key at an index.
+     *
+     * @param index The index of the key.
+     * @return The key, may be null.
+     */
+    @SuppressWarnings("unchecked")
+    O key(final int index) {
+        final Object key = keys[index];
+        return key == NULL ? null : (O) key;
+    }
+
+    /**
+     * Gets the number of distinct elements counted.
+     *
+     * @return The number of distinct elements.
+     */
+    int size() {
+        return size;
+    }
+
+}
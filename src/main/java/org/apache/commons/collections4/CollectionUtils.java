@@ -17,7 +17,9 @@
 package org.apache.commons.collections4;
 
 import java.lang.reflect.Array;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -30,6 +32,9 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.UUID;
+import java.util.function.IntBinaryOperator;
 
 import org.apache.commons.collections4.collection.PredicatedCollection;
 import org.apache.commons.collections4.collection.SynchronizedCollection;
@@ -39,7 +44,6 @@ import org.apache.commons.collections4.collection.UnmodifiableCollection;
 import org.apache.commons.collections4.functors.TruePredicate;
 import org.apache.commons.collections4.iterators.CollatingIterator;
 import org.apache.commons.collections4.iterators.PermutationIterator;
-import org.apache.commons.collections4.multiset.HashMultiSet;
 
 /**
  * Provides utility methods and decorators for {@link Collection} instances.
@@ -55,79 +59,6 @@ import org.apache.commons.collections4.multiset.HashMultiSet;
  */
 public class CollectionUtils {
 
-    /**
-     * Helper class to easily access cardinality properties of two collections.
-     *
-     * @param <O> the element type.
-     */
-    private static class CardinalityHelper<O> {
-
-        static boolean equals(final Collection<?> a, final Collection<?> b) {
-            return new HashMultiSet<>(a).equals(new HashMultiSet<>(b));
-        }
-
-        /** Contains the cardinality for each object in collection A. */
-        final MultiSet<O> cardinalityA;
-
-        /** Contains the cardinality for each object in collection B. */
-        final MultiSet<O> cardinalityB;
-
-        /**
-         * Creates a new CardinalityHelper for two collections.
-         *
-         * @param a The first collection.
-         * @param b The second collection.
-         */
-        CardinalityHelper(final Iterable<? extends O> a, final Iterable<? extends O> b) {
-            cardinalityA = new HashMultiSet<>(a);
-            cardinalityB = new HashMultiSet<>(b);
-        }
-
-        /**
-         * Gets the frequency of this object in collection A.
-         *
-         * @param key The key whose associated frequency is to be returned.
-         * @return The frequency of the object in collection A.
-         */
-        public int freqA(final Object key) {
-            return getFreq(key, cardinalityA);
-        }
-
-        /**
-         * Gets the frequency of this object in collection B.
-         *
-         * @param key The key whose associated frequency is to be returned.
-         * @return The frequency of the object in collection B.
-         */
-        public int freqB(final Object key) {
-            return getFreq(key, cardinalityB);
-        }
-
-        private int getFreq(final Object key, final MultiSet<?> freqMap) {
-            return freqMap.getCount(key);
-        }
-
-        /**
-         * Gets the maximum frequency of an object.
-         *
-         * @param obj The object.
-         * @return The maximum frequency of the object.
-         */
-        public final int max(final Object obj) {
-            return Math.max(freqA(obj), freqB(obj));
-        }
-
-        /**
-         * Gets the minimum frequency of an object.
-         *
-         * @param obj The object.
-         * @return The minimum frequency of the object.
-         */
-        public final int min(final Object obj) {
-            return Math.min(freqA(obj), freqB(obj));
-        }
-    }
-
     /**
      * Wraps another object and uses the provided Equator to implement {@link #equals(Object)} and {@link #hashCode()}.
      * <p>
@@ -168,61 +99,6 @@ public class CollectionUtils {
         }
     }
 
-    /**
-     * Helper class for set-related operations, for example union, subtract, intersection.
-     *
-     * @param <O> the element type.
-     */
-    private static final class SetOperationCardinalityHelper<O> extends CardinalityHelper<O> implements Iterable<O> {
-
-        /** Contains the unique elements of the two collections. */
-        private final Set<O> elements;
-
-        /** Output collection. */
-        private final List<O> newList;
-
-        /**
-         * Create a new set operation helper from the two collections.
-         *
-         * @param a The first collection.
-         * @param b The second collection.
-         */
-        SetOperationCardinalityHelper(final Iterable<? extends O> a, final Iterable<? extends O> b) {
-            super(a, b);
-            elements = new HashSet<>();
-            addAll(elements, a);
-            addAll(elements, b);
-            // the resulting list must contain at least each unique element, but may grow
-            newList = new ArrayList<>(elements.size());
-        }
-
-        @Override
-        public Iterator<O> iterator() {
-            return elements.iterator();
-        }
-
-        /**
-         * Returns the resulting collection.
-         *
-         * @return The result.
-         */
-        public Collection<O> list() {
-            return newList;
-        }
-
-        /**
-         * Add the object {@code count} times to the result collection.
-         *
-         * @param obj   The object to add.
-         * @param count The count.
-         */
-        public void setCardinality(final O obj, final int count) {
-            for (int i = 0; i < count; i++) {
-                newList.add(obj);
-            }
-        }
-    }
-
     /**
      * The index value when an element is not found in a collection or array: {@code -1}.
      *
@@ -265,6 +141,14 @@ public class CollectionUtils {
     @SuppressWarnings("rawtypes") // we deliberately use the raw type here
     public static final Collection EMPTY_COLLECTION = Collections.emptyList();
 
+    /**
+     * The classes whose natural ordering is consistent with {@code equals}, so that two sorted sets of them with the
+     * natural ordering can be merged without changing the result of counting with {@code equals} and {@code hashCode}.
+     */
+    private static final Set<Class<?>> NATURAL_ORDER_CONSISTENT_WITH_EQUALS = new HashSet<>(Arrays.asList(String.class,
+            Integer.class, Long.class, Short.class, Byte.class, Character.class, Boolean.class, Double.class, Float.class,
+            BigInteger.class, UUID.class));
+
     /**
      * Adds all elements in the array to the given collection.
      *
@@ -716,11 +600,7 @@ public class CollectionUtils {
     public static <O> Collection<O> disjunction(final Iterable<? extends O> a, final Iterable<? extends O> b) {
         Objects.requireNonNull(a, "a");
         Objects.requireNonNull(b, "b");
-        final SetOperationCardinalityHelper<O> helper = new SetOperationCardinalityHelper<>(a, b);
-        for (final O obj : helper) {
-            helper.setCardinality(obj, helper.max(obj) - helper.min(obj));
-        }
-        return helper.list();
+        return setOperation(a, b, (countA, countB) -> Math.abs(countA - countB));
     }
 
     /**
@@ -1051,14 +931,14 @@ public class CollectionUtils {
      */
     public static <O> Map<O, Integer> getCardinalityMap(final Iterable<? extends O> coll) {
         Objects.requireNonNull(coll, "coll");
-        final Map<O, Integer> count = new HashMap<>();
+        final CardinalityTable<O> table = new CardinalityTable<>(0);
         for (final O obj : coll) {
-            final Integer c = count.get(obj);
-            if (c == null) {
-                count.put(obj, Integer.valueOf(1));
-            } else {
-                count.put(obj, Integer.valueOf(c.intValue() + 1));
-            }
+            table.addA(obj);
+        }
+        // box each count once, rather than once per occurrence
+        final Map<O, Integer> count = new HashMap<>(table.size() * 4 / 3 + 1);
+        for (int i = 0; i < table.size(); i++) {
+            count.put(table.key(i), Integer.valueOf(table.countA(i)));
         }
         return count;
     }
@@ -1106,11 +986,7 @@ public class CollectionUtils {
     public static <O> Collection<O> intersection(final Iterable<? extends O> a, final Iterable<? extends O> b) {
         Objects.requireNonNull(a, "a");
         Objects.requireNonNull(b, "b");
-        final SetOperationCardinalityHelper<O> helper = new SetOperationCardinalityHelper<>(a, b);
-        for (final O obj : helper) {
-            helper.setCardinality(obj, helper.min(obj));
-        }
-        return helper.list();
+        return setOperation(a, b, Math::min);
     }
 
     /**
@@ -1140,7 +1016,21 @@ public class CollectionUtils {
      * @throws NullPointerException if either collection is null.
      */
     public static boolean isEqualCollection(final Collection<?> a, final Collection<?> b) {
-        return CardinalityHelper.equals(a, b);
+        Objects.requireNonNull(a, "a");
+        Objects.requireNonNull(b, "b");
+        if (a.size() != b.size()) {
+            return false;
+        }
+        final CardinalityTable<Object> table = new CardinalityTable<>(a.size());
+        for (final Object obj : a) {
+            table.addA(obj);
+        }
+        for (final Object obj : b) {
+            if (!table.decrementA(obj)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -1255,15 +1145,50 @@ public class CollectionUtils {
     public static boolean isSubCollection(final Collection<?> a, final Collection<?> b) {
         Objects.requireNonNull(a, "a");
         Objects.requireNonNull(b, "b");
-        final CardinalityHelper<Object> helper = new CardinalityHelper<>(a, b);
+        final CardinalityTable<Object> table = new CardinalityTable<>(b.size());
+        for (final Object obj : b) {
+            table.addA(obj);
+        }
         for (final Object obj : a) {
-            if (helper.freqA(obj) > helper.freqB(obj)) {
+            if (!table.decrementA(obj)) {
                 return false;
             }
         }
         return true;
     }
 
+    /**
+     * Tests whether an element has a natural ordering consistent with {@code equals}.
+     *
+     * @param element The element.
+     * @return true if comparing the element with its natural ordering agrees with {@code equals}.
+     */
+    private static boolean isConsistentWithEquals(final Object element) {
+        return element != null && (NATURAL_ORDER_CONSISTENT_WITH_EQUALS.contains(element.getClass()) || element instanceof Enum);
+    }
+
+    /**
+     * Tests whether two iterables are sorted sets with the same natural or reversed natural ordering, which a set
+     * operation can merge in one pass.
+     * <p>
+     * Other comparators, such as {@link String#CASE_INSENSITIVE_ORDER}, may find equal two elements that are not
+     * equal, so sorted sets using them are counted with {@code equals} and {@code hashCode} like other iterables.
+     * </p>
+     *
+     * @param a The first iterable.
+     * @param b The second iterable.
+     * @return true if both are sorted sets with the same natural ordering.
+     */
+    private static boolean isMergeable(final Iterable<?> a, final Iterable<?> b) {
+        if (!(a instanceof SortedSet) || !(b instanceof SortedSet)) {
+            return false;
+        }
+        final Comparator<?> comparator = ((SortedSet<?>) a).comparator();
+        return Objects.equals(comparator, ((SortedSet<?>) b).comparator())
+                && (comparator == null || comparator == Comparator.naturalOrder() || comparator == Comparator.reverseOrder()
+                        || comparator == ComparatorUtils.NATURAL_COMPARATOR);
+    }
+
     /**
      * Answers true if a predicate is true for every element of a collection.
      * <p>
@@ -1313,6 +1238,53 @@ public class CollectionUtils {
         }
     }
 
+    /**
+     * Merges two sorted sets with the same natural ordering in one pass, adding each element the number of times the
+     * operator gives for its cardinalities in the two sets, 0 or 1 each.
+     * <p>
+     * The merge gives up on the first element whose natural ordering may not be consistent with {@code equals}, such
+     * as a {@link java.math.BigDecimal}, for which the caller must count the elements instead.
+     * </p>
+     *
+     * @param <O>      the element type.
+     * @param a        The first set.
+     * @param b        The second set.
+     * @param operator Gives the cardinality in the result from the cardinalities in the two sets.
+     * @return The result, in the order of the sets, or null if an element may not be ordered consistently with equals.
+     */
+    @SuppressWarnings("unchecked")
+    private static <O> Collection<O> mergeSorted(final SortedSet<? extends O> a, final SortedSet<? extends O> b,
+            final IntBinaryOperator operator) {
+        final Comparator<Object> comparator = a.comparator() == null ? (Comparator<Object>) ComparatorUtils.NATURAL_COMPARATOR
+                : (Comparator<Object>) a.comparator();
+        final List<O> list = new ArrayList<>(Math.max(a.size(), b.size()));
+        final Iterator<? extends O> itA = a.iterator();
+        final Iterator<? extends O> itB = b.iterator();
+        O nextA = itA.hasNext() ? itA.next() : null;
+        O nextB = itB.hasNext() ? itB.next() : null;
+        boolean hasA = !a.isEmpty();
+        boolean hasB = !b.isEmpty();
+        while (hasA || hasB) {
+            if (hasA && !isConsistentWithEquals(nextA) || hasB && !isConsistentWithEquals(nextB)) {
+                return null;
+            }
+            final int cmp = !hasB ? -1 : !hasA ? 1 : comparator.compare(nextA, nextB);
+            final O element = cmp <= 0 ? nextA : nextB;
+            for (int n = operator.applyAsInt(cmp <= 0 ? 1 : 0, cmp >= 0 ? 1 : 0); n > 0; n--) {
+                list.add(element);
+            }
+            if (cmp <= 0) {
+                hasA = itA.hasNext();
+                nextA = hasA ? itA.next() : null;
+            }
+            if (cmp >= 0) {
+                hasB = itB.hasNext();
+                nextB = hasB ? itB.next() : null;
+            }
+        }
+        return list;
+    }
+
     /**
      * Returns a {@link Collection} of all the permutations of the input collection.
      * <p>
@@ -1683,6 +1655,40 @@ public class CollectionUtils {
         return outputCollection;
     }
 
+    /**
+     * Runs a set operation on the cardinalities of the elements of two iterables.
+     * <p>
+     * Both iterables are counted in one {@link CardinalityTable}, and each distinct element is added to the result the
+     * number of times the operator gives for its cardinalities, in order of first occurrence in <em>a</em>, then
+     * <em>b</em>. Two sorted sets with the same natural ordering, consistent with {@code equals} for their elements,
+     * are merged in one pass instead.
+     * </p>
+     *
+     * @param <O>      the element type.
+     * @param a        The first iterable.
+     * @param b        The second iterable.
+     * @param operator Gives the cardinality in the result from the cardinalities in the two iterables.
+     * @return The result.
+     */
+    private static <O> Collection<O> setOperation(final Iterable<? extends O> a, final Iterable<? extends O> b,
+            final IntBinaryOperator operator) {
+        if (isMergeable(a, b)) {
+            final Collection<O> merged = mergeSorted((SortedSet<? extends O>) a, (SortedSet<? extends O>) b, operator);
+            if (merged != null) {
+                return merged;
+            }
+        }
+        final CardinalityTable<O> table = new CardinalityTable<>(a, b);
+        final List<O> list = new ArrayList<>(table.size());
+        for (int i = 0; i < table.size(); i++) {
+            final O element = table.key(i);
+            for (int n = operator.applyAsInt(table.countA(i), table.countB(i)); n > 0; n--) {
+                list.add(element);
+            }
+        }
+        return list;
+    }
+
     /**
      * Gets the size of the collection/iterator specified.
      * <p>
@@ -1794,6 +1800,13 @@ public class CollectionUtils {
      * @see Collection#removeAll
      */
     public static <O> Collection<O> subtract(final Iterable<? extends O> a, final Iterable<? extends O> b) {
+        if (isMergeable(a, b)) {
+            final Collection<O> merged = mergeSorted((SortedSet<? extends O>) a, (SortedSet<? extends O>) b,
+                    (countA, countB) -> countA - countB);
+            if (merged != null) {
+                return merged;
+            }
+        }
         final Predicate<O> p = TruePredicate.truePredicate();
         return subtract(a, b, p);
     }
@@ -1824,14 +1837,14 @@ public class CollectionUtils {
         Objects.requireNonNull(b, "b");
         Objects.requireNonNull(p, "p");
         final ArrayList<O> list = new ArrayList<>();
-        final HashMultiSet<O> multiSet = new HashMultiSet<>();
+        final CardinalityTable<O> table = new CardinalityTable<>(0);
         for (final O element : b) {
             if (p.test(element)) {
-                multiSet.add(element);
+                table.addA(element);
             }
         }
         for (final O element : a) {
-            if (multiSet.remove(element, 1) == 0) {
+            if (!table.decrementA(element)) {
                 list.add(element);
             }
         }
@@ -1941,11 +1954,7 @@ public class CollectionUtils {
     public static <O> Collection<O> union(final Iterable<? extends O> a, final Iterable<? extends O> b) {
         Objects.requireNonNull(a, "a");
         Objects.requireNonNull(b, "b");
-        final SetOperationCardinalityHelper<O> helper = new SetOperationCardinalityHelper<>(a, b);
-        for (final O obj : helper) {
-            helper.setCardinality(obj, helper.max(obj));
-        }
-        return helper.list();
+        return setOperation(a, b, Math::max);
     }
 
     /**
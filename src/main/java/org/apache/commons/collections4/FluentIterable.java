@@ -16,6 +16,7 @@
  */
 package org.apache.commons.collections4;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
@@ -23,7 +24,17 @@ import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
-
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.collections4.bloomfilter.Shape;
+import org.apache.commons.collections4.functors.BloomUniquePredicate;
+import org.apache.commons.collections4.iterators.PipelineIterator;
 import org.apache.commons.collections4.iterators.SingletonIterator;
 
 /**
@@ -39,7 +50,10 @@ import org.apache.commons.collections4.iterators.SingletonIterator;
  *   <li>conversion methods which copy the FluentIterable's contents into a
  *       new collection or array (for example toList());</li>
  *   <li>utility methods which answer questions about the FluentIterable's
- *       contents (for example size(), anyMatch(Predicate)).</li>
+ *       contents (for example size(), anyMatch(Predicate));</li>
+ *   <li>parallel methods which evaluate the FluentIterable on the common
+ *       fork/join pool, splitting the original iterable where possible
+ *       (for example parallelToList(), parallelStream()).</li>
  * </ul>
  * <p>
  * The following example outputs the first 3 even numbers in the range [1, 10]
@@ -129,11 +143,23 @@ public class FluentIterable<E> implements Iterable<E> {
     /** A reference to the wrapped iterable. */
     private final Iterable<E> iterable;
 
+    /** The iterable the streams of this iterable start from, null to stream the wrapped iterable. */
+    private final Iterable<?> source;
+
+    /** Turns a stream of the source into a stream of the elements of this iterable. */
+    private final Function<Stream<?>, Stream<E>> pipeline;
+
+    /** Adds the stages from the source to this iterable to a fused iterator, null to iterate the wrapped iterable. */
+    private final Function<PipelineIterator.Builder<?>, PipelineIterator.Builder<E>> stages;
+
     /**
      * Don't allow instances.
      */
     FluentIterable() {
         iterable = this;
+        source = null;
+        pipeline = null;
+        stages = null;
     }
 
     /**
@@ -141,8 +167,27 @@ public class FluentIterable<E> implements Iterable<E> {
      *
      * @param iterable  The iterable to wrap
      */
+    @SuppressWarnings("unchecked")
     private FluentIterable(final Iterable<E> iterable) {
+        this(iterable, iterable, stream -> (Stream<E>) stream, null);
+    }
+
+    /**
+     * Create a new FluentIterable by wrapping the provided view, which streams
+     * as the source with the pipeline applied.
+     *
+     * @param iterable  The iterable to wrap
+     * @param source  The iterable the streams start from
+     * @param pipeline  Turns a stream of the source into a stream of the view
+     * @param stages  Adds the stages turning the source into the view to a fused iterator
+     */
+    private FluentIterable(final Iterable<E> iterable, final Iterable<?> source,
+                           final Function<Stream<?>, Stream<E>> pipeline,
+                           final Function<PipelineIterator.Builder<?>, PipelineIterator.Builder<E>> stages) {
         this.iterable = iterable;
+        this.source = source;
+        this.pipeline = pipeline;
+        this.stages = stages;
     }
 
     /**
@@ -158,7 +203,7 @@ public class FluentIterable<E> implements Iterable<E> {
      * @throws NullPointerException if predicate is null
      */
     public boolean allMatch(final Predicate<? super E> predicate) {
-        return IterableUtils.matchesAll(iterable, predicate);
+        return IterableUtils.matchesAll(elements(), predicate);
     }
 
     /**
@@ -173,7 +218,7 @@ public class FluentIterable<E> implements Iterable<E> {
      * @throws NullPointerException if predicate is null
      */
     public boolean anyMatch(final Predicate<? super E> predicate) {
-        return IterableUtils.matchesAny(iterable, predicate);
+        return IterableUtils.matchesAny(elements(), predicate);
     }
 
     /**
@@ -270,7 +315,7 @@ public class FluentIterable<E> implements Iterable<E> {
      * @return true if the object is contained in this iterable, false otherwise
      */
     public boolean contains(final Object object) {
-        return IterableUtils.contains(iterable, object);
+        return IterableUtils.contains(elements(), object);
     }
 
     /**
@@ -282,7 +327,40 @@ public class FluentIterable<E> implements Iterable<E> {
      */
     public void copyInto(final Collection<? super E> collection) {
         Objects.requireNonNull(collection, "collection");
-        CollectionUtils.addAll(collection, iterable);
+        CollectionUtils.addAll(collection, elements());
+    }
+
+    /**
+     * Wraps a view of this iterable, keeping track of how its elements are derived
+     * from the source so that streams over the view can still split the source, and
+     * its iterator can run all the stages in one {@link PipelineIterator}.
+     *
+     * @param <O>  the output element type
+     * @param view  The view of this iterable
+     * @param stage  The stream operation equivalent to the view
+     * @param fused  The pipeline stage equivalent to the view
+     * @return A new iterable, wrapping the view
+     */
+    @SuppressWarnings("unchecked")
+    private <O> FluentIterable<O> derive(final Iterable<O> view, final Function<Stream<E>, Stream<O>> stage,
+            final Function<PipelineIterator.Builder<E>, PipelineIterator.Builder<O>> fused) {
+        if (source == null) {
+            return of(view);
+        }
+        final Function<PipelineIterator.Builder<?>, PipelineIterator.Builder<O>> next = stages == null
+                ? builder -> fused.apply((PipelineIterator.Builder<E>) builder)
+                : stages.andThen(fused);
+        return new FluentIterable<>(view, source, pipeline.andThen(stage), next);
+    }
+
+    /**
+     * Gets the iterable to traverse for the elements of this iterable: this iterable
+     * itself when its iterator is fused, the wrapped iterable otherwise.
+     *
+     * @return The iterable to traverse
+     */
+    private Iterable<E> elements() {
+        return stages == null ? iterable : this;
     }
 
     /**
@@ -312,7 +390,8 @@ public class FluentIterable<E> implements Iterable<E> {
      * @throws NullPointerException if predicate is null
      */
     public FluentIterable<E> filter(final Predicate<? super E> predicate) {
-        return of(IterableUtils.filteredIterable(iterable, predicate));
+        return derive(IterableUtils.filteredIterable(iterable, predicate), stream -> stream.filter(predicate),
+                builder -> builder.filter(predicate));
     }
 
     /**
@@ -322,7 +401,39 @@ public class FluentIterable<E> implements Iterable<E> {
      * @throws NullPointerException if closure is null
      */
     public void forEach(final Closure<? super E> closure) {
-        IterableUtils.forEach(iterable, closure);
+        IterableUtils.forEach(elements(), closure);
+    }
+
+    /**
+     * Passes the elements contained in this iterable to the consumer in lists of
+     * the given size, so that the consumer can process them in batches.
+     * <p>
+     * Every list holds {@code chunkSize} elements, except possibly the last one. The
+     * consumer gets a new list each time and may keep it.
+     * </p>
+     *
+     * @param chunkSize  The number of elements per list, must be positive
+     * @param consumer  The consumer of the lists, may not be null
+     * @throws IllegalArgumentException if chunkSize is not positive
+     * @throws NullPointerException if consumer is null
+     * @since 4.6.1
+     */
+    public void forEachChunk(final int chunkSize, final Consumer<? super List<E>> consumer) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        Objects.requireNonNull(consumer, "consumer");
+        List<E> chunk = new ArrayList<>(chunkSize);
+        for (final E element : elements()) {
+            chunk.add(element);
+            if (chunk.size() == chunkSize) {
+                consumer.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            consumer.accept(chunk);
+        }
     }
 
     /**
@@ -336,7 +447,7 @@ public class FluentIterable<E> implements Iterable<E> {
      *   valid range of this iterable: [0, size)
      */
     public E get(final int position) {
-        return IterableUtils.get(iterable, position);
+        return IterableUtils.get(elements(), position);
     }
 
     /**
@@ -345,13 +456,26 @@ public class FluentIterable<E> implements Iterable<E> {
      * @return true if this iterable does not contain any elements, false otherwise
      */
     public boolean isEmpty() {
-        return IterableUtils.isEmpty(iterable);
+        return IterableUtils.isEmpty(elements());
     }
 
-    /** {@inheritDoc} */
+    /**
+     * Returns an iterator over the elements of this iterable.
+     * <p>
+     * When this iterable was derived from another FluentIterable by filtering,
+     * transforming, limiting, skipping or making unique, the iterator runs all
+     * these stages over the source iterator in a single {@link PipelineIterator}
+     * instead of nesting one decorator per stage.
+     * </p>
+     *
+     * @return An iterator over the elements of this iterable
+     */
     @Override
     public Iterator<E> iterator() {
-        return iterable.iterator();
+        if (stages == null) {
+            return iterable.iterator();
+        }
+        return stages.apply(PipelineIterator.builder(source.iterator())).build();
     }
 
     /**
@@ -363,7 +487,8 @@ public class FluentIterable<E> implements Iterable<E> {
      * @throws IllegalArgumentException if maxSize is negative
      */
     public FluentIterable<E> limit(final long maxSize) {
-        return of(IterableUtils.boundedIterable(iterable, maxSize));
+        return derive(IterableUtils.boundedIterable(iterable, maxSize), stream -> stream.limit(maxSize),
+                builder -> builder.limit(maxSize));
     }
 
     /**
@@ -376,6 +501,108 @@ public class FluentIterable<E> implements Iterable<E> {
         return of(IterableUtils.loopingIterable(iterable));
     }
 
+    /**
+     * Checks if all elements contained in this iterable are matching the
+     * provided predicate, testing them in parallel.
+     * <p>
+     * The predicate may be called concurrently from several threads.
+     * </p>
+     *
+     * @param predicate  The predicate to use, may not be null
+     * @return true if all elements contained in this iterable match the predicate,
+     *   false otherwise
+     * @throws NullPointerException if predicate is null
+     * @see #parallelStream()
+     * @since 4.6.1
+     */
+    public boolean parallelAllMatch(final Predicate<? super E> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return parallelStream().allMatch(predicate);
+    }
+
+    /**
+     * Checks if this iterable contains any element matching the provided
+     * predicate, testing the elements in parallel.
+     * <p>
+     * The predicate may be called concurrently from several threads.
+     * </p>
+     *
+     * @param predicate  The predicate to use, may not be null
+     * @return true if at least one element contained in this iterable matches the predicate,
+     *   false otherwise
+     * @throws NullPointerException if predicate is null
+     * @see #parallelStream()
+     * @since 4.6.1
+     */
+    public boolean parallelAnyMatch(final Predicate<? super E> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return parallelStream().anyMatch(predicate);
+    }
+
+    /**
+     * Computes the elements of this iterable in parallel and adds them, in
+     * iteration order, to the provided collection.
+     * <p>
+     * Only the computation runs in parallel, the collection is filled by the calling thread.
+     * </p>
+     *
+     * @param collection  The collection to add the elements
+     * @throws NullPointerException if collection is null
+     * @see #parallelStream()
+     * @since 4.6.1
+     */
+    public void parallelCopyInto(final Collection<? super E> collection) {
+        Objects.requireNonNull(collection, "collection");
+        collection.addAll(parallelToList());
+    }
+
+    /**
+     * Applies the closure to all elements contained in this iterable in parallel,
+     * in no particular order.
+     * <p>
+     * The closure may be called concurrently from several threads.
+     * </p>
+     *
+     * @param closure  The closure to apply to each element, may not be null
+     * @throws NullPointerException if closure is null
+     * @see #parallelStream()
+     * @since 4.6.1
+     */
+    public void parallelForEach(final Closure<? super E> closure) {
+        Objects.requireNonNull(closure, "closure");
+        parallelStream().forEach(closure);
+    }
+
+    /**
+     * Returns a parallel stream of the elements of this iterable.
+     * <p>
+     * When this iterable is built from a source with {@link #filter(Predicate)},
+     * {@link #transform(Transformer)}, {@link #unique()}, {@link #limit(long)},
+     * {@link #skip(long)} and {@link #unmodifiable()} only, the stream splits the
+     * source, for example a {@code List}, an array or any collection with a
+     * splittable {@link Spliterator}, and applies the same operations to each part
+     * on the common fork/join pool. Any other view is traversed through its iterator.
+     * </p>
+     *
+     * @return A parallel stream of the elements of this iterable
+     * @since 4.6.1
+     */
+    public Stream<E> parallelStream() {
+        return stream(true);
+    }
+
+    /**
+     * Returns a mutable list containing all elements of this iterable in
+     * iteration order, computing them in parallel.
+     *
+     * @return A list of the iterable contents
+     * @see #parallelStream()
+     * @since 4.6.1
+     */
+    public List<E> parallelToList() {
+        return parallelStream().collect(Collectors.toCollection(ArrayList::new));
+    }
+
     /**
      * Returns a new FluentIterable whose iterator will traverse the
      * elements from this iterable in reverse order.
@@ -393,7 +620,7 @@ public class FluentIterable<E> implements Iterable<E> {
      * @return The size of this iterable
      */
     public int size() {
-        return IterableUtils.size(iterable);
+        return IterableUtils.size(elements());
     }
 
     /**
@@ -406,7 +633,44 @@ public class FluentIterable<E> implements Iterable<E> {
      * @throws IllegalArgumentException if elementsToSkip is negative
      */
     public FluentIterable<E> skip(final long elementsToSkip) {
-        return of(IterableUtils.skippingIterable(iterable, elementsToSkip));
+        return derive(IterableUtils.skippingIterable(iterable, elementsToSkip), stream -> stream.skip(elementsToSkip),
+                builder -> builder.skip(elementsToSkip));
+    }
+
+    /**
+     * Creates a {@link Spliterator} over the elements of this iterable, which is
+     * the spliterator of the wrapped iterable.
+     *
+     * @return A spliterator over the elements of this iterable
+     * @since 4.6.1
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return iterable == this ? Spliterators.spliteratorUnknownSize(iterator(), 0) : iterable.spliterator();
+    }
+
+    /**
+     * Returns a sequential stream of the elements of this iterable.
+     *
+     * @return A stream of the elements of this iterable
+     * @see #parallelStream()
+     * @since 4.6.1
+     */
+    public Stream<E> stream() {
+        return stream(false);
+    }
+
+    /**
+     * Returns a stream of the elements of this iterable, starting from the source when known.
+     *
+     * @param parallel  Whether the stream is parallel
+     * @return A stream of the elements of this iterable
+     */
+    private Stream<E> stream(final boolean parallel) {
+        if (source == null) {
+            return StreamSupport.stream(spliterator(), parallel);
+        }
+        return pipeline.apply(StreamSupport.stream(source.spliterator(), parallel));
     }
 
     /**
@@ -431,7 +695,7 @@ public class FluentIterable<E> implements Iterable<E> {
      * @return A list of the iterable contents
      */
     public List<E> toList() {
-        return IterableUtils.toList(iterable);
+        return IterableUtils.toList(elements());
     }
 
     /** {@inheritDoc} */
@@ -450,7 +714,8 @@ public class FluentIterable<E> implements Iterable<E> {
      * @throws NullPointerException if transformer is null
      */
     public <O> FluentIterable<O> transform(final Transformer<? super E, ? extends O> transformer) {
-        return of(IterableUtils.transformedIterable(iterable, transformer));
+        return derive(IterableUtils.transformedIterable(iterable, transformer), stream -> stream.map(transformer),
+                builder -> builder.transform(transformer));
     }
 
     /**
@@ -460,7 +725,35 @@ public class FluentIterable<E> implements Iterable<E> {
      * @return A new iterable, providing a unique view of this iterable
      */
     public FluentIterable<E> unique() {
-        return of(IterableUtils.uniqueIterable(iterable));
+        return derive(IterableUtils.uniqueIterable(iterable), Stream::distinct, PipelineIterator.Builder::unique);
+    }
+
+    /**
+     * Returns a new FluentIterable whose iterator will return a unique view
+     * of this iterable, remembering the elements returned in a Bloom filter
+     * of the given shape.
+     * <p>
+     * Each iterator, or stream, uses a fixed amount of memory, set by the shape,
+     * but may also skip a new element at about the false positive rate of the
+     * shape. The parallel methods keep one occurrence of each element, not
+     * necessarily the first.
+     * </p>
+     *
+     * @param shape  The shape of the Bloom filter, for example from {@link Shape#fromNP(int, double)}
+     * @return A new iterable, providing a unique view of this iterable
+     * @throws NullPointerException if shape is null
+     * @see BloomUniquePredicate
+     * @since 4.6.1
+     */
+    public FluentIterable<E> unique(final Shape shape) {
+        return derive(IterableUtils.uniqueIterable(iterable, shape), stream -> {
+            final Predicate<E> unique = BloomUniquePredicate.bloomUniquePredicate(shape);
+            return stream.filter(element -> {
+                synchronized (unique) {
+                    return unique.test(element);
+                }
+            });
+        }, builder -> builder.filter(BloomUniquePredicate.bloomUniquePredicate(shape)));
     }
 
     /**
@@ -470,7 +763,8 @@ public class FluentIterable<E> implements Iterable<E> {
      * @return A new iterable, providing an unmodifiable view of this iterable
      */
     public FluentIterable<E> unmodifiable() {
-        return of(IterableUtils.unmodifiableIterable(iterable));
+        final Iterable<E> view = IterableUtils.unmodifiableIterable(iterable);
+        return view == iterable ? this : derive(view, Function.identity(), PipelineIterator.Builder::unmodifiable);
     }
 
     /**
@@ -29,6 +29,8 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.function.ToIntFunction;
 
+import org.apache.commons.collections4.bloomfilter.Shape;
+import org.apache.commons.collections4.functors.BloomUniquePredicate;
 import org.apache.commons.collections4.functors.EqualPredicate;
 import org.apache.commons.collections4.functors.NullPredicate;
 import org.apache.commons.collections4.iterators.LazyIteratorChain;
@@ -1030,6 +1032,33 @@ public class IterableUtils {
         };
     }
 
+    /**
+     * Returns a unique view of the given iterable, whose iterators remember the elements returned in a Bloom filter of the given shape.
+     * <p>
+     * Each iterator uses a fixed amount of memory, set by the shape, so that huge iterables can be de-duplicated, but it may also skip a new element at about
+     * the false positive rate of the shape. The returned iterable's iterator supports {@code remove()} when the corresponding input iterator supports it.
+     * </p>
+     *
+     * @param <E>      The element type.
+     * @param iterable The iterable to use, may not be null.
+     * @param shape    The shape of the Bloom filter, for example from {@link Shape#fromNP(int, double)}, may not be null.
+     * @return A unique view of the specified iterable.
+     * @throws NullPointerException if iterable or shape is null.
+     * @see BloomUniquePredicate
+     * @since 4.6.1
+     */
+    public static <E> Iterable<E> uniqueIterable(final Iterable<E> iterable, final Shape shape) {
+        Objects.requireNonNull(iterable, "iterable");
+        Objects.requireNonNull(shape, "shape");
+        return new FluentIterable<E>() {
+
+            @Override
+            public Iterator<E> iterator() {
+                return new UniqueFilterIterator<>(iterable.iterator(), shape);
+            }
+        };
+    }
+
     /**
      * Returns an unmodifiable view of the given iterable.
      * <p>
@@ -62,6 +62,7 @@ import org.apache.commons.collections4.iterators.ObjectArrayIterator;
 import org.apache.commons.collections4.iterators.ObjectArrayListIterator;
 import org.apache.commons.collections4.iterators.ObjectGraphIterator;
 import org.apache.commons.collections4.iterators.PeekingIterator;
+import org.apache.commons.collections4.iterators.PipelineIterator;
 import org.apache.commons.collections4.iterators.PushbackIterator;
 import org.apache.commons.collections4.iterators.SingletonIterator;
 import org.apache.commons.collections4.iterators.SingletonListIterator;
@@ -1107,6 +1108,27 @@ public class IteratorUtils {
         return PeekingIterator.peekingIterator(iterator);
     }
 
+    /**
+     * Gets a builder for an iterator running filter, transform, skip, limit and unique stages over
+     * the given iterator in a single loop, instead of nesting one decorator per stage.
+     * <p>
+     * For example:
+     * </p>
+     * <pre>
+     * Iterator&lt;String&gt; it = IteratorUtils.pipeline(iterator).filter(predicate).transform(function).limit(10).build();
+     * </pre>
+     *
+     * @param <E>      The element type.
+     * @param iterator The iterator to decorate, not null.
+     * @return A builder without stages.
+     * @throws NullPointerException if the iterator is null.
+     * @see PipelineIterator
+     * @since 4.6.1
+     */
+    public static <E> PipelineIterator.Builder<E> pipeline(final Iterator<? extends E> iterator) {
+        return PipelineIterator.builder(iterator);
+    }
+
     /**
      * Gets an iterator that supports pushback of elements.
      *
@@ -25,6 +25,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Queue;
 
 import org.apache.commons.collections4.functors.DefaultEquator;
 import org.apache.commons.collections4.list.FixedSizeList;
@@ -138,6 +139,12 @@ public class ListUtils {
         }
     }
 
+    /**
+     * The number of elements from which both the probed collection and the number of probes make a transient
+     * hash index cheaper than linear searches.
+     */
+    private static final int HASH_INDEX_THRESHOLD = 16;
+
     /**
      * Returns either the passed in list, or if the list is {@code null}, the value of {@code defaultList}.
      *
@@ -211,6 +218,26 @@ public class ListUtils {
         return Objects.requireNonNull(list, "list").get(list.size() - 1);
     }
 
+    /**
+     * Gets a collection with the same elements and {@code contains} as the given one, for probing many times.
+     * <p>
+     * Lists and queues search linearly with {@code equals}, so above a few elements on each side they are copied
+     * into a {@link HashSet}, which finds the same elements. Other collections are returned as they are, since
+     * their {@code contains} may use another notion of equality, as a sorted set or an identity set does.
+     * </p>
+     *
+     * @param collection The collection to probe.
+     * @param probes     The number of times it will be probed.
+     * @return A collection with a fast {@code contains} for the same elements.
+     */
+    private static Collection<?> hashIndex(final Collection<?> collection, final int probes) {
+        if (probes < HASH_INDEX_THRESHOLD || collection.size() < HASH_INDEX_THRESHOLD
+                || !(collection instanceof List || collection instanceof Queue)) {
+            return collection;
+        }
+        return new HashSet<>(collection);
+    }
+
     /**
      * Generates a hash code using the algorithm specified in {@link java.util.List#hashCode()}.
      * <p>
@@ -505,7 +532,8 @@ public class ListUtils {
      * <p>
      * This implementation iterates over {@code collection}, checking each element in turn to see if it's contained in {@code remove}. If it's not contained,
      * it's added to the returned list. As a consequence, it is advised to use a collection type for {@code remove} that provides a fast (for example O(1))
-     * implementation of {@link Collection#contains(Object)}.
+     * implementation of {@link Collection#contains(Object)}. When both collections are large and {@code remove} is a {@link List} or a {@link Queue}, whose
+     * {@code contains} is a linear search by {@code equals}, the elements of {@code remove} are first copied into a transient {@link HashSet}.
      * </p>
      *
      * @param <E>        the element type.
@@ -519,8 +547,9 @@ public class ListUtils {
         Objects.requireNonNull(collection, "collection");
         Objects.requireNonNull(remove, "remove");
         final List<E> list = new ArrayList<>();
+        final Collection<?> index = hashIndex(remove, collection.size());
         for (final E obj : collection) {
-            if (!remove.contains(obj)) {
+            if (!index.contains(obj)) {
                 list.add(obj);
             }
         }
@@ -534,7 +563,8 @@ public class ListUtils {
      * <p>
      * This implementation iterates over {@code collection}, checking each element in turn to see if it's contained in {@code retain}. If it's contained, it's
      * added to the returned list. As a consequence, it is advised to use a collection type for {@code retain} that provides a fast (for example O(1))
-     * implementation of {@link Collection#contains(Object)}.
+     * implementation of {@link Collection#contains(Object)}. When both collections are large and {@code retain} is a {@link List} or a {@link Queue}, whose
+     * {@code contains} is a linear search by {@code equals}, the elements of {@code retain} are first copied into a transient {@link HashSet}.
      * </p>
      *
      * @param <E>        the element type.
@@ -546,8 +576,9 @@ public class ListUtils {
      */
     public static <E> List<E> retainAll(final Collection<E> collection, final Collection<?> retain) {
         final List<E> list = new ArrayList<>(Math.min(collection.size(), retain.size()));
+        final Collection<?> index = hashIndex(retain, collection.size());
         for (final E obj : collection) {
-            if (retain.contains(obj)) {
+            if (index.contains(obj)) {
                 list.add(obj);
             }
         }
@@ -25,6 +25,8 @@ import java.util.Set;
 
 import org.apache.commons.collections4.bag.HashBag;
 import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
+import org.apache.commons.collections4.multimap.FrozenMultiValuedMap;
+import org.apache.commons.collections4.multimap.FrozenSetValuedMap;
 import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
 import org.apache.commons.collections4.multimap.TransformedMultiValuedMap;
 import org.apache.commons.collections4.multimap.UnmodifiableMultiValuedMap;
@@ -76,6 +78,30 @@ public class MultiMapUtils {
     }
     // Null safe methods
 
+    /**
+     * Returns an immutable, read-optimized copy of the given map.
+     * <p>
+     * Unlike {@link #unmodifiableMultiValuedMap(MultiValuedMap)}, the result does not reflect later
+     * changes of the given map. A {@link SetValuedMap} is copied into a {@link FrozenSetValuedMap},
+     * any other map into a list-valued {@link FrozenMultiValuedMap}, so that the copy equals the map.
+     * </p>
+     *
+     * @param <K> The key type.
+     * @param <V> The value type.
+     * @param map The {@link MultiValuedMap} to copy, must not be null.
+     * @return A frozen copy of the provided map.
+     * @throws NullPointerException if map is null.
+     * @see FrozenMultiValuedMap
+     * @see FrozenSetValuedMap
+     * @since 4.6.1
+     */
+    public static <K, V> MultiValuedMap<K, V> freeze(final MultiValuedMap<? extends K, ? extends V> map) {
+        if (map instanceof SetValuedMap) {
+            return FrozenSetValuedMap.<K, V>frozenSetValuedMap((SetValuedMap<? extends K, ? extends V>) map);
+        }
+        return FrozenMultiValuedMap.<K, V>frozenMultiValuedMap(map);
+    }
+
     /**
      * Gets a Collection from {@code MultiValuedMap} in a null-safe manner.
      *
@@ -19,9 +19,12 @@ package org.apache.commons.collections4;
 
 import java.util.Collection;
 
+import org.apache.commons.collections4.bloomfilter.Shape;
 import org.apache.commons.collections4.functors.AllPredicate;
 import org.apache.commons.collections4.functors.AndPredicate;
 import org.apache.commons.collections4.functors.AnyPredicate;
+import org.apache.commons.collections4.functors.BloomUniquePredicate;
+import org.apache.commons.collections4.functors.CompiledPredicate;
 import org.apache.commons.collections4.functors.EqualPredicate;
 import org.apache.commons.collections4.functors.ExceptionPredicate;
 import org.apache.commons.collections4.functors.FalsePredicate;
@@ -63,6 +66,7 @@ import org.apache.commons.collections4.functors.UniquePredicate;
  * <li>Exception - always throws an exception</li>
  * <li>NullIsException/NullIsFalse/NullIsTrue - check for null input</li>
  * <li>Transformed - transforms the input before calling the predicate</li>
+ * <li>Compiled - flattens and simplifies a tree of the predicates above</li>
  * </ul>
  * <p>
  * All the supplied predicates are Serializable.
@@ -160,6 +164,43 @@ public class PredicateUtils {
         return TransformerPredicate.transformerPredicate(transformer);
     }
 
+    /**
+     * Compiles a tree of predicates into an equivalent one that is faster to evaluate repeatedly.
+     * <p>
+     * Nested And/All and Or/Any predicates are flattened, Not and None predicates are simplified, repeated Equal and InstanceOf clauses are removed, and
+     * disjunctions of several Equal predicates become a single hash lookup. The clauses keep their order.
+     * </p>
+     *
+     * @param <T>       the type that the predicate queries.
+     * @param predicate The root of the tree, may not be null.
+     * @return The compiled predicate.
+     * @throws NullPointerException if the predicate is null.
+     * @see CompiledPredicate
+     * @since 4.6.1
+     */
+    public static <T> Predicate<T> compiledPredicate(final Predicate<? super T> predicate) {
+        return CompiledPredicate.compiledPredicate(predicate, false);
+    }
+
+    /**
+     * Compiles a tree of predicates into an equivalent one that is faster to evaluate repeatedly, optionally reordering the clauses of each node as it is
+     * evaluated so that the most selective and cheapest clauses come first.
+     * <p>
+     * Adaptive reordering is only correct when the clauses of a node do not depend on each other being evaluated first.
+     * </p>
+     *
+     * @param <T>       the type that the predicate queries.
+     * @param predicate The root of the tree, may not be null.
+     * @param adaptive  Whether the clauses are reordered by their observed selectivity and estimated cost.
+     * @return The compiled predicate.
+     * @throws NullPointerException if the predicate is null.
+     * @see CompiledPredicate
+     * @since 4.6.1
+     */
+    public static <T> Predicate<T> compiledPredicate(final Predicate<? super T> predicate, final boolean adaptive) {
+        return CompiledPredicate.compiledPredicate(predicate, adaptive);
+    }
+
     /**
      * Creates a new Predicate that returns true if one, but not both, of the specified predicates are true. XOR
      *
@@ -481,6 +522,22 @@ public class PredicateUtils {
         return UniquePredicate.uniquePredicate();
     }
 
+    /**
+     * Creates a Predicate that returns true the first time an object is encountered, and false if the same object is received again, remembering the
+     * objects in a Bloom filter of the given shape. The memory used is fixed by the shape, but a new object may be taken for one received before, and
+     * rejected, at about the false positive rate of the shape.
+     *
+     * @param <T>   the type that the predicate queries.
+     * @param shape The shape of the Bloom filter, for example from {@link Shape#fromNP(int, double)}.
+     * @return The predicate.
+     * @throws NullPointerException if the shape is null.
+     * @see BloomUniquePredicate
+     * @since 4.6.1
+     */
+    public static <T> Predicate<T> uniquePredicate(final Shape shape) {
+        return BloomUniquePredicate.bloomUniquePredicate(shape);
+    }
+
     /**
      * Don't allow instances.
      */
@@ -24,12 +24,14 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
+import org.apache.commons.collections4.set.CompositeSet;
 import org.apache.commons.collections4.set.ListOrderedSet;
 import org.apache.commons.collections4.set.PredicatedNavigableSet;
 import org.apache.commons.collections4.set.PredicatedSet;
@@ -106,12 +108,36 @@ public class SetUtils {
         }
     }
 
+    /**
+     * A view of two sets, which keeps them for {@link SetUtils#hashIndex(Set, Set)} to look into.
+     *
+     * @param <E> The element type.
+     */
+    private abstract static class BinarySetView<E> extends SetView<E> {
+
+        /** The first set. */
+        final Set<? extends E> setA;
+
+        /** The second set. */
+        final Set<? extends E> setB;
+
+        BinarySetView(final Set<? extends E> setA, final Set<? extends E> setB) {
+            this.setA = setA;
+            this.setB = setB;
+        }
+    }
+
     /**
      * An empty unmodifiable sorted set. This is not provided in the JDK.
      */
     @SuppressWarnings("rawtypes")
     public static final SortedSet EMPTY_SORTED_SET = UnmodifiableSortedSet.unmodifiableSortedSet(new TreeSet<>());
 
+    /**
+     * The size of the probing set from which a set view copies a nested view into a {@link HashSet} before probing it.
+     */
+    private static final int HASH_INDEX_THRESHOLD = 16;
+
     /**
      * Returns an unmodifiable <strong>view</strong> containing the difference of the given {@link Set}s, denoted by {@code a \ b} (or {@code a - b}).
      * <p>
@@ -128,8 +154,7 @@ public class SetUtils {
     public static <E> SetView<E> difference(final Set<? extends E> setA, final Set<? extends E> setB) {
         Objects.requireNonNull(setA, "setA");
         Objects.requireNonNull(setB, "setB");
-        final Predicate<E> notContainedInB = object -> !setB.contains(object);
-        return new SetView<E>() {
+        return new BinarySetView<E>(setA, setB) {
 
             @Override
             public boolean contains(final Object o) {
@@ -138,7 +163,8 @@ public class SetUtils {
 
             @Override
             public Iterator<E> createIterator() {
-                return IteratorUtils.filteredIterator(setA.iterator(), notContainedInB);
+                final Set<?> probe = hashIndex(setB, setA);
+                return IteratorUtils.filteredIterator(setA.iterator(), object -> !probe.contains(object));
             }
         };
     }
@@ -164,7 +190,7 @@ public class SetUtils {
         Objects.requireNonNull(setB, "setB");
         final SetView<E> aMinusB = difference(setA, setB);
         final SetView<E> bMinusA = difference(setB, setA);
-        return new SetView<E>() {
+        return new BinarySetView<E>(setA, setB) {
 
             @Override
             public boolean contains(final Object o) {
@@ -261,6 +287,81 @@ public class SetUtils {
         return new HashSet<>(Arrays.asList(items));
     }
 
+    /**
+     * Gets a set with the same elements as the given one, for probing once per element of another set.
+     * <p>
+     * The {@code contains} of a {@link SetView} or a {@link CompositeSet} goes through each set it is made of, so
+     * when the other set has at least as many elements as these sets together, they are copied into a
+     * {@link HashSet} first, which costs no more than the probes it saves. The copy is made per iteration, so the
+     * views built on it still follow changes to the decorated sets between iterations. The sets are only copied
+     * when all of them are plain hash sets, since a copy would replace the membership of a sorted or an identity
+     * set with {@code equals}.
+     * </p>
+     *
+     * @param set    The set to probe.
+     * @param probes The set whose elements are probed.
+     * @return A set with the same elements, and a fast {@code contains} if possible.
+     */
+    private static Set<?> hashIndex(final Set<?> set, final Set<?> probes) {
+        if (!(set instanceof SetView || set instanceof CompositeSet)) {
+            return set;
+        }
+        final long hashedSize = hashedSize(set);
+        if (hashedSize < 0) {
+            return set;
+        }
+        final long probeCount = sizeBound(probes);
+        return probeCount < HASH_INDEX_THRESHOLD || probeCount < hashedSize ? set : new HashSet<>(set);
+    }
+
+    /**
+     * Sums the sizes of the sets a view or a composite set is made of, without iterating the view, provided that
+     * they are all plain hash sets.
+     *
+     * @param set The set.
+     * @return The summed sizes, or -1 if one of the sets is not a {@link HashSet} or a {@link LinkedHashSet}.
+     */
+    private static long hashedSize(final Set<?> set) {
+        if (set instanceof BinarySetView) {
+            final long sizeA = hashedSize(((BinarySetView<?>) set).setA);
+            final long sizeB = sizeA < 0 ? -1 : hashedSize(((BinarySetView<?>) set).setB);
+            return sizeB < 0 ? -1 : sizeA + sizeB;
+        }
+        if (set instanceof CompositeSet) {
+            long size = 0;
+            for (final Set<?> part : ((CompositeSet<?>) set).getSets()) {
+                final long partSize = hashedSize(part);
+                if (partSize < 0) {
+                    return -1;
+                }
+                size += partSize;
+            }
+            return size;
+        }
+        final Class<?> type = set.getClass();
+        return type == HashSet.class || type == LinkedHashSet.class ? set.size() : -1;
+    }
+
+    /**
+     * Gets an upper bound of the size of a set, without iterating a view.
+     *
+     * @param set The set.
+     * @return The summed sizes of the sets a view or a composite set is made of, or the size of any other set.
+     */
+    private static long sizeBound(final Set<?> set) {
+        if (set instanceof BinarySetView) {
+            return sizeBound(((BinarySetView<?>) set).setA) + sizeBound(((BinarySetView<?>) set).setB);
+        }
+        if (set instanceof CompositeSet) {
+            long size = 0;
+            for (final Set<?> part : ((CompositeSet<?>) set).getSets()) {
+                size += sizeBound(part);
+            }
+            return size;
+        }
+        return set.size();
+    }
+
     /**
      * Returns an unmodifiable <strong>view</strong> of the intersection of the given {@link Set}s.
      * <p>
@@ -277,7 +378,7 @@ public class SetUtils {
     public static <E> SetView<E> intersection(final Set<? extends E> setA, final Set<? extends E> setB) {
         Objects.requireNonNull(setA, "setA");
         Objects.requireNonNull(setB, "setB");
-        return new SetView<E>() {
+        return new BinarySetView<E>(setA, setB) {
 
             @Override
             public boolean contains(final Object o) {
@@ -286,7 +387,7 @@ public class SetUtils {
 
             @Override
             public Iterator<E> createIterator() {
-                return IteratorUtils.filteredIterator(setA.iterator(), setB::contains);
+                return IteratorUtils.filteredIterator(setA.iterator(), hashIndex(setB, setA)::contains);
             }
         };
     }
@@ -548,7 +649,7 @@ public class SetUtils {
         Objects.requireNonNull(setA, "setA");
         Objects.requireNonNull(setB, "setB");
         final SetView<E> bMinusA = difference(setB, setA);
-        return new SetView<E>() {
+        return new BinarySetView<E>(setA, setB) {
 
             @Override
             public boolean contains(final Object o) {
@@ -28,6 +28,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 import org.apache.commons.collections4.Bag;
 import org.apache.commons.collections4.CollectionUtils;
@@ -115,6 +117,101 @@ public abstract class AbstractMapBag<E> implements Bag<E> {
         }
     }
 
+    /**
+     * Inner class spliterator for the Bag, which splits the entries of the backing map.
+     */
+    static class BagSpliterator<E> implements Spliterator<E> {
+        private final AbstractMapBag<E> parent;
+        private final Spliterator<Map.Entry<E, MutableInteger>> entrySpliterator;
+        private E current;
+        private int itemCount;
+        private long est;
+        private final int mods;
+        private boolean split;
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param parent The parent bag
+         */
+        BagSpliterator(final AbstractMapBag<E> parent) {
+            this(parent, parent.map.entrySet().spliterator(), parent.size, parent.modCount);
+        }
+
+        private BagSpliterator(final AbstractMapBag<E> parent,
+                final Spliterator<Map.Entry<E, MutableInteger>> entrySpliterator, final long est, final int mods) {
+            this.parent = parent;
+            this.entrySpliterator = entrySpliterator;
+            this.est = est;
+            this.mods = mods;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int characteristics() {
+            return (split ? 0 : SIZED) | entrySpliterator.characteristics() & ORDERED;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long estimateSize() {
+            return est;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            for (; itemCount > 0; itemCount--) {
+                action.accept(current);
+            }
+            entrySpliterator.forEachRemaining(entry -> {
+                final E element = entry.getKey();
+                for (int i = entry.getValue().value; i > 0; i--) {
+                    action.accept(element);
+                }
+            });
+            if (parent.modCount != mods) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            if (itemCount == 0 && !entrySpliterator.tryAdvance(entry -> {
+                current = entry.getKey();
+                itemCount = entry.getValue().value;
+            })) {
+                return false;
+            }
+            itemCount--;
+            action.accept(current);
+            if (parent.modCount != mods) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Spliterator<E> trySplit() {
+            if (itemCount > 0) {
+                return null;
+            }
+            final Spliterator<Map.Entry<E, MutableInteger>> prefix = entrySpliterator.trySplit();
+            if (prefix == null) {
+                return null;
+            }
+            split = true;
+            est >>>= 1;
+            final BagSpliterator<E> result = new BagSpliterator<>(parent, prefix, est, mods);
+            result.split = true;
+            return result;
+        }
+    }
+
     /**
      * Mutable integer class for storing the data.
      */
@@ -424,6 +521,19 @@ public abstract class AbstractMapBag<E> implements Bag<E> {
         return new BagIterator<>(this);
     }
 
+    /**
+     * Gets a spliterator over the bag elements, which splits along the entries of
+     * the backing map. Elements present in the Bag more than once are returned
+     * repeatedly by the same part.
+     *
+     * @return The spliterator
+     * @since 4.6.1
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new BagSpliterator<>(this);
+    }
+
     /**
      * Removes all copies of the specified object from the bag.
      *
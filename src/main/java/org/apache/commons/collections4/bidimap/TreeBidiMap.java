@@ -24,13 +24,17 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.AbstractSet;
+import java.util.Comparator;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.commons.collections4.KeyValue;
 import org.apache.commons.collections4.MapIterator;
@@ -247,6 +251,11 @@ public class TreeBidiMap<K extends Comparable<K>, V extends Comparable<V>>
             return new ViewMapEntryIterator();
         }
 
+        @Override
+        public Spliterator<Map.Entry<K, V>> spliterator() {
+            return new ViewSpliterator<>(KEY, node -> node, 0);
+        }
+
         @Override
         public boolean remove(final Object obj) {
             if (!(obj instanceof Map.Entry)) {
@@ -444,6 +453,11 @@ public class TreeBidiMap<K extends Comparable<K>, V extends Comparable<V>>
             return new InverseViewMapEntryIterator();
         }
 
+        @Override
+        public Spliterator<Map.Entry<V, K>> spliterator() {
+            return new ViewSpliterator<>(VALUE, node -> new UnmodifiableMapEntry<>(node.getValue(), node.getKey()), 0);
+        }
+
         @Override
         public boolean remove(final Object obj) {
             if (!(obj instanceof Map.Entry)) {
@@ -558,6 +572,11 @@ public class TreeBidiMap<K extends Comparable<K>, V extends Comparable<V>>
             return new ViewMapIterator(orderType);
         }
 
+        @Override
+        public Spliterator<K> spliterator() {
+            return new ViewSpliterator<>(orderType, Node::getKey, orderType == KEY ? Spliterator.SORTED : 0);
+        }
+
         @Override
         public boolean remove(final Object o) {
             return doRemoveKey(o) != null;
@@ -808,6 +827,11 @@ public class TreeBidiMap<K extends Comparable<K>, V extends Comparable<V>>
             return new InverseViewMapIterator(orderType);
         }
 
+        @Override
+        public Spliterator<V> spliterator() {
+            return new ViewSpliterator<>(orderType, Node::getValue, orderType == VALUE ? Spliterator.SORTED : 0);
+        }
+
         @Override
         public boolean remove(final Object o) {
             return doRemoveValue(o) != null;
@@ -890,6 +914,144 @@ public class TreeBidiMap<K extends Comparable<K>, V extends Comparable<V>>
         }
     }
 
+    /**
+     * A spliterator over the map, which splits the tree at its subtree roots.
+     */
+    final class ViewSpliterator<E> implements Spliterator<E> {
+
+        /** Whether to traverse in KEY or VALUE order. */
+        private final DataElement orderType;
+
+        /** Maps a node to the element returned. */
+        private final Function<Node<K, V>, E> mapper;
+
+        /** The additional characteristics. */
+        private final int characteristics;
+
+        /** The next node to return, null until first use. */
+        private Node<K, V> current;
+
+        /** The node to stop before, null for the end of the map. */
+        private final Node<K, V> fence;
+
+        /** 0 for the top level spliterator, -1 for a prefix, 1 for a suffix. */
+        private int side;
+
+        /** The size estimate, -1 until first use. */
+        private int est;
+
+        /** The modification count expected. */
+        private int expectedModifications;
+
+        /**
+         * Creates a spliterator over the whole map.
+         *
+         * @param orderType  The KEY or VALUE int for the order
+         * @param mapper  Maps a node to the element returned
+         * @param characteristics  The additional characteristics
+         */
+        ViewSpliterator(final DataElement orderType, final Function<Node<K, V>, E> mapper, final int characteristics) {
+            this(orderType, mapper, characteristics, null, null, 0, -1, 0);
+        }
+
+        private ViewSpliterator(final DataElement orderType, final Function<Node<K, V>, E> mapper,
+                final int characteristics, final Node<K, V> origin, final Node<K, V> fence, final int side,
+                final int est, final int expectedModifications) {
+            this.orderType = orderType;
+            this.mapper = mapper;
+            this.characteristics = characteristics;
+            this.current = origin;
+            this.fence = fence;
+            this.side = side;
+            this.est = est;
+            this.expectedModifications = expectedModifications;
+        }
+
+        @Override
+        public int characteristics() {
+            return (side == 0 ? SIZED : 0) | ORDERED | DISTINCT | NONNULL | characteristics;
+        }
+
+        @Override
+        public long estimateSize() {
+            return getEstimate();
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            getEstimate();
+            Node<K, V> node = current;
+            current = fence;
+            while (node != null && node != fence) {
+                action.accept(mapper.apply(node));
+                node = nextGreater(node, orderType);
+            }
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Comparator<? super E> getComparator() {
+            if (hasCharacteristics(SORTED)) {
+                return null;
+            }
+            throw new IllegalStateException();
+        }
+
+        private int getEstimate() {
+            int s = est;
+            if (s < 0) {
+                expectedModifications = modifications;
+                current = leastNode(rootNode[orderType.ordinal()], orderType);
+                s = est = nodeCount;
+            }
+            return s;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            getEstimate();
+            final Node<K, V> node = current;
+            if (node == null || node == fence) {
+                return false;
+            }
+            current = nextGreater(node, orderType);
+            action.accept(mapper.apply(node));
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Spliterator<E> trySplit() {
+            getEstimate();
+            final Node<K, V> first = current;
+            final Node<K, V> split;
+            if (first == null || first == fence) {
+                split = null;
+            } else if (side == 0) {
+                split = rootNode[orderType.ordinal()];
+            } else if (side > 0) {
+                split = first.getRight(orderType);
+            } else {
+                split = fence == null ? null : fence.getLeft(orderType);
+            }
+            if (split != null && split != first && split != fence
+                    && ((Comparable<Object>) first.getData(orderType)).compareTo(split.getData(orderType)) < 0) {
+                side = 1;
+                current = split;
+                return new ViewSpliterator<>(orderType, mapper, characteristics, first, split, -1, est >>>= 1,
+                        expectedModifications);
+            }
+            return null;
+        }
+    }
+
     private static final long serialVersionUID = 721969328361807L;
 
     /**
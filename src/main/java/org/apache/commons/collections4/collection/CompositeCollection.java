@@ -24,11 +24,14 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Spliterator;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.IterableUtils;
+import org.apache.commons.collections4.iterators.AbstractIteratorDecorator;
+import org.apache.commons.collections4.iterators.CompositeSpliterator;
 import org.apache.commons.collections4.iterators.EmptyIterator;
 import org.apache.commons.collections4.iterators.IteratorChain;
 import org.apache.commons.collections4.list.UnmodifiableList;
@@ -39,6 +42,12 @@ import org.apache.commons.collections4.list.UnmodifiableList;
  * Changes made to this collection will actually be made on the decorated collection. Add and remove operations require the use of a pluggable strategy. If no
  * strategy is provided then add and remove are unsupported.
  * </p>
+ * <p>
+ * The {@link #spliterator() spliterator} splits at the boundaries between the collections, then within them, so that
+ * parallel streams over many large collections share the work. When {@link #setCached(boolean) cached}, the size is
+ * computed once and kept until this composite is modified, or until {@link #invalidate()} is called after a composited
+ * collection has been modified directly.
+ * </p>
  *
  * @param <E> The type of the elements in the collection.
  * @since 3.0
@@ -104,6 +113,15 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
     /** Collections in the composite. */
     private final List<Collection<E>> all = new ArrayList<>();
 
+    /** Whether the size is cached. */
+    private boolean cached;
+
+    /** Whether {@link #cachedSize} is up to date. */
+    private transient boolean sizeValid;
+
+    /** The cached size. */
+    private transient int cachedSize;
+
     /**
      * Constructs an empty CompositeCollection.
      */
@@ -154,7 +172,12 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
         if (mutator == null) {
             throw new UnsupportedOperationException("add() is not supported on CompositeCollection without a CollectionMutator strategy");
         }
-        return mutator.add(this, all, obj);
+        try {
+            return mutator.add(this, all, obj);
+        } finally {
+            // after the mutation, in case the mutator reads the size of this composite
+            invalidate();
+        }
     }
 
     /**
@@ -173,7 +196,12 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
         if (mutator == null) {
             throw new UnsupportedOperationException("addAll() is not supported on CompositeCollection without a CollectionMutator strategy");
         }
-        return mutator.addAll(this, all, coll);
+        try {
+            return mutator.addAll(this, all, coll);
+        } finally {
+            // after the mutation, in case the mutator reads the size of this composite
+            invalidate();
+        }
     }
 
     /**
@@ -185,6 +213,7 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
         if (compositeCollection != null) {
             all.add(compositeCollection);
         }
+        invalidate();
     }
 
     /**
@@ -194,6 +223,7 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
      */
     public void addComposited(final Collection<E>... compositeCollections) {
         Stream.of(compositeCollections).filter(Objects::nonNull).forEach(all::add);
+        invalidate();
     }
 
     /**
@@ -209,6 +239,7 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
         if (compositeCollection2 != null) {
             all.add(compositeCollection2);
         }
+        invalidate();
     }
 
     /**
@@ -221,7 +252,11 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
      */
     @Override
     public void clear() {
-        all.forEach(Collection::clear);
+        try {
+            all.forEach(Collection::clear);
+        } finally {
+            invalidate();
+        }
     }
 
     /**
@@ -252,6 +287,31 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
         return coll != null && coll.stream().allMatch(this::contains);
     }
 
+    /**
+     * Discards the cached size, so that it is computed again when next needed.
+     * <p>
+     * A cached composite must be invalidated after a composited collection is modified other than through this
+     * composite. The operations of this composite invalidate it themselves.
+     * </p>
+     *
+     * @see #setCached(boolean)
+     * @since 4.6.1
+     */
+    public void invalidate() {
+        sizeValid = false;
+    }
+
+    /**
+     * Tests whether the size is cached.
+     *
+     * @return whether the size is cached.
+     * @see #setCached(boolean)
+     * @since 4.6.1
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
     /**
      * Gets the collections being decorated.
      *
@@ -280,6 +340,9 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
      */
     @Override
     public boolean isEmpty() {
+        if (cached) {
+            return size() == 0;
+        }
         return all.stream().allMatch(Collection::isEmpty);
     }
 
@@ -300,7 +363,16 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
         }
         final IteratorChain<E> chain = new IteratorChain<>();
         all.forEach(item -> chain.addIterator(item.iterator()));
-        return chain;
+        if (!cached) {
+            return chain;
+        }
+        return new AbstractIteratorDecorator<E>(chain) {
+            @Override
+            public void remove() {
+                super.remove();
+                invalidate();
+            }
+        };
     }
 
     /**
@@ -318,7 +390,12 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
         if (mutator == null) {
             throw new UnsupportedOperationException("remove() is not supported on CompositeCollection without a CollectionMutator strategy");
         }
-        return mutator.remove(this, all, obj);
+        try {
+            return mutator.remove(this, all, obj);
+        } finally {
+            // after the mutation, in case the mutator reads the size of this composite
+            invalidate();
+        }
     }
 
     /**
@@ -337,8 +414,12 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
             return false;
         }
         boolean changed = false;
-        for (final Collection<E> item : all) {
-            changed |= item.removeAll(coll);
+        try {
+            for (final Collection<E> item : all) {
+                changed |= item.removeAll(coll);
+            }
+        } finally {
+            invalidate();
         }
         return changed;
     }
@@ -350,6 +431,7 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
      */
     public void removeComposited(final Collection<E> coll) {
         all.remove(coll);
+        invalidate();
     }
 
     /**
@@ -369,8 +451,12 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
             return false;
         }
         boolean changed = false;
-        for (final Collection<E> item : all) {
-            changed |= item.removeIf(filter);
+        try {
+            for (final Collection<E> item : all) {
+                changed |= item.removeIf(filter);
+            }
+        } finally {
+            invalidate();
         }
         return changed;
     }
@@ -389,13 +475,33 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
     public boolean retainAll(final Collection<?> coll) {
         boolean changed = false;
         if (coll != null) {
-            for (final Collection<E> item : all) {
-                changed |= item.retainAll(coll);
+            try {
+                for (final Collection<E> item : all) {
+                    changed |= item.retainAll(coll);
+                }
+            } finally {
+                invalidate();
             }
         }
         return changed;
     }
 
+    /**
+     * Sets whether the size is cached.
+     * <p>
+     * A cached composite computes its size once, then answers {@link #size()} and {@link #isEmpty()} in constant time
+     * until it is modified. This assumes that the composited collections are only modified through this composite, or
+     * that {@link #invalidate()} is called after they are modified directly.
+     * </p>
+     *
+     * @param cached whether to cache the size.
+     * @since 4.6.1
+     */
+    public void setCached(final boolean cached) {
+        this.cached = cached;
+        invalidate();
+    }
+
     /**
      * Specify a CollectionMutator strategy instance to handle changes.
      *
@@ -408,27 +514,60 @@ public class CompositeCollection<E> implements Collection<E>, Serializable {
     /**
      * Gets the size of this composite collection.
      * <p>
-     * This implementation calls {@code size()} on each collection.
+     * This implementation calls {@code size()} on each collection, unless the size is {@link #setCached(boolean) cached}.
      * </p>
      *
      * @return total number of elements in all contained containers, or {@code Integer.MAX_VALUE} if the total exceeds it.
      */
     @Override
     public int size() {
-        return IterableUtils.sumSizesToInt(all);
+        if (!cached) {
+            return IterableUtils.sumSizesToInt(all);
+        }
+        if (!sizeValid) {
+            cachedSize = IterableUtils.sumSizesToInt(all);
+            sizeValid = true;
+        }
+        return cachedSize;
+    }
+
+    /**
+     * Creates a spliterator over the elements of the collections in turn, which splits at the boundaries between the
+     * collections, balancing the sizes of the parts, and then within a collection.
+     *
+     * @return A spliterator over the elements of this composite.
+     * @since 4.6.1
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new CompositeSpliterator<>(all, 0);
     }
 
     /**
      * Returns an array containing all of the elements in this composite.
+     * <p>
+     * This implementation copies the array of each collection.
+     * </p>
      *
      * @return An object array of all the elements in the collection.
+     * @throws OutOfMemoryError if the collections hold more than {@code Integer.MAX_VALUE} elements together.
      */
     @Override
     public Object[] toArray() {
-        final Object[] result = new Object[size()];
-        int i = 0;
-        for (final Iterator<E> it = iterator(); it.hasNext(); i++) {
-            result[i] = it.next();
+        final Object[][] arrays = new Object[all.size()][];
+        long length = 0;
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = all.get(i).toArray();
+            length += arrays[i].length;
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new OutOfMemoryError("Required array length " + length + " is too large");
+        }
+        final Object[] result = new Object[(int) length];
+        int offset = 0;
+        for (final Object[] array : arrays) {
+            System.arraycopy(array, 0, result, offset, array.length);
+            offset += array.length;
         }
         return result;
     }
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.functors;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.apache.commons.collections4.Predicate;
+import org.apache.commons.collections4.bloomfilter.BloomFilter;
+import org.apache.commons.collections4.bloomfilter.EnhancedDoubleHasher;
+import org.apache.commons.collections4.bloomfilter.Hasher;
+import org.apache.commons.collections4.bloomfilter.IndexExtractor;
+import org.apache.commons.collections4.bloomfilter.LayerManager;
+import org.apache.commons.collections4.bloomfilter.LayeredBloomFilter;
+import org.apache.commons.collections4.bloomfilter.Shape;
+import org.apache.commons.collections4.bloomfilter.SimpleBloomFilter;
+
+/**
+ * Predicate implementation that returns true the first time an object is
+ * passed into the predicate, remembering the objects seen in a Bloom filter.
+ * <p>
+ * Unlike {@link UniquePredicate}, which keeps every object it has seen in a
+ * {@code HashSet}, this predicate uses a fixed amount of memory, set by the
+ * {@link Shape} of the filter. The price is that it may wrongly report an object
+ * as seen before, and so drop it, at about the false positive rate of the shape;
+ * it never lets a duplicate through. A shape for an expected number of distinct
+ * objects and an acceptable error rate is created with {@link Shape#fromNP(int, double)}.
+ * </p>
+ * <p>
+ * The predicates from {@link #bloomUniquePredicate(Shape, int, int)} forget the
+ * oldest objects, a layer at a time, so they de-duplicate over a sliding window of
+ * an unbounded stream at a steady error rate.
+ * </p>
+ * <p>
+ * By default objects are hashed from their {@code hashCode()}, so objects with
+ * equal hash codes are taken for duplicates; supply a hasher function to hash
+ * from more bits. This class is not thread-safe.
+ * </p>
+ *
+ * @param <T> The type of the input to the predicate.
+ * @see UniquePredicate
+ * @since 4.6.1
+ */
+public final class BloomUniquePredicate<T> extends AbstractPredicate<T> {
+
+    /**
+     * Creates a predicate remembering the objects seen in a {@link SimpleBloomFilter} of the given shape.
+     *
+     * @param <T> The type that the predicate queries
+     * @param shape The shape of the filter
+     * @return The predicate
+     * @throws NullPointerException if the shape is null
+     */
+    public static <T> Predicate<T> bloomUniquePredicate(final Shape shape) {
+        return new BloomUniquePredicate<>(new SimpleBloomFilter(shape), BloomUniquePredicate::hasher);
+    }
+
+    /**
+     * Creates a predicate remembering the objects seen in the given Bloom filter, hashed by the given function.
+     *
+     * @param <T> The type that the predicate queries
+     * @param filter The filter to remember the objects seen in, usually empty
+     * @param hasherFunction Creates the hasher of an object
+     * @return The predicate
+     * @throws NullPointerException if the filter or the function is null
+     */
+    public static <T> Predicate<T> bloomUniquePredicate(final BloomFilter<?> filter,
+            final Function<? super T, ? extends Hasher> hasherFunction) {
+        return new BloomUniquePredicate<>(filter, hasherFunction);
+    }
+
+    /**
+     * Creates a predicate remembering the objects seen in a {@link LayeredBloomFilter}, which starts a new
+     * layer of the given shape after each {@code itemsPerLayer} new objects and drops the oldest layer beyond
+     * {@code layers} layers.
+     * <p>
+     * An object is reported as new again once the layer it was added to has been dropped, that is after
+     * between {@code (layers - 1) * itemsPerLayer} and {@code layers * itemsPerLayer} newer distinct objects.
+     * </p>
+     *
+     * @param <T> The type that the predicate queries
+     * @param shape The shape of each layer, usually for {@code itemsPerLayer} objects
+     * @param itemsPerLayer The number of new objects added to a layer before the next one is started
+     * @param layers The maximum number of layers
+     * @return The predicate
+     * @throws NullPointerException if the shape is null
+     * @throws IllegalArgumentException if itemsPerLayer or layers is not positive
+     */
+    public static <T> Predicate<T> bloomUniquePredicate(final Shape shape, final int itemsPerLayer, final int layers) {
+        Objects.requireNonNull(shape, "shape");
+        final LayerManager<SimpleBloomFilter> layerManager = LayerManager.<SimpleBloomFilter>builder()
+                .setSupplier(() -> new SimpleBloomFilter(shape))
+                .setExtendCheck(LayerManager.ExtendCheck.advanceOnCount(itemsPerLayer))
+                .setCleanup(LayerManager.Cleanup.onMaxSize(layers))
+                .get();
+        return new BloomUniquePredicate<>(new LayeredBloomFilter<>(shape, layerManager), BloomUniquePredicate::hasher);
+    }
+
+    /**
+     * Creates the default hasher of an object, from its hash code.
+     *
+     * @param object The object, may be null
+     * @return The hasher
+     */
+    private static Hasher hasher(final Object object) {
+        final long hash = Objects.hashCode(object);
+        return new EnhancedDoubleHasher(mix(hash), mix(hash + 0x9E3779B97F4A7C15L));
+    }
+
+    /**
+     * Spreads the bits of a value over a long, as the SplitMix64 finalizer does.
+     *
+     * @param value The value
+     * @return The mixed value
+     */
+    private static long mix(final long value) {
+        long z = (value ^ value >>> 30) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ z >>> 27) * 0x94D049BB133111EBL;
+        return z ^ z >>> 31;
+    }
+
+    /** The filter of previously seen objects */
+    private final BloomFilter<?> filter;
+
+    /** Creates the hasher of an object */
+    private final Function<? super T, ? extends Hasher> hasherFunction;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param filter The filter to remember the objects seen in
+     * @param hasherFunction Creates the hasher of an object
+     * @throws NullPointerException if the filter or the function is null
+     */
+    public BloomUniquePredicate(final BloomFilter<?> filter,
+            final Function<? super T, ? extends Hasher> hasherFunction) {
+        this.filter = Objects.requireNonNull(filter, "filter");
+        this.hasherFunction = Objects.requireNonNull(hasherFunction, "hasherFunction");
+    }
+
+    /**
+     * Evaluates the predicate returning true if the filter does not contain the
+     * input object yet, and adds it to the filter.
+     *
+     * @param object  The input object
+     * @return true if this is, most likely, the first time the object is seen
+     */
+    @Override
+    public boolean test(final T object) {
+        final IndexExtractor indices = hasherFunction.apply(object).indices(filter.getShape());
+        if (filter.contains(indices)) {
+            return false;
+        }
+        filter.merge(indices);
+        return true;
+    }
+
+}
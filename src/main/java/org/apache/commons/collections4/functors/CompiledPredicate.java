@@ -0,0 +1,430 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.functors;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.collections4.Predicate;
+
+/**
+ * Predicate implementation that evaluates a flattened conjunction or disjunction
+ * of clauses, created by compiling a tree of predicates.
+ * <p>
+ * {@link #compiledPredicate(Predicate, boolean)} rewrites a tree built from the
+ * {@link AndPredicate}, {@link AllPredicate}, {@link OrPredicate}, {@link AnyPredicate},
+ * {@link NonePredicate}, {@link NotPredicate} and {@link OnePredicate} functors into
+ * an equivalent tree with fewer, wider nodes:
+ * </p>
+ * <ul>
+ *   <li>nested conjunctions and nested disjunctions are flattened into one node each,</li>
+ *   <li>double negations are removed, and {@link TruePredicate} and {@link FalsePredicate}
+ *       clauses are folded away,</li>
+ *   <li>repeated {@link EqualPredicate} and {@link InstanceofPredicate} clauses with the
+ *       same value or type, and repeated instances of any predicate, are evaluated once,</li>
+ *   <li>a disjunction of several {@link EqualPredicate} and {@link NullPredicate} clauses
+ *       is replaced by a single lookup in a {@link HashSet} of their values.</li>
+ * </ul>
+ * <p>
+ * Other predicates are kept as they are. The compiled predicate gives the same results
+ * as the original tree for predicates without side effects, whose {@code equals} methods
+ * are symmetric and consistent with {@code hashCode}, but it may evaluate fewer of them.
+ * </p>
+ * <p>
+ * An adaptive compiled predicate also counts, for each clause of a node, how often the
+ * clause is evaluated and how often it decides the result, that is returns false in a
+ * conjunction or true in a disjunction. Every {@value #REORDER_PERIOD} evaluations of the
+ * node, the clauses are reordered so that those most likely to decide the result for the
+ * least cost, estimated from the size of the clause, are evaluated first. Reordering is
+ * only correct when no clause depends on another being evaluated first, for example a
+ * clause that fails on null inputs guarded by a {@link NotNullPredicate}. The counts are
+ * updated without synchronization, so under concurrent use they are approximate, which
+ * only affects the order of the clauses.
+ * </p>
+ *
+ * @param <T> The type of the input to the predicate.
+ * @since 4.6.1
+ */
+public final class CompiledPredicate<T> extends AbstractPredicate<T> implements PredicateDecorator<T>, Serializable {
+
+    /**
+     * A clause of an adaptive node, with its statistics.
+     *
+     * @param <T> The type of the input to the predicate.
+     */
+    private static final class Clause<T> implements Serializable {
+
+        private static final long serialVersionUID = -4851625401923868934L;
+
+        /** The predicate of the clause. */
+        final Predicate<? super T> predicate;
+
+        /** The estimated cost of the predicate. */
+        final int cost;
+
+        /** The number of times the clause was evaluated, decayed at each reordering. */
+        long evaluations;
+
+        /** The number of times the clause decided the result, decayed at each reordering. */
+        long decisions;
+
+        Clause(final Predicate<? super T> predicate) {
+            this.predicate = predicate;
+            this.cost = cost(predicate);
+        }
+
+        /**
+         * Gets the estimated probability that the clause decides the result, per unit of cost.
+         */
+        double score() {
+            return (decisions + 1.0) / (evaluations + 2.0) / cost;
+        }
+    }
+
+    /**
+     * Predicate that returns true if its input is in a hash set.
+     *
+     * @param <T> The type of the input to the predicate.
+     */
+    private static final class MembershipPredicate<T> extends AbstractPredicate<T> implements Serializable {
+
+        private static final long serialVersionUID = -1215786759067375098L;
+
+        /** The values, may contain null. */
+        private final Set<Object> values;
+
+        MembershipPredicate(final Set<Object> values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean test(final T object) {
+            return values.contains(object);
+        }
+    }
+
+    /** Serial version UID */
+    private static final long serialVersionUID = 8546839059125059606L;
+
+    /** The number of evaluations of an adaptive node between two reorderings of its clauses. */
+    public static final int REORDER_PERIOD = 1024;
+
+    /** The smallest number of equality clauses of a disjunction replaced by a hash lookup. */
+    private static final int MEMBERSHIP_THRESHOLD = 3;
+
+    /** Used to tell an equality clause without a value from one with a null value. */
+    private static final Object NO_VALUE = new Object();
+
+    /**
+     * Compiles a tree of predicates into an equivalent predicate.
+     *
+     * @param <T> The type that the predicate queries
+     * @param predicate  The root of the tree, not null
+     * @param adaptive  Whether the clauses of each node are reordered by their observed selectivity and cost
+     * @return The compiled predicate, which may be a constant, or the original predicate if there is nothing to compile
+     * @throws NullPointerException if the predicate is null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Predicate<T> compiledPredicate(final Predicate<? super T> predicate, final boolean adaptive) {
+        return (Predicate<T>) compile(Objects.requireNonNull(predicate, "predicate"), adaptive);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<Object> compile(final Predicate<?> predicate, final boolean adaptive) {
+        if (predicate instanceof AndPredicate || predicate instanceof AllPredicate) {
+            return junction(((PredicateDecorator<?>) predicate).getPredicates(), false, adaptive);
+        }
+        if (predicate instanceof OrPredicate || predicate instanceof AnyPredicate) {
+            return junction(((PredicateDecorator<?>) predicate).getPredicates(), true, adaptive);
+        }
+        if (predicate instanceof CompiledPredicate) {
+            final CompiledPredicate<?> compiled = (CompiledPredicate<?>) predicate;
+            return junction(compiled.getPredicates(), compiled.any, adaptive);
+        }
+        if (predicate instanceof NonePredicate) {
+            return negate(junction(((NonePredicate<?>) predicate).getPredicates(), true, adaptive));
+        }
+        if (predicate instanceof NotPredicate) {
+            return negate(compile(((NotPredicate<?>) predicate).getPredicates()[0], adaptive));
+        }
+        if (predicate instanceof OnePredicate) {
+            final Predicate<?>[] children = ((OnePredicate<?>) predicate).getPredicates();
+            final Predicate<Object>[] compiled = new Predicate[children.length];
+            for (int i = 0; i < children.length; i++) {
+                compiled[i] = compile(children[i], adaptive);
+            }
+            return new OnePredicate<>(compiled);
+        }
+        return (Predicate<Object>) predicate;
+    }
+
+    /**
+     * Estimates the cost of a predicate from the number of predicates it decorates.
+     */
+    private static int cost(final Predicate<?> predicate) {
+        if (predicate instanceof CompiledPredicate) {
+            return ((CompiledPredicate<?>) predicate).cost;
+        }
+        int cost = 1;
+        if (predicate instanceof PredicateDecorator) {
+            for (final Predicate<?> decorated : ((PredicateDecorator<?>) predicate).getPredicates()) {
+                cost += cost(decorated);
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * Gets the value an equality clause matches, or {@link #NO_VALUE}.
+     */
+    private static Object equalityValue(final Predicate<?> predicate) {
+        if (predicate instanceof EqualPredicate && ((EqualPredicate<?>) predicate).getEquator() == null) {
+            return ((EqualPredicate<?>) predicate).getValue();
+        }
+        if (predicate instanceof NullPredicate) {
+            return null;
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Gets the key by which a clause is deduplicated, or null to deduplicate it by identity.
+     */
+    private static Object key(final Predicate<?> predicate) {
+        final Object value = equalityValue(predicate);
+        if (value != NO_VALUE) {
+            return Arrays.asList(EqualPredicate.class, value);
+        }
+        if (predicate instanceof InstanceofPredicate) {
+            return Arrays.asList(InstanceofPredicate.class, ((InstanceofPredicate) predicate).getType());
+        }
+        return null;
+    }
+
+    /**
+     * Compiles a conjunction or a disjunction of predicates.
+     */
+    @SuppressWarnings("unchecked")
+    private static Predicate<Object> junction(final Predicate<?>[] children, final boolean any,
+            final boolean adaptive) {
+        final List<Predicate<Object>> flat = new ArrayList<>();
+        for (final Predicate<?> child : children) {
+            final Predicate<Object> compiled = compile(child, adaptive);
+            if (compiled instanceof CompiledPredicate && ((CompiledPredicate<?>) compiled).any == any) {
+                for (final Predicate<?> clause : ((CompiledPredicate<?>) compiled).getPredicates()) {
+                    flat.add((Predicate<Object>) clause);
+                }
+            } else {
+                flat.add(compiled);
+            }
+        }
+        final Set<Object> keys = new HashSet<>();
+        final Set<Object> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        final List<Predicate<Object>> clauses = new ArrayList<>(flat.size());
+        for (final Predicate<Object> clause : flat) {
+            if (clause instanceof TruePredicate || clause instanceof FalsePredicate) {
+                if (clause instanceof TruePredicate == any) {
+                    // decides the result whatever the other clauses
+                    return clause;
+                }
+                continue;
+            }
+            final Object key = key(clause);
+            if (key == null ? instances.add(clause) : keys.add(key)) {
+                clauses.add(clause);
+            }
+        }
+        if (any) {
+            fuseEqualities(clauses);
+        }
+        if (clauses.isEmpty()) {
+            return any ? FalsePredicate.falsePredicate() : TruePredicate.truePredicate();
+        }
+        if (clauses.size() == 1) {
+            return clauses.get(0);
+        }
+        return new CompiledPredicate<>(clauses.toArray(new Predicate[clauses.size()]), any, adaptive);
+    }
+
+    /**
+     * Replaces the equality clauses of a disjunction by a hash lookup, at the position of the first of them.
+     */
+    private static void fuseEqualities(final List<Predicate<Object>> clauses) {
+        int count = 0;
+        for (final Predicate<Object> clause : clauses) {
+            if (clause instanceof MembershipPredicate) {
+                count += MEMBERSHIP_THRESHOLD;
+            } else if (equalityValue(clause) != NO_VALUE) {
+                count++;
+            }
+        }
+        if (count < MEMBERSHIP_THRESHOLD) {
+            return;
+        }
+        final Set<Object> values = new HashSet<>();
+        int first = -1;
+        for (int i = clauses.size() - 1; i >= 0; i--) {
+            final Predicate<Object> clause = clauses.get(i);
+            final Object value = equalityValue(clause);
+            if (clause instanceof MembershipPredicate) {
+                values.addAll(((MembershipPredicate<?>) clause).values);
+            } else if (value != NO_VALUE) {
+                values.add(value);
+            } else {
+                continue;
+            }
+            clauses.remove(i);
+            first = i;
+        }
+        clauses.add(first, new MembershipPredicate<>(values));
+    }
+
+    private static Predicate<Object> negate(final Predicate<Object> predicate) {
+        if (predicate instanceof NotPredicate) {
+            @SuppressWarnings("unchecked")
+            final Predicate<Object> negated = (Predicate<Object>) ((NotPredicate<?>) predicate).getPredicates()[0];
+            return negated;
+        }
+        if (predicate instanceof TruePredicate) {
+            return FalsePredicate.falsePredicate();
+        }
+        if (predicate instanceof FalsePredicate) {
+            return TruePredicate.truePredicate();
+        }
+        if (predicate instanceof NullPredicate) {
+            return NotNullPredicate.notNullPredicate();
+        }
+        if (predicate instanceof NotNullPredicate) {
+            return NullPredicate.nullPredicate();
+        }
+        return new NotPredicate<>(predicate);
+    }
+
+    /** True for a disjunction, false for a conjunction. */
+    private final boolean any;
+
+    /** The clauses, in the order of compilation. */
+    private final Predicate<? super T>[] iPredicates;
+
+    /** The clauses of an adaptive node in their current order, or null. */
+    private volatile Clause<T>[] clauses;
+
+    /** The number of evaluations since the last reordering. */
+    private int evaluations;
+
+    /** The estimated cost of this node. */
+    private final int cost;
+
+    @SuppressWarnings("unchecked")
+    private CompiledPredicate(final Predicate<? super T>[] predicates, final boolean any, final boolean adaptive) {
+        this.iPredicates = predicates;
+        this.any = any;
+        int sum = 1;
+        for (final Predicate<? super T> predicate : predicates) {
+            sum += cost(predicate);
+        }
+        this.cost = sum;
+        if (adaptive) {
+            final Clause<T>[] array = new Clause[predicates.length];
+            for (int i = 0; i < predicates.length; i++) {
+                array[i] = new Clause<>(predicates[i]);
+            }
+            clauses = array;
+        }
+    }
+
+    /**
+     * Gets the clauses, in the order they are currently evaluated.
+     *
+     * @return A copy of the clauses
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Predicate<? super T>[] getPredicates() {
+        final Clause<T>[] current = clauses;
+        if (current == null) {
+            return FunctorUtils.copy(iPredicates);
+        }
+        final Predicate<? super T>[] predicates = new Predicate[current.length];
+        for (int i = 0; i < current.length; i++) {
+            predicates[i] = current[i].predicate;
+        }
+        return predicates;
+    }
+
+    /**
+     * Tests whether this node is a disjunction.
+     *
+     * @return true if any clause must be true, false if all clauses must be true
+     */
+    public boolean isDisjunction() {
+        return any;
+    }
+
+    private void reorder(final Clause<T>[] current) {
+        final Clause<T>[] sorted = current.clone();
+        Arrays.sort(sorted, Comparator.comparingDouble((Clause<T> clause) -> clause.score()).reversed());
+        for (final Clause<T> clause : sorted) {
+            // decay the counts so that the order follows changes in the inputs
+            clause.evaluations >>= 1;
+            clause.decisions >>= 1;
+        }
+        clauses = sorted;
+    }
+
+    /**
+     * Evaluates the clauses in order until one decides the result.
+     *
+     * @param object  The input object
+     * @return for a conjunction, true if all clauses return true; for a disjunction, true if any clause returns true
+     */
+    @Override
+    public boolean test(final T object) {
+        final Clause<T>[] current = clauses;
+        if (current == null) {
+            for (final Predicate<? super T> predicate : iPredicates) {
+                if (predicate.test(object) == any) {
+                    return any;
+                }
+            }
+            return !any;
+        }
+        boolean result = !any;
+        for (final Clause<T> clause : current) {
+            clause.evaluations++;
+            if (clause.predicate.test(object) == any) {
+                clause.decisions++;
+                result = any;
+                break;
+            }
+        }
+        if (++evaluations >= REORDER_PERIOD) {
+            evaluations = 0;
+            reorder(current);
+        }
+        return result;
+    }
+
+}
@@ -95,6 +95,16 @@ public final class EqualPredicate<T> extends AbstractPredicate<T> implements Ser
         this.equator = equator;
     }
 
+    /**
+     * Gets the equator.
+     *
+     * @return The equator, or null if the value is compared by equals
+     * @since 4.6.1
+     */
+    public Equator<T> getEquator() {
+        return equator;
+    }
+
     /**
      * Gets the value.
      *
@@ -16,6 +16,8 @@
  */
 package org.apache.commons.collections4.functors;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -149,6 +151,47 @@ final class FunctorUtils {
         }
     }
 
+    /**
+     * Tests whether the arguments can be passed to the parameter types without
+     * the widening or {@code null} checks done by reflection.
+     *
+     * @param paramTypes  The parameter types, may be null
+     * @param args  The arguments, may be null
+     * @return true if every argument is an instance of its parameter type, or of its wrapper type
+     */
+    static boolean isDirectlyApplicable(final Class<?>[] paramTypes, final Object[] args) {
+        final int length = paramTypes == null ? 0 : paramTypes.length;
+        if (length != (args == null ? 0 : args.length)) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            final Class<?> type = paramTypes[i];
+            final Object arg = args[i];
+            if (type.isPrimitive()) {
+                if (arg == null || MethodType.methodType(type).wrap().returnType() != arg.getClass()) {
+                    return false;
+                }
+            } else if (arg != null && !type.isInstance(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adapts a method handle to take its trailing arguments as one {@code Object[]} and
+     * everything else as {@code Object}, so that it can be called with
+     * {@link MethodHandle#invokeExact(Object...)} whatever the target.
+     *
+     * @param handle  The handle to adapt
+     * @param argCount  The number of trailing arguments to spread
+     * @return The adapted handle
+     */
+    static MethodHandle spread(final MethodHandle handle, final int argCount) {
+        final MethodHandle spread = handle.asFixedArity().asSpreader(Object[].class, argCount);
+        return spread.asType(MethodType.genericMethodType(spread.type().parameterCount() - 1, true));
+    }
+
     /**
      * Validate method
      *
@@ -16,8 +16,15 @@
  */
 package org.apache.commons.collections4.functors;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.collections4.FunctorException;
 import org.apache.commons.collections4.Transformer;
@@ -36,6 +43,75 @@ import org.apache.commons.collections4.Transformer;
  */
 public class InstantiateTransformer<T> implements Transformer<Class<? extends T>, T> {
 
+    /**
+     * The constructor resolved for one input class.
+     * <p>
+     * The constructor is called through a method handle when the arguments can be
+     * passed without conversion and the class is concrete, and through reflection
+     * otherwise, which keeps the exceptions the same either way.
+     * </p>
+     */
+    private static final class Target {
+
+        /** The type of the handle: the arguments, returning the new instance */
+        private static final MethodType HANDLE_TYPE = MethodType.genericMethodType(0, true);
+
+        /** The input class */
+        private final Class<?> type;
+
+        /** The method handle taking the arguments, or null */
+        private final MethodHandle handle;
+
+        /** The constructor to call by reflection when there is no handle, or null if there is no such constructor */
+        private final Constructor<?> constructor;
+
+        Target(final Class<?> type, final Class<?>[] paramTypes, final boolean direct) {
+            this.type = type;
+            Constructor<?> found = null;
+            MethodHandle resolved = null;
+            try {
+                found = type.getConstructor(paramTypes);
+                if (direct && !Modifier.isAbstract(type.getModifiers())) {
+                    resolved = FunctorUtils.spread(MethodHandles.publicLookup().unreflectConstructor(found),
+                            found.getParameterCount());
+                }
+            } catch (final NoSuchMethodException ex) {
+                // reported on each call
+            } catch (final IllegalAccessException ex) {
+                // let reflection report the problem on each call
+            }
+            this.constructor = found;
+            // any handle that cannot be called exactly is left to reflection, so that an exception
+            // thrown through the handle can only come from the constructor itself
+            this.handle = resolved != null && resolved.type().equals(HANDLE_TYPE) ? resolved : null;
+        }
+
+        Object newInstance(final Object[] args) {
+            if (constructor == null) {
+                throw new FunctorException("InstantiateTransformer: The constructor must exist and be public ");
+            }
+            if (handle != null) {
+                try {
+                    return handle.invokeExact(args);
+                } catch (final WrongMethodTypeException ex) {
+                    // the handle could not be adapted to the call, so let reflection make it
+                } catch (final Throwable ex) {
+                    throw new FunctorException("InstantiateTransformer: Constructor threw an exception",
+                            new InvocationTargetException(ex));
+                }
+            }
+            try {
+                return constructor.newInstance(args);
+            } catch (final InstantiationException ex) {
+                throw new FunctorException("InstantiateTransformer: InstantiationException", ex);
+            } catch (final IllegalAccessException ex) {
+                throw new FunctorException("InstantiateTransformer: Constructor must be public", ex);
+            } catch (final InvocationTargetException ex) {
+                throw new FunctorException("InstantiateTransformer: Constructor threw an exception", ex);
+            }
+        }
+    }
+
     /** Singleton instance that uses the no arg constructor */
     @SuppressWarnings("rawtypes")
     private static final Transformer NO_ARG_INSTANCE = new InstantiateTransformer<>();
@@ -79,6 +155,12 @@ public class InstantiateTransformer<T> implements Transformer<Class<? extends T>
     /** The constructor arguments */
     private final Object[] iArgs;
 
+    /** The resolved constructors by input class */
+    private final Map<Class<?>, Target> targets = new ConcurrentHashMap<>(4);
+
+    /** The last resolved constructor, checked before the per class cache */
+    private Target lastTarget;
+
     /**
      * Constructor for no arg instance.
      */
@@ -101,30 +183,39 @@ public class InstantiateTransformer<T> implements Transformer<Class<? extends T>
         iArgs = args != null ? args.clone() : null;
     }
 
+    /**
+     * Resolves the constructor to call for an input class.
+     *
+     * @param type  The input class
+     * @return The resolved constructor
+     */
+    private Target resolve(final Class<?> type) {
+        return new Target(type, iParamTypes, FunctorUtils.isDirectlyApplicable(iParamTypes, iArgs));
+    }
+
     /**
      * Transforms the input Class object to a result by instantiation.
+     * <p>
+     * The constructor is looked up once per input class. The last class seen is
+     * checked first, so a transformer always applied to the same class does no lookup at all.
+     * </p>
      *
      * @param input  The input object to transform
      * @return The transformed result
      */
     @Override
+    @SuppressWarnings("unchecked")
     public T transform(final Class<? extends T> input) {
-        try {
-            if (input == null) {
-                throw new FunctorException(
-                    "InstantiateTransformer: Input object was not an instanceof Class, it was a null object");
-            }
-            final Constructor<? extends T> con = input.getConstructor(iParamTypes);
-            return con.newInstance(iArgs);
-        } catch (final NoSuchMethodException ex) {
-            throw new FunctorException("InstantiateTransformer: The constructor must exist and be public ");
-        } catch (final InstantiationException ex) {
-            throw new FunctorException("InstantiateTransformer: InstantiationException", ex);
-        } catch (final IllegalAccessException ex) {
-            throw new FunctorException("InstantiateTransformer: Constructor must be public", ex);
-        } catch (final InvocationTargetException ex) {
-            throw new FunctorException("InstantiateTransformer: Constructor threw an exception", ex);
+        if (input == null) {
+            throw new FunctorException(
+                "InstantiateTransformer: Input object was not an instanceof Class, it was a null object");
+        }
+        Target target = lastTarget;
+        if (target == null || target.type != input) {
+            target = targets.computeIfAbsent(input, this::resolve);
+            lastTarget = target;
         }
+        return (T) target.newInstance(iArgs);
     }
 
 }
@@ -16,9 +16,16 @@
  */
 package org.apache.commons.collections4.functors;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.collections4.FunctorException;
 import org.apache.commons.collections4.Transformer;
@@ -38,6 +45,84 @@ import org.apache.commons.collections4.Transformer;
  */
 public class InvokerTransformer<T, R> implements Transformer<T, R> {
 
+    /**
+     * The method resolved for one input class.
+     * <p>
+     * The method is called through a method handle when the arguments can be passed
+     * without conversion, and through reflection otherwise, which keeps the exceptions
+     * the same either way. A static method ignores the input, as it does by reflection.
+     * </p>
+     */
+    private static final class Target {
+
+        /** The type of the handle: the input and the arguments, returning the result */
+        private static final MethodType HANDLE_TYPE = MethodType.genericMethodType(1, true);
+
+        /** The input class */
+        private final Class<?> type;
+
+        /** The method name, for error messages */
+        private final String methodName;
+
+        /** The method handle taking the input and the arguments, or null */
+        private final MethodHandle handle;
+
+        /** The method to call by reflection when there is no handle, or null if there is no such method */
+        private final Method method;
+
+        Target(final Class<?> type, final String methodName, final Class<?>[] paramTypes, final boolean direct) {
+            this.type = type;
+            this.methodName = methodName;
+            Method found = null;
+            MethodHandle resolved = null;
+            try {
+                found = type.getMethod(methodName, paramTypes);
+                if (direct) {
+                    MethodHandle unreflected = MethodHandles.publicLookup().unreflect(found);
+                    if (Modifier.isStatic(found.getModifiers())) {
+                        // take the input as an ignored receiver
+                        unreflected = MethodHandles.dropArguments(unreflected, 0, Object.class);
+                    }
+                    resolved = FunctorUtils.spread(unreflected, found.getParameterCount());
+                }
+            } catch (final NoSuchMethodException ex) {
+                // reported on each call
+            } catch (final IllegalAccessException ex) {
+                // let reflection report the problem on each call
+            }
+            this.method = found;
+            // any handle that cannot be called exactly is left to reflection, so that an exception
+            // thrown through the handle can only come from the method itself
+            this.handle = resolved != null && resolved.type().equals(HANDLE_TYPE) ? resolved : null;
+        }
+
+        Object invoke(final Object input, final Object[] args) {
+            if (method == null) {
+                throw new FunctorException("InvokerTransformer: The method '" + methodName + "' on '" +
+                                           type + "' does not exist");
+            }
+            if (handle != null) {
+                try {
+                    return handle.invokeExact(input, args);
+                } catch (final WrongMethodTypeException ex) {
+                    // the handle could not be adapted to the call, so let reflection make it
+                } catch (final Throwable ex) {
+                    throw new FunctorException("InvokerTransformer: The method '" + methodName + "' on '" +
+                                               type + "' threw an exception", new InvocationTargetException(ex));
+                }
+            }
+            try {
+                return method.invoke(input, args);
+            } catch (final IllegalAccessException ex) {
+                throw new FunctorException("InvokerTransformer: The method '" + methodName + "' on '" +
+                                           type + "' cannot be accessed");
+            } catch (final InvocationTargetException ex) {
+                throw new FunctorException("InvokerTransformer: The method '" + methodName + "' on '" +
+                                           type + "' threw an exception", ex);
+            }
+        }
+    }
+
     /**
      * Gets an instance of this transformer calling a specific method with no arguments.
      *
@@ -87,6 +172,12 @@ public class InvokerTransformer<T, R> implements Transformer<T, R> {
     /** The array of reflection arguments */
     private final Object[] iArgs;
 
+    /** The resolved methods by input class */
+    private final Map<Class<?>, Target> targets = new ConcurrentHashMap<>(4);
+
+    /** The last resolved method, checked before the per class cache */
+    private Target lastTarget;
+
     /**
      * Constructor for no arg instance.
      *
@@ -114,8 +205,22 @@ public class InvokerTransformer<T, R> implements Transformer<T, R> {
         iArgs = args != null ? args.clone() : null;
     }
 
+    /**
+     * Resolves the method to call for an input class.
+     *
+     * @param type  The input class
+     * @return The resolved method
+     */
+    private Target resolve(final Class<?> type) {
+        return new Target(type, iMethodName, iParamTypes, FunctorUtils.isDirectlyApplicable(iParamTypes, iArgs));
+    }
+
     /**
      * Transforms the input to result by invoking a method on the input.
+     * <p>
+     * The method is looked up once per input class. The last class seen is checked
+     * first, so a transformer applied to inputs of a single class does no lookup at all.
+     * </p>
      *
      * @param input  The input object to transform
      * @return The transformed result, null if null input
@@ -126,20 +231,13 @@ public class InvokerTransformer<T, R> implements Transformer<T, R> {
         if (input == null) {
             return null;
         }
-        try {
-            final Class<?> cls = input.getClass();
-            final Method method = cls.getMethod(iMethodName, iParamTypes);
-            return (R) method.invoke(input, iArgs);
-        } catch (final NoSuchMethodException ex) {
-            throw new FunctorException("InvokerTransformer: The method '" + iMethodName + "' on '" +
-                                       input.getClass() + "' does not exist");
-        } catch (final IllegalAccessException ex) {
-            throw new FunctorException("InvokerTransformer: The method '" + iMethodName + "' on '" +
-                                       input.getClass() + "' cannot be accessed");
-        } catch (final InvocationTargetException ex) {
-            throw new FunctorException("InvokerTransformer: The method '" + iMethodName + "' on '" +
-                                       input.getClass() + "' threw an exception", ex);
+        final Class<?> cls = input.getClass();
+        Target target = lastTarget;
+        if (target == null || target.type != cls) {
+            target = targets.computeIfAbsent(cls, this::resolve);
+            lastTarget = target;
         }
+        return (R) target.invoke(input, iArgs);
     }
 
 }
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.iterators;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Provides the traversal and splitting of a spliterator over a range of ranks
+ * of a combinatorial space, in which each tuple is described by an array of
+ * {@code int} digits.
+ * <p>
+ * Subclasses unrank a rank into digits, step the digits to the next rank, and
+ * map the digits to elements. The digits are computed lazily from the first rank
+ * of the range, so splitting never unranks.
+ * </p>
+ *
+ * @param <E> the type of the elements of the tuples.
+ * @since 4.6.1
+ */
+abstract class AbstractRankedSpliterator<E> implements Spliterator<List<E>> {
+
+    /** The characteristics of these spliterators. */
+    private static final int CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+
+    /** The rank of the next tuple. */
+    private long position;
+
+    /** The rank past the last tuple. */
+    private final long end;
+
+    /** The digits of the tuple at position, null until first needed. */
+    private int[] digits;
+
+    /**
+     * Constructs a spliterator over a range of ranks.
+     *
+     * @param position The first rank.
+     * @param end The rank past the last one.
+     */
+    AbstractRankedSpliterator(final long position, final long end) {
+        this.position = position;
+        this.end = end;
+    }
+
+    /**
+     * Advances the digits to the next rank, which exists.
+     *
+     * @param digits The digits to advance.
+     */
+    abstract void advance(int[] digits);
+
+    /**
+     * Checks a rank is in the space of this spliterator, whatever its range.
+     *
+     * @param rank The rank.
+     * @throws IndexOutOfBoundsException if the rank is negative or not less than {@link #count()}.
+     */
+    private void checkRank(final long rank) {
+        if (rank < 0 || rank >= count()) {
+            throw new IndexOutOfBoundsException("Rank: " + rank + ", Count: " + count());
+        }
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    /**
+     * Gets the number of tuples in the whole space, regardless of the range of this spliterator.
+     *
+     * @return The number of tuples.
+     */
+    public abstract long count();
+
+    /**
+     * Creates a spliterator over another range of the same space.
+     *
+     * @param from The first rank.
+     * @param to The rank past the last one.
+     * @return A new spliterator.
+     */
+    abstract AbstractRankedSpliterator<E> create(long from, long to);
+
+    @Override
+    public long estimateSize() {
+        return end - position;
+    }
+
+    /**
+     * Stores the elements of the tuple with the given digits into an array.
+     *
+     * @param digits The digits of the tuple.
+     * @param buffer The array to fill from index zero.
+     */
+    abstract void fill(int[] digits, Object[] buffer);
+
+    @Override
+    public void forEachRemaining(final Consumer<? super List<E>> action) {
+        Objects.requireNonNull(action, "action");
+        while (position < end) {
+            action.accept(toList(nextDigits()));
+        }
+    }
+
+    /**
+     * Gets the tuple with the given rank, whatever the range of this spliterator.
+     *
+     * @param rank The rank of the tuple.
+     * @return A new list of the elements of the tuple.
+     * @throws IndexOutOfBoundsException if the rank is negative or not less than {@link #count()}.
+     */
+    public List<E> get(final long rank) {
+        checkRank(rank);
+        final int[] tuple = new int[width()];
+        unrank(rank, tuple);
+        return toList(tuple);
+    }
+
+    /**
+     * Stores the tuple with the given rank into an array, whatever the range of this spliterator.
+     *
+     * @param rank The rank of the tuple.
+     * @param buffer The array to fill from index zero, at least {@link #width()} long.
+     * @return The buffer.
+     * @throws IndexOutOfBoundsException if the rank is negative or not less than {@link #count()}.
+     * @throws IllegalArgumentException if the buffer is too short.
+     */
+    public E[] get(final long rank, final E[] buffer) {
+        checkRank(rank);
+        checkBuffer(buffer);
+        final int[] tuple = new int[width()];
+        unrank(rank, tuple);
+        fill(tuple, buffer);
+        return buffer;
+    }
+
+    private void checkBuffer(final Object[] buffer) {
+        if (buffer.length < width()) {
+            throw new IllegalArgumentException("Buffer length " + buffer.length + " is less than " + width());
+        }
+    }
+
+    /**
+     * Gets the digits of the next tuple and moves past it.
+     *
+     * @return The digits, which are only valid until the next call.
+     */
+    private int[] nextDigits() {
+        if (digits == null) {
+            digits = new int[width()];
+            unrank(position, digits);
+        } else {
+            advance(digits);
+        }
+        position++;
+        return digits;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> toList(final int[] tuple) {
+        final Object[] buffer = new Object[width()];
+        fill(tuple, buffer);
+        final List<E> list = new ArrayList<>(buffer.length);
+        for (final Object element : buffer) {
+            list.add((E) element);
+        }
+        return list;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super List<E>> action) {
+        Objects.requireNonNull(action, "action");
+        if (position >= end) {
+            return false;
+        }
+        action.accept(toList(nextDigits()));
+        return true;
+    }
+
+    /**
+     * Stores the next tuple into an array rather than a new list, and moves past it.
+     * <p>
+     * Reusing the same buffer for each tuple traverses the range without allocating.
+     * </p>
+     *
+     * @param buffer The array to fill from index zero, at least {@link #width()} long.
+     * @return false if there are no more tuples, in which case the buffer is unchanged.
+     * @throws IllegalArgumentException if the buffer is too short.
+     */
+    public boolean tryAdvance(final E[] buffer) {
+        checkBuffer(buffer);
+        if (position >= end) {
+            return false;
+        }
+        fill(nextDigits(), buffer);
+        return true;
+    }
+
+    /**
+     * Splits off the first half of the remaining ranks.
+     *
+     * @return A spliterator over the first half of the remaining ranks, or null if fewer than two remain.
+     */
+    @Override
+    public AbstractRankedSpliterator<E> trySplit() {
+        final long size = end - position;
+        if (size < 2) {
+            return null;
+        }
+        final long mid = position + (size >>> 1);
+        final AbstractRankedSpliterator<E> prefix = create(position, mid);
+        position = mid;
+        digits = null;
+        return prefix;
+    }
+
+    /**
+     * Computes the digits of a rank.
+     *
+     * @param rank The rank, which exists.
+     * @param digits The array to store the digits in.
+     */
+    abstract void unrank(long rank, int[] digits);
+
+    /**
+     * Gets the number of elements in each tuple.
+     *
+     * @return The number of elements in each tuple.
+     */
+    public abstract int width();
+
+}
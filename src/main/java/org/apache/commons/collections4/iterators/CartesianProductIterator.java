@@ -66,6 +66,7 @@ import java.util.Objects;
  * </p>
  *
  * @param <E> The type of the objects being permuted
+ * @see CartesianProductSpliterator
  * @since 4.5.0-M3
  */
 public class CartesianProductIterator<E> implements Iterator<List<E>> {
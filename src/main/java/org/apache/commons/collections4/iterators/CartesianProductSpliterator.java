@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.iterators;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A splittable, random-access spliterator over the Cartesian product of the input iterables.
+ * <p>
+ * The tuples are in the same order as those of {@link CartesianProductIterator}, the last
+ * iterable varying fastest. The rank of a tuple is the mixed-radix number whose digits are the
+ * indexes of its elements in their iterables, so {@link #get(long)} and {@link #trySplit()}
+ * jump anywhere in the product, and a range of ranks can be handed to each worker of a parallel
+ * search. Within a range each tuple is derived from the previous one by a carry increment.
+ * </p>
+ * <p>
+ * Each tuple is returned as a new list by {@link #tryAdvance(java.util.function.Consumer)},
+ * or stored into a caller-supplied array by {@link #tryAdvance(Object[])}, which allocates nothing.
+ * </p>
+ * <p>
+ * The iterables are copied when the spliterator is constructed, so they must be finite, and the
+ * size of their product must fit in a {@code long}. If there are no iterables, or any of them
+ * is empty, the product is empty.
+ * </p>
+ *
+ * @param <E> the type of the elements of the tuples.
+ * @see CartesianProductIterator
+ * @since 4.6.1
+ */
+public final class CartesianProductSpliterator<E> extends AbstractRankedSpliterator<E> {
+
+    /** The elements of each iterable. */
+    private final Object[][] axes;
+
+    /** The size of the product. */
+    private final long count;
+
+    /**
+     * Constructs a spliterator over the Cartesian product of the given iterables.
+     *
+     * @param iterables The iterables to create the Cartesian product from.
+     * @throws NullPointerException if any of the iterables is null.
+     * @throws IllegalArgumentException if the size of the product overflows a long.
+     */
+    @SafeVarargs
+    public CartesianProductSpliterator(final Iterable<? extends E>... iterables) {
+        this(toAxes(iterables));
+    }
+
+    private CartesianProductSpliterator(final Object[][] axes) {
+        this(axes, 0, countOf(axes));
+    }
+
+    private CartesianProductSpliterator(final Object[][] axes, final long from, final long to) {
+        super(from, to);
+        this.axes = axes;
+        this.count = countOf(axes);
+    }
+
+    private static long countOf(final Object[][] axes) {
+        if (axes.length == 0) {
+            return 0;
+        }
+        long count = 1;
+        for (final Object[] axis : axes) {
+            try {
+                count = Math.multiplyExact(count, axis.length);
+            } catch (final ArithmeticException e) {
+                throw new IllegalArgumentException("The size of the Cartesian product overflows a long", e);
+            }
+        }
+        return count;
+    }
+
+    private static Object[][] toAxes(final Iterable<?>[] iterables) {
+        Objects.requireNonNull(iterables, "iterables");
+        final Object[][] axes = new Object[iterables.length][];
+        for (int i = 0; i < iterables.length; i++) {
+            final List<Object> elements = new ArrayList<>();
+            Objects.requireNonNull(iterables[i], "iterable").forEach(elements::add);
+            axes[i] = elements.toArray();
+        }
+        return axes;
+    }
+
+    /**
+     * Computes the rank of the tuple made of the elements at the given indexes of the iterables.
+     *
+     * @param indexes The index of an element in each iterable.
+     * @return The rank, between {@code 0} and {@code count() - 1}.
+     * @throws IllegalArgumentException if there is not one index per iterable.
+     * @throws IndexOutOfBoundsException if an index is out of the bounds of its iterable.
+     */
+    public long rank(final int... indexes) {
+        if (indexes.length != axes.length) {
+            throw new IllegalArgumentException("Expected " + axes.length + " indexes: " + Arrays.toString(indexes));
+        }
+        long rank = 0;
+        for (int i = 0; i < axes.length; i++) {
+            final int length = axes[i].length;
+            if (indexes[i] < 0 || indexes[i] >= length) {
+                throw new IndexOutOfBoundsException("Index: " + indexes[i] + ", Size: " + length);
+            }
+            rank = rank * length + indexes[i];
+        }
+        return rank;
+    }
+
+    /**
+     * Increments the indexes, carrying from the last iterable.
+     */
+    @Override
+    void advance(final int[] digits) {
+        for (int i = digits.length - 1; i >= 0; i--) {
+            if (++digits[i] < axes[i].length) {
+                return;
+            }
+            digits[i] = 0;
+        }
+    }
+
+    /**
+     * Gets the size of the Cartesian product.
+     *
+     * @return The product of the sizes of the iterables, or zero if there are none.
+     */
+    @Override
+    public long count() {
+        return count;
+    }
+
+    @Override
+    CartesianProductSpliterator<E> create(final long from, final long to) {
+        return new CartesianProductSpliterator<>(axes, from, to);
+    }
+
+    @Override
+    void fill(final int[] digits, final Object[] buffer) {
+        for (int i = 0; i < digits.length; i++) {
+            buffer[i] = axes[i][digits[i]];
+        }
+    }
+
+    /**
+     * Computes the indexes of the tuple of a rank, from the last iterable.
+     */
+    @Override
+    void unrank(final long rank, final int[] digits) {
+        long remainder = rank;
+        for (int i = digits.length - 1; i >= 0; i--) {
+            final int length = axes[i].length;
+            digits[i] = (int) (remainder % length);
+            remainder /= length;
+        }
+    }
+
+    /**
+     * Gets the number of elements of each tuple.
+     *
+     * @return The number of iterables.
+     */
+    @Override
+    public int width() {
+        return axes.length;
+    }
+
+}
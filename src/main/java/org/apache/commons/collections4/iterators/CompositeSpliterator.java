@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.iterators;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator over the elements of several iterables in turn, for the composite views.
+ * <p>
+ * While it covers more than one iterable, {@link #trySplit()} splits at the iterable boundary
+ * that best balances the estimated sizes of the two halves, so that each part of a parallel
+ * stream traverses whole iterables; once it covers a single iterable, it delegates to the
+ * spliterator of that iterable. The spliterators of the iterables are created when this
+ * spliterator is constructed; they are usually late-binding.
+ * </p>
+ * <p>
+ * This spliterator reports the {@link #ORDERED}, {@link #SIZED}, {@link #SUBSIZED},
+ * {@link #NONNULL} and {@link #IMMUTABLE} characteristics that all the spliterators of the
+ * iterables it covers report, and the additional characteristics given by its creator, such as
+ * {@link #DISTINCT} for disjoint sets.
+ * </p>
+ *
+ * @param <E> the type of the elements.
+ * @see IteratorChain
+ * @since 4.6.1
+ */
+public final class CompositeSpliterator<E> implements Spliterator<E> {
+
+    /** The characteristics kept when all the spliterators of the iterables report them. */
+    private static final int COMMON = ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+
+    /** The spliterators of the iterables. */
+    private final Spliterator<? extends E>[] parts;
+
+    /** The index of the current spliterator. */
+    private int index;
+
+    /** The index past the last spliterator covered. */
+    private final int fence;
+
+    /** The characteristics of this spliterator. */
+    private final int characteristics;
+
+    /**
+     * Constructs a spliterator over the elements of the given iterables in turn.
+     *
+     * @param iterables The iterables.
+     * @param additionalCharacteristics The characteristics that hold for the concatenation, such as
+     *        {@link #DISTINCT}, in addition to those common to the iterables.
+     * @throws NullPointerException if the collection or any of the iterables is null.
+     */
+    @SuppressWarnings("unchecked")
+    public CompositeSpliterator(final Collection<? extends Iterable<? extends E>> iterables,
+            final int additionalCharacteristics) {
+        parts = new Spliterator[iterables.size()];
+        int common = COMMON;
+        int i = 0;
+        for (final Iterable<? extends E> iterable : iterables) {
+            parts[i] = Objects.requireNonNull(iterable, "iterable").spliterator();
+            common &= parts[i++].characteristics();
+        }
+        fence = parts.length;
+        characteristics = common | additionalCharacteristics;
+    }
+
+    private CompositeSpliterator(final Spliterator<? extends E>[] parts, final int index, final int fence,
+            final int characteristics) {
+        this.parts = parts;
+        this.index = index;
+        this.fence = fence;
+        this.characteristics = characteristics;
+    }
+
+    /**
+     * Gets the characteristics of this spliterator, which is only {@link #SIZED} and {@link #SUBSIZED}
+     * while the spliterators of the iterables it still covers are, since a spliterator split within an
+     * iterable may only estimate its size.
+     *
+     * @return The characteristics of this spliterator.
+     */
+    @Override
+    public int characteristics() {
+        int sized = SIZED | SUBSIZED;
+        for (int i = index; i < fence; i++) {
+            sized &= parts[i].characteristics();
+        }
+        return characteristics & (~(SIZED | SUBSIZED) | sized);
+    }
+
+    @Override
+    public long estimateSize() {
+        long size = 0;
+        for (int i = index; i < fence; i++) {
+            size += parts[i].estimateSize();
+            if (size < 0) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super E> action) {
+        Objects.requireNonNull(action, "action");
+        for (; index < fence; index++) {
+            parts[index].forEachRemaining(action);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super E> action) {
+        Objects.requireNonNull(action, "action");
+        for (; index < fence; index++) {
+            if (parts[index].tryAdvance(action)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Splits off a prefix of whole iterables balancing the estimated sizes, or, when a single
+     * iterable is left, a prefix of that iterable.
+     *
+     * @return A spliterator over a prefix of the elements, or null if this spliterator cannot be split.
+     */
+    @Override
+    public Spliterator<E> trySplit() {
+        final int count = fence - index;
+        if (count == 0) {
+            return null;
+        }
+        if (count == 1) {
+            @SuppressWarnings("unchecked")
+            final Spliterator<E> prefix = (Spliterator<E>) parts[index].trySplit();
+            return prefix;
+        }
+        final long half = estimateSize() / 2;
+        int mid = index + 1;
+        long size = parts[index].estimateSize();
+        while (mid < fence - 1 && size + parts[mid].estimateSize() / 2 < half) {
+            size += parts[mid++].estimateSize();
+        }
+        final Spliterator<E> prefix = new CompositeSpliterator<>(parts, index, mid, characteristics);
+        index = mid;
+        return prefix;
+    }
+
+}
@@ -17,9 +17,20 @@
 package org.apache.commons.collections4.iterators;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
 
 import org.apache.commons.collections4.Transformer;
 
@@ -76,12 +87,145 @@ import org.apache.commons.collections4.Transformer;
  * Under many circumstances, linking Iterators together in this manner is
  * more efficient (and convenient) than using nested for loops to extract a list.
  * </p>
+ * <p>
+ * By default the graph is walked depth first, and an object reachable along several
+ * paths is transformed, and its subgraph walked, once per path. An iterator may instead
+ * walk the graph breadth first, returning the elements of each iterator before those of
+ * the iterators it contains, and may walk the subgraph of each object only once, remembering
+ * by identity the objects it has transformed into an iterator. Visiting once also stops the
+ * iteration of a graph with cycles. Only the objects transformed into an iterator are
+ * remembered: an element is returned each time it is found, so that equal elements shared
+ * by identity, such as {@code Integer.valueOf(1)}, {@code Boolean.TRUE} or interned strings,
+ * are not dropped.
+ * A graph with independent subgraphs can be walked in parallel with
+ * {@link #parallelForEach(Object, Transformer, boolean, Consumer)}.
+ * </p>
  *
  * @param <E> The type of elements returned by this iterator.
  * @since 3.1
  */
 public class ObjectGraphIterator<E> implements Iterator<E> {
 
+    /**
+     * Wraps an object so that it is compared by identity in a hash-based collection.
+     */
+    private static final class IdentityKey {
+
+        /** The wrapped object. */
+        private final Object object;
+
+        IdentityKey(final Object object) {
+            this.object = object;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof IdentityKey && ((IdentityKey) obj).object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+    }
+
+    /**
+     * Walks an iterator of the graph, forking a task for a nested iterator while the pool has idle threads.
+     *
+     * @param <E> The type of elements of the graph.
+     */
+    private static final class Walk<E> extends RecursiveAction {
+
+        /** Forks are only made while a thread has no more queued tasks than this. */
+        private static final int SURPLUS_THRESHOLD = 3;
+
+        private static final long serialVersionUID = -7449658932776482318L;
+
+        /** The iterator to walk. */
+        private final transient Iterator<?> iterator;
+
+        /** The transformer to use, may be null. */
+        private final transient Transformer<? super E, ? extends E> transformer;
+
+        /** The objects already transformed into an iterator, or null. */
+        private final transient Set<IdentityKey> visited;
+
+        /** The consumer of the elements. */
+        private final transient Consumer<? super E> consumer;
+
+        Walk(final Iterator<?> iterator, final Transformer<? super E, ? extends E> transformer,
+                final Set<IdentityKey> visited, final Consumer<? super E> consumer) {
+            this.iterator = iterator;
+            this.transformer = transformer;
+            this.visited = visited;
+            this.consumer = consumer;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void compute() {
+            final List<Walk<E>> forks = new ArrayList<>();
+            final Deque<Iterator<?>> stack = new ArrayDeque<>(8);
+            Iterator<?> current = iterator;
+            while (current != null) {
+                if (!current.hasNext()) {
+                    current = stack.poll();
+                    continue;
+                }
+                final E object = (E) current.next();
+                final E next = transformer == null ? object : transformer.apply(object);
+                if (!(next instanceof Iterator)) {
+                    consumer.accept(next);
+                } else if (visited != null && !visited.add(new IdentityKey(object))) {
+                    continue;
+                } else if (getSurplusQueuedTaskCount() <= SURPLUS_THRESHOLD) {
+                    final Walk<E> fork = new Walk<>((Iterator<?>) next, transformer, visited, consumer);
+                    fork.fork();
+                    forks.add(fork);
+                } else {
+                    stack.push(current);
+                    current = (Iterator<?>) next;
+                }
+            }
+            forks.forEach(ForkJoinTask::join);
+        }
+    }
+
+    /**
+     * Walks an object graph on the common fork/join pool, passing each element to a consumer.
+     * <p>
+     * The graph is explored as by an iterator, but the iterators found in it are walked
+     * concurrently, so the elements are passed to the consumer in no particular order and
+     * from several threads. The transformer, the iterators of the graph and the consumer
+     * must therefore be thread-safe. This method returns once the whole graph has been walked,
+     * or rethrows the first exception thrown by the transformer, an iterator, or the consumer.
+     * </p>
+     *
+     * @param <E> The type of elements of the graph.
+     * @param root The root object, which may be an iterator, null walks nothing.
+     * @param transformer The transformer to use, null will use a no effect transformer.
+     * @param visitOnce Whether the subgraph of each object is walked once only, compared by identity.
+     * @param consumer The consumer of the elements.
+     * @throws NullPointerException if the consumer is null.
+     * @since 4.6.1
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> void parallelForEach(final E root, final Transformer<? super E, ? extends E> transformer,
+            final boolean visitOnce, final Consumer<? super E> consumer) {
+        Objects.requireNonNull(consumer, "consumer");
+        if (root == null) {
+            return;
+        }
+        final Set<IdentityKey> visited = visitOnce ? ConcurrentHashMap.newKeySet() : null;
+        final Iterator<?> rootIterator;
+        if (root instanceof Iterator) {
+            rootIterator = (Iterator<?>) root;
+        } else {
+            rootIterator = Collections.singletonList(root).iterator();
+        }
+        ForkJoinPool.commonPool().invoke(new Walk<>(rootIterator, transformer, visited, consumer));
+    }
+
     /** The stack of iterators */
     private final Deque<Iterator<? extends E>> stack = new ArrayDeque<>(8);
 
@@ -103,6 +247,15 @@ public class ObjectGraphIterator<E> implements Iterator<E> {
     /** The last used iterator, needed for remove() */
     private Iterator<? extends E> lastUsedIterator;
 
+    /** Whether nested iterators are queued behind the current one rather than walked first */
+    private final boolean breadthFirst;
+
+    /** The objects already transformed into an iterator, compared by identity, or null to walk them once per path */
+    private final Set<Object> visited;
+
+    /** Whether findNextByIterator is looping, in which case a nested call only changes the current iterator */
+    private boolean searching;
+
     /**
      * Constructs an ObjectGraphIterator using a root object and transformer.
      * <p>
@@ -112,14 +265,43 @@ public class ObjectGraphIterator<E> implements Iterator<E> {
      * @param root  The root object, null will result in an empty iterator
      * @param transformer  The transformer to use, null will use a no effect transformer
      */
-    @SuppressWarnings("unchecked")
     public ObjectGraphIterator(final E root, final Transformer<? super E, ? extends E> transformer) {
+        this(root, transformer, false, false);
+    }
+
+    /**
+     * Constructs an ObjectGraphIterator using a root object and transformer,
+     * choosing the order of the walk and whether objects are visited once only.
+     * <p>
+     * The root object can be an iterator, in which case it will be immediately
+     * looped around.
+     * </p>
+     * <p>
+     * Breadth first, the elements of an iterator are returned before those of the
+     * iterators it contains, which are walked in the order they were found. Visiting
+     * once, an object transformed into an iterator is skipped if it was already
+     * transformed into one, compared by identity, so a shared subgraph is walked once
+     * and a cycle ends the path. Other objects are elements, returned each time they
+     * are found. The objects seen are kept until the iterator is discarded.
+     * </p>
+     *
+     * @param root  The root object, null will result in an empty iterator
+     * @param transformer  The transformer to use, null will use a no effect transformer
+     * @param breadthFirst  Whether to walk the graph breadth first rather than depth first
+     * @param visitOnce  Whether the subgraph of each object is walked once only, compared by identity
+     * @since 4.6.1
+     */
+    @SuppressWarnings("unchecked")
+    public ObjectGraphIterator(final E root, final Transformer<? super E, ? extends E> transformer,
+            final boolean breadthFirst, final boolean visitOnce) {
         if (root instanceof Iterator) {
             this.currentIterator = (Iterator<? extends E>) root;
         } else {
             this.root = root;
         }
         this.transformer = transformer;
+        this.breadthFirst = breadthFirst;
+        this.visited = visitOnce ? Collections.newSetFromMap(new IdentityHashMap<>()) : null;
     }
 
     /**
@@ -136,6 +318,8 @@ public class ObjectGraphIterator<E> implements Iterator<E> {
     public ObjectGraphIterator(final Iterator<? extends E> rootIterator) {
         this.currentIterator = rootIterator;
         this.transformer = null;
+        this.breadthFirst = false;
+        this.visited = null;
     }
 
     /**
@@ -162,25 +346,40 @@ public class ObjectGraphIterator<E> implements Iterator<E> {
      */
     protected void findNextByIterator(final Iterator<? extends E> iterator) {
         if (iterator != currentIterator) {
-            // recurse a level
-            if (currentIterator != null) {
+            if (currentIterator == null) {
+                currentIterator = iterator;
+            } else if (breadthFirst) {
+                // walk it after the iterators already found
+                stack.addLast(iterator);
+            } else {
+                // recurse a level
                 stack.push(currentIterator);
+                currentIterator = iterator;
             }
-            currentIterator = iterator;
-        }
-
-        while (currentIterator.hasNext() && !hasNext) {
-            E next = currentIterator.next();
-            if (transformer != null) {
-                next = transformer.apply(next);
+            if (searching) {
+                // the enclosing loop carries on with the current iterator
+                return;
             }
-            findNext(next);
         }
-        // if we haven't found the next value and iterators are not yet exhausted
-        if (!hasNext && !stack.isEmpty()) {
-            // current iterator exhausted, go up a level
-            currentIterator = stack.pop();
-            findNextByIterator(currentIterator);
+        searching = true;
+        try {
+            while (!hasNext) {
+                if (currentIterator.hasNext()) {
+                    final E object = currentIterator.next();
+                    final E next = transformer == null ? object : transformer.apply(object);
+                    if (visited != null && next instanceof Iterator && !visited.add(object)) {
+                        continue;
+                    }
+                    findNext(next);
+                } else if (stack.isEmpty()) {
+                    break;
+                } else {
+                    // current iterator exhausted, go up a level, or on to the next queued iterator
+                    currentIterator = stack.pop();
+                }
+            }
+        } finally {
+            searching = false;
         }
     }
 
@@ -248,11 +447,11 @@ public class ObjectGraphIterator<E> implements Iterator<E> {
             if (root == null) { // NOPMD
                 // do nothing, hasNext will be false
             } else {
-                if (transformer == null) {
-                    findNext(root);
-                } else {
-                    findNext(transformer.apply(root));
+                final E next = transformer == null ? root : transformer.apply(root);
+                if (visited != null && next instanceof Iterator) {
+                    visited.add(root);
                 }
+                findNext(next);
                 root = null;
             }
         } else {
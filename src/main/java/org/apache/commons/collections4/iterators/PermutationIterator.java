@@ -40,6 +40,7 @@ import java.util.Objects;
  * </p>
  *
  * @param <E>  the type of the objects being permuted
+ * @see PermutationSpliterator
  * @since 4.0
  */
 public class PermutationIterator<E> implements Iterator<List<E>> {
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.iterators;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * A splittable, random-access spliterator over the permutations of an input collection.
+ * <p>
+ * Unlike {@link PermutationIterator}, which walks the permutations in the order of
+ * plain changes from the first one, this spliterator addresses them by rank, in the
+ * lexicographic order of the positions of the elements in the input collection. Rank
+ * {@code 0} is the input order and rank {@code n! - 1} the reverse order. The
+ * permutation of a rank is computed from its Lehmer code, so {@link #get(long)} and
+ * {@link #trySplit()} jump anywhere in the space, and a range of ranks can be handed
+ * to each worker of a parallel search. Within a range each permutation is derived from
+ * the previous one in constant amortized time.
+ * </p>
+ * <p>
+ * Each permutation is returned as a new list by {@link #tryAdvance(java.util.function.Consumer)},
+ * or stored into a caller-supplied array by {@link #tryAdvance(Object[])}, which allocates nothing.
+ * </p>
+ * <p>
+ * As ranks are {@code long} values, the input collection may have at most {@value #MAX_SIZE} elements.
+ * </p>
+ *
+ * @param <E> the type of the objects being permuted.
+ * @see PermutationIterator
+ * @since 4.6.1
+ */
+public final class PermutationSpliterator<E> extends AbstractRankedSpliterator<E> {
+
+    /** The largest number of elements whose permutations can be ranked with a long, as 21! overflows. */
+    public static final int MAX_SIZE = 20;
+
+    /** The factorials of 0 to MAX_SIZE. */
+    private static final long[] FACTORIALS = new long[MAX_SIZE + 1];
+
+    static {
+        FACTORIALS[0] = 1;
+        for (int i = 1; i <= MAX_SIZE; i++) {
+            FACTORIALS[i] = FACTORIALS[i - 1] * i;
+        }
+    }
+
+    /**
+     * Computes the rank of a permutation of the positions {@code 0} to {@code n - 1}.
+     *
+     * @param positions The positions, in the order of the permutation.
+     * @return The rank, between {@code 0} and {@code n! - 1}.
+     * @throws IllegalArgumentException if the positions are not a permutation of {@code 0} to {@code n - 1},
+     *         or there are more than {@value #MAX_SIZE} of them.
+     */
+    public static long rank(final int... positions) {
+        final int n = positions.length;
+        checkSize(n);
+        final boolean[] seen = new boolean[n];
+        long rank = 0;
+        for (int i = 0; i < n; i++) {
+            final int position = positions[i];
+            if (position < 0 || position >= n || seen[position]) {
+                throw new IllegalArgumentException("Not a permutation: " + Arrays.toString(positions));
+            }
+            seen[position] = true;
+            // the Lehmer code digit is the number of smaller positions still unused
+            int smaller = 0;
+            for (int p = 0; p < position; p++) {
+                if (!seen[p]) {
+                    smaller++;
+                }
+            }
+            rank += smaller * FACTORIALS[n - 1 - i];
+        }
+        return rank;
+    }
+
+    private static void checkSize(final int size) {
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException(
+                    "Cannot rank the permutations of more than " + MAX_SIZE + " elements: " + size);
+        }
+    }
+
+    /** The elements, in the input order. */
+    private final Object[] elements;
+
+    /**
+     * Constructs a spliterator over all the permutations of the given collection.
+     *
+     * @param collection The collection to generate permutations for.
+     * @throws NullPointerException if the collection is null.
+     * @throws IllegalArgumentException if the collection has more than {@value #MAX_SIZE} elements.
+     */
+    public PermutationSpliterator(final Collection<? extends E> collection) {
+        this(Objects.requireNonNull(collection, "collection").toArray(), 0, -1);
+    }
+
+    private PermutationSpliterator(final Object[] elements, final long from, final long to) {
+        super(from, to < 0 ? checkedCount(elements.length) : to);
+        this.elements = elements;
+    }
+
+    private static long checkedCount(final int size) {
+        checkSize(size);
+        return FACTORIALS[size];
+    }
+
+    /**
+     * Steps to the next permutation in lexicographic order.
+     */
+    @Override
+    void advance(final int[] digits) {
+        int i = digits.length - 2;
+        while (digits[i] > digits[i + 1]) {
+            i--;
+        }
+        int j = digits.length - 1;
+        while (digits[j] < digits[i]) {
+            j--;
+        }
+        swap(digits, i, j);
+        for (int left = i + 1, right = digits.length - 1; left < right; left++, right--) {
+            swap(digits, left, right);
+        }
+    }
+
+    /**
+     * Gets the number of permutations, {@code n!}.
+     *
+     * @return The number of permutations.
+     */
+    @Override
+    public long count() {
+        return FACTORIALS[elements.length];
+    }
+
+    @Override
+    PermutationSpliterator<E> create(final long from, final long to) {
+        return new PermutationSpliterator<>(elements, from, to);
+    }
+
+    @Override
+    void fill(final int[] digits, final Object[] buffer) {
+        for (int i = 0; i < digits.length; i++) {
+            buffer[i] = elements[digits[i]];
+        }
+    }
+
+    private static void swap(final int[] array, final int i, final int j) {
+        final int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    /**
+     * Computes the positions of the permutation of a rank from its Lehmer code.
+     */
+    @Override
+    void unrank(final long rank, final int[] digits) {
+        final int n = digits.length;
+        final boolean[] used = new boolean[n];
+        long remainder = rank;
+        for (int i = 0; i < n; i++) {
+            final long factorial = FACTORIALS[n - 1 - i];
+            int code = (int) (remainder / factorial);
+            remainder %= factorial;
+            // take the code-th smallest position still unused
+            int position = 0;
+            while (used[position] || code > 0) {
+                if (!used[position]) {
+                    code--;
+                }
+                position++;
+            }
+            used[position] = true;
+            digits[i] = position;
+        }
+    }
+
+    /**
+     * Gets the number of elements of each permutation.
+     *
+     * @return The size of the input collection.
+     */
+    @Override
+    public int width() {
+        return elements.length;
+    }
+
+}
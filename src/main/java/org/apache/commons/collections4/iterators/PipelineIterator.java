@@ -0,0 +1,393 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.iterators;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An iterator which runs a chain of filter, transform, skip, limit and unique
+ * stages over another iterator in a single loop.
+ * <p>
+ * Nesting a {@link FilterIterator} in a {@link TransformIterator} in a
+ * {@link BoundedIterator} creates one decorator per stage, each with its own
+ * look-ahead state, and every element goes through the {@code hasNext()} and
+ * {@code next()} calls of all of them. This iterator instead pulls each element
+ * from the decorated iterator once and pushes it through the stages in a plain
+ * loop, stopping at the first stage which drops it. A limit stage stops pulling
+ * elements as soon as it is reached, so the decorated iterator may be infinite.
+ * </p>
+ * <p>
+ * Instances are created with a {@link Builder}:
+ * </p>
+ * <pre>
+ * Iterator&lt;String&gt; it = PipelineIterator.builder(records)
+ *     .filter(Record::isActive)
+ *     .transform(Record::getId)
+ *     .unique()
+ *     .limit(100)
+ *     .build();
+ * </pre>
+ * <p>
+ * {@link #remove()} removes the last element returned by {@link #next()} from
+ * the decorated iterator, provided {@link #hasNext()} has not been called since,
+ * as for {@link FilterIterator}.
+ * </p>
+ *
+ * @param <E> The type of elements returned by this iterator.
+ * @since 4.6.1
+ */
+public final class PipelineIterator<E> implements IteratorOperations<E> {
+
+    /**
+     * Builds a {@link PipelineIterator} by appending stages, in order, to a source iterator.
+     *
+     * @param <E> The type of the elements of the last stage.
+     * @since 4.6.1
+     */
+    public static final class Builder<E> {
+
+        /** The source iterator. */
+        private final Iterator<?> source;
+
+        /** The kinds of the stages. */
+        private final List<Integer> kinds = new ArrayList<>();
+
+        /** The predicates and functions of the stages, null for the other kinds. */
+        private final List<Object> operands = new ArrayList<>();
+
+        /** The counts of the skip and limit stages, 0 for the other kinds. */
+        private final List<Long> counts = new ArrayList<>();
+
+        /** Whether the pipeline rejects remove. */
+        private boolean unmodifiable;
+
+        private Builder(final Iterator<?> source) {
+            this.source = Objects.requireNonNull(source, "source");
+        }
+
+        private <O> Builder<O> add(final int kind, final Object operand, final long count) {
+            kinds.add(kind);
+            operands.add(operand);
+            counts.add(count);
+            @SuppressWarnings("unchecked")
+            final Builder<O> result = (Builder<O>) this;
+            return result;
+        }
+
+        /**
+         * Creates the iterator running the stages added so far.
+         * <p>
+         * The builder may be used again, but the iterators it creates share the source iterator.
+         * </p>
+         *
+         * @return A new iterator.
+         */
+        public PipelineIterator<E> build() {
+            final int size = kinds.size();
+            final int[] kindArray = new int[size];
+            final long[] countArray = new long[size];
+            for (int i = 0; i < size; i++) {
+                kindArray[i] = kinds.get(i);
+                countArray[i] = counts.get(i);
+            }
+            return new PipelineIterator<>(source, kindArray, operands.toArray(), countArray, unmodifiable);
+        }
+
+        /**
+         * Adds a stage passing on only the elements matching the predicate.
+         *
+         * @param predicate The predicate to use.
+         * @return This builder.
+         * @throws NullPointerException if predicate is null.
+         */
+        public Builder<E> filter(final Predicate<? super E> predicate) {
+            return add(FILTER, Objects.requireNonNull(predicate, "predicate"), 0);
+        }
+
+        /**
+         * Adds a stage passing on at most the given number of elements.
+         *
+         * @param maxSize The maximum number of elements.
+         * @return This builder.
+         * @throws IllegalArgumentException if maxSize is negative.
+         */
+        public Builder<E> limit(final long maxSize) {
+            if (maxSize < 0) {
+                throw new IllegalArgumentException("Max parameter must not be negative.");
+            }
+            return add(LIMIT, null, maxSize);
+        }
+
+        /**
+         * Adds a stage dropping the given number of elements before passing on the others.
+         *
+         * @param offset The number of elements to drop.
+         * @return This builder.
+         * @throws IllegalArgumentException if offset is negative.
+         */
+        public Builder<E> skip(final long offset) {
+            if (offset < 0) {
+                throw new IllegalArgumentException("Offset parameter must not be negative.");
+            }
+            return add(SKIP, null, offset);
+        }
+
+        /**
+         * Adds a stage passing on the result of the function for each element.
+         *
+         * @param <O> The type of the elements returned by the function.
+         * @param function The function to use.
+         * @return This builder, for the elements returned by the function.
+         * @throws NullPointerException if function is null.
+         */
+        public <O> Builder<O> transform(final Function<? super E, ? extends O> function) {
+            return add(TRANSFORM, Objects.requireNonNull(function, "function"), 0);
+        }
+
+        /**
+         * Adds a stage passing on only the first occurrence of each element, compared with {@code equals}.
+         *
+         * @return This builder.
+         */
+        public Builder<E> unique() {
+            return add(UNIQUE, null, 0);
+        }
+
+        /**
+         * Makes the iterator throw {@link UnsupportedOperationException} from {@link Iterator#remove()}.
+         *
+         * @return This builder.
+         */
+        public Builder<E> unmodifiable() {
+            unmodifiable = true;
+            return this;
+        }
+    }
+
+    private static final int FILTER = 0;
+    private static final int TRANSFORM = 1;
+    private static final int SKIP = 2;
+    private static final int LIMIT = 3;
+    private static final int UNIQUE = 4;
+
+    /**
+     * Creates a builder for a pipeline over the given iterator.
+     *
+     * @param <E> The type of the elements of the source.
+     * @param source The iterator to decorate.
+     * @return A new builder without stages.
+     * @throws NullPointerException if source is null.
+     */
+    public static <E> Builder<E> builder(final Iterator<? extends E> source) {
+        return new Builder<>(source);
+    }
+
+    /** The iterator being decorated. */
+    private final Iterator<?> source;
+
+    /** The kinds of the stages. */
+    private final int[] kinds;
+
+    /** The predicates, functions and sets of seen elements of the stages. */
+    private final Object[] operands;
+
+    /** The number of elements still to skip or to pass on, by stage. */
+    private final long[] remaining;
+
+    /** Whether remove is rejected. */
+    private final boolean unmodifiable;
+
+    /** Whether a limit stage has been reached, or the source is exhausted. */
+    private boolean done;
+
+    /** The element to be returned by next, when nextSet is true. */
+    private Object nextObject;
+
+    /** Whether nextObject holds the next element. */
+    private boolean nextSet;
+
+    /** Whether remove may be delegated to the source. */
+    private boolean canRemove;
+
+    private PipelineIterator(final Iterator<?> source, final int[] kinds, final Object[] operands, final long[] counts,
+            final boolean unmodifiable) {
+        this.source = source;
+        this.kinds = kinds;
+        this.operands = operands;
+        this.remaining = counts;
+        this.unmodifiable = unmodifiable;
+        for (int i = 0; i < kinds.length; i++) {
+            if (kinds[i] == UNIQUE) {
+                operands[i] = new HashSet<>();
+            } else if (kinds[i] == LIMIT && counts[i] == 0) {
+                done = true;
+            }
+        }
+    }
+
+    /**
+     * Pushes an element of the source through the stages.
+     *
+     * @param element The element of the source.
+     * @return true if the element, as changed by the stages, is now in nextObject.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean accept(final Object element) {
+        Object value = element;
+        for (int i = 0; i < kinds.length; i++) {
+            switch (kinds[i]) {
+            case FILTER:
+                if (!((Predicate<Object>) operands[i]).test(value)) {
+                    return false;
+                }
+                break;
+            case TRANSFORM:
+                value = ((Function<Object, Object>) operands[i]).apply(value);
+                break;
+            case SKIP:
+                if (remaining[i] > 0) {
+                    remaining[i]--;
+                    return false;
+                }
+                break;
+            case LIMIT:
+                // the current element is the last one to get past this stage
+                if (--remaining[i] == 0) {
+                    done = true;
+                }
+                break;
+            default:
+                if (!((Set<Object>) operands[i]).add(value)) {
+                    return false;
+                }
+                break;
+            }
+        }
+        nextObject = value;
+        return true;
+    }
+
+    /**
+     * Pulls elements from the source until one gets through all the stages.
+     *
+     * @return true if an element got through, and is now in nextObject.
+     */
+    private boolean advance() {
+        while (!done) {
+            if (!source.hasNext()) {
+                done = true;
+                return false;
+            }
+            if (accept(source.next())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pushes all the remaining elements to the action in one loop.
+     *
+     * @param action The action to perform on each element.
+     * @throws NullPointerException if action is null.
+     */
+    @Override
+    public void forEachRemaining(final Consumer<? super E> action) {
+        Objects.requireNonNull(action, "action");
+        canRemove = false;
+        if (nextSet) {
+            nextSet = false;
+            action.accept(takeNext());
+        }
+        while (!done && source.hasNext()) {
+            if (accept(source.next())) {
+                action.accept(takeNext());
+            }
+        }
+        done = true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!nextSet) {
+            nextSet = advance();
+        }
+        return nextSet;
+    }
+
+    @Override
+    public E next() {
+        if (!nextSet && !advance()) {
+            throw new NoSuchElementException();
+        }
+        nextSet = false;
+        canRemove = true;
+        return takeNext();
+    }
+
+    /**
+     * Removes the last element returned by {@link #next()} from the decorated iterator.
+     *
+     * @throws UnsupportedOperationException if the pipeline is unmodifiable.
+     * @throws IllegalStateException if {@link #next()} has not been called, or {@link #hasNext()} has been called
+     *         since.
+     */
+    @Override
+    public void remove() {
+        if (unmodifiable) {
+            throw new UnsupportedOperationException("remove() is not supported");
+        }
+        if (!canRemove || nextSet) {
+            throw new IllegalStateException("remove() cannot be called here");
+        }
+        source.remove();
+        canRemove = false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E takeNext() {
+        final E result = (E) nextObject;
+        nextObject = null;
+        return result;
+    }
+
+    /**
+     * Performs the action on the next element, if any.
+     *
+     * @param action The action to perform on the next element.
+     * @return false if there are no more elements.
+     * @throws NullPointerException if action is null.
+     */
+    public boolean tryAdvance(final Consumer<? super E> action) {
+        Objects.requireNonNull(action, "action");
+        if (!hasNext()) {
+            return false;
+        }
+        action.accept(next());
+        return true;
+    }
+
+}
@@ -18,12 +18,19 @@ package org.apache.commons.collections4.iterators;
 
 import java.util.Iterator;
 
+import org.apache.commons.collections4.bloomfilter.Shape;
+import org.apache.commons.collections4.functors.BloomUniquePredicate;
 import org.apache.commons.collections4.functors.UniquePredicate;
 
 /**
  * A FilterIterator which only returns "unique" Objects.  Internally,
  * the Iterator maintains a Set of objects it has already encountered,
  * and duplicate Objects are skipped.
+ * <p>
+ * An iterator created with a Bloom filter {@link Shape} remembers the objects in
+ * fixed memory instead, at the cost of skipping about the false positive rate of
+ * the shape of the new objects as well; see {@link BloomUniquePredicate}.
+ * </p>
  *
  * @param <E> The type of elements returned by this iterator.
  * @since 2.1
@@ -39,4 +46,17 @@ public class UniqueFilterIterator<E> extends FilterIterator<E> {
         super(iterator, UniquePredicate.uniquePredicate());
     }
 
+    /**
+     * Constructs a new {@code UniqueFilterIterator} remembering the objects
+     * encountered in a Bloom filter of the given shape.
+     *
+     * @param iterator  The iterator to use
+     * @param shape  The shape of the Bloom filter
+     * @throws NullPointerException if the shape is null
+     * @since 4.6.1
+     */
+    public UniqueFilterIterator(final Iterator<? extends E> iterator, final Shape shape) {
+        super(iterator, BloomUniquePredicate.bloomUniquePredicate(shape));
+    }
+
 }
@@ -28,6 +28,9 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.OrderedIterator;
@@ -57,8 +60,38 @@ public abstract class AbstractLinkedList<E> implements List<E> {
      * - a modification count is kept, with the same semantics as
      * {@link java.util.LinkedList}.
      * - respects {@link AbstractList#modCount}
+     * - the node last found by index is remembered until the next structural
+     *   change, so that getNode() walks from the nearest of it and the ends,
+     *   making access near the previous index O(1).
      */
 
+    /**
+     * A node found by index, with its index and the modification count it was found at.
+     * <p>
+     * It is immutable and replaced as a whole, so that a thread reading the list never
+     * sees the node of one search with the index of another.
+     * </p>
+     *
+     * @param <E> The type of the values in the list.
+     */
+    private static final class Finger<E> {
+
+        /** The node */
+        final Node<E> node;
+
+        /** The index of the node */
+        final int index;
+
+        /** The modification count when the node was found */
+        final int modCount;
+
+        Finger(final Node<E> node, final int index, final int modCount) {
+            this.node = node;
+            this.index = index;
+            this.modCount = modCount;
+        }
+    }
+
     /**
      * A list iterator over the linked list.
      *
@@ -425,6 +458,117 @@ public abstract class AbstractLinkedList<E> implements List<E> {
         }
     }
 
+    /**
+     * A spliterator over the linked list.
+     * <p>
+     * Splitting copies a growing batch of elements from the head of the remaining
+     * nodes into an array, the same strategy as {@link java.util.LinkedList}, so
+     * each part can be split further by index range.
+     * </p>
+     *
+     * @param <E> The type of elements in this spliterator.
+     */
+    static final class LinkedListSpliterator<E> implements Spliterator<E> {
+
+        /** The batch size increment. */
+        private static final int BATCH_UNIT = 1 << 10;
+
+        /** The maximum batch size. */
+        private static final int MAX_BATCH = 1 << 25;
+
+        /** The parent list. */
+        private final AbstractLinkedList<E> parent;
+
+        /** The next node, null until first use. */
+        private Node<E> next;
+
+        /** The number of remaining elements, -1 until first use. */
+        private int est;
+
+        /** The modification count that the list is expected to have. */
+        private int expectedModCount;
+
+        /** The size of the last batch. */
+        private int batch;
+
+        LinkedListSpliterator(final AbstractLinkedList<E> parent) {
+            this.parent = parent;
+            this.est = -1;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+
+        private void checkModCount() {
+            if (parent.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return getEst();
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            int n = getEst();
+            Node<E> node = next;
+            est = 0;
+            while (n-- > 0 && node != parent.header) {
+                final E value = node.getValue();
+                node = node.next;
+                action.accept(value);
+            }
+            next = node;
+            checkModCount();
+        }
+
+        private int getEst() {
+            if (est < 0) {
+                expectedModCount = parent.modCount;
+                next = parent.header.next;
+                est = parent.size;
+            }
+            return est;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            if (getEst() > 0 && next != parent.header) {
+                est--;
+                final E value = next.getValue();
+                next = next.next;
+                action.accept(value);
+                checkModCount();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            final int s = getEst();
+            if (s <= 1 || next == parent.header) {
+                return null;
+            }
+            final int n = Math.min(Math.min(batch + BATCH_UNIT, s), MAX_BATCH);
+            final Object[] array = new Object[n];
+            int j = 0;
+            do {
+                array[j++] = next.getValue();
+                next = next.next;
+            } while (next != parent.header && j < n);
+            batch = j;
+            est = s - j;
+            return Spliterators.spliterator(array, 0, j, ORDERED);
+        }
+    }
+
     /**
      * A node within the linked list.
      * <p>
@@ -549,6 +693,9 @@ public abstract class AbstractLinkedList<E> implements List<E> {
     /** Modification count for iterators */
     transient int modCount;
 
+    /** The node last found by index, or null after a structural change */
+    private transient Finger<E> finger;
+
     /**
      * Constructor that does nothing (intended for deserialization).
      * <p>
@@ -578,6 +725,7 @@ public abstract class AbstractLinkedList<E> implements List<E> {
     public void add(final int index, final E value) {
         final Node<E> node = getNode(index, true);
         addNodeBefore(node, value);
+        setFinger(node.previous, index);
     }
 
     @Override
@@ -632,6 +780,7 @@ public abstract class AbstractLinkedList<E> implements List<E> {
         insertBeforeNode.previous = nodeToInsert;
         size++;
         modCount++;
+        finger = null;
     }
 
     /**
@@ -846,21 +995,31 @@ public abstract class AbstractLinkedList<E> implements List<E> {
                     "index (" + index + ") greater than the size of the " +
                     "list (" + size + ").");
         }
-        // Search the list and get the node
+        // Search the list from the nearest of the start, the end and the node last found
         Node<E> node;
+        int currentIndex;
         if (index < size / 2) {
-            // Search forwards
             node = header.next;
-            for (int currentIndex = 0; currentIndex < index; currentIndex++) {
-                node = node.next;
-            }
+            currentIndex = 0;
         } else {
-            // Search backwards
             node = header;
-            for (int currentIndex = size; currentIndex > index; currentIndex--) {
-                node = node.previous;
-            }
+            currentIndex = size;
         }
+        final Finger<E> last = finger;
+        if (last != null && last.modCount == modCount
+                && Math.abs(index - last.index) < Math.abs(index - currentIndex)) {
+            node = last.node;
+            currentIndex = last.index;
+        }
+        // Search forwards
+        for (; currentIndex < index; currentIndex++) {
+            node = node.next;
+        }
+        // Search backwards
+        for (; currentIndex > index; currentIndex--) {
+            node = node.previous;
+        }
+        setFinger(node, index);
         return node;
     }
 
@@ -944,7 +1103,9 @@ public abstract class AbstractLinkedList<E> implements List<E> {
     public E remove(final int index) {
         final Node<E> node = getNode(index, false);
         final E oldValue = node.getValue();
+        final Node<E> next = node.next;
         removeNode(node);
+        setFinger(next, index);
         return oldValue;
     }
 
@@ -989,6 +1150,7 @@ public abstract class AbstractLinkedList<E> implements List<E> {
         header.previous = header;
         size = 0;
         modCount++;
+        finger = null;
     }
 
     /**
@@ -1033,6 +1195,7 @@ public abstract class AbstractLinkedList<E> implements List<E> {
         node.next.previous = node.previous;
         size--;
         modCount++;
+        finger = null;
     }
 
     /**
@@ -1065,11 +1228,35 @@ public abstract class AbstractLinkedList<E> implements List<E> {
         return oldValue;
     }
 
+    /**
+     * Remembers a node and its index, so that a later search near the index starts from it.
+     * The node is forgotten on the next structural change not made through this method.
+     *
+     * @param node  The node
+     * @param index  The index of the node
+     */
+    private void setFinger(final Node<E> node, final int index) {
+        finger = new Finger<>(node, index, modCount);
+    }
+
     @Override
     public int size() {
         return size;
     }
 
+    /**
+     * Creates a late-binding, fail-fast spliterator over the list which reports
+     * {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED} and splits off
+     * array-backed batches.
+     *
+     * @return A spliterator over the list
+     * @since 4.6.1
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new LinkedListSpliterator<>(this);
+    }
+
     /**
      * Gets a sublist of the main list.
      *
@@ -20,9 +20,13 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -53,6 +57,13 @@ import java.util.ListIterator;
  * the garbage collector to the rest.
  * </p>
  * <p>
+ * Each node lists the cursors whose next or last returned node it is, so a change
+ * to the list only notifies the cursors positioned next to it, rather than every
+ * open cursor. Cursors further away recount their index when it is next asked for.
+ * The registrations of garbage collected cursors are reclaimed through a
+ * {@code ReferenceQueue}.
+ * </p>
+ * <p>
  * <strong>Note that this implementation is not synchronized.</strong>
  * </p>
  *
@@ -81,6 +92,12 @@ public class CursorableLinkedList<E> extends AbstractLinkedList<E> implements Se
         /** Flag to indicate if the current element was removed by another object. */
         boolean currentRemovedByAnother;
 
+        /** The count of insertions and removals in the list when the next index was last valid */
+        int epoch;
+
+        /** The registration of this cursor in the list, null when closed */
+        CursorReference<E> reference;
+
         /**
          * Constructs a new cursor.
          *
@@ -90,6 +107,7 @@ public class CursorableLinkedList<E> extends AbstractLinkedList<E> implements Se
         protected Cursor(final CursorableLinkedList<E> parent, final int index) {
             super(parent, index);
             valid = true;
+            epoch = parent.epoch;
         }
 
         /**
@@ -105,6 +123,7 @@ public class CursorableLinkedList<E> extends AbstractLinkedList<E> implements Se
             // matches the (next.previous == node) clause in nodeInserted()
             // thus next gets changed - reset it again here
             next = next.next;
+            reindex();
         }
 
         /**
@@ -137,14 +156,31 @@ public class CursorableLinkedList<E> extends AbstractLinkedList<E> implements Se
             }
         }
 
+        /**
+         * Gets the next element in the list, moving the cursor.
+         *
+         * @return The next element
+         */
+        @Override
+        public E next() {
+            final E value = super.next();
+            reindex();
+            return value;
+        }
+
         /**
          * Gets the index of the next element to be returned.
+         * <p>
+         * The index is recounted if an element was inserted or removed
+         * away from this cursor since it was last known.
+         * </p>
          *
          * @return The next index
          */
         @Override
         public int nextIndex() {
-            if (!nextIndexValid) {
+            final int listEpoch = ((CursorableLinkedList<E>) parent).epoch;
+            if (!nextIndexValid || epoch != listEpoch) {
                 if (next == parent.header) {
                     nextIndex = parent.size();
                 } else {
@@ -157,6 +193,7 @@ public class CursorableLinkedList<E> extends AbstractLinkedList<E> implements Se
                     nextIndex = pos;
                 }
                 nextIndexValid = true;
+                epoch = listEpoch;
             }
             return nextIndex;
         }
@@ -211,6 +248,25 @@ public class CursorableLinkedList<E> extends AbstractLinkedList<E> implements Se
             }
         }
 
+        /**
+         * Gets the previous element in the list, moving the cursor.
+         *
+         * @return The previous element
+         */
+        @Override
+        public E previous() {
+            final E value = super.previous();
+            reindex();
+            return value;
+        }
+
+        /**
+         * Updates the registration of this cursor after it moved.
+         */
+        private void reindex() {
+            ((CursorableLinkedList<E>) parent).indexCursor(this);
+        }
+
         /**
          * Removes the item last returned by this iterator.
          * <p>
@@ -239,6 +295,45 @@ public class CursorableLinkedList<E> extends AbstractLinkedList<E> implements Se
         }
     }
 
+    /**
+     * A weak reference to a registered cursor, remembering the nodes it is listed on.
+     *
+     * @param <E> The type of elements in the cursor.
+     */
+    private static final class CursorReference<E> extends WeakReference<Cursor<E>> {
+
+        /** The node the cursor is listed on as its next node */
+        Node<E> next;
+
+        /** The node the cursor is listed on as its current node */
+        Node<E> current;
+
+        /** The broadcast in which the cursor was last notified */
+        int notified;
+
+        CursorReference(final Cursor<E> cursor, final ReferenceQueue<Cursor<E>> queue) {
+            super(cursor, queue);
+        }
+    }
+
+    /**
+     * A node that lists the cursors whose next or current node it is.
+     *
+     * @param <E> The type of the value in the node.
+     */
+    private static final class CursorNode<E> extends Node<E> {
+
+        /** The cursors positioned on this node, null if none */
+        List<CursorReference<E>> cursors;
+
+        CursorNode() {
+        }
+
+        CursorNode(final E value) {
+            super(value);
+        }
+    }
+
     /**
      * A cursor for the sublist based on LinkedSubListIterator.
      *
@@ -294,8 +389,14 @@ public class CursorableLinkedList<E> extends AbstractLinkedList<E> implements Se
     /** Ensure serialization compatibility */
     private static final long serialVersionUID = 8836393098519411393L;
 
-    /** A list of the cursor currently open on this list */
-    private transient List<WeakReference<Cursor<E>>> cursors;
+    /** The queue of registrations of cursors that were garbage collected */
+    private transient ReferenceQueue<Cursor<E>> queue;
+
+    /** Counts the insertions and removals, to expire the next index of cursors away from them */
+    private transient int epoch;
+
+    /** Counts the broadcasts, to notify a cursor listed on two nodes once */
+    private transient int broadcasts;
 
     /**
      * Constructor that creates.
@@ -327,62 +428,84 @@ public class CursorableLinkedList<E> extends AbstractLinkedList<E> implements Se
     }
 
     /**
-     * Informs all of my registered cursors that the specified
-     * element was changed.
+     * Informs the registered cursors positioned on the specified
+     * node that its element was changed.
      *
      * @param node  The node that was changed
      */
     protected void broadcastNodeChanged(final Node<E> node) {
-        final Iterator<WeakReference<Cursor<E>>> it = cursors.iterator();
-        while (it.hasNext()) {
-            final WeakReference<Cursor<E>> ref = it.next();
-            final Cursor<E> cursor = ref.get();
-            if (cursor == null) {
-                it.remove(); // clean up list
-            } else {
-                cursor.nodeChanged(node);
-            }
+        for (final Cursor<E> cursor : cursorsOn(node, null)) {
+            cursor.nodeChanged(node);
+            indexCursor(cursor);
         }
     }
 
     /**
-     * Informs all of my registered cursors that the specified
-     * element was just added to my list.
+     * Informs the registered cursors positioned next to the specified
+     * node that it was just added to my list.
+     * <p>
+     * Only the cursors listed on the nodes before and after the new node are
+     * notified. The next index of the other cursors expires and is recounted
+     * when next asked for.
+     * </p>
      *
      * @param node  The node that was changed
      */
     protected void broadcastNodeInserted(final Node<E> node) {
-        final Iterator<WeakReference<Cursor<E>>> it = cursors.iterator();
-        while (it.hasNext()) {
-            final WeakReference<Cursor<E>> ref = it.next();
-            final Cursor<E> cursor = ref.get();
-            if (cursor == null) {
-                it.remove(); // clean up list
-            } else {
-                cursor.nodeInserted(node);
+        final List<Cursor<E>> notified = cursorsOn(node.previous, node.next);
+        final int previousEpoch = epoch++;
+        for (final Cursor<E> cursor : notified) {
+            if (cursor.epoch == previousEpoch) {
+                cursor.epoch = epoch;
             }
+            cursor.nodeInserted(node);
+            indexCursor(cursor);
         }
     }
 
     /**
-     * Informs all of my registered cursors that the specified
-     * element was just removed from my list.
+     * Informs the registered cursors positioned on the specified
+     * node that it was just removed from my list.
+     * <p>
+     * Only the cursors listed on the removed node are notified. The next index
+     * of the other cursors expires and is recounted when next asked for.
+     * </p>
      *
      * @param node  The node that was changed
      */
     protected void broadcastNodeRemoved(final Node<E> node) {
-        final Iterator<WeakReference<Cursor<E>>> it = cursors.iterator();
-        while (it.hasNext()) {
-            final WeakReference<Cursor<E>> ref = it.next();
-            final Cursor<E> cursor = ref.get();
-            if (cursor == null) {
-                it.remove(); // clean up list
-            } else {
-                cursor.nodeRemoved(node);
+        final List<Cursor<E>> notified = cursorsOn(node, null);
+        final int previousEpoch = epoch++;
+        for (final Cursor<E> cursor : notified) {
+            if (cursor.epoch == previousEpoch) {
+                cursor.epoch = epoch;
             }
+            cursor.nodeRemoved(node);
+            indexCursor(cursor);
         }
     }
 
+    /**
+     * Creates a header node that lists the cursors positioned at the end of the list.
+     *
+     * @return The new header node
+     */
+    @Override
+    protected Node<E> createHeaderNode() {
+        return new CursorNode<>();
+    }
+
+    /**
+     * Creates a node that lists the cursors positioned on it.
+     *
+     * @param value  value of the new node
+     * @return The new node
+     */
+    @Override
+    protected Node<E> createNode(final E value) {
+        return new CursorNode<>(value);
+    }
+
     /**
      * Creates a list iterator for the sublist.
      *
@@ -457,6 +580,49 @@ public class CursorableLinkedList<E> extends AbstractLinkedList<E> implements Se
         return cursor;
     }
 
+    /**
+     * Gets the live cursors listed on one or two nodes, once each, after
+     * reclaiming the registrations of garbage collected cursors.
+     *
+     * @param node1  The first node
+     * @param node2  The second node, or null
+     * @return The cursors
+     */
+    private List<Cursor<E>> cursorsOn(final Node<E> node1, final Node<E> node2) {
+        purge();
+        final List<CursorReference<E>> refs1 = ((CursorNode<E>) node1).cursors;
+        final List<CursorReference<E>> refs2 = node2 == null ? null : ((CursorNode<E>) node2).cursors;
+        if (refs1 == null && refs2 == null) {
+            return Collections.emptyList();
+        }
+        final int broadcast = ++broadcasts;
+        final List<Cursor<E>> result = new ArrayList<>();
+        for (final List<CursorReference<E>> refs : Arrays.asList(refs1, refs2)) {
+            if (refs != null) {
+                for (final CursorReference<E> ref : refs) {
+                    final Cursor<E> cursor = ref.get();
+                    if (cursor != null && ref.notified != broadcast) {
+                        ref.notified = broadcast;
+                        result.add(cursor);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Updates the nodes on which a cursor is listed to match its next and current nodes.
+     *
+     * @param cursor  The cursor
+     */
+    void indexCursor(final Cursor<E> cursor) {
+        final CursorReference<E> ref = cursor.reference;
+        if (ref != null) {
+            move(ref, cursor.next, cursor.current);
+        }
+    }
+
     /**
      * The equivalent of a default constructor called
      * by any constructor and by {@code readObject}.
@@ -464,7 +630,8 @@ public class CursorableLinkedList<E> extends AbstractLinkedList<E> implements Se
     @Override
     protected void init() {
         super.init();
-        cursors = new ArrayList<>();
+        queue = new ReferenceQueue<>();
+        epoch = 0;
     }
 
     /**
@@ -481,6 +648,22 @@ public class CursorableLinkedList<E> extends AbstractLinkedList<E> implements Se
         return super.listIterator(0);
     }
 
+    /**
+     * Lists a cursor registration on a node.
+     *
+     * @param ref  The registration
+     * @param node  The node, or null
+     */
+    private void list(final CursorReference<E> ref, final Node<E> node) {
+        if (node != null) {
+            final CursorNode<E> cursorNode = (CursorNode<E>) node;
+            if (cursorNode.cursors == null) {
+                cursorNode.cursors = new ArrayList<>(2);
+            }
+            cursorNode.cursors.add(ref);
+        }
+    }
+
     /**
      * Returns a cursor iterator that allows changes to the underlying list in parallel.
      * <p>
@@ -522,6 +705,45 @@ public class CursorableLinkedList<E> extends AbstractLinkedList<E> implements Se
         return cursor(fromIndex);
     }
 
+    /**
+     * Moves a cursor registration from the nodes it is listed on to new ones.
+     *
+     * @param ref  The registration
+     * @param next  The new next node, or null
+     * @param current  The new current node, or null
+     */
+    private void move(final CursorReference<E> ref, final Node<E> next, final Node<E> current) {
+        final Node<E> oldNext = ref.next;
+        final Node<E> oldCurrent = ref.current;
+        if (oldNext == next && oldCurrent == current) {
+            return;
+        }
+        ref.next = next;
+        ref.current = current;
+        if (oldNext != next && oldNext != current) {
+            unlist(ref, oldNext);
+        }
+        if (oldCurrent != oldNext && oldCurrent != next && oldCurrent != current) {
+            unlist(ref, oldCurrent);
+        }
+        if (next != oldNext && next != oldCurrent) {
+            list(ref, next);
+        }
+        if (current != next && current != oldNext && current != oldCurrent) {
+            list(ref, current);
+        }
+    }
+
+    /**
+     * Reclaims the registrations of garbage collected cursors.
+     */
+    @SuppressWarnings("unchecked")
+    private void purge() {
+        for (Reference<? extends Cursor<E>> ref; (ref = queue.poll()) != null;) {
+            move((CursorReference<E>) ref, null, null);
+        }
+    }
+
     /**
      * Deserializes the data held in this object to the stream specified.
      *
@@ -540,10 +762,11 @@ public class CursorableLinkedList<E> extends AbstractLinkedList<E> implements Se
      * @param cursor  The cursor to register
      */
     protected void registerCursor(final Cursor<E> cursor) {
-        // We take this opportunity to clean the cursors list
-        // of WeakReference objects to garbage-collected cursors.
-        cursors.removeIf(ref -> ref.get() == null);
-        cursors.add(new WeakReference<>(cursor));
+        // We take this opportunity to reclaim the registrations
+        // of garbage-collected cursors.
+        purge();
+        cursor.reference = new CursorReference<>(cursor, queue);
+        indexCursor(cursor);
     }
 
     /**
@@ -579,18 +802,26 @@ public class CursorableLinkedList<E> extends AbstractLinkedList<E> implements Se
      * @param cursor  The cursor to deregister
      */
     protected void unregisterCursor(final Cursor<E> cursor) {
-        for (final Iterator<WeakReference<Cursor<E>>> it = cursors.iterator(); it.hasNext();) {
-            final WeakReference<Cursor<E>> ref = it.next();
-            final Cursor<E> cur = ref.get();
-            if (cur == null) {
-                // some other unrelated cursor object has been
-                // garbage-collected; let's take the opportunity to
-                // clean up the cursors list anyway.
-                it.remove();
-            } else if (cur == cursor) {
-                ref.clear();
-                it.remove();
-                break;
+        final CursorReference<E> ref = cursor.reference;
+        if (ref != null) {
+            move(ref, null, null);
+            ref.clear();
+            cursor.reference = null;
+        }
+    }
+
+    /**
+     * Removes a cursor registration from the cursors listed on a node.
+     *
+     * @param ref  The registration
+     * @param node  The node, or null
+     */
+    private void unlist(final CursorReference<E> ref, final Node<E> node) {
+        if (node != null) {
+            final List<CursorReference<E>> refs = ((CursorNode<E>) node).cursors;
+            refs.remove(ref);
+            if (refs.isEmpty()) {
+                ((CursorNode<E>) node).cursors = null;
             }
         }
     }
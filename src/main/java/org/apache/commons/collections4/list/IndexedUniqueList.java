@@ -0,0 +1,451 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.list;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@code List} of distinct elements that indexes the position of each element,
+ * so that it is found, and removed, by value in O(log n) time.
+ * <p>
+ * The elements are kept in an array in which removed elements leave a gap, next to
+ * a Fenwick tree counting the elements present before each slot of the array, and a
+ * {@code HashMap} from each element to its slot. {@link #indexOf(Object)},
+ * {@link #remove(Object)}, {@link #get(int)}, {@link #remove(int)} and {@link #set(int, Object)}
+ * are O(log n), {@link #contains(Object)} is O(1), and adding at the end is amortized
+ * O(log n). Inserting before the end rebuilds the array and is O(n), like an {@code ArrayList}.
+ * The gaps are squeezed out when the array is full, so the array is never more than
+ * twice the size of the list plus the number of elements removed since the last rebuild.
+ * </p>
+ * <p>
+ * This list suits the order of a set or of the keys of a map, such as the one kept by
+ * {@link org.apache.commons.collections4.set.ListOrderedSet} and
+ * {@link org.apache.commons.collections4.map.ListOrderedMap}, where elements are looked
+ * up by value far more often than inserted in the middle.
+ * </p>
+ * <p>
+ * As in {@link SetUniqueList}, adding an element already in the list does not change
+ * the list. Setting an element already at another index is rejected. The elements must
+ * have {@code hashCode} methods consistent with {@code equals}, and may include null.
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @param <E> The type of the elements in the list.
+ * @since 4.6.1
+ */
+public class IndexedUniqueList<E> extends AbstractList<E> implements Serializable {
+
+    /** Serialization version */
+    private static final long serialVersionUID = -5404908820782769481L;
+
+    /** The smallest capacity of the slot array. */
+    private static final int MIN_CAPACITY = 16;
+
+    /** Marks a slot whose element was removed. */
+    private static final Object REMOVED = new Object();
+
+    /** The elements, with gaps marked by {@link #REMOVED}. */
+    private transient Object[] slots;
+
+    /** The number of slots used, including the gaps. */
+    private transient int end;
+
+    /** The Fenwick tree counting the elements in the slots, indexed from one. */
+    private transient int[] tree;
+
+    /** The slot of each element. */
+    private transient Map<Object, Integer> positions;
+
+    /** The number of elements. */
+    private transient int size;
+
+    /**
+     * Constructs an empty list.
+     */
+    public IndexedUniqueList() {
+        init(MIN_CAPACITY);
+    }
+
+    /**
+     * Constructs a list containing the distinct elements of the collection, in the order of its iterator.
+     *
+     * @param coll  The collection to copy
+     * @throws NullPointerException if the collection is null
+     */
+    public IndexedUniqueList(final Collection<? extends E> coll) {
+        init(Math.max(MIN_CAPACITY, coll.size()));
+        addAll(coll);
+    }
+
+    @Override
+    public boolean add(final E object) {
+        if (positions.containsKey(object)) {
+            return false;
+        }
+        if (end == slots.length) {
+            rebuild(null, -1, 0);
+        }
+        append(object);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Inserts an element at an index, unless it is already in the list.
+     *
+     * @param index  The index to insert at
+     * @param object  The element to insert
+     * @throws IndexOutOfBoundsException if the index is out of range [0, size]
+     */
+    @Override
+    public void add(final int index, final E object) {
+        checkPositionIndex(index);
+        if (index == size) {
+            add(object);
+        } else if (!positions.containsKey(object)) {
+            final List<Object> inserted = new ArrayList<>(1);
+            inserted.add(object);
+            rebuild(inserted, index, 1);
+            modCount++;
+        }
+    }
+
+    /**
+     * Inserts the elements of a collection not yet in the list at an index, rebuilding the list once.
+     *
+     * @param index  The index to insert at
+     * @param coll  The elements to insert
+     * @return true if the list changed
+     * @throws IndexOutOfBoundsException if the index is out of range [0, size]
+     */
+    @Override
+    public boolean addAll(final int index, final Collection<? extends E> coll) {
+        checkPositionIndex(index);
+        if (index == size) {
+            return addAll(coll);
+        }
+        final Map<Object, Boolean> seen = new HashMap<>();
+        final List<Object> inserted = new ArrayList<>(coll.size());
+        for (final E object : coll) {
+            if (!positions.containsKey(object) && seen.put(object, Boolean.TRUE) == null) {
+                inserted.add(object);
+            }
+        }
+        if (inserted.isEmpty()) {
+            return false;
+        }
+        rebuild(inserted, index, inserted.size());
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Appends an element known not to be in the list to a free slot.
+     */
+    private void append(final Object object) {
+        final int slot = end++;
+        slots[slot] = object;
+        positions.put(object, slot);
+        update(slot, 1);
+        size++;
+    }
+
+    private void checkElementIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void checkPositionIndex(final int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public void clear() {
+        init(MIN_CAPACITY);
+        modCount++;
+    }
+
+    @Override
+    public boolean contains(final Object object) {
+        return positions.containsKey(object);
+    }
+
+    /**
+     * Counts the elements in the slots before a slot.
+     */
+    private int countBefore(final int slot) {
+        int count = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    /**
+     * Finds the slot of the element at an index, descending the Fenwick tree.
+     */
+    private int findSlot(final int index) {
+        int slot = 0;
+        int remaining = index + 1;
+        for (int step = Integer.highestOneBit(slots.length); step > 0; step >>= 1) {
+            final int next = slot + step;
+            if (next <= slots.length && tree[next] < remaining) {
+                slot = next;
+                remaining -= tree[next];
+            }
+        }
+        return slot;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(final int index) {
+        checkElementIndex(index);
+        return (E) slots[findSlot(index)];
+    }
+
+    @Override
+    public int indexOf(final Object object) {
+        final Integer slot = positions.get(object);
+        return slot == null ? -1 : countBefore(slot);
+    }
+
+    private void init(final int capacity) {
+        slots = new Object[capacity];
+        tree = new int[capacity + 1];
+        positions = new HashMap<>();
+        end = 0;
+        size = 0;
+    }
+
+    /**
+     * Iterates over the slots, skipping the gaps.
+     *
+     * @return An iterator over the elements
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            private int slot;
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            private void checkModCount() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (slot < end && slots[slot] == REMOVED) {
+                    slot++;
+                }
+                return slot < end;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                checkModCount();
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = slot++;
+                return (E) slots[last];
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                checkModCount();
+                removeSlot(last);
+                last = -1;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    @Override
+    public int lastIndexOf(final Object object) {
+        return indexOf(object);
+    }
+
+    /**
+     * Deserializes the list.
+     *
+     * @param in  The input stream
+     * @throws IOException Thrown if an error occurs while reading from the stream
+     * @throws ClassNotFoundException if an object read from the stream cannot be loaded
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final int count = in.readInt();
+        init(Math.max(MIN_CAPACITY, count));
+        for (int i = 0; i < count; i++) {
+            add((E) in.readObject());
+        }
+    }
+
+    /**
+     * Copies the elements to new arrays of a capacity of at least twice the new size,
+     * squeezing out the gaps and optionally inserting elements at an index.
+     *
+     * @param inserted  The elements to insert, or null
+     * @param index  The index to insert at
+     * @param count  The number of elements to insert
+     */
+    private void rebuild(final List<Object> inserted, final int index, final int count) {
+        final Object[] oldSlots = slots;
+        final int oldEnd = end;
+        init(Math.max(MIN_CAPACITY, (size + count) * 2));
+        int position = 0;
+        for (int slot = 0; slot < oldEnd; slot++) {
+            final Object object = oldSlots[slot];
+            if (object != REMOVED) {
+                if (position++ == index) {
+                    inserted.forEach(this::place);
+                }
+                place(object);
+            }
+        }
+        if (index == position) {
+            inserted.forEach(this::place);
+        }
+        // build the Fenwick tree in linear time
+        for (int i = 1; i < tree.length; i++) {
+            if (i <= end) {
+                tree[i]++;
+            }
+            final int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Places an element in the next slot while rebuilding, leaving the Fenwick tree to the caller.
+     */
+    private void place(final Object object) {
+        final int slot = end++;
+        slots[slot] = object;
+        positions.put(object, slot);
+        size++;
+    }
+
+    @Override
+    public E remove(final int index) {
+        checkElementIndex(index);
+        final int slot = findSlot(index);
+        @SuppressWarnings("unchecked")
+        final E object = (E) slots[slot];
+        removeSlot(slot);
+        return object;
+    }
+
+    @Override
+    public boolean remove(final Object object) {
+        final Integer slot = positions.get(object);
+        if (slot == null) {
+            return false;
+        }
+        removeSlot(slot);
+        return true;
+    }
+
+    private void removeSlot(final int slot) {
+        positions.remove(slots[slot]);
+        slots[slot] = REMOVED;
+        update(slot, -1);
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Replaces the element at an index.
+     *
+     * @param index  The index of the element to replace
+     * @param object  The new element
+     * @return The element previously at the index
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws IllegalArgumentException if the element is already in the list at another index
+     */
+    @Override
+    public E set(final int index, final E object) {
+        checkElementIndex(index);
+        final int slot = findSlot(index);
+        final Integer current = positions.get(object);
+        if (current != null && current != slot) {
+            throw new IllegalArgumentException("Element already in the list at index " + countBefore(current));
+        }
+        @SuppressWarnings("unchecked")
+        final E previous = (E) slots[slot];
+        positions.remove(previous);
+        slots[slot] = object;
+        positions.put(object, slot);
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a count to a slot in the Fenwick tree.
+     */
+    private void update(final int slot, final int delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Serializes the list, writing the size and the elements in order.
+     *
+     * @param out  The output stream
+     * @throws IOException Thrown if an error occurs while writing to the stream
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (final E object : this) {
+            out.writeObject(object);
+        }
+    }
+
+}
@@ -52,6 +52,12 @@ import org.apache.commons.collections4.set.UnmodifiableSet;
  * retaining insertion order in the iterator.
  * </p>
  * <p>
+ * The list created by {@link #indexedSetUniqueList(Collection)} decorates an
+ * {@link IndexedUniqueList}, which indexes the position of each element, so that
+ * finding, removing and replacing elements by value take O(log n) time instead
+ * of a scan of the list.
+ * </p>
+ * <p>
  * This class is Serializable from Commons Collections 3.1.
  * </p>
  *
@@ -143,6 +149,29 @@ public class SetUniqueList<E> extends AbstractSerializableListDecorator<E> {
     /** Serialization version. */
     private static final long serialVersionUID = 7196982186153478694L;
 
+    /**
+     * Factory method to create a SetList over an {@link IndexedUniqueList} holding
+     * the distinct elements of a collection (first one kept), in the order of its iterator.
+     * <p>
+     * Unlike {@link #setUniqueList(List)}, the collection is copied, not decorated.
+     * {@link #get(int)}, {@link #indexOf(Object)}, {@link #lastIndexOf(Object)},
+     * {@link #remove(int)}, {@link #remove(Object)} and {@link #set(int, Object)}
+     * take O(log n) time, and adding at the end amortized O(log n), so large
+     * lists are never scanned to find an element. Inserting before the end is O(n),
+     * as in an {@code ArrayList}. A {@code HashSet} is used for the set behavior.
+     *
+     * @param <E>  the element type
+     * @param coll  The elements of the new list, must not be null
+     * @return A new {@link SetUniqueList}
+     * @throws NullPointerException if the collection is null
+     * @since 4.6.1
+     */
+    public static <E> SetUniqueList<E> indexedSetUniqueList(final Collection<? extends E> coll) {
+        Objects.requireNonNull(coll, "coll");
+        final IndexedUniqueList<E> list = new IndexedUniqueList<>(coll);
+        return new SetUniqueList<>(list, new HashSet<>(list));
+    }
+
     /**
      * Factory method to create a SetList using the supplied list to retain order.
      * <p>
@@ -328,11 +357,34 @@ public class SetUniqueList<E> extends AbstractSerializableListDecorator<E> {
         return subSet;
     }
 
+    /**
+     * Gets the index of an object, answering from the set when the object is absent.
+     *
+     * @param object  The object to find
+     * @return The index of the object, or -1 if it is not in the list
+     */
+    @Override
+    public int indexOf(final Object object) {
+        return set.contains(object) ? super.indexOf(object) : -1;
+    }
+
     @Override
     public Iterator<E> iterator() {
         return new SetListIterator<>(super.iterator(), set);
     }
 
+    /**
+     * Gets the index of an object, which is also its first index since the list holds
+     * no duplicates.
+     *
+     * @param object  The object to find
+     * @return The index of the object, or -1 if it is not in the list
+     */
+    @Override
+    public int lastIndexOf(final Object object) {
+        return indexOf(object);
+    }
+
     @Override
     public ListIterator<E> listIterator() {
         return new SetListListIterator<>(super.listIterator(), set);
@@ -423,6 +475,9 @@ public class SetUniqueList<E> extends AbstractSerializableListDecorator<E> {
      * The object is set into the specified index. Afterwards, any previous
      * duplicate is removed. If the object is not already in the list then a
      * normal set occurs. If it is present, then the old version is removed.
+     * <p>
+     * The duplicate is removed before the object is set, so that the decorated
+     * list never holds the object twice.
      *
      * @param index  The index to insert at
      * @param object  The object to set
@@ -431,12 +486,17 @@ public class SetUniqueList<E> extends AbstractSerializableListDecorator<E> {
     @Override
     public E set(final int index, final E object) {
         final int pos = indexOf(object);
-        final E removed = super.set(index, object);
-
+        final E removed;
         if (pos != -1 && pos != index) {
             // the object is already in the unique list
             // (and it hasn't been swapped with itself)
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
             super.remove(pos); // remove the duplicate by index
+            removed = super.set(pos < index ? index - 1 : index, object);
+        } else {
+            removed = super.set(index, object);
         }
 
         set.remove(removed); // remove the item deleted by the set
@@ -26,6 +26,8 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.OrderedIterator;
@@ -918,6 +920,110 @@ public class TreeList<E> extends AbstractList<E> {
         }
     }
 
+    /**
+     * A spliterator over the list which splits by index range.
+     * <p>
+     * Each part looks up its first node once and then walks the threaded links
+     * of the tree, so traversal costs O(log n) per part plus O(1) per element.
+     * </p>
+     */
+    static class TreeListSpliterator<E> implements Spliterator<E> {
+
+        /** The parent list */
+        private final TreeList<E> parent;
+
+        /** The index of the next element. */
+        private int index;
+
+        /** One past the last index, -1 until first use. */
+        private int fence;
+
+        /** The node of the next element, null until looked up. */
+        private AVLNode<E> node;
+
+        /** The modification count that the list is expected to have. */
+        private int expectedModCount;
+
+        TreeListSpliterator(final TreeList<E> parent, final int origin, final int fence, final AVLNode<E> node,
+                final int expectedModCount) {
+            this.parent = parent;
+            this.index = origin;
+            this.fence = fence;
+            this.node = node;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+
+        private void checkModCount() {
+            if (parent.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            final int hi = getFence();
+            if (index < hi) {
+                AVLNode<E> current = node == null ? parent.root.get(index) : node;
+                for (; index < hi; index++) {
+                    action.accept(current.getValue());
+                    current = current.next();
+                }
+                node = current;
+            }
+            checkModCount();
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                expectedModCount = parent.modCount;
+                fence = parent.size;
+            }
+            return fence;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            if (index >= getFence()) {
+                return false;
+            }
+            if (node == null) {
+                node = parent.root.get(index);
+            }
+            final E value = node.getValue();
+            node = node.next();
+            index++;
+            action.accept(value);
+            checkModCount();
+            return true;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            final int hi = getFence();
+            final int lo = index;
+            final int mid = lo + hi >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            final Spliterator<E> prefix = new TreeListSpliterator<>(parent, lo, mid, node, expectedModCount);
+            index = mid;
+            node = null;
+            return prefix;
+        }
+    }
+
     /**
      * Checks whether the index is valid.
      *
@@ -1140,6 +1246,18 @@ public class TreeList<E> extends AbstractList<E> {
         return size;
     }
 
+    /**
+     * Creates a late-binding, fail-fast spliterator over the list which splits
+     * by index range, reporting {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED}.
+     *
+     * @return A spliterator over the list
+     * @since 4.6.1
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new TreeListSpliterator<>(this, 0, -1, null, 0);
+    }
+
     /**
      * Converts the list into an array.
      *
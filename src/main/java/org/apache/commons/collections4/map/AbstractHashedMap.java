@@ -31,6 +31,9 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.IterableMap;
@@ -122,6 +125,11 @@ public class AbstractHashedMap<K, V> extends AbstractMap<K, V> implements Iterab
         public int size() {
             return parent.size();
         }
+
+        @Override
+        public Spliterator<Map.Entry<K, V>> spliterator() {
+            return parent.createEntrySetSpliterator();
+        }
     }
 
     /**
@@ -395,6 +403,147 @@ public class AbstractHashedMap<K, V> extends AbstractMap<K, V> implements Iterab
         }
     }
 
+    /**
+     * Spliterator over a range of the buckets of the map.
+     * <p>
+     * The spliterator splits by halving the bucket range, so that each part can be
+     * traversed without touching the others. Only the top level spliterator reports
+     * an exact size; the size of the parts is estimated from the number of buckets.
+     * </p>
+     *
+     * @param <K> The type of the keys in the map
+     * @param <V> The type of the values in the map
+     * @param <E> The type of the elements returned
+     * @since 4.6.1
+     */
+    protected static class HashSpliterator<K, V, E> implements Spliterator<E> {
+
+        /** The parent map */
+        private final AbstractHashedMap<K, V> parent;
+
+        /** Maps an entry to the element returned */
+        private final Function<HashEntry<K, V>, E> mapper;
+
+        /** The additional characteristics, DISTINCT for keys and entries */
+        private final int characteristics;
+
+        /** The current bucket index */
+        private int index;
+
+        /** One past the last bucket index to use, -1 until first use */
+        private int fence;
+
+        /** The size estimate, -1 until first use */
+        private int est;
+
+        /** The modification count expected */
+        private int expectedModCount;
+
+        /** The current entry within the bucket */
+        private HashEntry<K, V> current;
+
+        /**
+         * Constructs a new instance covering the whole map.
+         *
+         * @param parent The parent AbstractHashedMap.
+         * @param mapper Maps an entry to the element returned.
+         * @param characteristics The additional characteristics.
+         */
+        protected HashSpliterator(final AbstractHashedMap<K, V> parent, final Function<HashEntry<K, V>, E> mapper,
+                final int characteristics) {
+            this(parent, mapper, characteristics, 0, -1, -1, 0);
+        }
+
+        private HashSpliterator(final AbstractHashedMap<K, V> parent, final Function<HashEntry<K, V>, E> mapper,
+                final int characteristics, final int origin, final int fence, final int est,
+                final int expectedModCount) {
+            this.parent = parent;
+            this.mapper = mapper;
+            this.characteristics = characteristics;
+            this.index = origin;
+            this.fence = fence;
+            this.est = est;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public int characteristics() {
+            return (fence < 0 || est == parent.size ? SIZED : 0) | characteristics;
+        }
+
+        @Override
+        public long estimateSize() {
+            getFence();
+            return est;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            final int hi = getFence();
+            final HashEntry<K, V>[] data = parent.data;
+            HashEntry<K, V> entry = current;
+            current = null;
+            int i = index;
+            index = hi;
+            while (entry != null || i < hi) {
+                if (entry == null) {
+                    entry = data[i++];
+                } else {
+                    action.accept(mapper.apply(entry));
+                    entry = entry.next;
+                }
+            }
+            if (parent.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        private int getFence() {
+            int hi = fence;
+            if (hi < 0) {
+                est = parent.size;
+                expectedModCount = parent.modCount;
+                hi = fence = parent.data.length;
+            }
+            return hi;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            final int hi = getFence();
+            final HashEntry<K, V>[] data = parent.data;
+            while (current != null || index < hi) {
+                if (current == null) {
+                    current = data[index++];
+                } else {
+                    final HashEntry<K, V> entry = current;
+                    current = entry.next;
+                    action.accept(mapper.apply(entry));
+                    if (parent.modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            final int hi = getFence();
+            final int lo = index;
+            final int mid = lo + hi >>> 1;
+            if (lo >= mid || current != null) {
+                return null;
+            }
+            index = mid;
+            est >>>= 1;
+            return new HashSpliterator<>(parent, mapper, characteristics, lo, mid, est, expectedModCount);
+        }
+    }
+
     /**
      * KeySet implementation.
      *
@@ -440,6 +589,11 @@ public class AbstractHashedMap<K, V> extends AbstractMap<K, V> implements Iterab
         public int size() {
             return parent.size();
         }
+
+        @Override
+        public Spliterator<K> spliterator() {
+            return parent.createKeySetSpliterator();
+        }
     }
 
     /**
@@ -503,6 +657,11 @@ public class AbstractHashedMap<K, V> extends AbstractMap<K, V> implements Iterab
         public int size() {
             return parent.size();
         }
+
+        @Override
+        public Spliterator<V> spliterator() {
+            return parent.createValuesSpliterator();
+        }
     }
 
     /**
@@ -877,6 +1036,17 @@ public class AbstractHashedMap<K, V> extends AbstractMap<K, V> implements Iterab
         return new EntrySetIterator<>(this);
     }
 
+    /**
+     * Creates an entry set spliterator.
+     * Subclasses can override this to return spliterators with different properties.
+     *
+     * @return The entrySet spliterator
+     * @since 4.6.1
+     */
+    protected Spliterator<Map.Entry<K, V>> createEntrySetSpliterator() {
+        return new HashSpliterator<>(this, e -> e, Spliterator.DISTINCT);
+    }
+
     /**
      * Creates a key set iterator.
      * Subclasses can override this to return iterators with different properties.
@@ -890,6 +1060,17 @@ public class AbstractHashedMap<K, V> extends AbstractMap<K, V> implements Iterab
         return new KeySetIterator<>(this);
     }
 
+    /**
+     * Creates a key set spliterator.
+     * Subclasses can override this to return spliterators with different properties.
+     *
+     * @return The keySet spliterator
+     * @since 4.6.1
+     */
+    protected Spliterator<K> createKeySetSpliterator() {
+        return new HashSpliterator<>(this, HashEntry::getKey, Spliterator.DISTINCT);
+    }
+
     /**
      * Creates a values iterator.
      * Subclasses can override this to return iterators with different properties.
@@ -903,6 +1084,17 @@ public class AbstractHashedMap<K, V> extends AbstractMap<K, V> implements Iterab
         return new ValuesIterator<>(this);
     }
 
+    /**
+     * Creates a values spliterator.
+     * Subclasses can override this to return spliterators with different properties.
+     *
+     * @return The values spliterator
+     * @since 4.6.1
+     */
+    protected Spliterator<V> createValuesSpliterator() {
+        return new HashSpliterator<>(this, HashEntry::getValue, 0);
+    }
+
     /**
      * Kills an entry ready for the garbage collector.
      * <p>
@@ -21,6 +21,8 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 import org.apache.commons.collections4.OrderedIterator;
 import org.apache.commons.collections4.OrderedMap;
@@ -510,6 +512,21 @@ public abstract class AbstractLinkedMap<K, V> extends AbstractHashedMap<K, V> im
         return new EntrySetIterator<>(this);
     }
 
+    /**
+     * Creates an entry set spliterator.
+     * <p>
+     * The spliterator reports the iteration order of the map, so it does not split
+     * at bucket boundaries.
+     * </p>
+     *
+     * @return The entrySet spliterator
+     * @since 4.6.1
+     */
+    @Override
+    protected Spliterator<Map.Entry<K, V>> createEntrySetSpliterator() {
+        return Spliterators.spliterator(entrySet(), Spliterator.ORDERED | Spliterator.DISTINCT);
+    }
+
     /**
      * Creates a key set iterator.
      * Subclasses can override this to return iterators with different properties.
@@ -524,6 +541,21 @@ public abstract class AbstractLinkedMap<K, V> extends AbstractHashedMap<K, V> im
         return new KeySetIterator<>(this);
     }
 
+    /**
+     * Creates a key set spliterator.
+     * <p>
+     * The spliterator reports the iteration order of the map, so it does not split
+     * at bucket boundaries.
+     * </p>
+     *
+     * @return The keySet spliterator
+     * @since 4.6.1
+     */
+    @Override
+    protected Spliterator<K> createKeySetSpliterator() {
+        return Spliterators.spliterator(keySet(), Spliterator.ORDERED | Spliterator.DISTINCT);
+    }
+
     /**
      * Creates a values iterator.
      * Subclasses can override this to return iterators with different properties.
@@ -538,6 +570,21 @@ public abstract class AbstractLinkedMap<K, V> extends AbstractHashedMap<K, V> im
         return new ValuesIterator<>(this);
     }
 
+    /**
+     * Creates a values spliterator.
+     * <p>
+     * The spliterator reports the iteration order of the map, so it does not split
+     * at bucket boundaries.
+     * </p>
+     *
+     * @return The values spliterator
+     * @since 4.6.1
+     */
+    @Override
+    protected Spliterator<V> createValuesSpliterator() {
+        return Spliterators.spliterator(values(), Spliterator.ORDERED);
+    }
+
     /**
      * Gets the {@code after} field from a {@code LinkEntry}.
      * Used in subclasses that have no visibility of the field.
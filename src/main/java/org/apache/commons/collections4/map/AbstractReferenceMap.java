@@ -33,6 +33,8 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 import org.apache.commons.collections4.MapIterator;
 import org.apache.commons.collections4.keyvalue.DefaultMapEntry;
@@ -775,6 +777,21 @@ public abstract class AbstractReferenceMap<K, V> extends AbstractHashedMap<K, V>
         return new ReferenceEntrySetIterator<>(this);
     }
 
+    /**
+     * Creates an entry set spliterator.
+     * <p>
+     * Entries may be purged by the garbage collector at any time, so the spliterator
+     * does not report a size.
+     * </p>
+     *
+     * @return The entrySet spliterator
+     * @since 4.6.1
+     */
+    @Override
+    protected Spliterator<Map.Entry<K, V>> createEntrySetSpliterator() {
+        return Spliterators.spliteratorUnknownSize(createEntrySetIterator(), Spliterator.DISTINCT);
+    }
+
     /**
      * Creates a key set iterator.
      *
@@ -785,6 +802,21 @@ public abstract class AbstractReferenceMap<K, V> extends AbstractHashedMap<K, V>
         return new ReferenceKeySetIterator<>(this);
     }
 
+    /**
+     * Creates a key set spliterator.
+     * <p>
+     * Entries may be purged by the garbage collector at any time, so the spliterator
+     * does not report a size.
+     * </p>
+     *
+     * @return The keySet spliterator
+     * @since 4.6.1
+     */
+    @Override
+    protected Spliterator<K> createKeySetSpliterator() {
+        return Spliterators.spliteratorUnknownSize(createKeySetIterator(), Spliterator.DISTINCT);
+    }
+
     /**
      * Creates a values iterator.
      *
@@ -795,6 +827,21 @@ public abstract class AbstractReferenceMap<K, V> extends AbstractHashedMap<K, V>
         return new ReferenceValuesIterator<>(this);
     }
 
+    /**
+     * Creates a values spliterator.
+     * <p>
+     * Entries may be purged by the garbage collector at any time, so the spliterator
+     * does not report a size.
+     * </p>
+     *
+     * @return The values spliterator
+     * @since 4.6.1
+     */
+    @Override
+    protected Spliterator<V> createValuesSpliterator() {
+        return Spliterators.spliteratorUnknownSize(createValuesIterator(), 0);
+    }
+
     /**
      * Replaces the superclass method to read the state of this class.
      * <p>
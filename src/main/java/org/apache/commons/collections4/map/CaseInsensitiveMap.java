@@ -36,6 +36,12 @@ import java.util.Map;
  * The {@code keySet()} method returns all lowercase keys, or nulls.
  * </p>
  * <p>
+ * The lowercase form of a key is only built when the key is added to the map.
+ * Lookups hash and compare the string form of the given key character by character,
+ * with a fast path for ASCII characters, so that {@code get}, {@code containsKey} and
+ * {@code remove} don't allocate for {@code String} keys.
+ * </p>
+ * <p>
  * Example:
  * </p>
  * <pre><code>
@@ -132,23 +138,106 @@ public class CaseInsensitiveMap<K, V> extends AbstractHashedMap<K, V> implements
 
     /**
      * Overrides convertKey() from {@link AbstractHashedMap} to convert keys to
-     * lower case.
+     * strings.
      * <p>
-     * Returns {@link AbstractHashedMap#NULL} if key is null.
+     * Returns {@link AbstractHashedMap#NULL} if key is null. The string is
+     * not converted to lower case here: {@link #hash(Object)} and
+     * {@link #isEqualKey(Object, Object)} fold the case as they go, and
+     * {@link #createEntry(AbstractHashedMap.HashEntry, int, Object, Object)}
+     * stores the lowercase form.
+     * </p>
      *
      * @param key  The key convert
      * @return The converted key
      */
     @Override
     protected Object convertKey(final Object key) {
-        if (key != null) {
-            final char[] chars = key.toString().toCharArray();
+        return key == null ? NULL : key.toString();
+    }
+
+    /**
+     * Creates an entry holding the lowercase form of the key.
+     *
+     * @param next  The next entry in sequence
+     * @param hashCode  The hash code to use
+     * @param key  The key to store
+     * @param value  The value to store
+     * @return The newly created entry
+     */
+    @Override
+    protected HashEntry<K, V> createEntry(final HashEntry<K, V> next, final int hashCode, final K key, final V value) {
+        final Object converted = convertKey(key);
+        if (converted instanceof String) {
+            final char[] chars = ((String) converted).toCharArray();
             for (int i = chars.length - 1; i >= 0; i--) {
-                chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+                chars[i] = fold(chars[i]);
+            }
+            return new HashEntry<>(next, hashCode, new String(chars), value);
+        }
+        return new HashEntry<>(next, hashCode, converted, value);
+    }
+
+    /**
+     * Folds a character to the case used for keys.
+     *
+     * @param ch  The character to fold
+     * @return The lowercase form of the uppercase form of the character
+     */
+    private static char fold(final char ch) {
+        if (ch < 0x80) {
+            return ch >= 'A' && ch <= 'Z' ? (char) (ch + ('a' - 'A')) : ch;
+        }
+        return Character.toLowerCase(Character.toUpperCase(ch));
+    }
+
+    /**
+     * Gets the hash code of the lowercase form of a converted key, without building it.
+     *
+     * @param key  The key to get a hash code for
+     * @return The hash code
+     */
+    @Override
+    protected int hash(final Object key) {
+        if (key instanceof String) {
+            final String string = (String) key;
+            int h = 0;
+            for (int i = 0; i < string.length(); i++) {
+                h = 31 * h + fold(string.charAt(i));
+            }
+            h += ~(h << 9);
+            h ^=  h >>> 14;
+            h +=  h << 4;
+            h ^=  h >>> 10;
+            return h;
+        }
+        return super.hash(key);
+    }
+
+    /**
+     * Compares a converted key with the lowercase key of an entry, folding the case
+     * of the first key as it goes.
+     *
+     * @param key1  The first key to compare passed in from outside
+     * @param key2  The second key extracted from the entry via {@code entry.key}
+     * @return true if equal
+     */
+    @Override
+    protected boolean isEqualKey(final Object key1, final Object key2) {
+        if (key1 instanceof String && key2 instanceof String) {
+            final String string1 = (String) key1;
+            final String string2 = (String) key2;
+            final int length = string1.length();
+            if (length != string2.length()) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (fold(string1.charAt(i)) != string2.charAt(i)) {
+                    return false;
+                }
             }
-            return new String(chars);
+            return true;
         }
-        return NULL;
+        return super.isEqualKey(key1, key2);
     }
 
     /**
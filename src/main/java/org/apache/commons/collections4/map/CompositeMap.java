@@ -19,10 +19,18 @@ package org.apache.commons.collections4.map;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.bloomfilter.EnhancedDoubleHasher;
+import org.apache.commons.collections4.bloomfilter.Hasher;
+import org.apache.commons.collections4.bloomfilter.Shape;
+import org.apache.commons.collections4.bloomfilter.SimpleBloomFilter;
 import org.apache.commons.collections4.collection.CompositeCollection;
 import org.apache.commons.collections4.set.CompositeSet;
 
@@ -40,6 +48,12 @@ import org.apache.commons.collections4.set.CompositeSet;
  * using {@link java.util.Collections#synchronizedMap(Map)}. This class may throw
  * exceptions when accessed by concurrent threads without synchronization.
  * </p>
+ * <p>
+ * When {@link #setCached(boolean) cached}, a Bloom filter of the hash codes of the
+ * keys of each hash-based map lets {@link #containsKey(Object)}, {@link #get(Object)} and
+ * {@link #remove(Object)} skip the maps that cannot hold a key. {@link #invalidate()}
+ * must then be called after a composited map has been given new keys directly.
+ * </p>
  *
  * @param <K> The type of the keys in this map
  * @param <V> The type of the values in this map
@@ -119,12 +133,53 @@ public class CompositeMap<K, V> extends AbstractIterableMap<K, V> implements Ser
     /** Serialization version */
     private static final long serialVersionUID = -6096931280583808322L;
 
+    /** The false positive probability of the Bloom filters at the size they are built for. */
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    /** The smallest number of keys a Bloom filter is built for. */
+    private static final int MIN_FILTER_ITEMS = 64;
+
+    /**
+     * Creates the hasher of the hash code of a key.
+     *
+     * @param key  The key, may be null
+     * @return The hasher
+     */
+    private static Hasher hasher(final Object key) {
+        final long hash = (key == null ? 0 : key.hashCode()) * 0x9E3779B97F4A7C15L;
+        return new EnhancedDoubleHasher(hash, Long.rotateLeft(hash, 31) | 1);
+    }
+
+    /**
+     * Tests whether a map finds its keys by {@code hashCode} and {@code equals}, so that a Bloom filter
+     * of the hash codes of its keys never rules out a key it contains.
+     * <p>
+     * Sorted maps compare keys, identity maps and maps such as {@link CaseInsensitiveMap} convert or
+     * compare them their own way, and decorators may do either, so only the exact classes of the
+     * plain hash maps qualify.
+     * </p>
+     *
+     * @param map  The map
+     * @return whether the map is a plain hash map
+     */
+    private static boolean isHashBased(final Map<?, ?> map) {
+        final Class<?> type = map.getClass();
+        return type == HashMap.class || type == LinkedHashMap.class || type == Hashtable.class
+                || type == ConcurrentHashMap.class || type == HashedMap.class || type == LinkedMap.class;
+    }
+
     /** Array of all maps in the composite */
     private Map<K, V>[] composite;
 
     /** Handle mutation operations */
     private MapMutator<K, V> mutator;
 
+    /** Whether the Bloom filters of the keys are cached */
+    private boolean cached;
+
+    /** The Bloom filter of the keys of each map, null for a map that is not hash-based, or null until built */
+    private transient SimpleBloomFilter[] filters;
+
     /**
      * Create a new, empty, CompositeMap.
      */
@@ -205,6 +260,7 @@ public class CompositeMap<K, V> extends AbstractIterableMap<K, V> implements Ser
             final Map<K, V>[] temp = Arrays.copyOf(composite, composite.length + 1);
             temp[temp.length - 1] = map;
             composite = temp;
+            filters = null;
         }
     }
 
@@ -238,12 +294,7 @@ public class CompositeMap<K, V> extends AbstractIterableMap<K, V> implements Ser
      */
     @Override
     public boolean containsKey(final Object key) {
-        for (int i = composite.length - 1; i >= 0; --i) {
-            if (composite[i].containsKey(key)) {
-                return true;
-            }
-        }
-        return false;
+        return indexOfKey(key) >= 0;
     }
 
     /**
@@ -339,12 +390,31 @@ public class CompositeMap<K, V> extends AbstractIterableMap<K, V> implements Ser
      */
     @Override
     public V get(final Object key) {
-        for (int i = composite.length - 1; i >= 0; --i) {
-            if (composite[i].containsKey(key)) {
-                return composite[i].get(key);
+        final int index = indexOfKey(key);
+        return index < 0 ? null : composite[index].get(key);
+    }
+
+    /**
+     * Gets the Bloom filters of the keys of the maps, building them if needed.
+     *
+     * @return The Bloom filter of each map, null for a map that is not hash-based
+     */
+    private SimpleBloomFilter[] filters() {
+        if (filters == null || filters.length != composite.length) {
+            final SimpleBloomFilter[] built = new SimpleBloomFilter[composite.length];
+            for (int i = 0; i < composite.length; i++) {
+                if (!isHashBased(composite[i])) {
+                    continue;
+                }
+                built[i] = new SimpleBloomFilter(
+                        Shape.fromNP(Math.max(MIN_FILTER_ITEMS, composite[i].size()), FALSE_POSITIVE_PROBABILITY));
+                for (final K key : composite[i].keySet()) {
+                    built[i].merge(hasher(key));
+                }
             }
+            filters = built;
         }
-        return null;
+        return filters;
     }
 
     /**
@@ -360,6 +430,56 @@ public class CompositeMap<K, V> extends AbstractIterableMap<K, V> implements Ser
         return code;
     }
 
+    /**
+     * Finds the map that contains a key, the last added first.
+     *
+     * @param key  The key to search for
+     * @return The index of the map, or -1 if none contains the key
+     */
+    private int indexOfKey(final Object key) {
+        if (!cached) {
+            for (int i = composite.length - 1; i >= 0; --i) {
+                if (composite[i].containsKey(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        final SimpleBloomFilter[] blooms = filters();
+        final Hasher hasher = hasher(key);
+        for (int i = composite.length - 1; i >= 0; --i) {
+            if ((blooms[i] == null || blooms[i].contains(hasher)) && composite[i].containsKey(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Discards the Bloom filters of the keys, so that they are built again when next needed.
+     * <p>
+     * A cached composite must be invalidated after a composited map is given new keys
+     * other than through this composite. Removals never need an invalidation.
+     * </p>
+     *
+     * @see #setCached(boolean)
+     * @since 4.6.1
+     */
+    public void invalidate() {
+        filters = null;
+    }
+
+    /**
+     * Tests whether the Bloom filters of the keys are cached.
+     *
+     * @return whether the Bloom filters of the keys are cached
+     * @see #setCached(boolean)
+     * @since 4.6.1
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
     /**
      * Returns {@code true} if this map contains no key-value mappings.
      *
@@ -430,7 +550,9 @@ public class CompositeMap<K, V> extends AbstractIterableMap<K, V> implements Ser
         if (mutator == null) {
             throw new UnsupportedOperationException("No mutator specified");
         }
-        return mutator.put(this, composite, key, value);
+        final V previous = mutator.put(this, composite, key, value);
+        putKey(key);
+        return previous;
     }
 
     /**
@@ -460,6 +582,25 @@ public class CompositeMap<K, V> extends AbstractIterableMap<K, V> implements Ser
             throw new UnsupportedOperationException("No mutator specified");
         }
         mutator.putAll(this, composite, map);
+        if (filters != null && map != null) {
+            map.keySet().forEach(this::putKey);
+        }
+    }
+
+    /**
+     * Records a key put through the mutator in any of the maps in the Bloom filters.
+     *
+     * @param key  The key put
+     */
+    private void putKey(final K key) {
+        if (filters != null) {
+            final Hasher hasher = hasher(key);
+            for (final SimpleBloomFilter filter : filters) {
+                if (filter != null) {
+                    filter.merge(hasher);
+                }
+            }
+        }
     }
 
     /**
@@ -489,12 +630,8 @@ public class CompositeMap<K, V> extends AbstractIterableMap<K, V> implements Ser
      */
     @Override
     public V remove(final Object key) {
-        for (int i = composite.length - 1; i >= 0; --i) {
-            if (composite[i].containsKey(key)) {
-                return composite[i].remove(key);
-            }
-        }
-        return null;
+        final int index = indexOfKey(key);
+        return index < 0 ? null : composite[index].remove(key);
     }
 
     /**
@@ -512,12 +649,35 @@ public class CompositeMap<K, V> extends AbstractIterableMap<K, V> implements Ser
                 System.arraycopy(composite, 0, temp, 0, i);
                 System.arraycopy(composite, i + 1, temp, i, size - i - 1);
                 composite = temp;
+                filters = null;
                 return map;
             }
         }
         return null;
     }
 
+    /**
+     * Sets whether the Bloom filters of the keys are cached.
+     * <p>
+     * A cached composite builds a Bloom filter of the hash codes of the keys of each map
+     * when first needed, so that key lookups only query the maps that may hold the key.
+     * Only the plain hash maps, such as {@link HashMap} and {@link HashedMap}, are filtered:
+     * sorted maps, identity maps, {@link CaseInsensitiveMap} and decorators may hold a key
+     * equivalent to another one with a different hash code, and are always queried.
+     * Keys put through the mutator are added to the filters of all the maps, and removed
+     * keys leave their bits behind, so the filters never rule out a key that is present.
+     * This assumes that the composited maps are only given new keys through this
+     * composite, or that {@link #invalidate()} is called after they are.
+     * </p>
+     *
+     * @param cached  whether to cache the Bloom filters of the keys
+     * @since 4.6.1
+     */
+    public void setCached(final boolean cached) {
+        this.cached = cached;
+        invalidate();
+    }
+
     /**
      * Specify the MapMutator to be used by mutation operations.
      *
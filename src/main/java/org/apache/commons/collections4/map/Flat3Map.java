@@ -83,8 +83,9 @@ import org.apache.commons.collections4.iterators.EmptyMapIterator;
 public class Flat3Map<K, V> implements IterableMap<K, V>, Serializable, Cloneable {
 
     abstract static class EntryIterator<K, V> {
-        private final Flat3Map<K, V> parent;
+        final Flat3Map<K, V> parent;
         private int nextIndex;
+        private boolean canRemove;
         private FlatMapEntry<K, V> currentEntry;
 
         /**
@@ -99,21 +100,35 @@ public class Flat3Map<K, V> implements IterableMap<K, V>, Serializable, Cloneabl
         }
 
         public Map.Entry<K, V> nextEntry() {
+            currentEntry = new FlatMapEntry<>(parent, nextIndex());
+            return currentEntry;
+        }
+
+        /**
+         * Advances the iterator without creating a Map Entry.
+         *
+         * @return the one-based index of the element moved to
+         */
+        int nextIndex() {
             if (!hasNext()) {
                 throw new NoSuchElementException(AbstractHashedMap.NO_NEXT_ENTRY);
             }
-            currentEntry = new FlatMapEntry<>(parent, ++nextIndex);
-            return currentEntry;
+            canRemove = true;
+            currentEntry = null;
+            return ++nextIndex;
         }
 
         public void remove() {
-            if (currentEntry == null) {
+            if (!canRemove) {
                 throw new IllegalStateException(AbstractHashedMap.REMOVE_INVALID);
             }
-            parent.remove(currentEntry.getKey());
-            currentEntry.setRemoved(true);
+            parent.remove(parent.keyAt(nextIndex));
+            if (currentEntry != null) {
+                currentEntry.setRemoved(true);
+                currentEntry = null;
+            }
             nextIndex--;
-            currentEntry = null;
+            canRemove = false;
         }
 
     }
@@ -451,7 +466,7 @@ public class Flat3Map<K, V> implements IterableMap<K, V>, Serializable, Cloneabl
 
         @Override
         public K next() {
-            return nextEntry().getKey();
+            return parent.keyAt(nextIndex());
         }
     }
 
@@ -505,7 +520,7 @@ public class Flat3Map<K, V> implements IterableMap<K, V>, Serializable, Cloneabl
 
         @Override
         public V next() {
-            return nextEntry().getValue();
+            return parent.valueAt(nextIndex());
         }
     }
 
@@ -884,6 +899,24 @@ public class Flat3Map<K, V> implements IterableMap<K, V>, Serializable, Cloneabl
         return size() == 0;
     }
 
+    /**
+     * Gets the key at the specified one-based flat mode index.
+     *
+     * @param index  the index, 1 to 3
+     * @return the key
+     */
+    K keyAt(final int index) {
+        switch (index) {
+        case 3:
+            return key3;
+        case 2:
+            return key2;
+        case 1:
+            return key1;
+        }
+        throw new IllegalStateException("Invalid map index: " + index);
+    }
+
     /**
      * Gets the keySet view of the map.
      * Changes made to the view affect this map.
@@ -1252,6 +1285,24 @@ public class Flat3Map<K, V> implements IterableMap<K, V>, Serializable, Cloneabl
         return buf.toString();
     }
 
+    /**
+     * Gets the value at the specified one-based flat mode index.
+     *
+     * @param index  the index, 1 to 3
+     * @return the value
+     */
+    V valueAt(final int index) {
+        switch (index) {
+        case 3:
+            return value3;
+        case 2:
+            return value2;
+        case 1:
+            return value1;
+        }
+        throw new IllegalStateException("Invalid map index: " + index);
+    }
+
     /**
      * Gets the values view of the map.
      * Changes made to the view affect this map.
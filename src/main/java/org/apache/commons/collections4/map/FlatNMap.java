@@ -0,0 +1,1029 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.map;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.IterableMap;
+import org.apache.commons.collections4.MapIterator;
+import org.apache.commons.collections4.ResettableIterator;
+import org.apache.commons.collections4.iterators.EmptyIterator;
+import org.apache.commons.collections4.iterators.EmptyMapIterator;
+
+/**
+ * A {@code Map} implementation that stores data in flat parallel arrays until
+ * the size is greater than a configurable inline capacity.
+ * <p>
+ * This map generalizes {@link Flat3Map} to small maps holding more than three
+ * entries. Keys, values and cached key hash codes are held in three parallel arrays
+ * which are scanned linearly. For small sizes a linear scan comparing cached hash
+ * codes first is cheaper than hashing into a table, and no Map Entry object is
+ * created on put.
+ * </p>
+ * <p>
+ * The design uses two distinct modes of operation - flat and delegate.
+ * While the map size is at or below the inline capacity, operations scan the
+ * arrays. Once the capacity is exceeded, the map switches to delegate mode
+ * and only switches back when cleared. In delegate mode, all operations are
+ * forwarded straight to a HashedMap.
+ * </p>
+ * <p>
+ * Iterating over the keys, values or the {@link #mapIterator()} in flat mode does
+ * not create any objects per element. Only the {@link #entrySet()} iterator creates
+ * a Map Entry for each element, as each returned entry must remain independent.
+ * </p>
+ * <p>
+ * The inline capacity is fixed at construction, defaults to {@value #DEFAULT_CAPACITY}
+ * and may not exceed {@value #MAXIMUM_CAPACITY}. Choose a capacity that covers the
+ * typical size of the map; beyond a few dozen entries a linear scan is no longer
+ * competitive with a hashed lookup.
+ * </p>
+ * <p>
+ * <strong>Note that FlatNMap is not synchronized and is not thread-safe.</strong>
+ * If you wish to use this map from multiple threads concurrently, you must use
+ * appropriate synchronization. The simplest approach is to wrap this map
+ * using {@link java.util.Collections#synchronizedMap(Map)}. This class may throw
+ * exceptions when accessed by concurrent threads without synchronization.
+ * </p>
+ *
+ * @param <K> The type of the keys in this map
+ * @param <V> The type of the values in this map
+ * @see Flat3Map
+ * @since 4.6.1
+ */
+public class FlatNMap<K, V> implements IterableMap<K, V>, Serializable, Cloneable {
+
+    /**
+     * EntrySet
+     */
+    static class EntrySet<K, V> extends AbstractSet<Map.Entry<K, V>> {
+        private final FlatNMap<K, V> parent;
+
+        EntrySet(final FlatNMap<K, V> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void clear() {
+            parent.clear();
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            if (parent.delegateMap != null) {
+                return parent.delegateMap.entrySet().iterator();
+            }
+            if (parent.isEmpty()) {
+                return EmptyIterator.<Map.Entry<K, V>>emptyIterator();
+            }
+            return new EntrySetIterator<>(parent);
+        }
+
+        @Override
+        public boolean remove(final Object obj) {
+            if (!(obj instanceof Map.Entry)) {
+                return false;
+            }
+            if (!contains(obj)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) obj;
+            parent.remove(entry.getKey());
+            return true;
+        }
+
+        @Override
+        public int size() {
+            return parent.size();
+        }
+    }
+
+    /**
+     * EntrySetIterator
+     */
+    static class EntrySetIterator<K, V> extends FlatIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        private FlatMapEntry<K, V> currentEntry;
+
+        EntrySetIterator(final FlatNMap<K, V> parent) {
+            super(parent);
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            currentEntry = new FlatMapEntry<>(parent, nextIndex());
+            return currentEntry;
+        }
+
+        @Override
+        public void remove() {
+            super.remove();
+            currentEntry.setRemoved(true);
+            currentEntry = null;
+        }
+    }
+
+    /**
+     * Base iterator over the flat arrays which tracks a position without creating
+     * any object per element.
+     */
+    abstract static class FlatIterator<K, V> {
+        final FlatNMap<K, V> parent;
+        /** The index of the next element to return */
+        private int nextIndex;
+        /** The index of the last element returned, -1 if none or removed */
+        int lastIndex = -1;
+        /** The modification count expected */
+        private int expectedModCount;
+
+        FlatIterator(final FlatNMap<K, V> parent) {
+            this.parent = parent;
+            this.expectedModCount = parent.modCount;
+        }
+
+        public boolean hasNext() {
+            return nextIndex < parent.size;
+        }
+
+        /**
+         * Advances the iterator.
+         *
+         * @return the array index of the element moved to
+         */
+        int nextIndex() {
+            if (parent.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException(AbstractHashedMap.NO_NEXT_ENTRY);
+            }
+            lastIndex = nextIndex++;
+            return lastIndex;
+        }
+
+        public void remove() {
+            if (lastIndex < 0) {
+                throw new IllegalStateException(AbstractHashedMap.REMOVE_INVALID);
+            }
+            if (parent.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            // the last element is moved into the removed slot, so visit that slot again
+            parent.removeIndex(lastIndex);
+            expectedModCount = parent.modCount;
+            nextIndex = lastIndex;
+            lastIndex = -1;
+        }
+
+        /**
+         * Resets the iterator back to the start.
+         */
+        public void reset() {
+            nextIndex = 0;
+            lastIndex = -1;
+            expectedModCount = parent.modCount;
+        }
+    }
+
+    /**
+     * FlatMapEntry
+     * <p>
+     * The entry holds its key, so it stays attached to its mapping when other
+     * mappings are removed and the flat arrays are compacted. The array index is
+     * only used as a hint to avoid a scan.
+     * </p>
+     */
+    static class FlatMapEntry<K, V> implements Map.Entry<K, V> {
+        private final FlatNMap<K, V> parent;
+        private final K key;
+        private int index;
+        private volatile boolean removed;
+
+        FlatMapEntry(final FlatNMap<K, V> parent, final int index) {
+            this.parent = parent;
+            this.key = parent.keyAt(index);
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (removed) {
+                return false;
+            }
+            if (!(obj instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+            return Objects.equals(getKey(), other.getKey()) &&
+                   Objects.equals(getValue(), other.getValue());
+        }
+
+        @Override
+        public K getKey() {
+            if (removed) {
+                throw new IllegalStateException(AbstractHashedMap.GETKEY_INVALID);
+            }
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            if (removed) {
+                throw new IllegalStateException(AbstractHashedMap.GETVALUE_INVALID);
+            }
+            index = parent.locate(key, index);
+            return index < 0 ? parent.get(key) : parent.valueAt(index);
+        }
+
+        @Override
+        public int hashCode() {
+            if (removed) {
+                return 0;
+            }
+            final Object key = getKey();
+            final Object value = getValue();
+            return (key == null ? 0 : key.hashCode()) ^
+                   (value == null ? 0 : value.hashCode());
+        }
+
+        /**
+         * Used by the iterator that created this entry to indicate that
+         * {@link java.util.Iterator#remove()} has been called.
+         *
+         * @param removed The new value of the removed flag
+         */
+        void setRemoved(final boolean removed) {
+            this.removed = removed;
+        }
+
+        @Override
+        public V setValue(final V value) {
+            if (removed) {
+                throw new IllegalStateException(AbstractHashedMap.SETVALUE_INVALID);
+            }
+            index = parent.locate(key, index);
+            return index < 0 ? parent.put(key, value) : parent.setValueAt(index, value);
+        }
+
+        @Override
+        public String toString() {
+            if (!removed) {
+                return getKey() + "=" + getValue();
+            }
+            return "";
+        }
+    }
+
+    /**
+     * FlatMapIterator
+     */
+    static class FlatMapIterator<K, V> extends FlatIterator<K, V> implements MapIterator<K, V>, ResettableIterator<K> {
+
+        FlatMapIterator(final FlatNMap<K, V> parent) {
+            super(parent);
+        }
+
+        @Override
+        public K getKey() {
+            if (lastIndex < 0) {
+                throw new IllegalStateException(AbstractHashedMap.GETKEY_INVALID);
+            }
+            return parent.keyAt(lastIndex);
+        }
+
+        @Override
+        public V getValue() {
+            if (lastIndex < 0) {
+                throw new IllegalStateException(AbstractHashedMap.GETVALUE_INVALID);
+            }
+            return parent.valueAt(lastIndex);
+        }
+
+        @Override
+        public K next() {
+            return parent.keyAt(nextIndex());
+        }
+
+        @Override
+        public V setValue(final V value) {
+            if (lastIndex < 0) {
+                throw new IllegalStateException(AbstractHashedMap.SETVALUE_INVALID);
+            }
+            return parent.setValueAt(lastIndex, value);
+        }
+
+        @Override
+        public String toString() {
+            if (lastIndex >= 0) {
+                return "Iterator[" + getKey() + "=" + getValue() + "]";
+            }
+            return "Iterator[]";
+        }
+    }
+
+    /**
+     * KeySet
+     */
+    static class KeySet<K> extends AbstractSet<K> {
+
+        private final FlatNMap<K, ?> parent;
+
+        KeySet(final FlatNMap<K, ?> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void clear() {
+            parent.clear();
+        }
+
+        @Override
+        public boolean contains(final Object key) {
+            return parent.containsKey(key);
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            if (parent.delegateMap != null) {
+                return parent.delegateMap.keySet().iterator();
+            }
+            if (parent.isEmpty()) {
+                return EmptyIterator.<K>emptyIterator();
+            }
+            return new KeySetIterator<>(parent);
+        }
+
+        @Override
+        public boolean remove(final Object key) {
+            final boolean result = parent.containsKey(key);
+            parent.remove(key);
+            return result;
+        }
+
+        @Override
+        public int size() {
+            return parent.size();
+        }
+    }
+
+    /**
+     * KeySetIterator
+     */
+    static class KeySetIterator<K> extends FlatIterator<K, Object> implements Iterator<K> {
+
+        @SuppressWarnings("unchecked")
+        KeySetIterator(final FlatNMap<K, ?> parent) {
+            super((FlatNMap<K, Object>) parent);
+        }
+
+        @Override
+        public K next() {
+            return parent.keyAt(nextIndex());
+        }
+    }
+
+    /**
+     * Values
+     */
+    static class Values<V> extends AbstractCollection<V> {
+
+        private final FlatNMap<?, V> parent;
+
+        Values(final FlatNMap<?, V> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void clear() {
+            parent.clear();
+        }
+
+        @Override
+        public boolean contains(final Object value) {
+            return parent.containsValue(value);
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            if (parent.delegateMap != null) {
+                return parent.delegateMap.values().iterator();
+            }
+            if (parent.isEmpty()) {
+                return EmptyIterator.<V>emptyIterator();
+            }
+            return new ValuesIterator<>(parent);
+        }
+
+        @Override
+        public int size() {
+            return parent.size();
+        }
+    }
+
+    /**
+     * ValuesIterator
+     */
+    static class ValuesIterator<V> extends FlatIterator<Object, V> implements Iterator<V> {
+
+        @SuppressWarnings("unchecked")
+        ValuesIterator(final FlatNMap<?, V> parent) {
+            super((FlatNMap<Object, V>) parent);
+        }
+
+        @Override
+        public V next() {
+            return parent.valueAt(nextIndex());
+        }
+    }
+
+    /** The default inline capacity */
+    public static final int DEFAULT_CAPACITY = 8;
+
+    /** The maximum inline capacity */
+    public static final int MAXIMUM_CAPACITY = 64;
+
+    /** Serialization version */
+    private static final long serialVersionUID = 1215754902823387680L;
+
+    /** The number of entries held in flat mode before switching to delegate mode */
+    private final int capacity;
+
+    /** The size of the map, used while in flat mode */
+    private transient int size;
+
+    /** Key hash codes, used while in flat mode, null until the first put */
+    private transient int[] hashes;
+
+    /** Keys, used while in flat mode, null until the first put */
+    private transient Object[] keys;
+
+    /** Values, used while in flat mode, null until the first put */
+    private transient Object[] values;
+
+    /** Map, used while in delegate mode */
+    private transient AbstractHashedMap<K, V> delegateMap;
+
+    /** Modification count for iterators, used while in flat mode */
+    private transient int modCount;
+
+    /**
+     * Constructs a new instance with the default inline capacity.
+     */
+    public FlatNMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new instance with the specified inline capacity.
+     *
+     * @param capacity  the number of entries to hold in flat mode
+     * @throws IllegalArgumentException if the capacity is less than one or greater than {@value #MAXIMUM_CAPACITY}
+     */
+    public FlatNMap(final int capacity) {
+        this.capacity = checkCapacity(capacity);
+    }
+
+    /**
+     * Constructor copying elements from another map using the default inline capacity.
+     *
+     * @param map  The map to copy
+     * @throws NullPointerException if the map is null
+     */
+    public FlatNMap(final Map<? extends K, ? extends V> map) {
+        this(DEFAULT_CAPACITY);
+        putAll(map);
+    }
+
+    private static int checkCapacity(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("FlatNMap capacity must be greater than 0");
+        }
+        if (capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("FlatNMap capacity must not be greater than " + MAXIMUM_CAPACITY);
+        }
+        return capacity;
+    }
+
+    /**
+     * Gets the number of entries this map holds before switching to delegate mode.
+     *
+     * @return the inline capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Clears the map, resetting the size to zero and nullifying references
+     * to avoid garbage collection issues.
+     */
+    @Override
+    public void clear() {
+        if (delegateMap != null) {
+            delegateMap.clear();  // should aid gc
+            delegateMap = null;  // switch back to flat mode
+        } else if (size > 0) {
+            modCount++;
+            Arrays.fill(keys, 0, size, null);
+            Arrays.fill(values, 0, size, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * Clones the map without cloning the keys or values.
+     *
+     * @return A shallow clone
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public FlatNMap<K, V> clone() {
+        try {
+            final FlatNMap<K, V> cloned = (FlatNMap<K, V>) super.clone();
+            if (cloned.delegateMap != null) {
+                cloned.delegateMap = cloned.delegateMap.clone();
+            }
+            if (cloned.keys != null) {
+                cloned.hashes = cloned.hashes.clone();
+                cloned.keys = cloned.keys.clone();
+                cloned.values = cloned.values.clone();
+            }
+            return cloned;
+        } catch (final CloneNotSupportedException ex) {
+            throw new UnsupportedOperationException(ex);
+        }
+    }
+
+    /**
+     * Checks whether the map contains the specified key.
+     *
+     * @param key  The key to search for
+     * @return true if the map contains the key
+     */
+    @Override
+    public boolean containsKey(final Object key) {
+        if (delegateMap != null) {
+            return delegateMap.containsKey(key);
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Checks whether the map contains the specified value.
+     *
+     * @param value  The value to search for
+     * @return true if the map contains the key
+     */
+    @Override
+    public boolean containsValue(final Object value) {
+        if (delegateMap != null) {
+            return delegateMap.containsValue(value);
+        }
+        if (value == null) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == null) {
+                    return true;
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                if (value.equals(values[i])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Converts the flat map data to a map.
+     */
+    @SuppressWarnings("unchecked")
+    private void convertToMap() {
+        modCount++;
+        delegateMap = createDelegateMap();
+        for (int i = 0; i < size; i++) {
+            delegateMap.put((K) keys[i], (V) values[i]);
+        }
+        size = 0;
+        hashes = null;
+        keys = null;
+        values = null;
+    }
+
+    /**
+     * Create an instance of the map used for storage when in delegation mode.
+     * <p>
+     * This can be overridden by subclasses to provide a different map implementation.
+     * Not every AbstractHashedMap is suitable, identity and reference based maps
+     * would be poor choices.
+     * </p>
+     *
+     * @return A new AbstractHashedMap or subclass
+     */
+    protected AbstractHashedMap<K, V> createDelegateMap() {
+        return new HashedMap<>(capacity * 2);
+    }
+
+    /**
+     * Gets the entrySet view of the map.
+     * Changes made to the view affect this map.
+     * <p>
+     * The returned Map Entry objects are independent and do not change as the
+     * iterator progresses. To avoid this object creation and simply iterate
+     * through the entries, use {@link #mapIterator()}.
+     * </p>
+     *
+     * @return The entrySet view
+     */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (delegateMap != null) {
+            return delegateMap.entrySet();
+        }
+        return new EntrySet<>(this);
+    }
+
+    /**
+     * Compares this map with another.
+     *
+     * @param obj  The object to compare to
+     * @return true if equal
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (delegateMap != null) {
+            return delegateMap.equals(obj);
+        }
+        if (!(obj instanceof Map)) {
+            return false;
+        }
+        final Map<?, ?> other = (Map<?, ?>) obj;
+        if (size != other.size()) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (!other.containsKey(keys[i]) || !Objects.equals(values[i], other.get(keys[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the value mapped to the key specified.
+     *
+     * @param key  The key
+     * @return The mapped value, null if no match
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        if (delegateMap != null) {
+            return delegateMap.get(key);
+        }
+        final int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Gets the standard Map hashCode.
+     *
+     * @return The hash code defined in the Map interface
+     */
+    @Override
+    public int hashCode() {
+        if (delegateMap != null) {
+            return delegateMap.hashCode();
+        }
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += hashes[i] ^ (values[i] == null ? 0 : values[i].hashCode());
+        }
+        return total;
+    }
+
+    /**
+     * Scans the flat arrays for the specified key.
+     *
+     * @param key  the key to search for
+     * @return the index of the key, -1 if not found
+     */
+    private int indexOf(final Object key) {
+        if (key == null) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i] == null) {
+                    return i;
+                }
+            }
+        } else {
+            final int hashCode = key.hashCode();
+            for (int i = 0; i < size; i++) {
+                if (hashes[i] == hashCode && key.equals(keys[i])) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the flat mode index of a key, checking the hinted index first.
+     *
+     * @param key  the key to search for
+     * @param hint  the index the key was last seen at
+     * @return the index of the key, -1 if not found or in delegate mode
+     */
+    int locate(final Object key, final int hint) {
+        if (delegateMap != null) {
+            return -1;
+        }
+        if (hint >= 0 && hint < size && keys[hint] == key) {
+            return hint;
+        }
+        return indexOf(key);
+    }
+
+    /**
+     * Checks whether the map is currently empty.
+     *
+     * @return true if the map is currently size zero
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    K keyAt(final int index) {
+        return (K) keys[index];
+    }
+
+    /**
+     * Gets the keySet view of the map.
+     * Changes made to the view affect this map.
+     * To simply iterate through the keys, use {@link #mapIterator()}.
+     *
+     * @return The keySet view
+     */
+    @Override
+    public Set<K> keySet() {
+        if (delegateMap != null) {
+            return delegateMap.keySet();
+        }
+        return new KeySet<>(this);
+    }
+
+    /**
+     * Gets an iterator over the map.
+     * Changes made to the iterator affect this map.
+     * <p>
+     * A MapIterator returns the keys in the map. It also provides convenient
+     * methods to get the key and value, and set the value.
+     * It avoids the need to create an entrySet/keySet/values object.
+     * It also avoids creating the Map Entry object.
+     * </p>
+     *
+     * @return The map iterator
+     */
+    @Override
+    public MapIterator<K, V> mapIterator() {
+        if (delegateMap != null) {
+            return delegateMap.mapIterator();
+        }
+        if (size == 0) {
+            return EmptyMapIterator.<K, V>emptyMapIterator();
+        }
+        return new FlatMapIterator<>(this);
+    }
+
+    /**
+     * Puts a key-value mapping into this map.
+     *
+     * @param key  The key to add
+     * @param value  The value to add
+     * @return The value previously mapped to this key, null if none
+     */
+    @Override
+    public V put(final K key, final V value) {
+        if (delegateMap != null) {
+            return delegateMap.put(key, value);
+        }
+        // change existing mapping
+        final int index = indexOf(key);
+        if (index >= 0) {
+            return setValueAt(index, value);
+        }
+        // add new mapping
+        if (size == capacity) {
+            convertToMap();
+            delegateMap.put(key, value);
+            return null;
+        }
+        if (keys == null) {
+            hashes = new int[capacity];
+            keys = new Object[capacity];
+            values = new Object[capacity];
+        }
+        modCount++;
+        hashes[size] = key == null ? 0 : key.hashCode();
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * Puts all the values from the specified map into this map.
+     *
+     * @param map  The map to add
+     * @throws NullPointerException if the map is null
+     */
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        final int size = map.size();
+        if (size == 0) {
+            return;
+        }
+        if (delegateMap != null) {
+            delegateMap.putAll(map);
+            return;
+        }
+        if (size <= capacity) {
+            for (final Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        } else {
+            convertToMap();
+            delegateMap.putAll(map);
+        }
+    }
+
+    /**
+     * Deserializes the map in using a custom routine.
+     *
+     * @param in The input stream
+     * @throws IOException Thrown if an error occurs while reading from the stream
+     * @throws ClassNotFoundException if an object read from the stream cannot be loaded
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        checkCapacity(capacity);
+        final int count = in.readInt();
+        if (count > capacity) {
+            delegateMap = createDelegateMap();
+        }
+        for (int i = count; i > 0; i--) {
+            put((K) in.readObject(), (V) in.readObject());
+        }
+    }
+
+    /**
+     * Removes the specified mapping from this map.
+     *
+     * @param key  The mapping to remove
+     * @return The value mapped to the removed key, null if key not in map
+     */
+    @Override
+    public V remove(final Object key) {
+        if (delegateMap != null) {
+            return delegateMap.remove(key);
+        }
+        final int index = indexOf(key);
+        return index < 0 ? null : removeIndex(index);
+    }
+
+    /**
+     * Removes the mapping at the specified index by moving the last mapping into its slot.
+     *
+     * @param index  the index to remove
+     * @return the removed value
+     */
+    @SuppressWarnings("unchecked")
+    V removeIndex(final int index) {
+        final V old = (V) values[index];
+        modCount++;
+        final int last = --size;
+        hashes[index] = hashes[last];
+        keys[index] = keys[last];
+        values[index] = values[last];
+        hashes[last] = 0;
+        keys[last] = null;
+        values[last] = null;
+        return old;
+    }
+
+    @SuppressWarnings("unchecked")
+    V setValueAt(final int index, final V value) {
+        final V old = (V) values[index];
+        values[index] = value;
+        return old;
+    }
+
+    /**
+     * Gets the size of the map.
+     *
+     * @return The size
+     */
+    @Override
+    public int size() {
+        if (delegateMap != null) {
+            return delegateMap.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the map as a String.
+     *
+     * @return A string version of the map
+     */
+    @Override
+    public String toString() {
+        if (delegateMap != null) {
+            return delegateMap.toString();
+        }
+        if (size == 0) {
+            return "{}";
+        }
+        final StringBuilder buf = new StringBuilder(32 * size);
+        buf.append('{');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                buf.append(CollectionUtils.COMMA);
+            }
+            buf.append(keys[i] == this ? "(this Map)" : keys[i]);
+            buf.append('=');
+            buf.append(values[i] == this ? "(this Map)" : values[i]);
+        }
+        buf.append('}');
+        return buf.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    V valueAt(final int index) {
+        return (V) values[index];
+    }
+
+    /**
+     * Gets the values view of the map.
+     * Changes made to the view affect this map.
+     * To simply iterate through the values, use {@link #mapIterator()}.
+     *
+     * @return The values view
+     */
+    @Override
+    public Collection<V> values() {
+        if (delegateMap != null) {
+            return delegateMap.values();
+        }
+        return new Values<>(this);
+    }
+
+    /**
+     * Serializes this object to an ObjectOutputStream.
+     *
+     * @param out The target ObjectOutputStream.
+     * @throws IOException thrown when an I/O errors occur writing to the target stream.
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size());
+        for (final MapIterator<?, ?> it = mapIterator(); it.hasNext();) {
+            out.writeObject(it.next());  // key
+            out.writeObject(it.getValue());  // value
+        }
+    }
+
+}
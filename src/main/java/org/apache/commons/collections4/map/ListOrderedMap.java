@@ -33,6 +33,7 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 
 import org.apache.commons.collections4.OrderedMap;
@@ -57,6 +58,12 @@ import org.apache.commons.collections4.list.UnmodifiableList;
  * original position in the iteration.
  * </p>
  * <p>
+ * By default the order is kept in an {@code ArrayList}, so finding or removing
+ * a key in the order is O(n). A map created by {@link #listOrderedMap(Map, List)}
+ * with an {@link org.apache.commons.collections4.list.IndexedUniqueList} does so
+ * in O(log n) instead.
+ * </p>
+ * <p>
  * <strong>Note that ListOrderedMap is not synchronized and is not thread-safe.</strong>
  * If you wish to use this map from multiple threads concurrently, you must use
  * appropriate synchronization. The simplest approach is to wrap this map
@@ -396,8 +403,34 @@ public class ListOrderedMap<K, V>
         return new ListOrderedMap<>(map);
     }
 
+    /**
+     * Factory method to create an ordered map specifying the list used to retain order.
+     * <p>
+     * The list must be empty, and is filled with the keys of the map. With an
+     * {@link org.apache.commons.collections4.list.IndexedUniqueList}, the methods that
+     * find a key in the order, such as {@link #indexOf(Object)}, {@link #remove(Object)}
+     * and {@link #nextKey(Object)}, are O(log n) rather than O(n).
+     * </p>
+     *
+     * @param <K>  the key type
+     * @param <V>  the value type
+     * @param map  The map to decorate, must not be null
+     * @param list  The list to retain the order of the keys in, must be empty and not null
+     * @return A new list ordered map
+     * @throws NullPointerException if map or list is null
+     * @throws IllegalArgumentException if the list is not empty
+     * @since 4.6.1
+     */
+    public static <K, V> ListOrderedMap<K, V> listOrderedMap(final Map<K, V> map, final List<K> list) {
+        Objects.requireNonNull(list, "list");
+        if (!list.isEmpty()) {
+            throw new IllegalArgumentException("List must be empty");
+        }
+        return new ListOrderedMap<>(map, list);
+    }
+
     /** Internal list to hold the sequence of objects */
-    private final List<K> insertOrder = new ArrayList<>();
+    private final List<K> insertOrder;
 
     /**
      * Constructs a new empty {@code ListOrderedMap} that decorates
@@ -416,7 +449,20 @@ public class ListOrderedMap<K, V>
      * @throws NullPointerException if map is null
      */
     protected ListOrderedMap(final Map<K, V> map) {
+        this(map, new ArrayList<>());
+    }
+
+    /**
+     * Constructor that wraps (not copies) the map and specifies the list used to retain order.
+     *
+     * @param map  The map to decorate, must not be null
+     * @param list  The empty list to fill with the keys of the map, must not be null
+     * @throws NullPointerException if map or list is null
+     * @since 4.6.1
+     */
+    protected ListOrderedMap(final Map<K, V> map, final List<K> list) {
         super(map);
+        insertOrder = Objects.requireNonNull(list, "list");
         insertOrder.addAll(decorated().keySet());
     }
 
@@ -558,7 +604,8 @@ public class ListOrderedMap<K, V>
 
     /**
      * Gets the next key to the one specified using insert order.
-     * This method performs a list search to find the key and is O(n).
+     * This method performs a list search to find the key and is O(n),
+     * unless the order is kept in an indexed list.
      *
      * @param key  The key to find previous for
      * @return The next key, null if no match or at start
@@ -574,7 +621,8 @@ public class ListOrderedMap<K, V>
 
     /**
      * Gets the previous key to the one specified using insert order.
-     * This method performs a list search to find the key and is O(n).
+     * This method performs a list search to find the key and is O(n),
+     * unless the order is kept in an indexed list.
      *
      * @param key  The key to find previous for
      * @return The previous key, null if no match or at start
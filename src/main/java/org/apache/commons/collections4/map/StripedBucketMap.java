@@ -0,0 +1,740 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.map;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.commons.collections4.KeyValue;
+import org.apache.commons.collections4.keyvalue.AbstractMapEntry;
+
+/**
+ * A StripedBucketMap is a thread-safe implementation of {@link Map} which,
+ * unlike {@link StaticBucketMap}, grows as entries are added and serves reads
+ * without taking any monitor.
+ * <p>
+ * The map is divided into a fixed number of stripes. Each stripe has its own
+ * monitor and its own table of buckets. Writes to a stripe
+ * ({@link #put(Object,Object) put}, {@link #remove(Object) remove},
+ * {@link #clear() clear}) synchronize on that stripe only, so writers on
+ * different stripes never contend. When a stripe becomes too full, only that
+ * stripe is rehashed, so the cost of growing the map is spread over many puts
+ * instead of a single stop-the-world rehash.
+ * </p>
+ * <p>
+ * {@link #get(Object) get} and {@link #containsKey(Object) containsKey} do not
+ * synchronize at all. The bucket tables, chain links and values are published
+ * through volatile fields, and a rehash builds a complete new table before
+ * publishing it, so a reader always sees either the old or the new table in a
+ * consistent state. A read therefore observes the effects of every write that
+ * completed before it started.
+ * </p>
+ * <p>
+ * As with {@link StaticBucketMap}, bulk operations such as
+ * {@link #putAll(Map) putAll} are <em>not</em> atomic, the results of
+ * {@link #size()} and {@link #isEmpty()} are out-of-date as soon as they are
+ * produced, and the iterators of the collection views are <em>not</em>
+ * fail-fast: they never raise a {@link ConcurrentModificationException}.
+ * </p>
+ * <p>
+ * Compound updates are made atomic with {@link #atomic(Object, Runnable)},
+ * which holds the monitor of the stripe owning a key, or
+ * {@link #atomic(Runnable)}, which holds every stripe monitor. Since reads
+ * never synchronize, these methods exclude other writers, not readers.
+ * </p>
+ *
+ * @param <K> The type of the keys in this map
+ * @param <V> The type of the values in this map
+ * @see StaticBucketMap
+ * @since 4.6.1
+ */
+public final class StripedBucketMap<K, V> extends AbstractIterableMap<K, V> {
+
+    class BaseIterator {
+        private final ArrayList<Node<K, V>> current = new ArrayList<>();
+        private int stripe;
+        private AtomicReferenceArray<Node<K, V>> table;
+        private int bucket;
+        private Node<K, V> last;
+
+        public boolean hasNext() {
+            while (current.isEmpty()) {
+                if (table == null || bucket >= table.length()) {
+                    if (stripe >= stripes.length) {
+                        return false;
+                    }
+                    table = stripes[stripe++].table;
+                    bucket = 0;
+                    continue;
+                }
+                for (Node<K, V> n = table.get(bucket++); n != null; n = n.next) {
+                    current.add(n);
+                }
+            }
+            return true;
+        }
+
+        protected Node<K, V> nextNode() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = current.remove(current.size() - 1);
+            return last;
+        }
+
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            StripedBucketMap.this.remove(last.key);
+            last = null;
+        }
+    }
+
+    private final class EntryIterator extends BaseIterator implements Iterator<Map.Entry<K, V>> {
+
+        @Override
+        public Map.Entry<K, V> next() {
+            final Node<K, V> node = nextNode();
+            return new WriteThroughEntry(node.key, node.value);
+        }
+
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public void clear() {
+            StripedBucketMap.this.clear();
+        }
+
+        @Override
+        public boolean contains(final Object obj) {
+            if (!(obj instanceof Map.Entry<?, ?>)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) obj;
+            final Node<K, V> node = getNode(entry.getKey());
+            return node != null && node.equals(entry);
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public boolean remove(final Object obj) {
+            if (!(obj instanceof Map.Entry<?, ?>)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) obj;
+            final Object key = entry.getKey();
+            final Stripe<K, V> stripe = stripeFor(hash(key));
+            synchronized (stripe) {
+                final Node<K, V> node = getNode(key);
+                if (node != null && node.equals(entry)) {
+                    StripedBucketMap.this.remove(key);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int size() {
+            return StripedBucketMap.this.size();
+        }
+
+    }
+
+    private final class KeyIterator extends BaseIterator implements Iterator<K> {
+
+        @Override
+        public K next() {
+            return nextNode().key;
+        }
+
+    }
+
+    private final class KeySet extends AbstractSet<K> {
+
+        @Override
+        public void clear() {
+            StripedBucketMap.this.clear();
+        }
+
+        @Override
+        public boolean contains(final Object obj) {
+            return StripedBucketMap.this.containsKey(obj);
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return new KeyIterator();
+        }
+
+        @Override
+        public boolean remove(final Object obj) {
+            final Stripe<K, V> stripe = stripeFor(hash(obj));
+            synchronized (stripe) {
+                if (getNode(obj) != null) {
+                    StripedBucketMap.this.remove(obj);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int size() {
+            return StripedBucketMap.this.size();
+        }
+
+    }
+
+    /**
+     * A chain node. The key and hash never change. The value and the link are
+     * volatile so that unsynchronized readers see complete nodes.
+     */
+    private static final class Node<K, V> implements KeyValue<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(final int hash, final K key, final V value, final Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        boolean equals(final Map.Entry<?, ?> entry) {
+            return Objects.equals(key, entry.getKey()) && Objects.equals(value, entry.getValue());
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * A stripe, which is both the monitor guarding writes to its table and the holder of the table.
+     * The table elements have volatile semantics, so a node stored in a bucket is safely published.
+     */
+    private static final class Stripe<K, V> {
+        /** The bucket table, replaced wholesale on rehash */
+        volatile AtomicReferenceArray<Node<K, V>> table;
+        /** The number of nodes in this stripe, only written while holding the monitor */
+        volatile int size;
+
+        Stripe(final int capacity) {
+            table = newTable(capacity);
+        }
+    }
+
+    private final class ValueIterator extends BaseIterator implements Iterator<V> {
+
+        @Override
+        public V next() {
+            return nextNode().value;
+        }
+
+    }
+
+    private final class Values extends AbstractCollection<V> {
+
+        @Override
+        public void clear() {
+            StripedBucketMap.this.clear();
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new ValueIterator();
+        }
+
+        @Override
+        public int size() {
+            return StripedBucketMap.this.size();
+        }
+
+    }
+
+    /**
+     * A detached Map.Entry returned by the entry set iterator which writes value changes through to the map.
+     */
+    private final class WriteThroughEntry extends AbstractMapEntry<K, V> {
+
+        WriteThroughEntry(final K key, final V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(final V value) {
+            final V old = super.setValue(value);
+            put(getKey(), value);
+            return old;
+        }
+    }
+
+    /** The default number of stripes to use */
+    private static final int DEFAULT_STRIPES = 16;
+
+    /** The default number of buckets to start each stripe with */
+    private static final int DEFAULT_STRIPE_CAPACITY = 16;
+
+    /** The maximum number of stripes */
+    private static final int MAXIMUM_STRIPES = 1 << 16;
+
+    /** The maximum number of buckets in a stripe */
+    private static final int MAXIMUM_STRIPE_CAPACITY = 1 << 30;
+
+    /** The load factor at which a stripe is rehashed */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private static <K, V> AtomicReferenceArray<Node<K, V>> newTable(final int capacity) {
+        return new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Rounds up to the next power of two within the given bounds.
+     */
+    private static int powerOfTwo(final int value, final int max) {
+        int n = 1;
+        while (n < value && n < max) {
+            n <<= 1;
+        }
+        return n;
+    }
+
+    /** The stripes, fixed at construction */
+    private final Stripe<K, V>[] stripes;
+
+    /** The number of bits of the spread hash used to select a stripe */
+    private final int stripeShift;
+
+    /** The initial number of buckets in each stripe, restored by clear */
+    private final int initialStripeCapacity;
+
+    /**
+     * Initializes the map with the default number of stripes (16).
+     */
+    public StripedBucketMap() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Initializes the map with a specified number of stripes.
+     * The number of stripes bounds the number of threads which can write to
+     * the map without contention. It is rounded up to a power of two.
+     *
+     * @param numStripes  The number of stripes for this map
+     */
+    public StripedBucketMap(final int numStripes) {
+        this(numStripes, DEFAULT_STRIPE_CAPACITY);
+    }
+
+    /**
+     * Initializes the map with a specified number of stripes and buckets per stripe.
+     * Both numbers are rounded up to a power of two. Each stripe grows independently
+     * once it holds more than three quarters as many entries as it has buckets.
+     *
+     * @param numStripes  The number of stripes for this map
+     * @param initialBucketsPerStripe  The initial number of buckets in each stripe
+     */
+    @SuppressWarnings("unchecked")
+    public StripedBucketMap(final int numStripes, final int initialBucketsPerStripe) {
+        final int size = powerOfTwo(numStripes, MAXIMUM_STRIPES);
+        initialStripeCapacity = powerOfTwo(initialBucketsPerStripe, MAXIMUM_STRIPE_CAPACITY);
+        stripeShift = Integer.numberOfTrailingZeros(size);
+        stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe<>(initialStripeCapacity);
+        }
+    }
+
+    /**
+     * Prevents any write from occurring on this map while the given {@link Runnable} executes.
+     * This method can be used, for instance, to execute a bulk operation atomically with
+     * respect to other writers:
+     * <pre>
+     * stripedBucketMapInstance.atomic(() -&gt; stripedBucketMapInstance.putAll(map));
+     * </pre>
+     * <p>
+     * Reads do not synchronize, so they are not blocked and may observe the bulk
+     * operation in progress.
+     * </p>
+     *
+     * @param runnable The code to execute atomically
+     */
+    public void atomic(final Runnable runnable) {
+        atomic(Objects.requireNonNull(runnable, "runnable"), 0);
+    }
+
+    private void atomic(final Runnable r, final int stripe) {
+        if (stripe >= stripes.length) {
+            r.run();
+            return;
+        }
+        synchronized (stripes[stripe]) {
+            atomic(r, stripe + 1);
+        }
+    }
+
+    /**
+     * Prevents any write to the stripe owning the given key while the given {@link Runnable}
+     * executes. This method can be used to perform a compound update of a key atomically
+     * with respect to other writers:
+     * <pre>
+     * stripedBucketMapInstance.atomic(key, () -&gt; {
+     *     if (!stripedBucketMapInstance.containsKey(key)) {
+     *         stripedBucketMapInstance.put(key, createValue());
+     *     }
+     * });
+     * </pre>
+     * <p>
+     * The runnable may read and write any key, but only writes to keys of the same
+     * stripe are excluded for its duration. Reads are never blocked.
+     * </p>
+     *
+     * @param key  The key whose stripe to hold, may be null
+     * @param runnable The code to execute atomically
+     */
+    public void atomic(final Object key, final Runnable runnable) {
+        Objects.requireNonNull(runnable, "runnable");
+        synchronized (stripeFor(hash(key))) {
+            runnable.run();
+        }
+    }
+
+    /**
+     * Clears the map of all entries.
+     */
+    @Override
+    public void clear() {
+        for (final Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.table = newTable(initialStripeCapacity);
+                stripe.size = 0;
+            }
+        }
+    }
+
+    /**
+     * Checks if the map contains the specified key.
+     * This method does not synchronize.
+     *
+     * @param key  The key to check
+     * @return true if found
+     */
+    @Override
+    public boolean containsKey(final Object key) {
+        return getNode(key) != null;
+    }
+
+    /**
+     * Checks if the map contains the specified value.
+     * This method does not synchronize.
+     *
+     * @param value  The value to check
+     * @return true if found
+     */
+    @Override
+    public boolean containsValue(final Object value) {
+        for (final Stripe<K, V> stripe : stripes) {
+            final AtomicReferenceArray<Node<K, V>> table = stripe.table;
+            for (int i = 0; i < table.length(); i++) {
+                for (Node<K, V> n = table.get(i); n != null; n = n.next) {
+                    if (Objects.equals(n.value, value)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the entry set.
+     *
+     * @return The entry set
+     */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    /**
+     * Compares this map to another, as per the Map specification.
+     *
+     * @param obj  The object to compare to
+     * @return true if equal
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof Map<?, ?>)) {
+            return false;
+        }
+        final Map<?, ?> other = (Map<?, ?>) obj;
+        return entrySet().equals(other.entrySet());
+    }
+
+    /**
+     * Gets the value associated with the key.
+     * This method does not synchronize.
+     *
+     * @param key  The key to retrieve
+     * @return The associated value
+     */
+    @Override
+    public V get(final Object key) {
+        final Node<K, V> node = getNode(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Finds the node for a key without synchronizing.
+     */
+    private Node<K, V> getNode(final Object key) {
+        final int hash = hash(key);
+        final AtomicReferenceArray<Node<K, V>> table = stripeFor(hash).table;
+        for (Node<K, V> n = table.get(indexFor(hash, table.length())); n != null; n = n.next) {
+            if (n.hash == hash && Objects.equals(n.key, key)) {
+                return n;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of stripes.
+     *
+     * @return The number of stripes
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Spreads the key hash code. The low bits select the stripe and the
+     * remaining bits select the bucket within the stripe.
+     */
+    private int hash(final Object key) {
+        if (key == null) {
+            return 0;
+        }
+        final int hash = key.hashCode() * 0x9E3779B9;
+        return hash ^ hash >>> 16;
+    }
+
+    /**
+     * Gets the hash code, as per the Map specification.
+     *
+     * @return The hash code
+     */
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+        for (final Stripe<K, V> stripe : stripes) {
+            final AtomicReferenceArray<Node<K, V>> table = stripe.table;
+            for (int i = 0; i < table.length(); i++) {
+                for (Node<K, V> n = table.get(i); n != null; n = n.next) {
+                    final Object key = n.key;
+                    final Object value = n.value;
+                    hashCode += (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+                }
+            }
+        }
+        return hashCode;
+    }
+
+    private int indexFor(final int hash, final int length) {
+        return hash >>> stripeShift & length - 1;
+    }
+
+    /**
+     * Checks if the size is currently zero.
+     *
+     * @return true if empty
+     */
+    @Override
+    public boolean isEmpty() {
+        for (final Stripe<K, V> stripe : stripes) {
+            if (stripe.size != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the key set.
+     *
+     * @return The key set
+     */
+    @Override
+    public Set<K> keySet() {
+        return new KeySet();
+    }
+
+    /**
+     * Puts a new key value mapping into the map.
+     *
+     * @param key  The key to use
+     * @param value  The value to use
+     * @return The previous mapping for the key
+     */
+    @Override
+    public V put(final K key, final V value) {
+        final int hash = hash(key);
+        final Stripe<K, V> stripe = stripeFor(hash);
+        synchronized (stripe) {
+            AtomicReferenceArray<Node<K, V>> table = stripe.table;
+            int index = indexFor(hash, table.length());
+            for (Node<K, V> n = table.get(index); n != null; n = n.next) {
+                if (n.hash == hash && Objects.equals(n.key, key)) {
+                    final V old = n.value;
+                    n.value = value;
+                    return old;
+                }
+            }
+            final int size = stripe.size + 1;
+            if (size > table.length() * LOAD_FACTOR && table.length() < MAXIMUM_STRIPE_CAPACITY) {
+                table = rehash(stripe);
+                index = indexFor(hash, table.length());
+            }
+            // prepend; the volatile write of the bucket publishes the complete node
+            table.set(index, new Node<>(hash, key, value, table.get(index)));
+            stripe.size = size;
+        }
+        return null;
+    }
+
+    /**
+     * Puts all the entries from the specified map into this map.
+     * This operation is <strong>not atomic</strong> and may have undesired effects.
+     *
+     * @param map  The map of entries to add
+     */
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        for (final Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Doubles the table of a stripe. Must be called while holding the stripe monitor.
+     * <p>
+     * The nodes are copied rather than relinked so that readers still walking the
+     * old table see unchanged chains; the new table is published only once complete.
+     * </p>
+     */
+    private AtomicReferenceArray<Node<K, V>> rehash(final Stripe<K, V> stripe) {
+        final AtomicReferenceArray<Node<K, V>> oldTable = stripe.table;
+        final AtomicReferenceArray<Node<K, V>> newTable = newTable(oldTable.length() << 1);
+        for (int i = 0; i < oldTable.length(); i++) {
+            for (Node<K, V> n = oldTable.get(i); n != null; n = n.next) {
+                final int index = indexFor(n.hash, newTable.length());
+                newTable.lazySet(index, new Node<>(n.hash, n.key, n.value, newTable.get(index)));
+            }
+        }
+        stripe.table = newTable;
+        return newTable;
+    }
+
+    /**
+     * Removes the specified key from the map.
+     *
+     * @param key  The key to remove
+     * @return The previous value at this key
+     */
+    @Override
+    public V remove(final Object key) {
+        final int hash = hash(key);
+        final Stripe<K, V> stripe = stripeFor(hash);
+        synchronized (stripe) {
+            final AtomicReferenceArray<Node<K, V>> table = stripe.table;
+            final int index = indexFor(hash, table.length());
+            Node<K, V> prev = null;
+            for (Node<K, V> n = table.get(index); n != null; n = n.next) {
+                if (n.hash == hash && Objects.equals(n.key, key)) {
+                    // a reader positioned on n still reaches the rest of the chain through n.next
+                    if (prev == null) {
+                        table.set(index, n.next);
+                    } else {
+                        prev.next = n.next;
+                    }
+                    stripe.size--;
+                    return n.value;
+                }
+                prev = n;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the current size of the map.
+     * The value is computed fresh each time the method is called.
+     *
+     * @return The current size
+     */
+    @Override
+    public int size() {
+        int cnt = 0;
+        for (final Stripe<K, V> stripe : stripes) {
+            cnt += stripe.size;
+        }
+        return cnt;
+    }
+
+    private Stripe<K, V> stripeFor(final int hash) {
+        return stripes[hash & stripes.length - 1];
+    }
+
+    /**
+     * Gets the values.
+     *
+     * @return The values
+     */
+    @Override
+    public Collection<V> values() {
+        return new Values();
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.collections4.MultiMapUtils;
+import org.apache.commons.collections4.MultiValuedMap;
+
+/**
+ * Implements a {@code ListValuedMap}, using a {@link HashMap} to provide data
+ * storage and compact lists as value collections.
+ * <p>
+ * A value list holds a single value inline and only allocates an element array
+ * when a second value is added to the key, releasing it again when the key is back
+ * to one value. For the common case of keys with exactly one value, such as an
+ * inverted index over mostly unique values, this takes less than half the memory
+ * of the {@link ArrayListValuedHashMap} value lists. The lists returned by
+ * {@link #get(Object)} are live views, exactly as for {@link ArrayListValuedHashMap}.
+ * </p>
+ * <p>
+ * <strong>Note that CompactListValuedHashMap is not synchronized and is not
+ * thread-safe.</strong> If you wish to use this map from multiple threads
+ * concurrently, you must use appropriate synchronization. This class may throw
+ * exceptions when accessed by concurrent threads without synchronization.
+ * </p>
+ *
+ * @param <K> The type of the keys in this map
+ * @param <V> The type of the values in this map
+ * @since 4.6.1
+ */
+public class CompactListValuedHashMap<K, V> extends AbstractListValuedMap<K, V>
+    implements Serializable {
+
+    /** Serialization Version */
+    private static final long serialVersionUID = -8002418553707221184L;
+
+    /**
+     * The initial map capacity used when none specified in constructor.
+     */
+    private static final int DEFAULT_INITIAL_MAP_CAPACITY = 16;
+
+    /**
+     * Creates an empty CompactListValuedHashMap with the default initial
+     * map capacity (16).
+     */
+    public CompactListValuedHashMap() {
+        this(DEFAULT_INITIAL_MAP_CAPACITY);
+    }
+
+    /**
+     * Creates an empty CompactListValuedHashMap with the specified initial
+     * map capacity.
+     *
+     * @param initialMapCapacity  The initial hashmap capacity
+     */
+    public CompactListValuedHashMap(final int initialMapCapacity) {
+        super(new HashMap<>(initialMapCapacity));
+    }
+
+    /**
+     * Creates a CompactListValuedHashMap copying all the mappings of the given map.
+     *
+     * @param map A {@code Map} to copy into this map
+     */
+    public CompactListValuedHashMap(final Map<? extends K, ? extends V> map) {
+        this(map.size());
+        super.putAll(map);
+    }
+
+    /**
+     * Creates a CompactListValuedHashMap copying all the mappings of the given map.
+     *
+     * @param map A {@code MultiValuedMap} to copy into this map
+     */
+    public CompactListValuedHashMap(final MultiValuedMap<? extends K, ? extends V> map) {
+        this(map.size());
+        super.putAll(map);
+    }
+
+    @Override
+    protected List<V> createCollection() {
+        return new CompactValueList<>();
+    }
+
+    @Override
+    public CompactListValuedHashMap<V, K> inverted() {
+        return MultiMapUtils.invert(this, new CompactListValuedHashMap<V, K>());
+    }
+
+    /**
+     * Deserializes an instance from an ObjectInputStream.
+     *
+     * @param in The source ObjectInputStream.
+     * @throws IOException            Any of the usual Input/Output related exceptions.
+     * @throws ClassNotFoundException A class of a serialized object cannot be found.
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        setMap(new HashMap<>());
+        doReadObject(in);
+    }
+
+    /**
+     * Trims the capacity of all value collections to their current size.
+     */
+    public void trimToSize() {
+        for (final Collection<V> coll : getMap().values()) {
+            ((CompactValueList<V>) coll).trimToSize();
+        }
+    }
+
+    /**
+     * Serializes this object to an ObjectOutputStream.
+     *
+     * @param out The target ObjectOutputStream.
+     * @throws IOException thrown when an I/O errors occur writing to the target stream.
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        doWriteObject(out);
+    }
+
+}
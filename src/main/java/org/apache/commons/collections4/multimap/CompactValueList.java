@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A list which stores a single element inline and only allocates an element array
+ * once a second element is added.
+ * <p>
+ * When the list shrinks back to one element the array is released again. The
+ * {@code data} field holds the element itself when the size is one and the element
+ * array when the size is two or more, so the size alone tells the two apart.
+ * </p>
+ *
+ * @param <E> the type of the elements in the list
+ * @since 4.6.1
+ */
+final class CompactValueList<E> extends AbstractList<E> implements RandomAccess {
+
+    /** The capacity of the array allocated when the second element is added. */
+    private static final int INITIAL_ARRAY_CAPACITY = 4;
+
+    /** The single element, or the element array, depending on the size. */
+    private Object data;
+
+    /** The number of elements. */
+    private int size;
+
+    @Override
+    public void add(final int index, final E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        modCount++;
+        if (size == 0) {
+            data = element;
+        } else if (size == 1) {
+            final Object[] array = new Object[INITIAL_ARRAY_CAPACITY];
+            array[index] = element;
+            array[1 - index] = data;
+            data = array;
+        } else {
+            Object[] array = (Object[]) data;
+            if (size == array.length) {
+                array = Arrays.copyOf(array, size + (size >> 1));
+                data = array;
+            }
+            System.arraycopy(array, index, array, index + 1, size - index);
+            array[index] = element;
+        }
+        size++;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        data = null;
+        size = 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(final int index) {
+        checkIndex(index);
+        return (E) (size == 1 ? data : ((Object[]) data)[index]);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(final int index) {
+        checkIndex(index);
+        modCount++;
+        final Object old;
+        if (size == 1) {
+            old = data;
+            data = null;
+        } else {
+            final Object[] array = (Object[]) data;
+            old = array[index];
+            if (size == 2) {
+                // back to inline storage
+                data = array[1 - index];
+            } else {
+                System.arraycopy(array, index + 1, array, index, size - index - 1);
+                array[size - 1] = null;
+            }
+        }
+        size--;
+        return (E) old;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(final int index, final E element) {
+        checkIndex(index);
+        final Object old;
+        if (size == 1) {
+            old = data;
+            data = element;
+        } else {
+            final Object[] array = (Object[]) data;
+            old = array[index];
+            array[index] = element;
+        }
+        return (E) old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Trims the element array, if any, to the current size.
+     */
+    void trimToSize() {
+        if (size > 1 && ((Object[]) data).length > size) {
+            data = Arrays.copyOf((Object[]) data, size);
+        }
+    }
+
+}
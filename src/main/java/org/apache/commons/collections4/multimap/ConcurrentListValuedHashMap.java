@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.collections4.MultiMapUtils;
+import org.apache.commons.collections4.MultiValuedMap;
+
+/**
+ * Implements a thread-safe {@code ListValuedMap}, using a {@link ConcurrentHashMap}
+ * to provide data storage and {@link CopyOnWriteArrayList}s as value collections.
+ * <p>
+ * Adding or removing a single mapping, as well as every modification made through
+ * the list returned by {@link #get(Object)}, is atomic with respect to other
+ * modifications of the same key: the value list of a key is created when its first
+ * value is added and removed from the map together with its last value. Read
+ * operations do not block, and iterating over the values of a key works on a
+ * snapshot of the list, which makes this map best suited to keys with few, rarely
+ * modified values.
+ * </p>
+ * <p>
+ * The views returned by {@link #entries()}, {@link #values()}, {@link #keySet()},
+ * {@link #keys()} and {@link #asMap()} are weakly consistent: they never throw
+ * {@link java.util.ConcurrentModificationException} and reflect some, but not
+ * necessarily all, modifications made after the iteration started. Bulk operations
+ * such as {@link #putAll(Map)} and {@link #size()} are not atomic. The list
+ * iterators of the value lists do not support modification.
+ * </p>
+ * <p>
+ * This map does not permit {@code null} keys.
+ * </p>
+ *
+ * @param <K> The type of the keys in this map
+ * @param <V> The type of the values in this map
+ * @since 4.6.1
+ */
+public class ConcurrentListValuedHashMap<K, V> extends AbstractListValuedMap<K, V>
+    implements Serializable {
+
+    /**
+     * Wrapped list which routes every modification through a per-key atomic update.
+     */
+    private final class ConcurrentWrappedList extends WrappedCollection implements List<V> {
+
+        ConcurrentWrappedList(final K key) {
+            super(key);
+        }
+
+        @Override
+        public boolean add(final V value) {
+            return put(key, value);
+        }
+
+        @Override
+        public void add(final int index, final V value) {
+            ConcurrentMultiValuedMaps.update(getMap(), key, ConcurrentListValuedHashMap.this::createCollection, list -> {
+                list.add(index, value);
+                return null;
+            });
+        }
+
+        @Override
+        public boolean addAll(final Collection<? extends V> other) {
+            return ConcurrentMultiValuedMaps.update(getMap(), key, ConcurrentListValuedHashMap.this::createCollection,
+                    list -> list.addAll(other));
+        }
+
+        @Override
+        public boolean addAll(final int index, final Collection<? extends V> c) {
+            return ConcurrentMultiValuedMaps.update(getMap(), key, ConcurrentListValuedHashMap.this::createCollection,
+                    list -> list.addAll(index, c));
+        }
+
+        @Override
+        public void clear() {
+            getMap().remove(key);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            final List<V> list = getMapping();
+            if (list == null) {
+                return Collections.emptyList().equals(other);
+            }
+            if (!(other instanceof List)) {
+                return false;
+            }
+            return ListUtils.isEqualList(list, (List<?>) other);
+        }
+
+        @Override
+        public V get(final int index) {
+            return ListUtils.emptyIfNull(getMapping()).get(index);
+        }
+
+        @Override
+        protected List<V> getMapping() {
+            return getMap().get(key);
+        }
+
+        @Override
+        public int hashCode() {
+            return ListUtils.hashCodeForList(getMapping());
+        }
+
+        @Override
+        public int indexOf(final Object o) {
+            return ListUtils.emptyIfNull(getMapping()).indexOf(o);
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            final List<V> list = getMapping();
+            return new ConcurrentMultiValuedMaps.MappingIterator<V, K, V>(ConcurrentListValuedHashMap.this,
+                    list == null ? Collections.<K, List<V>>emptyMap() : Collections.singletonMap(key, list)) {
+                @Override
+                V map(final K key, final V value) {
+                    return value;
+                }
+            };
+        }
+
+        @Override
+        public int lastIndexOf(final Object o) {
+            return ListUtils.emptyIfNull(getMapping()).lastIndexOf(o);
+        }
+
+        @Override
+        public ListIterator<V> listIterator() {
+            return listIterator(0);
+        }
+
+        @Override
+        public ListIterator<V> listIterator(final int index) {
+            // a snapshot iterator which rejects modification
+            return ListUtils.emptyIfNull(getMapping()).listIterator(index);
+        }
+
+        @Override
+        public boolean remove(final Object item) {
+            return removeMapping(key, item);
+        }
+
+        @Override
+        public V remove(final int index) {
+            return ConcurrentMultiValuedMaps.update(getMap(), key, ConcurrentListValuedHashMap.this::createCollection,
+                    list -> list.remove(index));
+        }
+
+        @Override
+        public boolean removeAll(final Collection<?> c) {
+            return ConcurrentMultiValuedMaps.updateIfPresent(getMap(), key, list -> list.removeAll(c), Boolean.FALSE);
+        }
+
+        @Override
+        public boolean retainAll(final Collection<?> c) {
+            return ConcurrentMultiValuedMaps.updateIfPresent(getMap(), key, list -> list.retainAll(c), Boolean.FALSE);
+        }
+
+        @Override
+        public V set(final int index, final V value) {
+            return ConcurrentMultiValuedMaps.update(getMap(), key, ConcurrentListValuedHashMap.this::createCollection,
+                    list -> list.set(index, value));
+        }
+
+        @Override
+        public List<V> subList(final int fromIndex, final int toIndex) {
+            return ListUtils.emptyIfNull(getMapping()).subList(fromIndex, toIndex);
+        }
+    }
+
+    /** Serialization Version */
+    private static final long serialVersionUID = -6568272504061483972L;
+
+    /**
+     * The initial map capacity used when none specified in constructor.
+     */
+    private static final int DEFAULT_INITIAL_MAP_CAPACITY = 16;
+
+    /** The entries view */
+    private transient Collection<Entry<K, V>> entriesView;
+
+    /** The values view */
+    private transient Collection<V> valuesView;
+
+    /**
+     * Creates an empty ConcurrentListValuedHashMap with the default initial
+     * map capacity (16).
+     */
+    public ConcurrentListValuedHashMap() {
+        this(DEFAULT_INITIAL_MAP_CAPACITY);
+    }
+
+    /**
+     * Creates an empty ConcurrentListValuedHashMap with the specified initial
+     * map capacity.
+     *
+     * @param initialMapCapacity  The initial hashmap capacity
+     */
+    public ConcurrentListValuedHashMap(final int initialMapCapacity) {
+        super(new ConcurrentHashMap<>(initialMapCapacity));
+    }
+
+    /**
+     * Creates a ConcurrentListValuedHashMap copying all the mappings of the given map.
+     *
+     * @param map A {@code Map} to copy into this map
+     */
+    public ConcurrentListValuedHashMap(final Map<? extends K, ? extends V> map) {
+        this(map.size());
+        super.putAll(map);
+    }
+
+    /**
+     * Creates a ConcurrentListValuedHashMap copying all the mappings of the given map.
+     *
+     * @param map A {@code MultiValuedMap} to copy into this map
+     */
+    public ConcurrentListValuedHashMap(final MultiValuedMap<? extends K, ? extends V> map) {
+        this(map.size());
+        super.putAll(map);
+    }
+
+    @Override
+    protected List<V> createCollection() {
+        return new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned collection is weakly consistent.
+     * </p>
+     */
+    @Override
+    public Collection<Entry<K, V>> entries() {
+        final Collection<Entry<K, V>> es = entriesView;
+        return es != null ? es : (entriesView = new ConcurrentMultiValuedMaps.Entries<>(this, getMap()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected ConcurrentMap<K, List<V>> getMap() {
+        return (ConcurrentMap<K, List<V>>) super.getMap();
+    }
+
+    @Override
+    public ConcurrentListValuedHashMap<V, K> inverted() {
+        return MultiMapUtils.invert(this, new ConcurrentListValuedHashMap<V, K>());
+    }
+
+    /**
+     * Appends the value to the list associated with the specified key, atomically
+     * with respect to other modifications of that key.
+     *
+     * @param key The key to store against
+     * @param value The value to add to the list at the key
+     * @return true if the map changed
+     * @throws NullPointerException if the key is null
+     */
+    @Override
+    public boolean put(final K key, final V value) {
+        return ConcurrentMultiValuedMaps.update(getMap(), key, this::createCollection, list -> list.add(value));
+    }
+
+    /**
+     * Deserializes an instance from an ObjectInputStream.
+     *
+     * @param in The source ObjectInputStream.
+     * @throws IOException            Any of the usual Input/Output related exceptions.
+     * @throws ClassNotFoundException A class of a serialized object cannot be found.
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        setMap(new ConcurrentHashMap<>());
+        doReadObject(in);
+    }
+
+    /**
+     * Removes the first occurrence of the mapping, atomically with respect to other
+     * modifications of the key. The key is removed together with its last value.
+     *
+     * @param key The key to remove from
+     * @param value The value to remove
+     * @return true if the mapping was removed, false otherwise
+     */
+    @Override
+    public boolean removeMapping(final Object key, final Object value) {
+        if (key == null) {
+            return false;
+        }
+        return ConcurrentMultiValuedMaps.updateIfPresent(getMap(), key, list -> list.remove(value), Boolean.FALSE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned collection is weakly consistent.
+     * </p>
+     */
+    @Override
+    public Collection<V> values() {
+        final Collection<V> vs = valuesView;
+        return vs != null ? vs : (valuesView = new ConcurrentMultiValuedMaps.Values<>(this, getMap()));
+    }
+
+    @Override
+    List<V> wrappedCollection(final K key) {
+        return new ConcurrentWrappedList(key);
+    }
+
+    /**
+     * Serializes this object to an ObjectOutputStream.
+     *
+     * @param out The target ObjectOutputStream.
+     * @throws IOException thrown when an I/O errors occur writing to the target stream.
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        doWriteObject(out);
+    }
+
+}
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.keyvalue.AbstractMapEntry;
+
+/**
+ * Per-key atomic operations and weakly consistent views shared by the concurrent
+ * {@link MultiValuedMap} implementations.
+ * <p>
+ * Every update of a value collection runs inside {@link ConcurrentMap#compute} or
+ * {@link ConcurrentMap#computeIfPresent} on the key, so the update is atomic with
+ * respect to other updates of the same key, and a value collection which becomes
+ * empty is removed from the map in the same step. A concurrent {@code put} can
+ * therefore never add a value to a collection which is being dropped.
+ * </p>
+ *
+ * @since 4.6.1
+ */
+final class ConcurrentMultiValuedMaps {
+
+    /**
+     * Weakly consistent entries view. The iterator walks the keys of the backing map
+     * and the value collections of each key with their own weakly consistent iterators.
+     */
+    static final class Entries<K, V> extends AbstractCollection<Entry<K, V>> {
+
+        private final MultiValuedMap<K, V> parent;
+        private final Map<K, ? extends Collection<V>> map;
+
+        Entries(final MultiValuedMap<K, V> parent, final Map<K, ? extends Collection<V>> map) {
+            this.parent = parent;
+            this.map = map;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> entry = (Entry<?, ?>) o;
+            return parent.containsMapping(entry.getKey(), entry.getValue());
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new MappingIterator<Entry<K, V>, K, V>(parent, map) {
+                @Override
+                Entry<K, V> map(final K key, final V value) {
+                    return new UnmodifiableEntry<>(key, value);
+                }
+            };
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> entry = (Entry<?, ?>) o;
+            return parent.removeMapping(entry.getKey(), entry.getValue());
+        }
+
+        @Override
+        public int size() {
+            return parent.size();
+        }
+    }
+
+    /**
+     * Iterates over all mappings, removing through {@link MultiValuedMap#removeMapping(Object, Object)}.
+     */
+    abstract static class MappingIterator<E, K, V> implements Iterator<E> {
+
+        private final MultiValuedMap<K, V> parent;
+        private final Iterator<? extends Entry<K, ? extends Collection<V>>> keys;
+        private K key;
+        private Iterator<V> values = Collections.emptyIterator();
+        private K lastKey;
+        private V lastValue;
+        private boolean canRemove;
+
+        MappingIterator(final MultiValuedMap<K, V> parent, final Map<K, ? extends Collection<V>> map) {
+            this.parent = parent;
+            this.keys = map.entrySet().iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!values.hasNext()) {
+                if (!keys.hasNext()) {
+                    return false;
+                }
+                final Entry<K, ? extends Collection<V>> entry = keys.next();
+                key = entry.getKey();
+                values = entry.getValue().iterator();
+            }
+            return true;
+        }
+
+        abstract E map(K key, V value);
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastKey = key;
+            lastValue = values.next();
+            canRemove = true;
+            return map(lastKey, lastValue);
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove) {
+                throw new IllegalStateException();
+            }
+            parent.removeMapping(lastKey, lastValue);
+            canRemove = false;
+        }
+    }
+
+    /**
+     * An entry of the entries view.
+     */
+    private static final class UnmodifiableEntry<K, V> extends AbstractMapEntry<K, V> {
+
+        UnmodifiableEntry(final K key, final V value) {
+            super(key, value);
+        }
+
+        /**
+         * Always throws {@link UnsupportedOperationException}.
+         *
+         * @param value Ignored.
+         * @throws UnsupportedOperationException Always thrown.
+         */
+        @Override
+        public V setValue(final V value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Weakly consistent values view.
+     */
+    static final class Values<K, V> extends AbstractCollection<V> {
+
+        private final MultiValuedMap<K, V> parent;
+        private final Map<K, ? extends Collection<V>> map;
+
+        Values(final MultiValuedMap<K, V> parent, final Map<K, ? extends Collection<V>> map) {
+            this.parent = parent;
+            this.map = map;
+        }
+
+        @Override
+        public void clear() {
+            parent.clear();
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new MappingIterator<V, K, V>(parent, map) {
+                @Override
+                V map(final K key, final V value) {
+                    return value;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return parent.size();
+        }
+    }
+
+    /**
+     * Applies an operation to the value collection of a key, creating the collection if absent.
+     * The key is removed if the collection is empty afterwards.
+     *
+     * @param <K> the key type
+     * @param <C> the value collection type
+     * @param <R> the result type
+     * @param map the backing map
+     * @param key the key
+     * @param factory creates a value collection
+     * @param operation the operation
+     * @return the result of the operation
+     */
+    @SuppressWarnings("unchecked")
+    static <K, C extends Collection<?>, R> R update(final ConcurrentMap<K, C> map, final K key, final Supplier<? extends C> factory,
+            final Function<? super C, R> operation) {
+        final Object[] result = new Object[1];
+        map.compute(key, (k, coll) -> {
+            final C target = coll == null ? factory.get() : coll;
+            result[0] = operation.apply(target);
+            return target.isEmpty() ? null : target;
+        });
+        return (R) result[0];
+    }
+
+    /**
+     * Applies an operation to the value collection of a key if present.
+     * The key is removed if the collection is empty afterwards.
+     *
+     * @param <K> the key type
+     * @param <C> the value collection type
+     * @param <R> the result type
+     * @param map the backing map
+     * @param key the key
+     * @param operation the operation
+     * @param absent the result if the key is absent
+     * @return the result of the operation
+     */
+    @SuppressWarnings("unchecked")
+    static <K, C extends Collection<?>, R> R updateIfPresent(final ConcurrentMap<K, C> map, final Object key,
+            final Function<? super C, R> operation, final R absent) {
+        final Object[] result = { absent };
+        map.computeIfPresent((K) key, (k, coll) -> {
+            result[0] = operation.apply(coll);
+            return coll.isEmpty() ? null : coll;
+        });
+        return (R) result[0];
+    }
+
+    private ConcurrentMultiValuedMaps() {
+        // empty
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.collections4.MultiMapUtils;
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.SetUtils;
+
+/**
+ * Implements a thread-safe {@code SetValuedMap}, using a {@link ConcurrentHashMap}
+ * to provide data storage and concurrent hash sets as value collections.
+ * <p>
+ * Adding or removing a single mapping, as well as every modification made through
+ * the set returned by {@link #get(Object)}, is atomic with respect to other
+ * modifications of the same key: the value set of a key is created when its first
+ * value is added and removed from the map together with its last value. Read
+ * operations do not block.
+ * </p>
+ * <p>
+ * The views returned by {@link #entries()}, {@link #values()}, {@link #keySet()},
+ * {@link #keys()} and {@link #asMap()} are weakly consistent: they never throw
+ * {@link java.util.ConcurrentModificationException} and reflect some, but not
+ * necessarily all, modifications made after the iteration started. Bulk operations
+ * such as {@link #putAll(Map)} and {@link #size()} are not atomic.
+ * </p>
+ * <p>
+ * This map does not permit {@code null} keys or values.
+ * </p>
+ *
+ * @param <K> The type of the keys in this map
+ * @param <V> The type of the values in this map
+ * @since 4.6.1
+ */
+public class ConcurrentSetValuedHashMap<K, V> extends AbstractSetValuedMap<K, V>
+    implements Serializable {
+
+    /**
+     * Wrapped set which routes every modification through a per-key atomic update.
+     */
+    private final class ConcurrentWrappedSet extends WrappedCollection implements Set<V> {
+
+        ConcurrentWrappedSet(final K key) {
+            super(key);
+        }
+
+        @Override
+        public boolean add(final V value) {
+            return put(key, value);
+        }
+
+        @Override
+        public boolean addAll(final Collection<? extends V> other) {
+            return ConcurrentMultiValuedMaps.update(getMap(), key, ConcurrentSetValuedHashMap.this::createCollection,
+                    set -> set.addAll(other));
+        }
+
+        @Override
+        public void clear() {
+            getMap().remove(key);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            final Set<V> set = getMapping();
+            if (set == null) {
+                return Collections.emptySet().equals(other);
+            }
+            if (!(other instanceof Set)) {
+                return false;
+            }
+            return SetUtils.isEqualSet(set, (Set<?>) other);
+        }
+
+        @Override
+        protected Set<V> getMapping() {
+            return getMap().get(key);
+        }
+
+        @Override
+        public int hashCode() {
+            return SetUtils.hashCodeForSet(getMapping());
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            final Set<V> set = getMapping();
+            return new ConcurrentMultiValuedMaps.MappingIterator<V, K, V>(ConcurrentSetValuedHashMap.this,
+                    set == null ? Collections.<K, Set<V>>emptyMap() : Collections.singletonMap(key, set)) {
+                @Override
+                V map(final K key, final V value) {
+                    return value;
+                }
+            };
+        }
+
+        @Override
+        public boolean remove(final Object item) {
+            return removeMapping(key, item);
+        }
+
+        @Override
+        public boolean removeAll(final Collection<?> c) {
+            return ConcurrentMultiValuedMaps.updateIfPresent(getMap(), key, set -> set.removeAll(c), Boolean.FALSE);
+        }
+
+        @Override
+        public boolean retainAll(final Collection<?> c) {
+            return ConcurrentMultiValuedMaps.updateIfPresent(getMap(), key, set -> set.retainAll(c), Boolean.FALSE);
+        }
+    }
+
+    /** Serialization Version */
+    private static final long serialVersionUID = -2221221618271658227L;
+
+    /**
+     * The initial map capacity used when none specified in constructor.
+     */
+    private static final int DEFAULT_INITIAL_MAP_CAPACITY = 16;
+
+    /**
+     * The initial set capacity when using none specified in constructor.
+     */
+    private static final int DEFAULT_INITIAL_SET_CAPACITY = 3;
+
+    /**
+     * The initial set capacity when creating a new value collection.
+     */
+    private final int initialSetCapacity;
+
+    /** The entries view */
+    private transient Collection<Entry<K, V>> entriesView;
+
+    /** The values view */
+    private transient Collection<V> valuesView;
+
+    /**
+     * Creates an empty ConcurrentSetValuedHashMap with the default initial
+     * map capacity (16) and the default initial set capacity (3).
+     */
+    public ConcurrentSetValuedHashMap() {
+        this(DEFAULT_INITIAL_MAP_CAPACITY, DEFAULT_INITIAL_SET_CAPACITY);
+    }
+
+    /**
+     * Creates an empty ConcurrentSetValuedHashMap with the default initial
+     * map capacity (16) and the specified initial set capacity.
+     *
+     * @param initialSetCapacity  The initial capacity used for value collections
+     */
+    public ConcurrentSetValuedHashMap(final int initialSetCapacity) {
+        this(DEFAULT_INITIAL_MAP_CAPACITY, initialSetCapacity);
+    }
+
+    /**
+     * Creates an empty ConcurrentSetValuedHashMap with the specified initial
+     * map and set capacities.
+     *
+     * @param initialMapCapacity  The initial hashmap capacity
+     * @param initialSetCapacity  The initial capacity used for value collections
+     */
+    public ConcurrentSetValuedHashMap(final int initialMapCapacity, final int initialSetCapacity) {
+        super(new ConcurrentHashMap<>(initialMapCapacity));
+        this.initialSetCapacity = initialSetCapacity;
+    }
+
+    /**
+     * Creates a ConcurrentSetValuedHashMap copying all the mappings of the given map.
+     *
+     * @param map A {@code Map} to copy into this map
+     */
+    public ConcurrentSetValuedHashMap(final Map<? extends K, ? extends V> map) {
+        this(map.size(), DEFAULT_INITIAL_SET_CAPACITY);
+        super.putAll(map);
+    }
+
+    /**
+     * Creates a ConcurrentSetValuedHashMap copying all the mappings of the given map.
+     *
+     * @param map A {@code MultiValuedMap} to copy into this map
+     */
+    public ConcurrentSetValuedHashMap(final MultiValuedMap<? extends K, ? extends V> map) {
+        this(map.size(), DEFAULT_INITIAL_SET_CAPACITY);
+        super.putAll(map);
+    }
+
+    @Override
+    protected Set<V> createCollection() {
+        return ConcurrentHashMap.newKeySet(initialSetCapacity);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned collection is weakly consistent.
+     * </p>
+     */
+    @Override
+    public Collection<Entry<K, V>> entries() {
+        final Collection<Entry<K, V>> es = entriesView;
+        return es != null ? es : (entriesView = new ConcurrentMultiValuedMaps.Entries<>(this, getMap()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected ConcurrentMap<K, Set<V>> getMap() {
+        return (ConcurrentMap<K, Set<V>>) super.getMap();
+    }
+
+    @Override
+    public ConcurrentSetValuedHashMap<V, K> inverted() {
+        return MultiMapUtils.invert(this, new ConcurrentSetValuedHashMap<V, K>());
+    }
+
+    /**
+     * Adds the value to the set associated with the specified key, atomically
+     * with respect to other modifications of that key.
+     *
+     * @param key The key to store against
+     * @param value The value to add to the set at the key
+     * @return true if the map changed
+     * @throws NullPointerException if the key or value is null
+     */
+    @Override
+    public boolean put(final K key, final V value) {
+        return ConcurrentMultiValuedMaps.update(getMap(), key, this::createCollection, set -> set.add(value));
+    }
+
+    /**
+     * Deserializes an instance from an ObjectInputStream.
+     *
+     * @param in The source ObjectInputStream.
+     * @throws IOException            Any of the usual Input/Output related exceptions.
+     * @throws ClassNotFoundException A class of a serialized object cannot be found.
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        setMap(new ConcurrentHashMap<>());
+        doReadObject(in);
+    }
+
+    /**
+     * Removes the mapping, atomically with respect to other modifications of the key.
+     * The key is removed together with its last value.
+     *
+     * @param key The key to remove from
+     * @param value The value to remove
+     * @return true if the mapping was removed, false otherwise
+     */
+    @Override
+    public boolean removeMapping(final Object key, final Object value) {
+        if (key == null || value == null) {
+            return false;
+        }
+        return ConcurrentMultiValuedMaps.updateIfPresent(getMap(), key, set -> set.remove(value), Boolean.FALSE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned collection is weakly consistent.
+     * </p>
+     */
+    @Override
+    public Collection<V> values() {
+        final Collection<V> vs = valuesView;
+        return vs != null ? vs : (valuesView = new ConcurrentMultiValuedMaps.Values<>(this, getMap()));
+    }
+
+    @Override
+    Set<V> wrappedCollection(final K key) {
+        return new ConcurrentWrappedSet(key);
+    }
+
+    /**
+     * Serializes this object to an ObjectOutputStream.
+     *
+     * @param out The target ObjectOutputStream.
+     * @throws IOException thrown when an I/O errors occur writing to the target stream.
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        doWriteObject(out);
+    }
+
+}
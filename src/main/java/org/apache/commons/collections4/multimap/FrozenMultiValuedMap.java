@@ -0,0 +1,827 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.apache.commons.collections4.ListValuedMap;
+import org.apache.commons.collections4.MapIterator;
+import org.apache.commons.collections4.MultiSet;
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.ResettableIterator;
+import org.apache.commons.collections4.Unmodifiable;
+import org.apache.commons.collections4.collection.UnmodifiableCollection;
+import org.apache.commons.collections4.iterators.EmptyMapIterator;
+import org.apache.commons.collections4.keyvalue.UnmodifiableMapEntry;
+import org.apache.commons.collections4.map.UnmodifiableMap;
+import org.apache.commons.collections4.multiset.AbstractMultiSet;
+import org.apache.commons.collections4.multiset.UnmodifiableMultiSet;
+import org.apache.commons.collections4.set.UnmodifiableSet;
+
+/**
+ * An immutable, read-optimized, list-valued copy of a {@link MultiValuedMap}.
+ * <p>
+ * The mappings are stored in compressed sparse row form: the distinct keys in one
+ * array, all values in a second, contiguous array grouped by key, and an offset
+ * array giving the range of values of each key. Keys are located through an
+ * open-addressed table of key indices. Compared to a mutable map, no per-key value
+ * collection or hash node is kept.
+ * </p>
+ * <p>
+ * {@link #get(Object)} returns a list view directly over the value array without
+ * copying, {@link #values()} is a view over the whole value array, and
+ * {@link #mapIterator()} walks the arrays without allocating. Keys and values keep
+ * the iteration order of the source map.
+ * </p>
+ * <p>
+ * As a {@link ListValuedMap}, this map equals the map it was copied from when that is
+ * a {@code ListValuedMap} too. A {@link org.apache.commons.collections4.SetValuedMap}
+ * should be frozen into a {@link FrozenSetValuedMap} instead, as
+ * {@link org.apache.commons.collections4.MultiMapUtils#freeze(MultiValuedMap)} does.
+ * </p>
+ * <p>
+ * Attempts to modify the map or its views result in an {@link UnsupportedOperationException}.
+ * This map is thread-safe.
+ * </p>
+ *
+ * @param <K> The type of the keys in this map
+ * @param <V> The type of the values in this map
+ * @since 4.6.1
+ */
+public final class FrozenMultiValuedMap<K, V> implements ListValuedMap<K, V>, Unmodifiable, Serializable {
+
+    /**
+     * Inner class that provides the asMap view.
+     */
+    private final class AsMap extends AbstractMap<K, Collection<V>> {
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return FrozenMultiValuedMap.this.containsKey(key);
+        }
+
+        @Override
+        public Set<Map.Entry<K, Collection<V>>> entrySet() {
+            return new AbstractSet<Map.Entry<K, Collection<V>>>() {
+
+                @Override
+                public Iterator<Map.Entry<K, Collection<V>>> iterator() {
+                    return new KeyIndexIterator<Map.Entry<K, Collection<V>>>() {
+                        @Override
+                        Map.Entry<K, Collection<V>> element(final int keyIndex) {
+                            return new UnmodifiableMapEntry<>(keyAt(keyIndex), valuesAt(keyIndex));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+        }
+
+        @Override
+        public Collection<V> get(final Object key) {
+            final int keyIndex = indexOfKey(key);
+            return keyIndex < 0 ? null : valuesAt(keyIndex);
+        }
+
+        @Override
+        public Set<K> keySet() {
+            return FrozenMultiValuedMap.this.keySet();
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+    }
+
+    /**
+     * Inner class that provides the entries view.
+     */
+    private final class Entries extends AbstractCollection<Map.Entry<K, V>> {
+
+        @Override
+        public boolean contains(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return containsMapping(entry.getKey(), entry.getValue());
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            final FrozenMapIterator it = new FrozenMapIterator();
+            return new Iterator<Map.Entry<K, V>>() {
+
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    final K key = it.next();
+                    return new UnmodifiableMapEntry<>(key, it.getValue());
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
+    /**
+     * Allocation-free map iterator over the value array.
+     */
+    private final class FrozenMapIterator implements MapIterator<K, V>, ResettableIterator<K> {
+
+        /** The index of the next value. */
+        private int next;
+
+        /** The index of the key of the next value. */
+        private int nextKey;
+
+        /** The index of the last returned value, -1 if none. */
+        private int current = -1;
+
+        /** The index of the key of the last returned value. */
+        private int currentKey;
+
+        @Override
+        public K getKey() {
+            checkCurrent();
+            return keyAt(currentKey);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            checkCurrent();
+            return (V) values[current];
+        }
+
+        private void checkCurrent() {
+            if (current < 0) {
+                throw new IllegalStateException("Iterator getKey/getValue() can only be called after next() and before remove()");
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < values.length;
+        }
+
+        @Override
+        public K next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            while (offsets[nextKey + 1] <= next) {
+                nextKey++;
+            }
+            current = next++;
+            currentKey = nextKey;
+            return keyAt(currentKey);
+        }
+
+        /**
+         * Always throws {@link UnsupportedOperationException}.
+         *
+         * @throws UnsupportedOperationException Always thrown.
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void reset() {
+            next = 0;
+            nextKey = 0;
+            current = -1;
+        }
+
+        /**
+         * Always throws {@link UnsupportedOperationException}.
+         *
+         * @param value Ignored.
+         * @throws UnsupportedOperationException Always thrown.
+         */
+        @Override
+        public V setValue(final V value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Iterates over the key indices.
+     */
+    private abstract class KeyIndexIterator<E> implements Iterator<E> {
+
+        private int next;
+
+        abstract E element(int keyIndex);
+
+        @Override
+        public boolean hasNext() {
+            return next < keys.length;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return element(next++);
+        }
+    }
+
+    /**
+     * Inner class that provides the keys view.
+     */
+    private final class KeysMultiSet extends AbstractMultiSet<K> {
+
+        @Override
+        public boolean contains(final Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        protected Iterator<MultiSet.Entry<K>> createEntrySetIterator() {
+            return new KeyIndexIterator<MultiSet.Entry<K>>() {
+                @Override
+                MultiSet.Entry<K> element(final int keyIndex) {
+                    return new AbstractMultiSet.AbstractEntry<K>() {
+
+                        @Override
+                        public int getCount() {
+                            return offsets[keyIndex + 1] - offsets[keyIndex];
+                        }
+
+                        @Override
+                        public K getElement() {
+                            return keyAt(keyIndex);
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        public int getCount(final Object object) {
+            final int keyIndex = indexOfKey(object);
+            return keyIndex < 0 ? 0 : offsets[keyIndex + 1] - offsets[keyIndex];
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return keys.length == 0;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        protected int uniqueElements() {
+            return keys.length;
+        }
+    }
+
+    /**
+     * Inner class that provides the keySet view.
+     */
+    private final class KeySet extends AbstractSet<K> {
+
+        @Override
+        public boolean contains(final Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return new KeyIndexIterator<K>() {
+                @Override
+                K element(final int keyIndex) {
+                    return keyAt(keyIndex);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+    }
+
+    /**
+     * Read-only list view over a range of the value array.
+     */
+    private final class ValueList extends AbstractList<V> implements RandomAccess {
+
+        private final int from;
+        private final int to;
+
+        ValueList(final int from, final int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Always throws {@link UnsupportedOperationException}.
+         *
+         * @throws UnsupportedOperationException Always thrown.
+         */
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(final int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (to - from));
+            }
+            return (V) values[from + index];
+        }
+
+        @Override
+        public int indexOf(final Object o) {
+            for (int i = from; i < to; i++) {
+                if (Objects.equals(o, values[i])) {
+                    return i - from;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Always throws {@link UnsupportedOperationException}.
+         *
+         * @param o Ignored.
+         * @throws UnsupportedOperationException Always thrown.
+         */
+        @Override
+        public boolean remove(final Object o) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Always throws {@link UnsupportedOperationException}.
+         *
+         * @param coll Ignored.
+         * @throws UnsupportedOperationException Always thrown.
+         */
+        @Override
+        public boolean removeAll(final Collection<?> coll) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Always throws {@link UnsupportedOperationException}.
+         *
+         * @param filter Ignored.
+         * @throws UnsupportedOperationException Always thrown.
+         */
+        @Override
+        public boolean removeIf(final Predicate<? super V> filter) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Always throws {@link UnsupportedOperationException}.
+         *
+         * @param coll Ignored.
+         * @throws UnsupportedOperationException Always thrown.
+         */
+        @Override
+        public boolean retainAll(final Collection<?> coll) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public Object[] toArray() {
+            return Arrays.copyOfRange(values, from, to);
+        }
+    }
+
+    /** Serialization version */
+    private static final long serialVersionUID = -2130054321754302382L;
+
+    /** The empty key table shared by empty maps. */
+    private static final int[] EMPTY_TABLE = { 0 };
+
+    /**
+     * Creates a frozen copy of the given map.
+     * <p>
+     * If the map passed in is already frozen, it is returned.
+     * </p>
+     *
+     * @param <K> The type of key elements
+     * @param <V> The type of value elements
+     * @param map  The map to copy, may not be null
+     * @return A frozen copy of the map
+     * @throws NullPointerException if map is null
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> FrozenMultiValuedMap<K, V> frozenMultiValuedMap(final MultiValuedMap<? extends K, ? extends V> map) {
+        Objects.requireNonNull(map, "map");
+        if (map instanceof FrozenMultiValuedMap) {
+            return (FrozenMultiValuedMap<K, V>) map;
+        }
+        return new FrozenMultiValuedMap<>(map);
+    }
+
+    /**
+     * Spreads a hash code.
+     *
+     * @param key the key
+     * @return the spread hash
+     */
+    private static int hash(final Object key) {
+        final int h = key == null ? 0 : key.hashCode() * 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+
+    /** The distinct keys, in source iteration order. */
+    private final Object[] keys;
+
+    /** The values of key {@code i} are {@code values[offsets[i]]} up to {@code values[offsets[i + 1]]}. */
+    private final int[] offsets;
+
+    /** All values, grouped by key. */
+    private final Object[] values;
+
+    /** The open-addressed key table, holding a key index plus one, or zero for a free slot. */
+    private transient int[] table;
+
+    /** The spread hash of each key. */
+    private transient int[] hashes;
+
+    /** The asMap view */
+    private transient Map<K, Collection<V>> asMapView;
+
+    /** The entries view */
+    private transient Collection<Map.Entry<K, V>> entriesView;
+
+    /** The keys view */
+    private transient MultiSet<K> keysView;
+
+    /** The keySet view */
+    private transient Set<K> keySetView;
+
+    /** The values view */
+    private transient List<V> valuesView;
+
+    /**
+     * Constructor that copies the mappings.
+     *
+     * @param map  The map to copy, may not be null
+     */
+    private FrozenMultiValuedMap(final MultiValuedMap<? extends K, ? extends V> map) {
+        final Map<? extends K, ? extends Collection<? extends V>> source = map.asMap();
+        Object[] keyArray = new Object[source.size()];
+        int[] offsetArray = new int[keyArray.length + 1];
+        Object[] valueArray = new Object[map.size()];
+        int keyCount = 0;
+        int valueCount = 0;
+        for (final Map.Entry<? extends K, ? extends Collection<? extends V>> entry : source.entrySet()) {
+            final Collection<? extends V> coll = entry.getValue();
+            if (coll.isEmpty()) {
+                continue;
+            }
+            if (keyCount == keyArray.length) {
+                // the source changed its size while being copied
+                keyArray = Arrays.copyOf(keyArray, keyCount + 1);
+                offsetArray = Arrays.copyOf(offsetArray, keyCount + 2);
+            }
+            keyArray[keyCount++] = entry.getKey();
+            for (final V value : coll) {
+                if (valueCount == valueArray.length) {
+                    valueArray = Arrays.copyOf(valueArray, valueCount + (valueCount >> 1) + 1);
+                }
+                valueArray[valueCount++] = value;
+            }
+            offsetArray[keyCount] = valueCount;
+        }
+        this.keys = keyCount == keyArray.length ? keyArray : Arrays.copyOf(keyArray, keyCount);
+        this.offsets = keyCount + 1 == offsetArray.length ? offsetArray : Arrays.copyOf(offsetArray, keyCount + 1);
+        this.values = valueCount == valueArray.length ? valueArray : Arrays.copyOf(valueArray, valueCount);
+        buildTable();
+    }
+
+    @Override
+    public Map<K, Collection<V>> asMap() {
+        return asMapView != null ? asMapView : (asMapView = UnmodifiableMap.unmodifiableMap(new AsMap()));
+    }
+
+    /**
+     * Builds the key table, sized to at most half full.
+     */
+    private void buildTable() {
+        if (keys.length == 0) {
+            table = EMPTY_TABLE;
+            hashes = new int[0];
+            return;
+        }
+        int capacity = Integer.highestOneBit(keys.length) << 2;
+        if (capacity < 0) {
+            capacity = 1 << 30;
+        }
+        final int mask = capacity - 1;
+        table = new int[capacity];
+        hashes = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            final int h = hash(keys[i]);
+            hashes[i] = h;
+            int slot = h & mask;
+            while (table[slot] != 0) {
+                slot = slot + 1 & mask;
+            }
+            table[slot] = i + 1;
+        }
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOfKey(key) >= 0;
+    }
+
+    @Override
+    public boolean containsMapping(final Object key, final Object value) {
+        final int keyIndex = indexOfKey(key);
+        if (keyIndex < 0) {
+            return false;
+        }
+        for (int i = offsets[keyIndex]; i < offsets[keyIndex + 1]; i++) {
+            if (Objects.equals(value, values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        for (final Object v : values) {
+            if (Objects.equals(value, v)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Collection<Map.Entry<K, V>> entries() {
+        return entriesView != null ? entriesView : (entriesView = UnmodifiableCollection.unmodifiableCollection(new Entries()));
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof MultiValuedMap) {
+            return asMap().equals(((MultiValuedMap<?, ?>) obj).asMap());
+        }
+        return false;
+    }
+
+    /**
+     * Gets the values associated with the specified key as a list view over the
+     * shared value array, without copying.
+     *
+     * @param key The key to retrieve
+     * @return The {@code List} of values, an empty {@code List} for no mapping
+     */
+    @Override
+    public List<V> get(final K key) {
+        final int keyIndex = indexOfKey(key);
+        return keyIndex < 0 ? Collections.emptyList() : valuesAt(keyIndex);
+    }
+
+    @Override
+    public int hashCode() {
+        return asMap().hashCode();
+    }
+
+    /**
+     * Finds the index of a key.
+     *
+     * @param key the key to find
+     * @return the key index, or -1 if not found
+     */
+    private int indexOfKey(final Object key) {
+        final int h = hash(key);
+        final int mask = table.length - 1;
+        int slot = h & mask;
+        int entry;
+        while ((entry = table[slot]) != 0) {
+            final int keyIndex = entry - 1;
+            if (hashes[keyIndex] == h && Objects.equals(key, keys[keyIndex])) {
+                return keyIndex;
+            }
+            slot = slot + 1 & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(final int keyIndex) {
+        return (K) keys[keyIndex];
+    }
+
+    @Override
+    public MultiSet<K> keys() {
+        return keysView != null ? keysView : (keysView = UnmodifiableMultiSet.unmodifiableMultiSet(new KeysMultiSet()));
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return keySetView != null ? keySetView : (keySetView = UnmodifiableSet.unmodifiableSet(new KeySet()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned map iterator does not allocate while iterating, and implements
+     * {@link ResettableIterator}. Its {@code remove} and {@code setValue} methods
+     * throw {@link UnsupportedOperationException}.
+     * </p>
+     */
+    @Override
+    public MapIterator<K, V> mapIterator() {
+        if (isEmpty()) {
+            return EmptyMapIterator.emptyMapIterator();
+        }
+        return new FrozenMapIterator();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @param key Ignored.
+     * @param value Ignored.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public boolean put(final K key, final V value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @param key Ignored.
+     * @param values Ignored.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public boolean putAll(final K key, final Iterable<? extends V> values) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @param map Ignored.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public boolean putAll(final Map<? extends K, ? extends V> map) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @param map Ignored.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public boolean putAll(final MultiValuedMap<? extends K, ? extends V> map) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Deserializes an instance from an ObjectInputStream.
+     *
+     * @param in The source ObjectInputStream.
+     * @throws IOException            Any of the usual Input/Output related exceptions.
+     * @throws ClassNotFoundException A class of a serialized object cannot be found.
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (offsets.length != keys.length + 1 || offsets[keys.length] != values.length) {
+            throw new IOException("Inconsistent FrozenMultiValuedMap data");
+        }
+        buildTable();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @param key Ignored.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public List<V> remove(final Object key) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @param key Ignored.
+     * @param item Ignored.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public boolean removeMapping(final Object key, final Object item) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public String toString() {
+        return asMap().toString();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return valuesView != null ? valuesView : (valuesView = new ValueList(0, values.length));
+    }
+
+    private List<V> valuesAt(final int keyIndex) {
+        return new ValueList(offsets[keyIndex], offsets[keyIndex + 1]);
+    }
+
+}
@@ -0,0 +1,365 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.collections4.MapIterator;
+import org.apache.commons.collections4.MultiSet;
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.SetValuedMap;
+import org.apache.commons.collections4.Unmodifiable;
+import org.apache.commons.collections4.iterators.UnmodifiableIterator;
+import org.apache.commons.collections4.keyvalue.UnmodifiableMapEntry;
+import org.apache.commons.collections4.map.UnmodifiableMap;
+import org.apache.commons.collections4.set.UnmodifiableSet;
+
+/**
+ * An immutable, read-optimized copy of a {@link SetValuedMap}.
+ * <p>
+ * The mappings are stored like those of a {@link FrozenMultiValuedMap}, in one
+ * contiguous value array, but the values of a key are seen as a {@code Set}, so that
+ * this map equals the map it was copied from. {@link #get(Object)} returns a set view
+ * over the value array without copying.
+ * </p>
+ * <p>
+ * Attempts to modify the map or its views result in an {@link UnsupportedOperationException}.
+ * This map is thread-safe.
+ * </p>
+ *
+ * @param <K> The type of the keys in this map
+ * @param <V> The type of the values in this map
+ * @since 4.6.1
+ */
+public final class FrozenSetValuedMap<K, V> implements SetValuedMap<K, V>, Unmodifiable, Serializable {
+
+    /**
+     * Inner class that provides the asMap view.
+     */
+    private final class AsMap extends AbstractMap<K, Collection<V>> {
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return FrozenSetValuedMap.this.containsKey(key);
+        }
+
+        @Override
+        public Set<Map.Entry<K, Collection<V>>> entrySet() {
+            final Set<Map.Entry<K, Collection<V>>> entries = frozen.asMap().entrySet();
+            return new AbstractSet<Map.Entry<K, Collection<V>>>() {
+
+                @Override
+                public Iterator<Map.Entry<K, Collection<V>>> iterator() {
+                    final Iterator<Map.Entry<K, Collection<V>>> it = entries.iterator();
+                    return new Iterator<Map.Entry<K, Collection<V>>>() {
+
+                        @Override
+                        public boolean hasNext() {
+                            return it.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<K, Collection<V>> next() {
+                            final Map.Entry<K, Collection<V>> entry = it.next();
+                            final Collection<V> values = new ValueSet<>((List<V>) entry.getValue());
+                            return new UnmodifiableMapEntry<>(entry.getKey(), values);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return entries.size();
+                }
+            };
+        }
+
+        @Override
+        public Collection<V> get(final Object key) {
+            final Collection<V> values = frozen.asMap().get(key);
+            return values == null ? null : new ValueSet<>((List<V>) values);
+        }
+
+        @Override
+        public Set<K> keySet() {
+            return FrozenSetValuedMap.this.keySet();
+        }
+
+        @Override
+        public int size() {
+            return frozen.asMap().size();
+        }
+    }
+
+    /**
+     * Read-only set view over the distinct values of a key.
+     *
+     * @param <E> The type of the values
+     */
+    private static final class ValueSet<E> extends AbstractSet<E> {
+
+        private final List<E> values;
+
+        ValueSet(final List<E> values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return values.contains(o);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return UnmodifiableIterator.unmodifiableIterator(values.iterator());
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public Object[] toArray() {
+            return values.toArray();
+        }
+    }
+
+    /** Serialization version */
+    private static final long serialVersionUID = -61987150810152567L;
+
+    /**
+     * Creates a frozen copy of the given map.
+     * <p>
+     * If the map passed in is already frozen, it is returned.
+     * </p>
+     *
+     * @param <K> The type of key elements
+     * @param <V> The type of value elements
+     * @param map  The map to copy, may not be null
+     * @return A frozen copy of the map
+     * @throws NullPointerException if map is null
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> FrozenSetValuedMap<K, V> frozenSetValuedMap(final SetValuedMap<? extends K, ? extends V> map) {
+        Objects.requireNonNull(map, "map");
+        if (map instanceof FrozenSetValuedMap) {
+            return (FrozenSetValuedMap<K, V>) map;
+        }
+        return new FrozenSetValuedMap<>(map);
+    }
+
+    /** The mappings, with the values of each key as a list. */
+    private final FrozenMultiValuedMap<K, V> frozen;
+
+    /** The asMap view */
+    private transient Map<K, Collection<V>> asMapView;
+
+    /**
+     * Constructor that copies the mappings.
+     *
+     * @param map  The map to copy, may not be null
+     */
+    private FrozenSetValuedMap(final SetValuedMap<? extends K, ? extends V> map) {
+        this.frozen = FrozenMultiValuedMap.frozenMultiValuedMap(map);
+    }
+
+    @Override
+    public Map<K, Collection<V>> asMap() {
+        return asMapView != null ? asMapView : (asMapView = UnmodifiableMap.unmodifiableMap(new AsMap()));
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return frozen.containsKey(key);
+    }
+
+    @Override
+    public boolean containsMapping(final Object key, final Object value) {
+        return frozen.containsMapping(key, value);
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        return frozen.containsValue(value);
+    }
+
+    @Override
+    public Collection<Map.Entry<K, V>> entries() {
+        return frozen.entries();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof MultiValuedMap) {
+            return asMap().equals(((MultiValuedMap<?, ?>) obj).asMap());
+        }
+        return false;
+    }
+
+    /**
+     * Gets the values associated with the specified key as a set view over the
+     * shared value array, without copying.
+     *
+     * @param key The key to retrieve
+     * @return The {@code Set} of values, an empty {@code Set} for no mapping
+     */
+    @Override
+    public Set<V> get(final K key) {
+        final List<V> values = frozen.get(key);
+        return values.isEmpty() ? Collections.emptySet() : UnmodifiableSet.unmodifiableSet(new ValueSet<>(values));
+    }
+
+    @Override
+    public int hashCode() {
+        return asMap().hashCode();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return frozen.isEmpty();
+    }
+
+    @Override
+    public MultiSet<K> keys() {
+        return frozen.keys();
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return frozen.keySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned map iterator does not allocate while iterating. Its {@code remove}
+     * and {@code setValue} methods throw {@link UnsupportedOperationException}.
+     * </p>
+     */
+    @Override
+    public MapIterator<K, V> mapIterator() {
+        return frozen.mapIterator();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @param key Ignored.
+     * @param value Ignored.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public boolean put(final K key, final V value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @param key Ignored.
+     * @param values Ignored.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public boolean putAll(final K key, final Iterable<? extends V> values) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @param map Ignored.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public boolean putAll(final Map<? extends K, ? extends V> map) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @param map Ignored.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public boolean putAll(final MultiValuedMap<? extends K, ? extends V> map) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @param key Ignored.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public Set<V> remove(final Object key) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Always throws {@link UnsupportedOperationException}.
+     *
+     * @param key Ignored.
+     * @param item Ignored.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public boolean removeMapping(final Object key, final Object item) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int size() {
+        return frozen.size();
+    }
+
+    @Override
+    public String toString() {
+        return asMap().toString();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return frozen.values();
+    }
+
+}
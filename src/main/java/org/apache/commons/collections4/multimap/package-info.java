@@ -24,6 +24,9 @@
  * <ul>
  *   <li>ArrayListValuedHashMap - ListValuedMap implementation using a HashMap/ArrayList</li>
  *   <li>HashSetValuedHashMap   - SetValuedMap implementation using a HashMap/HashSet</li>
+ *   <li>CompactListValuedHashMap - ListValuedMap implementation using a HashMap and lists which store a single value inline</li>
+ *   <li>ConcurrentListValuedHashMap - thread-safe ListValuedMap implementation using a ConcurrentHashMap/CopyOnWriteArrayList</li>
+ *   <li>ConcurrentSetValuedHashMap  - thread-safe SetValuedMap implementation using a ConcurrentHashMap/concurrent hash set</li>
  * </ul>
  * <p>
  * The following decorators are provided in the package:
@@ -32,5 +35,11 @@
  *   <li>Transformed - transforms elements added to the MultiValuedMap</li>
  *   <li>Unmodifiable - ensures the collection cannot be altered</li>
  * </ul>
+ * <p>
+ * The following immutable copy is provided in the package:
+ * </p>
+ * <ul>
+ *   <li>FrozenMultiValuedMap - read-optimized snapshot storing all values in one contiguous array</li>
+ * </ul>
  */
 package org.apache.commons.collections4.multimap;
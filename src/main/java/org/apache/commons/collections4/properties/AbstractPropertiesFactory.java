@@ -27,6 +27,7 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 
@@ -156,6 +157,46 @@ public abstract class AbstractPropertiesFactory<T extends Properties> {
         }
     }
 
+    /**
+     * Creates and loads properties from the given file, parsing it in parallel.
+     * <p>
+     * A properties file is memory-mapped and split on line boundaries. The chunks are parsed in parallel with the
+     * escape rules of {@link Properties#load(InputStream)}, and the pairs are then added at once with
+     * {@link Properties#putAll(Map)} in file order, so that {@link OrderedProperties} keeps the order of
+     * the file. An XML file, or a file too large to map, is loaded as by {@link #load(Path)}.
+     * </p>
+     *
+     * @param path The location of the properties file.
+     * @return A new properties object.
+     * @throws IOException              Thrown if an error occurred reading the file.
+     * @throws IllegalArgumentException Thrown if the input contains a malformed Unicode escape sequence.
+     * @since 4.6.1
+     */
+    public T loadParallel(final Path path) throws IOException {
+        return loadParallel(path, MappedPropertiesLoader.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates and loads properties from the given file, parsing chunks of at least the given size in parallel.
+     *
+     * @param path      The location of the properties file.
+     * @param chunkSize The smallest chunk handed to a thread.
+     * @return A new properties object.
+     * @throws IOException Thrown if an error occurred reading the file.
+     */
+    T loadParallel(final Path path, final int chunkSize) throws IOException {
+        if (PropertyFormat.toPropertyFormat(Objects.toString(path.getFileName(), null)) == PropertyFormat.XML) {
+            return load(path);
+        }
+        final Map<Object, Object> pairs = MappedPropertiesLoader.load(path, chunkSize);
+        if (pairs == null) {
+            return load(path);
+        }
+        final T properties = createProperties();
+        properties.putAll(pairs);
+        return properties;
+    }
+
     /**
      * Creates and loads properties from the given reader.
      *
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.properties;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Loads a properties file by memory-mapping it, splitting it on line boundaries and parsing the chunks in parallel.
+ * <p>
+ * Each chunk is parsed by {@link Properties#load(InputStream)}, so the escape and continuation rules are those of the
+ * JDK, into a sink that records the pairs in order instead of hashing them. A chunk starts after a line that does not
+ * end with a backslash, so it never starts inside a logical line.
+ * </p>
+ */
+final class MappedPropertiesLoader {
+
+    /**
+     * Reads a byte buffer as an input stream.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+    }
+
+    /**
+     * Records the pairs parsed by {@link Properties#load(InputStream)} in order.
+     */
+    private static final class PairSink extends Properties {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Object> pairs = new ArrayList<>();
+
+        @Override
+        public Object put(final Object key, final Object value) {
+            pairs.add(key);
+            pairs.add(value);
+            return null;
+        }
+    }
+
+    /** The default smallest chunk handed to a thread. */
+    static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * Finds the start of the first line at or after a position that starts a logical line.
+     *
+     * @param buffer The file contents.
+     * @param from   The position to search from.
+     * @return The position of the line start, or the limit of the buffer.
+     */
+    private static int findLineStart(final ByteBuffer buffer, final int from) {
+        final int limit = buffer.limit();
+        for (int i = from; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                int last = i - 1;
+                if (last >= 0 && buffer.get(last) == '\r') {
+                    last--;
+                }
+                if (last < 0 || buffer.get(last) != '\\') {
+                    return i + 1;
+                }
+            }
+        }
+        return limit;
+    }
+
+    /**
+     * Loads the key/value pairs of a properties file, in file order, later pairs replacing earlier ones.
+     *
+     * @param path      The properties file.
+     * @param chunkSize The smallest chunk handed to a thread.
+     * @return The pairs, or null if the file is too large to map at once.
+     * @throws IOException              Thrown if an error occurred reading the file.
+     * @throws IllegalArgumentException Thrown if the input contains a malformed Unicode escape sequence.
+     */
+    static Map<Object, Object> load(final Path path, final int chunkSize) throws IOException {
+        final ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return null;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        final int size = buffer.limit();
+        final int chunks = Math.max(1, Math.min(size / Math.max(1, chunkSize), ForkJoinPool.getCommonPoolParallelism() * 4));
+        final List<Integer> starts = new ArrayList<>(chunks + 1);
+        starts.add(0);
+        for (int i = 1; i < chunks; i++) {
+            final int start = findLineStart(buffer, Math.max(starts.get(starts.size() - 1), (int) ((long) size * i / chunks)));
+            if (start < size && start > starts.get(starts.size() - 1)) {
+                starts.add(start);
+            }
+        }
+        starts.add(size);
+        final List<List<Object>> parsed;
+        try {
+            parsed = IntStream.range(0, starts.size() - 1).parallel()
+                    .mapToObj(i -> parse(buffer, starts.get(i), starts.get(i + 1)))
+                    .collect(Collectors.toList());
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        for (final List<Object> pairs : parsed) {
+            for (int i = 0; i < pairs.size(); i += 2) {
+                map.put(pairs.get(i), pairs.get(i + 1));
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Parses a chunk of the file.
+     *
+     * @param buffer The file contents.
+     * @param start  The start of the chunk.
+     * @param end    The end of the chunk.
+     * @return The keys and values, alternating, in order.
+     */
+    private static List<Object> parse(final ByteBuffer buffer, final int start, final int end) {
+        final ByteBuffer chunk = buffer.duplicate();
+        chunk.limit(end);
+        chunk.position(start);
+        final PairSink sink = new PairSink();
+        try {
+            sink.load(new ByteBufferInputStream(chunk));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sink.pairs;
+    }
+
+    private MappedPropertiesLoader() {
+        // no instances.
+    }
+}
@@ -14,34 +14,86 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.apache.commons.collections4.properties;
 
 import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * A drop-in replacement for {@link Properties} for sorting keys.
  * <p>
  * Overrides {@link Properties#keys()} to sort keys. Allows other methods on the superclass to work with sorted keys.
  * </p>
+ * <p>
+ * The sorted keys are kept in an index that is built on first use and then updated by the methods that add or remove
+ * keys, so that {@link #keys()}, {@link #keySet()} and {@link #forEach(BiConsumer)} walk the keys in order without
+ * sorting them again. The result of {@link #stringPropertyNames()} is cached until the next change when there are no
+ * defaults. {@link #keys()} enumerates a snapshot of the keys, while {@link #keySet()} is a view backed by the
+ * properties which, as with {@link java.util.Hashtable}, fails fast if the properties change while it is iterated.
+ * </p>
  *
  * @see SortedPropertiesFactory#INSTANCE
  * @since 4.2
  */
 public class SortedProperties extends Properties {
 
+    /**
+     * A key set view in sorted order.
+     */
+    private final class KeySet extends AbstractSet<Object> {
+
+        @Override
+        public void clear() {
+            SortedProperties.this.clear();
+        }
+
+        @Override
+        public boolean contains(final Object key) {
+            return containsKey(key);
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            return sortedKeysIterator();
+        }
+
+        @Override
+        public boolean remove(final Object key) {
+            return SortedProperties.this.remove(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return SortedProperties.this.size();
+        }
+    }
+
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The keys in sorted order, or null until first used.
+     */
+    private transient TreeSet<Object> sortedKeys;
+
+    /**
+     * The cached string property names, or null until first used or after a change.
+     */
+    private transient Set<String> stringPropertyNames;
+
     /**
      * Constructs a new instance.
      */
@@ -50,8 +102,55 @@ public class SortedProperties extends Properties {
     }
 
     @Override
-    public Set<Map.Entry<Object, Object>> entrySet() {
-        return keyStream().map(k -> new AbstractMap.SimpleEntry<>(k, get(k))).collect(Collectors.toCollection(LinkedHashSet::new));
+    public synchronized void clear() {
+        super.clear();
+        sortedKeys = null;
+        stringPropertyNames = null;
+    }
+
+    @Override
+    public synchronized Object clone() {
+        final SortedProperties clone = (SortedProperties) super.clone();
+        clone.sortedKeys = null;
+        clone.stringPropertyNames = null;
+        return clone;
+    }
+
+    @Override
+    public synchronized Object compute(final Object key, final BiFunction<? super Object, ? super Object, ? extends Object> remappingFunction) {
+        final Object compute = super.compute(key, remappingFunction);
+        if (compute != null) {
+            keyAdded(key);
+        } else {
+            keyRemoved(key);
+        }
+        return compute;
+    }
+
+    @Override
+    public synchronized Object computeIfAbsent(final Object key, final Function<? super Object, ? extends Object> mappingFunction) {
+        final Object computeIfAbsent = super.computeIfAbsent(key, mappingFunction);
+        if (computeIfAbsent != null) {
+            keyAdded(key);
+        }
+        return computeIfAbsent;
+    }
+
+    @Override
+    public synchronized Object computeIfPresent(final Object key,
+            final BiFunction<? super Object, ? super Object, ? extends Object> remappingFunction) {
+        final Object computeIfPresent = super.computeIfPresent(key, remappingFunction);
+        if (computeIfPresent != null) {
+            stringPropertyNames = null;
+        } else {
+            keyRemoved(key);
+        }
+        return computeIfPresent;
+    }
+
+    @Override
+    public synchronized Set<Map.Entry<Object, Object>> entrySet() {
+        return sortedKeys().stream().map(k -> new AbstractMap.SimpleEntry<>(k, get(k))).collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
     /**
@@ -64,8 +163,7 @@ public class SortedProperties extends Properties {
         if (defaults != null) {
             result.addAll(defaults.stringPropertyNames());
         }
-        for (final Enumeration<?> e = keys(); e.hasMoreElements();) {
-            final Object k = e.nextElement();
+        for (final Object k : sortedKeys()) {
             final Object v = get(k);
             if (k instanceof String && v instanceof String) {
                 result.add((String) k);
@@ -76,21 +174,59 @@ public class SortedProperties extends Properties {
 
     @Override
     public synchronized void forEach(final BiConsumer<? super Object, ? super Object> action) {
-        keyStream().forEach(k -> action.accept(k, get(k)));
+        Objects.requireNonNull(action, "action");
+        sortedKeys().forEach(k -> action.accept(k, get(k)));
+    }
+
+    /**
+     * Adds a key to the index, if built, and drops the cached names.
+     *
+     * @param key The key added or updated.
+     */
+    private void keyAdded(final Object key) {
+        stringPropertyNames = null;
+        if (sortedKeys != null) {
+            try {
+                sortedKeys.add(key);
+            } catch (final ClassCastException e) {
+                // keys that don't compare fail when the index is next built
+                sortedKeys = null;
+            }
+        }
+    }
+
+    /**
+     * Removes a key from the index, if built, and drops the cached names.
+     *
+     * @param key The key removed.
+     */
+    private void keyRemoved(final Object key) {
+        stringPropertyNames = null;
+        if (sortedKeys != null) {
+            sortedKeys.remove(key);
+        }
     }
 
     @Override
     public synchronized Enumeration<Object> keys() {
-        return Collections.enumeration(keySet());
+        return Collections.enumeration(new ArrayList<>(sortedKeys()));
     }
 
     @Override
     public Set<Object> keySet() {
-        return new TreeSet<>(super.keySet());
+        return new KeySet();
     }
 
-    private Stream<Object> keyStream() {
-        return keySet().stream();
+    @Override
+    public synchronized Object merge(final Object key, final Object value,
+            final BiFunction<? super Object, ? super Object, ? extends Object> remappingFunction) {
+        final Object merge = super.merge(key, value, remappingFunction);
+        if (merge != null) {
+            keyAdded(key);
+        } else {
+            keyRemoved(key);
+        }
+        return merge;
     }
 
     @Override
@@ -99,7 +235,135 @@ public class SortedProperties extends Properties {
     }
 
     @Override
-    public Set<String> stringPropertyNames() {
-        return enumerateStringProperties(new TreeSet<>());
+    public synchronized Object put(final Object key, final Object value) {
+        final Object put = super.put(key, value);
+        keyAdded(key);
+        return put;
+    }
+
+    @Override
+    public synchronized void putAll(final Map<? extends Object, ? extends Object> t) {
+        super.putAll(t);
+        t.keySet().forEach(this::keyAdded);
+    }
+
+    @Override
+    public synchronized Object putIfAbsent(final Object key, final Object value) {
+        final Object putIfAbsent = super.putIfAbsent(key, value);
+        if (putIfAbsent == null) {
+            keyAdded(key);
+        }
+        return putIfAbsent;
+    }
+
+    @Override
+    public synchronized Object remove(final Object key) {
+        final Object remove = super.remove(key);
+        if (remove != null) {
+            keyRemoved(key);
+        }
+        return remove;
+    }
+
+    @Override
+    public synchronized boolean remove(final Object key, final Object value) {
+        final boolean remove = super.remove(key, value);
+        if (remove) {
+            keyRemoved(key);
+        }
+        return remove;
+    }
+
+    @Override
+    public synchronized Object replace(final Object key, final Object value) {
+        final Object replace = super.replace(key, value);
+        stringPropertyNames = null;
+        return replace;
+    }
+
+    @Override
+    public synchronized boolean replace(final Object key, final Object oldValue, final Object newValue) {
+        final boolean replace = super.replace(key, oldValue, newValue);
+        stringPropertyNames = null;
+        return replace;
+    }
+
+    @Override
+    public synchronized void replaceAll(final BiFunction<? super Object, ? super Object, ? extends Object> function) {
+        super.replaceAll(function);
+        stringPropertyNames = null;
+    }
+
+    /**
+     * Gets the index of sorted keys, building it if needed.
+     * <p>
+     * The index is also rebuilt when its size no longer matches, which happens when mappings are removed through the
+     * superclass views, such as {@link #values()}.
+     * </p>
+     *
+     * @return The sorted keys.
+     */
+    private synchronized TreeSet<Object> sortedKeys() {
+        if (sortedKeys == null || sortedKeys.size() != size()) {
+            sortedKeys = new TreeSet<>(super.keySet());
+            stringPropertyNames = null;
+        }
+        return sortedKeys;
+    }
+
+    /**
+     * Creates an iterator over the sorted keys whose {@link Iterator#remove()} also removes the mapping.
+     *
+     * @return A new iterator.
+     */
+    private Iterator<Object> sortedKeysIterator() {
+        final Iterator<Object> iterator = sortedKeys().iterator();
+        return new Iterator<Object>() {
+
+            private Object last;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                last = iterator.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                synchronized (SortedProperties.this) {
+                    // Not remove(Object), which would edit sortedKeys while this iterator walks it.
+                    iterator.remove();
+                    SortedProperties.super.remove(last);
+                    stringPropertyNames = null;
+                }
+            }
+        };
+    }
+
+    /**
+     * Gets the string property names in sorted order.
+     * <p>
+     * The returned set is unmodifiable. Without defaults, it is cached until the properties change, or until the
+     * index of sorted keys is rebuilt because mappings were removed through the superclass views.
+     * </p>
+     *
+     * @return The sorted string property names.
+     */
+    @Override
+    public synchronized Set<String> stringPropertyNames() {
+        if (defaults != null) {
+            return Collections.unmodifiableSet(enumerateStringProperties(new TreeSet<>()));
+        }
+        // rebuilding a stale index drops the cached names
+        sortedKeys();
+        if (stringPropertyNames == null) {
+            stringPropertyNames = Collections.unmodifiableSet(enumerateStringProperties(new TreeSet<>()));
+        }
+        return stringPropertyNames;
     }
 }
@@ -28,6 +28,8 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 import org.apache.commons.collections4.BoundedCollection;
 
@@ -54,6 +56,78 @@ import org.apache.commons.collections4.BoundedCollection;
 public class CircularFifoQueue<E> extends AbstractCollection<E>
     implements Queue<E>, BoundedCollection<E>, Serializable {
 
+    /**
+     * A spliterator over the queue which splits by position range. Positions are
+     * relative to the oldest element, bound on first use.
+     */
+    private final class CircularSpliterator implements Spliterator<E> {
+
+        /** The array index of the oldest element, bound on first use. */
+        private int first;
+
+        /** The position of the next element. */
+        private int index;
+
+        /** One past the last position, -1 until first use. */
+        private int fence;
+
+        CircularSpliterator(final int first, final int origin, final int fence) {
+            this.first = first;
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            final int hi = getFence();
+            final E[] array = elements;
+            for (; index < hi; index++) {
+                action.accept(array[(first + index) % maxElements]);
+            }
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                first = start;
+                fence = size();
+            }
+            return fence;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            if (index >= getFence()) {
+                return false;
+            }
+            action.accept(elements[(first + index++) % maxElements]);
+            return true;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            final int hi = getFence();
+            final int lo = index;
+            final int mid = lo + hi >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            index = mid;
+            return new CircularSpliterator(first, lo, mid);
+        }
+    }
+
     /** Serialization version. */
     private static final long serialVersionUID = -8423413834657610406L;
 
@@ -417,6 +491,19 @@ public class CircularFifoQueue<E> extends AbstractCollection<E>
         return size;
     }
 
+    /**
+     * Creates a late-binding spliterator over this queue's elements in removal order,
+     * which splits by position range and reports {@link Spliterator#SIZED} and
+     * {@link Spliterator#SUBSIZED}.
+     *
+     * @return A spliterator over this queue's elements
+     * @since 4.6.1
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new CircularSpliterator(0, 0, -1);
+    }
+
     /**
      * Serializes this object to an ObjectOutputStream.
      *
@@ -0,0 +1,446 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.queue;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.commons.collections4.BoundedCollection;
+
+/**
+ * A lock-free first-in first-out queue with a fixed size that replaces its oldest element if full,
+ * like {@link CircularFifoQueue}, for one consumer thread and one or many producer threads.
+ * <p>
+ * Producers take tickets from a sequence counter and never wait for the consumer: the element with
+ * ticket {@code t} is written to slot {@code t % maxSize()}, overwriting the element {@code maxSize()}
+ * tickets older. Each slot is stamped with the ticket of its element, so that the consumer detects
+ * when it has been lapped and skips to the oldest element still held, and when an element was
+ * overwritten while being read. The producer and consumer counters are padded onto cache lines of
+ * their own.
+ * </p>
+ * <p>
+ * A queue created for a single producer claims tickets with a plain ordered write; a queue for
+ * multiple producers claims them atomically, one ticket per {@link #offer(Object)} and one block per
+ * {@link #offerAll(Collection)}. The methods that remove elements, {@link #poll()}, {@link #peek()},
+ * {@link #drainTo(Collection)} and {@link #clear()}, must be called from one consumer thread at a time.
+ * {@link #size()} and the iterator may be used from any thread, and are approximate while producers
+ * are active. Elements can't be removed from the middle of the queue, so the iterator does not support
+ * {@code remove()}.
+ * </p>
+ * <p>
+ * This queue prevents null objects from being added.
+ * </p>
+ *
+ * @param <E> The type of elements in this collection
+ * @see CircularFifoQueue
+ * @since 4.6.1
+ */
+public class ConcurrentCircularFifoQueue<E> extends AbstractQueue<E> implements BoundedCollection<E> {
+
+    /**
+     * Padding before the value of a {@link Sequence}.
+     */
+    abstract static class SequenceLeftPadding {
+        /** Padding, unused. */
+        long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    /**
+     * The value of a {@link Sequence}.
+     */
+    abstract static class SequenceValue extends SequenceLeftPadding {
+        /** The value of the counter. */
+        volatile long value;
+    }
+
+    /**
+     * A counter padded on both sides, so that it does not share a cache line with another counter.
+     */
+    static final class Sequence extends SequenceValue {
+
+        private static final AtomicLongFieldUpdater<SequenceValue> UPDATER =
+                AtomicLongFieldUpdater.newUpdater(SequenceValue.class, "value");
+
+        /** Padding, unused. */
+        long p9, p10, p11, p12, p13, p14, p15;
+
+        long get() {
+            return value;
+        }
+
+        long getAndAdd(final long delta) {
+            return UPDATER.getAndAdd(this, delta);
+        }
+
+        void lazySet(final long newValue) {
+            UPDATER.lazySet(this, newValue);
+        }
+    }
+
+    /** The elements, by ticket modulo the capacity. */
+    private final AtomicReferenceArray<E> slots;
+
+    /** The ticket of the element in each slot plus one, negated while the element is being written. */
+    private final AtomicLongArray stamps;
+
+    /** The ticket of the next element to add. */
+    private final Sequence tail = new Sequence();
+
+    /** The ticket of the next element to remove. */
+    private final Sequence head = new Sequence();
+
+    /** Capacity of the queue. */
+    private final int maxElements;
+
+    /** Whether more than one thread may add elements. */
+    private final boolean multiProducer;
+
+    /**
+     * Constructor that creates a queue for multiple producers with the default size of 32.
+     */
+    public ConcurrentCircularFifoQueue() {
+        this(32);
+    }
+
+    /**
+     * Constructor that creates a queue for multiple producers with the specified size.
+     *
+     * @param size  The size of the queue (cannot be changed)
+     * @throws IllegalArgumentException  if the size is &lt; 1
+     */
+    public ConcurrentCircularFifoQueue(final int size) {
+        this(size, true);
+    }
+
+    /**
+     * Constructor that creates a queue with the specified size.
+     *
+     * @param size  The size of the queue (cannot be changed)
+     * @param multiProducer  Whether more than one thread may add elements; if false, elements must be
+     *        added by one thread at a time
+     * @throws IllegalArgumentException  if the size is &lt; 1
+     */
+    public ConcurrentCircularFifoQueue(final int size, final boolean multiProducer) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("The size must be greater than 0");
+        }
+        maxElements = size;
+        slots = new AtomicReferenceArray<>(size);
+        stamps = new AtomicLongArray(size);
+        this.multiProducer = multiProducer;
+    }
+
+    /**
+     * Adds all the elements of a collection, claiming their tickets at once.
+     *
+     * @param coll  The elements to add
+     * @return true if the queue changed
+     * @throws NullPointerException  if the collection or any of its elements is null
+     */
+    @Override
+    public boolean addAll(final Collection<? extends E> coll) {
+        return offerAll(coll) > 0;
+    }
+
+    /**
+     * Takes tickets for elements to add.
+     *
+     * @param count  The number of tickets
+     * @return The first ticket
+     */
+    private long claim(final int count) {
+        if (multiProducer) {
+            return tail.getAndAdd(count);
+        }
+        final long ticket = tail.get();
+        tail.lazySet(ticket + count);
+        return ticket;
+    }
+
+    /**
+     * Clears this queue, skipping the consumer past the elements added so far.
+     */
+    @Override
+    public void clear() {
+        head.lazySet(tail.get());
+    }
+
+    /**
+     * Removes all the available elements and adds them to a collection.
+     *
+     * @param coll  The collection to add the elements to
+     * @return The number of elements moved
+     * @throws NullPointerException  if the collection is null
+     * @throws IllegalArgumentException  if the collection is this queue
+     */
+    public int drainTo(final Collection<? super E> coll) {
+        return drainTo(coll, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes at most the given number of available elements and adds them to a collection,
+     * publishing the new position of the consumer once.
+     *
+     * @param coll  The collection to add the elements to
+     * @param maxElements  The maximum number of elements to move
+     * @return The number of elements moved
+     * @throws NullPointerException  if the collection is null
+     * @throws IllegalArgumentException  if the collection is this queue
+     */
+    public int drainTo(final Collection<? super E> coll, final int maxElements) {
+        Objects.requireNonNull(coll, "coll");
+        if (coll == this) {
+            throw new IllegalArgumentException("Cannot drain a queue to itself");
+        }
+        final long[] position = {head.get()};
+        int count = 0;
+        E element;
+        while (count < maxElements && (element = read(position)) != null) {
+            coll.add(element);
+            position[0]++;
+            count++;
+        }
+        head.lazySet(position[0]);
+        return count;
+    }
+
+    /**
+     * Returns {@code true} if the capacity limit of this queue has been reached,
+     * i.e. the number of elements stored in the queue equals its maximum size.
+     *
+     * @return {@code true} if the capacity limit has been reached, {@code false} otherwise
+     */
+    public boolean isAtFullCapacity() {
+        return size() == maxElements;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A {@code ConcurrentCircularFifoQueue} can never be full, thus this returns always
+     * {@code false}.
+     * </p>
+     *
+     * @return always returns {@code false}
+     */
+    @Override
+    public boolean isFull() {
+        return false;
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements held when it was created,
+     * skipping those overwritten since. The iterator does not support {@code remove()}.
+     *
+     * @return An iterator over this queue's elements
+     */
+    @Override
+    public Iterator<E> iterator() {
+        final long end = tail.get();
+        final long start = Math.max(head.get(), end - maxElements);
+        return new Iterator<E>() {
+
+            private long ticket = start;
+            private E next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && ticket < end) {
+                    next = readTicket(ticket++);
+                }
+                return next != null;
+            }
+
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final E element = next;
+                next = null;
+                return element;
+            }
+        };
+    }
+
+    /**
+     * Gets the maximum size of the queue.
+     *
+     * @return The maximum number of elements the queue can hold
+     */
+    @Override
+    public int maxSize() {
+        return maxElements;
+    }
+
+    /**
+     * Adds the given element to this queue. If the queue is full, the least recently added
+     * element is discarded so that a new element can be inserted.
+     *
+     * @param element  The element to add
+     * @return true, always
+     * @throws NullPointerException  if the given element is null
+     */
+    @Override
+    public boolean offer(final E element) {
+        Objects.requireNonNull(element, "element");
+        publish(claim(1), element);
+        return true;
+    }
+
+    /**
+     * Adds all the elements of a collection, claiming their tickets at once. When there are more
+     * elements than the maximum size, only the last ones are written.
+     *
+     * @param coll  The elements to add
+     * @return The number of elements added
+     * @throws NullPointerException  if the collection or any of its elements is null
+     */
+    @SuppressWarnings("unchecked")
+    public int offerAll(final Collection<? extends E> coll) {
+        final Object[] array = Objects.requireNonNull(coll, "coll").toArray();
+        for (final Object element : array) {
+            Objects.requireNonNull(element, "element");
+        }
+        if (array.length == 0) {
+            return 0;
+        }
+        final long first = claim(array.length);
+        for (int i = Math.max(0, array.length - maxElements); i < array.length; i++) {
+            publish(first + i, (E) array[i]);
+        }
+        return array.length;
+    }
+
+    /**
+     * Returns the oldest element of the queue without removing it.
+     *
+     * @return The oldest element, or null if the queue is empty
+     */
+    @Override
+    public E peek() {
+        final long[] position = {head.get()};
+        final E element = read(position);
+        head.lazySet(position[0]);
+        return element;
+    }
+
+    /**
+     * Removes the oldest element of the queue.
+     *
+     * @return The oldest element, or null if the queue is empty
+     */
+    @Override
+    public E poll() {
+        final long[] position = {head.get()};
+        final E element = read(position);
+        head.lazySet(element == null ? position[0] : position[0] + 1);
+        return element;
+    }
+
+    /**
+     * Writes an element to the slot of its ticket, unless a newer element already took the slot.
+     *
+     * @param ticket  The ticket of the element
+     * @param element  The element
+     */
+    private void publish(final long ticket, final E element) {
+        final int slot = (int) (ticket % maxElements);
+        for (;;) {
+            final long stamp = stamps.get(slot);
+            final long owner = stamp < 0 ? -stamp - 1 : stamp - 1;
+            if (owner > ticket) {
+                // lapped: the element was overwritten before it was written
+                return;
+            }
+            if (stamp < 0) {
+                // an older element is being written to the slot
+                Thread.yield();
+            } else if (stamps.compareAndSet(slot, stamp, -(ticket + 1))) {
+                break;
+            }
+        }
+        slots.set(slot, element);
+        stamps.set(slot, ticket + 1);
+    }
+
+    /**
+     * Reads the element at a consumer position, moving the position past elements that were
+     * overwritten.
+     *
+     * @param position  The consumer position, updated in place
+     * @return The element, or null if none is available
+     */
+    private E read(final long[] position) {
+        long ticket = position[0];
+        for (;;) {
+            final int slot = (int) (ticket % maxElements);
+            final long stamp = stamps.get(slot);
+            if (stamp == ticket + 1) {
+                final E element = slots.get(slot);
+                if (stamps.get(slot) == stamp) {
+                    position[0] = ticket;
+                    return element;
+                }
+                // overwritten while reading
+            } else if (stamp > ticket + 1 || stamp < -(ticket + 1)) {
+                // lapped: skip to the oldest element that may still be held
+                ticket = Math.max(ticket + 1, tail.get() - maxElements);
+            } else {
+                // empty, or the oldest element is still being written
+                position[0] = ticket;
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Reads the element of a ticket, if still held.
+     *
+     * @param ticket  The ticket
+     * @return The element, or null if it was overwritten or not yet written
+     */
+    private E readTicket(final long ticket) {
+        final int slot = (int) (ticket % maxElements);
+        final long stamp = stamps.get(slot);
+        if (stamp == ticket + 1) {
+            final E element = slots.get(slot);
+            if (stamps.get(slot) == stamp) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of elements stored in the queue, counting elements still being written.
+     *
+     * @return This queue's size
+     */
+    @Override
+    public int size() {
+        final long h = head.get();
+        final long t = tail.get();
+        return (int) Math.max(0, Math.min(t - h, maxElements));
+    }
+}
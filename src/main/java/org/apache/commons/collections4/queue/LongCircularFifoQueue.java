@@ -0,0 +1,360 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.queue;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * A first-in first-out queue of {@code long} values with a fixed size that replaces its oldest
+ * element if full, like {@link CircularFifoQueue}, without boxing.
+ * <p>
+ * The queue keeps the statistics of the values it holds as they are added and removed, so that
+ * a sliding window of samples is summarized without a scan: {@link #sum()} is O(1) and
+ * {@link #min()} and {@link #max()} are O(1), at an amortized O(1) cost per added value. The
+ * minimum and maximum are tracked with monotonic windows of the values that can still become
+ * the extreme, which never hold more than {@link #maxSize()} values.
+ * </p>
+ * <p>
+ * This queue is not thread-safe.
+ * </p>
+ *
+ * @see CircularFifoQueue
+ * @see DoubleCircularFifoQueue
+ * @since 4.6.1
+ */
+public class LongCircularFifoQueue implements Serializable {
+
+    /** Serialization version. */
+    private static final long serialVersionUID = -6203390484055544688L;
+
+    /** Underlying storage array, indexed by sequence modulo the capacity. */
+    private transient long[] elements;
+
+    /** The sequence of the first (oldest) queue element. */
+    private transient long first;
+
+    /** The sequence of the next element to add. */
+    private transient long next;
+
+    /** The sum of the elements. */
+    private transient long sum;
+
+    /** The sequences of the elements that are or can become the minimum, oldest first. */
+    private transient SequenceDeque minima;
+
+    /** The sequences of the elements that are or can become the maximum, oldest first. */
+    private transient SequenceDeque maxima;
+
+    /** Capacity of the queue. */
+    private final int maxElements;
+
+    /**
+     * Constructor that creates a queue with the default size of 32.
+     */
+    public LongCircularFifoQueue() {
+        this(32);
+    }
+
+    /**
+     * Constructor that creates a queue with the specified size.
+     *
+     * @param size  The size of the queue (cannot be changed)
+     * @throws IllegalArgumentException  if the size is &lt; 1
+     */
+    public LongCircularFifoQueue(final int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("The size must be greater than 0");
+        }
+        maxElements = size;
+        init();
+    }
+
+    /**
+     * Adds the given element to this queue. If the queue is full, the least recently added
+     * element is discarded so that a new element can be inserted.
+     *
+     * @param element  The element to add
+     * @return true, always
+     */
+    public boolean add(final long element) {
+        if (isAtFullCapacity()) {
+            remove();
+        }
+        final long sequence = next++;
+        elements[index(sequence)] = element;
+        sum += element;
+        while (!minima.isEmpty() && value(minima.last()) >= element) {
+            minima.removeLast();
+        }
+        minima.addLast(sequence);
+        while (!maxima.isEmpty() && value(maxima.last()) <= element) {
+            maxima.removeLast();
+        }
+        maxima.addLast(sequence);
+        return true;
+    }
+
+    /**
+     * Adds the given elements to this queue in order, discarding the oldest elements as needed.
+     *
+     * @param elements  The elements to add
+     */
+    public void addAll(final long... elements) {
+        for (final long element : elements) {
+            add(element);
+        }
+    }
+
+    /**
+     * Returns the arithmetic mean of the elements.
+     *
+     * @return The mean of the elements
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public double average() {
+        checkNotEmpty();
+        return (double) sum / size();
+    }
+
+    private void checkNotEmpty() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("queue is empty");
+        }
+    }
+
+    /**
+     * Clears this queue.
+     */
+    public void clear() {
+        first = 0;
+        next = 0;
+        sum = 0;
+        minima.clear();
+        maxima.clear();
+    }
+
+    /**
+     * Returns the oldest element of the queue without removing it.
+     *
+     * @return The oldest element
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public long element() {
+        checkNotEmpty();
+        return value(first);
+    }
+
+    /**
+     * Gets the element at the specified position in this queue.
+     *
+     * @param index The position of the element in the queue
+     * @return The element at position {@code index}
+     * @throws NoSuchElementException if the requested position is outside the range [0, size)
+     */
+    public long get(final int index) {
+        final int sz = size();
+        if (index < 0 || index >= sz) {
+            throw new NoSuchElementException(
+                    String.format("The specified index %1$d is outside the available range [0, %2$d)",
+                                  Integer.valueOf(index), Integer.valueOf(sz)));
+        }
+        return value(first + index);
+    }
+
+    private int index(final long sequence) {
+        return (int) (sequence % maxElements);
+    }
+
+    private void init() {
+        elements = new long[maxElements];
+        minima = new SequenceDeque(maxElements);
+        maxima = new SequenceDeque(maxElements);
+    }
+
+    /**
+     * Returns {@code true} if the capacity limit of this queue has been reached,
+     * i.e. the number of elements stored in the queue equals its maximum size.
+     *
+     * @return {@code true} if the capacity limit has been reached, {@code false} otherwise
+     */
+    public boolean isAtFullCapacity() {
+        return size() == maxElements;
+    }
+
+    /**
+     * Returns true if this queue is empty; false otherwise.
+     *
+     * @return true if this queue is empty
+     */
+    public boolean isEmpty() {
+        return next == first;
+    }
+
+    /**
+     * A {@code LongCircularFifoQueue} can never be full, thus this returns always {@code false}.
+     *
+     * @return always returns {@code false}
+     */
+    public boolean isFull() {
+        return false;
+    }
+
+    /**
+     * Returns the largest element.
+     *
+     * @return The largest element
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public long max() {
+        checkNotEmpty();
+        return value(maxima.first());
+    }
+
+    /**
+     * Gets the maximum size of the queue (the bound).
+     *
+     * @return The maximum number of elements the queue can hold
+     */
+    public int maxSize() {
+        return maxElements;
+    }
+
+    /**
+     * Returns the smallest element.
+     *
+     * @return The smallest element
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public long min() {
+        checkNotEmpty();
+        return value(minima.first());
+    }
+
+    /**
+     * Deserializes the queue in using a custom routine.
+     *
+     * @param in  The input stream
+     * @throws IOException Thrown if an I/O error occurs while reading from the input stream
+     * @throws ClassNotFoundException if the class of a serialized object cannot be found
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (maxElements < 1) {
+            throw new InvalidObjectException("maxElements must be greater than 0");
+        }
+        init();
+        final int size = in.readInt();
+        if (size < 0 || size > maxElements) {
+            throw new InvalidObjectException("size is out of range: " + size);
+        }
+        for (int i = 0; i < size; i++) {
+            add(in.readLong());
+        }
+    }
+
+    /**
+     * Removes the oldest element of the queue.
+     *
+     * @return The oldest element
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public long remove() {
+        checkNotEmpty();
+        final long sequence = first++;
+        final long element = value(sequence);
+        sum -= element;
+        minima.removeFirst(sequence);
+        maxima.removeFirst(sequence);
+        return element;
+    }
+
+    /**
+     * Returns the number of elements stored in the queue.
+     *
+     * @return this queue's size
+     */
+    public int size() {
+        return (int) (next - first);
+    }
+
+    /**
+     * Returns a sequential stream of the elements, oldest first. The queue must not be modified
+     * while the stream is used.
+     *
+     * @return A stream of the elements
+     */
+    public LongStream stream() {
+        final long start = first;
+        return IntStream.range(0, size()).mapToLong(i -> value(start + i));
+    }
+
+    /**
+     * Returns the sum of the elements, which overflows like {@link LongStream#sum()}.
+     *
+     * @return The sum of the elements, or 0 if the queue is empty
+     */
+    public long sum() {
+        return sum;
+    }
+
+    /**
+     * Returns the elements in an array, oldest first.
+     *
+     * @return A new array of the elements
+     */
+    public long[] toArray() {
+        return stream().toArray();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder().append('[');
+        for (long sequence = first; sequence < next; sequence++) {
+            if (sequence > first) {
+                builder.append(", ");
+            }
+            builder.append(value(sequence));
+        }
+        return builder.append(']').toString();
+    }
+
+    private long value(final long sequence) {
+        return elements[index(sequence)];
+    }
+
+    /**
+     * Serializes this object to an ObjectOutputStream.
+     *
+     * @param out The target ObjectOutputStream.
+     * @throws IOException thrown when an I/O errors occur writing to the target stream.
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size());
+        for (long sequence = first; sequence < next; sequence++) {
+            out.writeLong(value(sequence));
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.queue;
+
+/**
+ * A bounded double-ended queue of element sequence numbers, kept in a ring, for the monotonic
+ * windows that track the minimum and maximum of the primitive circular queues.
+ * <p>
+ * The owning queue pushes the sequence of each element it adds after popping from the back
+ * the sequences of the elements the new one supersedes, and pops the front when the oldest
+ * element leaves the queue, so the front is always the sequence of the extreme element.
+ * </p>
+ *
+ * @see LongCircularFifoQueue
+ * @see DoubleCircularFifoQueue
+ */
+final class SequenceDeque {
+
+    /** The sequences, from the front at {@link #head}. */
+    private final long[] sequences;
+
+    /** The ring index of the front. */
+    private int head;
+
+    /** The number of sequences held. */
+    private int size;
+
+    /**
+     * Constructs an empty deque.
+     *
+     * @param capacity  The largest number of sequences held
+     */
+    SequenceDeque(final int capacity) {
+        sequences = new long[capacity];
+    }
+
+    void addLast(final long sequence) {
+        sequences[index(size++)] = sequence;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    long first() {
+        return sequences[head];
+    }
+
+    private int index(final int offset) {
+        final int index = head + offset;
+        return index < sequences.length ? index : index - sequences.length;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long last() {
+        return sequences[index(size - 1)];
+    }
+
+    /**
+     * Removes the front if it is the sequence of an element leaving the owning queue.
+     *
+     * @param sequence  The sequence of the element leaving
+     */
+    void removeFirst(final long sequence) {
+        if (size > 0 && sequences[head] == sequence) {
+            head = index(1);
+            size--;
+        }
+    }
+
+    void removeLast() {
+        size--;
+    }
+
+}
@@ -20,16 +20,25 @@ import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.function.Predicate;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.IterableUtils;
+import org.apache.commons.collections4.bloomfilter.EnhancedDoubleHasher;
+import org.apache.commons.collections4.bloomfilter.Hasher;
+import org.apache.commons.collections4.bloomfilter.Shape;
+import org.apache.commons.collections4.bloomfilter.SimpleBloomFilter;
 import org.apache.commons.collections4.collection.CompositeCollection;
+import org.apache.commons.collections4.iterators.AbstractIteratorDecorator;
+import org.apache.commons.collections4.iterators.CompositeSpliterator;
 import org.apache.commons.collections4.iterators.EmptyIterator;
 import org.apache.commons.collections4.iterators.IteratorChain;
 import org.apache.commons.collections4.list.UnmodifiableList;
@@ -48,6 +57,14 @@ import org.apache.commons.collections4.list.UnmodifiableList;
  * See <a href="https://issues.apache.org/jira/browse/COLLECTIONS-424">COLLECTIONS-424</a>
  * for more details.
  * </p>
+ * <p>
+ * The {@link #spliterator() spliterator} splits at the boundaries between the sets,
+ * then within them. When {@link #setCached(boolean) cached}, the size is computed once
+ * and kept until this composite is modified, and a Bloom filter of the hash codes of
+ * the elements of each hash-based set lets {@link #contains(Object)} and {@link #remove(Object)}
+ * skip the sets that cannot hold an element. {@link #invalidate()} must then be called
+ * after a composited set has been modified directly.
+ * </p>
  *
  * @param <E> The type of the elements in this set
  * @since 3.0
@@ -112,18 +129,63 @@ public class CompositeSet<E> implements Set<E>, Serializable {
     /** Serialization version */
     private static final long serialVersionUID = 5185069727540378940L;
 
+    /** The false positive probability of the Bloom filters at the size they are built for. */
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    /** The smallest number of elements a Bloom filter is built for. */
+    private static final int MIN_FILTER_ITEMS = 64;
+
     /** SetMutator to handle changes to the collection */
     private SetMutator<E> mutator;
 
     /** Sets in the composite */
     private final List<Set<E>> all = new ArrayList<>();
 
+    /** Whether the size and the Bloom filters are cached */
+    private boolean cached;
+
+    /** Whether {@link #cachedSize} is up to date */
+    private transient boolean sizeValid;
+
+    /** The cached size */
+    private transient int cachedSize;
+
+    /** The Bloom filter of each set, null for a set that is not hash-based, or null until built */
+    private transient List<SimpleBloomFilter> filters;
+
     /**
      * Creates an empty CompositeSet.
      */
     public CompositeSet() {
     }
 
+    /**
+     * Creates the hasher of the hash code of an object.
+     *
+     * @param obj  The object, may be null
+     * @return The hasher
+     */
+    private static Hasher hasher(final Object obj) {
+        final long hash = (obj == null ? 0 : obj.hashCode()) * 0x9E3779B97F4A7C15L;
+        return new EnhancedDoubleHasher(hash, Long.rotateLeft(hash, 31) | 1);
+    }
+
+    /**
+     * Tests whether a set finds its elements by {@code hashCode} and {@code equals}, so that a Bloom filter
+     * of the hash codes of its elements never rules out an element it contains.
+     * <p>
+     * Sorted sets compare elements, sets backed by other maps may compare them their own way, and
+     * decorators may do either, so only the exact classes of the plain hash sets qualify.
+     * </p>
+     *
+     * @param set  The set
+     * @return whether the set is a plain hash set
+     */
+    private static boolean isHashBased(final Set<?> set) {
+        final Class<?> type = set.getClass();
+        return type == HashSet.class || type == LinkedHashSet.class;
+    }
+
     /**
      * Creates a CompositeSet with just {@code set} composited.
      *
@@ -159,7 +221,21 @@ public class CompositeSet<E> implements Set<E>, Serializable {
             throw new UnsupportedOperationException(
                 "add() is not supported on CompositeSet without a SetMutator strategy");
         }
-        return mutator.add(this, all, obj);
+        boolean done = false;
+        try {
+            final boolean changed = mutator.add(this, all, obj);
+            done = true;
+            if (changed) {
+                added(Collections.singleton(obj));
+            }
+            return changed;
+        } finally {
+            // the mutator may change a set and still return false, or throw partway
+            sizeValid = false;
+            if (!done) {
+                filters = null;
+            }
+        }
     }
 
     /**
@@ -179,7 +255,21 @@ public class CompositeSet<E> implements Set<E>, Serializable {
             throw new UnsupportedOperationException(
                 "addAll() is not supported on CompositeSet without a SetMutator strategy");
         }
-        return mutator.addAll(this, all, coll);
+        boolean done = false;
+        try {
+            final boolean changed = mutator.addAll(this, all, coll);
+            done = true;
+            if (changed) {
+                added(coll);
+            }
+            return changed;
+        } finally {
+            // the mutator may change a set and still return false, or throw partway
+            sizeValid = false;
+            if (!done) {
+                filters = null;
+            }
+        }
     }
 
     /**
@@ -204,9 +294,15 @@ public class CompositeSet<E> implements Set<E>, Serializable {
                         throw new IllegalArgumentException(
                                 "Attempt to add illegal entry unresolved by SetMutator.resolveCollision()");
                     }
+                    // the mutator may have moved elements between the sets
+                    filters = null;
                 }
             }
             all.add(set);
+            if (filters != null) {
+                filters.add(filter(set));
+            }
+            sizeValid = false;
         }
     }
 
@@ -234,6 +330,25 @@ public class CompositeSet<E> implements Set<E>, Serializable {
         addComposited(set2);
     }
 
+    /**
+     * Records elements added through the mutator to any of the sets in the Bloom filters.
+     *
+     * @param coll  The elements added
+     */
+    private void added(final Collection<? extends E> coll) {
+        sizeValid = false;
+        if (filters != null) {
+            for (final E e : coll) {
+                final Hasher hasher = hasher(e);
+                for (final SimpleBloomFilter filter : filters) {
+                    if (filter != null) {
+                        filter.merge(hasher);
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Removes all of the elements from this composite set.
      * <p>
@@ -243,6 +358,7 @@ public class CompositeSet<E> implements Set<E>, Serializable {
      */
     @Override
     public void clear() {
+        sizeValid = false;
         for (final Collection<E> coll : all) {
             coll.clear();
         }
@@ -251,19 +367,15 @@ public class CompositeSet<E> implements Set<E>, Serializable {
     /**
      * Checks whether this composite set contains the object.
      * <p>
-     * This implementation calls {@code contains()} on each set.
+     * This implementation calls {@code contains()} on each set, skipping those
+     * whose Bloom filter rules the object out when the composite is cached.
      *
      * @param obj  The object to search for
      * @return true if obj is contained in any of the contained sets
      */
     @Override
     public boolean contains(final Object obj) {
-        for (final Set<E> item : all) {
-            if (item.contains(obj)) {
-                return true;
-            }
-        }
-        return false;
+        return indexOf(obj) >= 0;
     }
 
     /**
@@ -302,6 +414,40 @@ public class CompositeSet<E> implements Set<E>, Serializable {
         return false;
     }
 
+    /**
+     * Creates the Bloom filter of the hash codes of the elements of a set.
+     *
+     * @param set  The set
+     * @return The Bloom filter, or null if the set is not hash-based
+     */
+    private SimpleBloomFilter filter(final Set<E> set) {
+        if (!isHashBased(set)) {
+            return null;
+        }
+        final SimpleBloomFilter filter =
+                new SimpleBloomFilter(Shape.fromNP(Math.max(MIN_FILTER_ITEMS, set.size()), FALSE_POSITIVE_PROBABILITY));
+        for (final E e : set) {
+            filter.merge(hasher(e));
+        }
+        return filter;
+    }
+
+    /**
+     * Gets the Bloom filters of the sets, building them if needed.
+     *
+     * @return The Bloom filter of each set, null for a set that is not hash-based
+     */
+    private List<SimpleBloomFilter> filters() {
+        if (filters == null || filters.size() != all.size()) {
+            final List<SimpleBloomFilter> built = new ArrayList<>(all.size());
+            for (final Set<E> set : all) {
+                built.add(filter(set));
+            }
+            filters = built;
+        }
+        return filters;
+    }
+
     /**
      * Gets the set mutator to be used for this CompositeSet.
      *
@@ -334,15 +480,72 @@ public class CompositeSet<E> implements Set<E>, Serializable {
         return code;
     }
 
+    /**
+     * Finds the set that contains an object.
+     *
+     * @param obj  The object to search for
+     * @return The index of the set, or -1 if none contains the object
+     */
+    private int indexOf(final Object obj) {
+        if (!cached) {
+            for (int i = 0; i < all.size(); i++) {
+                if (all.get(i).contains(obj)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        final List<SimpleBloomFilter> blooms = filters();
+        final Hasher hasher = hasher(obj);
+        for (int i = 0; i < all.size(); i++) {
+            final SimpleBloomFilter bloom = blooms.get(i);
+            if ((bloom == null || bloom.contains(hasher)) && all.get(i).contains(obj)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Discards the cached size and Bloom filters, so that they are computed again
+     * when next needed.
+     * <p>
+     * A cached composite must be invalidated after a composited set is modified other
+     * than through this composite. The operations of this composite keep the cache
+     * up to date themselves.
+     * </p>
+     *
+     * @see #setCached(boolean)
+     * @since 4.6.1
+     */
+    public void invalidate() {
+        sizeValid = false;
+        filters = null;
+    }
+
+    /**
+     * Tests whether the size and the Bloom filters are cached.
+     *
+     * @return whether the size and the Bloom filters are cached
+     * @see #setCached(boolean)
+     * @since 4.6.1
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
     /**
      * Checks whether this composite set is empty.
      * <p>
-     * This implementation calls {@code isEmpty()} on each set.
+     * This implementation calls {@code isEmpty()} on each set, unless the size is cached.
      *
      * @return true if all of the contained sets are empty
      */
     @Override
     public boolean isEmpty() {
+        if (cached) {
+            return size() == 0;
+        }
         for (final Set<E> item : all) {
             if (!item.isEmpty()) {
                 return false;
@@ -368,7 +571,16 @@ public class CompositeSet<E> implements Set<E>, Serializable {
         }
         final IteratorChain<E> chain = new IteratorChain<>();
         all.forEach(item -> chain.addIterator(item.iterator()));
-        return chain;
+        if (!cached) {
+            return chain;
+        }
+        return new AbstractIteratorDecorator<E>(chain) {
+            @Override
+            public void remove() {
+                super.remove();
+                sizeValid = false;
+            }
+        };
     }
 
     /**
@@ -380,12 +592,12 @@ public class CompositeSet<E> implements Set<E>, Serializable {
      */
     @Override
     public boolean remove(final Object obj) {
-        for (final Set<E> set : getSets()) {
-            if (set.contains(obj)) {
-                return set.remove(obj);
-            }
+        final int index = indexOf(obj);
+        if (index < 0) {
+            return false;
         }
-        return false;
+        sizeValid = false;
+        return all.get(index).remove(obj);
     }
 
     /**
@@ -402,6 +614,7 @@ public class CompositeSet<E> implements Set<E>, Serializable {
         if (CollectionUtils.isEmpty(coll)) {
             return false;
         }
+        sizeValid = false;
         boolean changed = false;
         for (final Collection<E> item : all) {
             changed |= item.removeAll(coll);
@@ -415,7 +628,14 @@ public class CompositeSet<E> implements Set<E>, Serializable {
      * @param set  set to be removed
      */
     public void removeComposited(final Set<E> set) {
-        all.remove(set);
+        final int index = all.indexOf(set);
+        if (index >= 0) {
+            all.remove(index);
+            if (filters != null) {
+                filters.remove(index);
+            }
+            sizeValid = false;
+        }
     }
 
     /**
@@ -426,6 +646,7 @@ public class CompositeSet<E> implements Set<E>, Serializable {
         if (Objects.isNull(filter)) {
             return false;
         }
+        sizeValid = false;
         boolean changed = false;
         for (final Collection<E> item : all) {
             changed |= item.removeIf(filter);
@@ -445,6 +666,7 @@ public class CompositeSet<E> implements Set<E>, Serializable {
      */
     @Override
     public boolean retainAll(final Collection<?> coll) {
+        sizeValid = false;
         boolean changed = false;
         for (final Collection<E> item : all) {
             changed |= item.retainAll(coll);
@@ -452,6 +674,30 @@ public class CompositeSet<E> implements Set<E>, Serializable {
         return changed;
     }
 
+    /**
+     * Sets whether the size and the Bloom filters are cached.
+     * <p>
+     * A cached composite computes its size once, then answers {@link #size()} and
+     * {@link #isEmpty()} in constant time until it is modified, and builds a Bloom filter
+     * of the hash codes of the elements of each set when first needed, so that
+     * {@link #contains(Object)} and {@link #remove(Object)} only query the sets that may
+     * hold the object. Only the plain hash sets, {@link HashSet} and {@link LinkedHashSet},
+     * are filtered: sorted sets and other sets may hold an element equivalent to another one
+     * with a different hash code, and are always queried. Elements added through the
+     * mutator are added to the filters of all the sets, and removed elements leave their
+     * bits behind, so the filters never rule out an element that is present. This assumes
+     * that the composited sets are only modified through this composite, or that
+     * {@link #invalidate()} is called after they are modified directly.
+     * </p>
+     *
+     * @param cached  whether to cache the size and the Bloom filters
+     * @since 4.6.1
+     */
+    public void setCached(final boolean cached) {
+        this.cached = cached;
+        invalidate();
+    }
+
     /**
      * Specify a SetMutator strategy instance to handle changes.
      *
@@ -464,27 +710,59 @@ public class CompositeSet<E> implements Set<E>, Serializable {
     /**
      * Gets the size of this composite set.
      * <p>
-     * This implementation calls {@code size()} on each set.
+     * This implementation calls {@code size()} on each set, unless the size is cached.
      *
      * @return total number of elements in all contained containers, or
      *         {@code Integer.MAX_VALUE} if the total exceeds it
      */
     @Override
     public int size() {
-        return IterableUtils.sumSizesToInt(all);
+        if (!cached) {
+            return IterableUtils.sumSizesToInt(all);
+        }
+        if (!sizeValid) {
+            cachedSize = IterableUtils.sumSizesToInt(all);
+            sizeValid = true;
+        }
+        return cachedSize;
+    }
+
+    /**
+     * Creates a spliterator over the elements of the sets in turn, which splits at the
+     * boundaries between the sets, balancing the sizes of the parts, and then within a set.
+     *
+     * @return A spliterator over the elements of this composite
+     * @since 4.6.1
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new CompositeSpliterator<>(all, Spliterator.DISTINCT);
     }
 
     /**
      * Returns an array containing all of the elements in this composite.
+     * <p>
+     * This implementation copies the array of each set.
      *
      * @return An object array of all the elements in the collection
+     * @throws OutOfMemoryError if the sets hold more than {@code Integer.MAX_VALUE} elements together
      */
     @Override
     public Object[] toArray() {
-        final Object[] result = new Object[size()];
-        int i = 0;
-        for (final Iterator<E> it = iterator(); it.hasNext(); i++) {
-            result[i] = it.next();
+        final Object[][] arrays = new Object[all.size()][];
+        long length = 0;
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = all.get(i).toArray();
+            length += arrays[i].length;
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new OutOfMemoryError("Required array length " + length + " is too large");
+        }
+        final Object[] result = new Object[(int) length];
+        int offset = 0;
+        for (final Object[] array : arrays) {
+            System.arraycopy(array, 0, result, offset, array.length);
+            offset += array.length;
         }
         return result;
     }
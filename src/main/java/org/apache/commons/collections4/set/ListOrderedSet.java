@@ -49,6 +49,12 @@ import org.apache.commons.collections4.list.UnmodifiableList;
  * {@code List} view of the set can be obtained via {@code asList()}.
  * </p>
  * <p>
+ * By default the order is kept in an {@code ArrayList}, so {@code indexOf(Object)}
+ * and {@code remove(Object)} are O(n). A set created by {@link #listOrderedSet(Set, List)}
+ * with an {@link org.apache.commons.collections4.list.IndexedUniqueList} performs
+ * them in O(log n) instead.
+ * </p>
+ * <p>
  * This class cannot implement the {@code List} interface directly as
  * various interface methods (notably equals/hashCode) are incompatible with a
  * set.
@@ -353,7 +359,8 @@ public class ListOrderedSet<E>
      */
     public E remove(final int index) {
         final E obj = setOrder.remove(index);
-        remove(obj);
+        // the element has already left the list, so only the set is updated
+        decorated().remove(obj);
         return obj;
     }
 
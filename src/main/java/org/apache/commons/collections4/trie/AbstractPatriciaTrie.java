@@ -32,6 +32,9 @@ import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.commons.collections4.OrderedMapIterator;
 import org.apache.commons.collections4.Trie;
@@ -341,6 +344,11 @@ public abstract class AbstractPatriciaTrie<K, V> extends AbstractBitwiseTrie<K,
         public int size() {
             return AbstractPatriciaTrie.this.size();
         }
+
+        @Override
+        public Spliterator<Map.Entry<K, V>> spliterator() {
+            return new TrieSpliterator<>(entry -> entry, Spliterator.DISTINCT);
+        }
     }
 
     /**
@@ -384,6 +392,11 @@ public abstract class AbstractPatriciaTrie<K, V> extends AbstractBitwiseTrie<K,
         public int size() {
             return AbstractPatriciaTrie.this.size();
         }
+
+        @Override
+        public Spliterator<K> spliterator() {
+            return new TrieSpliterator<>(TrieEntry::getKey, Spliterator.DISTINCT);
+        }
     }
 
     /**
@@ -1106,6 +1119,143 @@ public abstract class AbstractPatriciaTrie<K, V> extends AbstractBitwiseTrie<K,
         }
     }
 
+    /**
+     * A {@link Spliterator} for a {@link Trie}, which splits at the branching bit of a subtree.
+     * <p>
+     * All keys below a node share the bits before its {@code bitIndex}, and the keys
+     * whose bit at {@code bitIndex} is set follow the others, so the first entry of
+     * the right subtree divides the range of the node into two contiguous parts.
+     * </p>
+     */
+    private final class TrieSpliterator<E> implements Spliterator<E> {
+
+        /** Maps an entry to the element returned. */
+        private final Function<TrieEntry<K, V>, E> mapper;
+
+        /** The additional characteristics. */
+        private final int characteristics;
+
+        /** The subtree spanning the range, null if it cannot be split further. */
+        private TrieEntry<K, V> subtree;
+
+        /** The next entry to return. */
+        private TrieEntry<K, V> current;
+
+        /** The entry to stop before, null for the end of the trie. */
+        private final TrieEntry<K, V> fence;
+
+        /** Whether this spliterator has been split or traversed. */
+        private boolean split;
+
+        /** The size estimate, -1 until first use. */
+        private int est;
+
+        /** For fast-fail. */
+        private int expectedModCount;
+
+        TrieSpliterator(final Function<TrieEntry<K, V>, E> mapper, final int characteristics) {
+            this(mapper, characteristics, null, null, null, -1, 0);
+        }
+
+        private TrieSpliterator(final Function<TrieEntry<K, V>, E> mapper, final int characteristics,
+                final TrieEntry<K, V> subtree, final TrieEntry<K, V> origin, final TrieEntry<K, V> fence,
+                final int est, final int expectedModCount) {
+            this.mapper = mapper;
+            this.characteristics = characteristics;
+            this.subtree = subtree;
+            this.current = origin;
+            this.fence = fence;
+            this.split = est >= 0;
+            this.est = est;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public int characteristics() {
+            return (split ? 0 : SIZED) | ORDERED | characteristics;
+        }
+
+        @Override
+        public long estimateSize() {
+            return getEstimate();
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            getEstimate();
+            subtree = null;
+            TrieEntry<K, V> entry = current;
+            current = fence;
+            while (entry != null && entry != fence) {
+                action.accept(mapper.apply(entry));
+                entry = nextEntry(entry);
+            }
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        private int getEstimate() {
+            int s = est;
+            if (s < 0) {
+                expectedModCount = modCount;
+                current = firstEntry();
+                subtree = isSubtree(root.left, root) ? root.left : null;
+                s = est = size();
+            }
+            return s;
+        }
+
+        private boolean isSubtree(final TrieEntry<K, V> child, final TrieEntry<K, V> parent) {
+            return child != null && child.bitIndex > parent.bitIndex;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            getEstimate();
+            final TrieEntry<K, V> entry = current;
+            if (entry == null || entry == fence) {
+                return false;
+            }
+            // only untouched ranges line up with their subtree
+            subtree = null;
+            current = nextEntry(entry);
+            action.accept(mapper.apply(entry));
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            getEstimate();
+            TrieEntry<K, V> node = subtree;
+            while (node != null) {
+                final TrieEntry<K, V> right = node.right;
+                final TrieEntry<K, V> first = isSubtree(right, node) ? followLeft(right) : right;
+                if (first == null || first.isEmpty() || first == fence) {
+                    break;
+                }
+                if (first != current) {
+                    final TrieSpliterator<E> prefix = new TrieSpliterator<>(mapper, characteristics,
+                            isSubtree(node.left, node) ? node.left : null, current, first, est >>>= 1,
+                            expectedModCount);
+                    split = true;
+                    subtree = isSubtree(right, node) ? right : null;
+                    current = first;
+                    return prefix;
+                }
+                // nothing on the left, try the right subtree
+                node = subtree = isSubtree(right, node) ? right : null;
+            }
+            subtree = null;
+            return null;
+        }
+    }
+
     /**
      * An {@link OrderedMapIterator} for a {@link Trie}.
      */
@@ -1223,6 +1373,11 @@ public abstract class AbstractPatriciaTrie<K, V> extends AbstractBitwiseTrie<K,
         public int size() {
             return AbstractPatriciaTrie.this.size();
         }
+
+        @Override
+        public Spliterator<V> spliterator() {
+            return new TrieSpliterator<>(TrieEntry::getValue, 0);
+        }
     }
 
     private static final long serialVersionUID = 5155253417231339498L;
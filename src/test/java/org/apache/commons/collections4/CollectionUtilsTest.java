@@ -25,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -41,9 +42,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Random;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.Vector;
 
 import org.apache.commons.collections4.bag.HashBag;
@@ -129,6 +132,15 @@ class CollectionUtilsTest extends MockTestCase {
         assertTrue(collection.contains(2L) && !collection.contains(1));
     }
 
+    private static <O> void assertSortedSetOperationsMatchHashSets(final Collection<O> a, final Collection<O> b) {
+        final Set<O> hashA = new HashSet<>(a);
+        final Set<O> hashB = new HashSet<>(b);
+        assertTrue(CollectionUtils.isEqualCollection(CollectionUtils.union(hashA, hashB), CollectionUtils.union(a, b)));
+        assertTrue(CollectionUtils.isEqualCollection(CollectionUtils.intersection(hashA, hashB), CollectionUtils.intersection(a, b)));
+        assertTrue(CollectionUtils.isEqualCollection(CollectionUtils.disjunction(hashA, hashB), CollectionUtils.disjunction(a, b)));
+        assertTrue(CollectionUtils.isEqualCollection(CollectionUtils.subtract(hashA, hashB), CollectionUtils.subtract(a, b)));
+    }
+
     @Test
     @Deprecated
     public void cardinality() {
@@ -996,6 +1008,26 @@ class CollectionUtilsTest extends MockTestCase {
         assertEquals(1, (int) freqB.get(5L));
     }
 
+    @Test
+    void testGetCardinalityMapManyElements() {
+        final List<String> list = new ArrayList<>();
+        final Map<String, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            // "Aa" and "BB" have the same hash code
+            final String element = i % 7 == 0 ? null : (i % 2 == 0 ? "Aa" : "BB") + i % 1000;
+            list.add(element);
+            expected.merge(element, 1, Integer::sum);
+        }
+        assertEquals(expected, CollectionUtils.getCardinalityMap(list));
+        assertEquals(expected, CollectionUtils.getCardinalityMap(list::iterator));
+        final List<String> shuffled = new ArrayList<>(list);
+        Collections.shuffle(shuffled, new Random(1));
+        assertTrue(CollectionUtils.isEqualCollection(list, shuffled));
+        assertTrue(CollectionUtils.isSubCollection(list.subList(0, 100), shuffled));
+        shuffled.set(0, "CC");
+        assertFalse(CollectionUtils.isEqualCollection(list, shuffled));
+    }
+
     @Test
     void testGetCardinalityMapNull() {
         assertThrows(NullPointerException.class, () -> CollectionUtils.getCardinalityMap(null));
@@ -1983,6 +2015,48 @@ class CollectionUtilsTest extends MockTestCase {
         assertTrue(rejected.isEmpty());
     }
 
+    @Test
+    void testSetOperationsWithNulls() {
+        final List<String> a = Arrays.asList("a", null, "b", null, "a");
+        final List<String> b = Arrays.asList(null, "c", "a");
+        assertEquals(Arrays.asList("a", "a", null, null, "b", "c"), CollectionUtils.union(a, b));
+        assertEquals(Arrays.asList("a", null), CollectionUtils.intersection(a, b));
+        assertEquals(Arrays.asList("a", null, "b", "c"), CollectionUtils.disjunction(a, b));
+        assertEquals(Arrays.asList("b", null, "a"), CollectionUtils.subtract(a, b));
+    }
+
+    @Test
+    void testSetOperationsWithSortedSets() {
+        final TreeSet<Integer> a = new TreeSet<>(Comparator.reverseOrder());
+        final TreeSet<Integer> b = new TreeSet<>(Comparator.reverseOrder());
+        a.addAll(Arrays.asList(1, 3, 5, 7, 9));
+        b.addAll(Arrays.asList(3, 4, 5, 6));
+        assertEquals(Arrays.asList(9, 7, 6, 5, 4, 3, 1), CollectionUtils.union(a, b));
+        assertEquals(Arrays.asList(5, 3), CollectionUtils.intersection(a, b));
+        assertEquals(Arrays.asList(9, 7, 6, 4, 1), CollectionUtils.disjunction(a, b));
+        assertEquals(Arrays.asList(9, 7, 1), CollectionUtils.subtract(a, b));
+        assertEquals(Arrays.asList(6, 4), CollectionUtils.subtract(b, a));
+        assertTrue(CollectionUtils.union(a, new TreeSet<>(Comparator.reverseOrder())).containsAll(a));
+        // different orderings are counted rather than merged
+        assertTrue(CollectionUtils.isEqualCollection(Arrays.asList(5, 3), CollectionUtils.intersection(a, new TreeSet<>(b))));
+    }
+
+    @Test
+    void testSetOperationsWithSortedSetsInconsistentWithEquals() {
+        final TreeSet<BigDecimal> a = new TreeSet<>(Arrays.asList(new BigDecimal("1.0"), new BigDecimal("2")));
+        final TreeSet<BigDecimal> b = new TreeSet<>(Arrays.asList(new BigDecimal("1.00"), new BigDecimal("3")));
+        assertSortedSetOperationsMatchHashSets(a, b);
+        assertFalse(CollectionUtils.isEqualCollection(a, b));
+        assertEquals(4, CollectionUtils.union(a, b).size());
+        assertTrue(CollectionUtils.intersection(a, b).isEmpty());
+        final TreeSet<String> c = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        final TreeSet<String> d = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        c.addAll(Arrays.asList("a", "B", "c"));
+        d.addAll(Arrays.asList("A", "b", "d"));
+        assertSortedSetOperationsMatchHashSets(c, d);
+        assertEquals(Arrays.asList("a", "B", "c"), CollectionUtils.subtract(c, d));
+    }
+
     @Test
     void testSize_Array() {
         final Object[] objectArray = {};
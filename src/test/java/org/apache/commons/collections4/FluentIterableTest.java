@@ -32,8 +32,12 @@ import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
+import org.apache.commons.collections4.bloomfilter.Shape;
+import org.apache.commons.collections4.iterators.PipelineIterator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -287,6 +291,24 @@ class FluentIterableTest {
                 "expecting NullPointerException");
     }
 
+    @Test
+    void testForEachChunk() {
+        final List<List<Integer>> chunks = new ArrayList<>();
+        FluentIterable.of(iterableA).forEachChunk(4, chunks::add);
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 2, 3), Arrays.asList(3, 3, 4, 4), Arrays.asList(4, 4)), chunks);
+
+        chunks.clear();
+        FluentIterable.of(iterableA).filter(i -> i > 2).transform(i -> i * 10).limit(5).forEachChunk(2, chunks::add);
+        assertEquals(Arrays.asList(Arrays.asList(30, 30), Arrays.asList(30, 40), Arrays.asList(40)), chunks);
+
+        chunks.clear();
+        FluentIterable.of(emptyIterable).forEachChunk(4, chunks::add);
+        assertTrue(chunks.isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> FluentIterable.of(iterableA).forEachChunk(0, chunks::add));
+        assertThrows(NullPointerException.class, () -> FluentIterable.of(iterableA).forEachChunk(1, null));
+    }
+
     @Test
     void testGet() {
         assertEquals(2, FluentIterable.of(iterableEven).get(0).intValue());
@@ -313,6 +335,27 @@ class FluentIterableTest {
         assertFalse(iterator.hasNext());
     }
 
+    @Test
+    void testIteratorFused() {
+        final List<Integer> source = new ArrayList<>(Arrays.asList(5, 1, 2, 2, 3, 4, 4, 6, 8));
+        final FluentIterable<String> fluent = FluentIterable.of(source).filter(i -> i % 2 == 0).unique().skip(1)
+                .limit(3).transform(String::valueOf);
+        assertTrue(fluent.iterator() instanceof PipelineIterator);
+        assertEquals(Arrays.asList("4", "6", "8"), IteratorUtils.toList(fluent.iterator()));
+        assertEquals(Arrays.asList("4", "6", "8"), fluent.toList());
+        assertEquals(3, fluent.size());
+        assertTrue(fluent.contains("6"));
+        assertEquals("8", fluent.get(2));
+
+        final Iterator<Integer> iterator = FluentIterable.of(source).filter(i -> i > 3).iterator();
+        assertEquals(5, iterator.next());
+        iterator.remove();
+        assertEquals(Arrays.asList(1, 2, 2, 3, 4, 4, 6, 8), source);
+        final Iterator<Integer> unmodifiable = FluentIterable.of(source).limit(2).unmodifiable().iterator();
+        unmodifiable.next();
+        assertThrows(UnsupportedOperationException.class, unmodifiable::remove);
+    }
+
     @Test
     void testLimit() {
         List<Integer> result = FluentIterable.of(iterableA).limit(3).toList();
@@ -337,6 +380,36 @@ class FluentIterableTest {
                 "expecting IllegalArgumentException");
     }
 
+    @Test
+    void testParallelOperations() {
+        final List<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            source.add(i % 5000);
+        }
+        final FluentIterable<String> pipeline = FluentIterable.of(source).filter(EVEN).unique().skip(10).limit(2000)
+                .transform(String::valueOf);
+        final List<String> expected = pipeline.toList();
+        assertEquals(2000, expected.size());
+        assertEquals(expected, pipeline.parallelToList());
+        assertEquals(expected, pipeline.stream().collect(Collectors.toList()));
+
+        final List<String> copy = new ArrayList<>();
+        pipeline.parallelCopyInto(copy);
+        assertEquals(expected, copy);
+
+        final AtomicInteger count = new AtomicInteger();
+        pipeline.parallelForEach(e -> count.incrementAndGet());
+        assertEquals(2000, count.get());
+
+        assertTrue(FluentIterable.of(source).parallelAllMatch(i -> i < 5000));
+        assertFalse(FluentIterable.of(source).parallelAnyMatch(i -> i >= 5000));
+        assertTrue(FluentIterable.of(iterableB).reverse().parallelAnyMatch(l -> l == 5L));
+        assertEquals(Arrays.asList(4, 3), FluentIterable.of(iterableA).reverse().unique().limit(2).parallelToList());
+
+        assertThrows(NullPointerException.class, () -> FluentIterable.of(source).parallelAllMatch(null));
+        assertThrows(NullPointerException.class, () -> FluentIterable.of(source).parallelForEach(null));
+    }
+
     @Test
     void testReverse() {
         List<Integer> result = FluentIterable.of(iterableA).reverse().toList();
@@ -380,6 +453,15 @@ class FluentIterableTest {
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    void testSpliterator() {
+        final Spliterator<Integer> spliterator = FluentIterable.of(iterableA).spliterator();
+        assertEquals(10, spliterator.getExactSizeIfKnown());
+        assertNotNull(spliterator.trySplit());
+        assertEquals(Arrays.asList(2, 4, 6), FluentIterable.of(iterableEven).limit(3).stream().collect(Collectors.toList()));
+        assertEquals(0, FluentIterable.empty().stream().count());
+    }
+
     @Test
     void testToArray() {
         final Long[] arr = {1L, 2L, 3L, 4L, 5L};
@@ -425,6 +507,18 @@ class FluentIterableTest {
         assertEquals(0, result.size());
     }
 
+    @Test
+    void testUniqueWithShape() {
+        final Shape shape = Shape.fromNP(100, 0.001);
+        final FluentIterable<Integer> unique = FluentIterable.of(iterableA).unique(shape);
+        assertEquals(Arrays.asList(1, 2, 3, 4), unique.toList());
+        assertEquals(Arrays.asList(1, 2, 3, 4), unique.toList());
+        assertEquals(Arrays.asList(1, 2, 3, 4), unique.stream().collect(Collectors.toList()));
+        assertEquals(4, unique.parallelToList().size());
+        assertEquals(Arrays.asList(1, 2, 3, 4), IterableUtils.toList(IterableUtils.uniqueIterable(iterableA, shape)));
+        assertThrows(NullPointerException.class, () -> FluentIterable.of(iterableA).unique(null));
+    }
+
     @Test
     void testUnmodifiable() {
         final FluentIterable<Integer> iterable1 = FluentIterable.of(iterableA).unmodifiable();
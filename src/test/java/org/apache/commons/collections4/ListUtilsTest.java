@@ -30,6 +30,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
 
 import org.apache.commons.collections4.functors.EqualPredicate;
@@ -372,6 +373,24 @@ class ListUtilsTest {
                 "expecting NullPointerException");
     }
 
+    @Test
+    void testRemoveAllLargeList() {
+        final List<Integer> collection = new ArrayList<>();
+        final List<Integer> remove = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            collection.add(i % 300);
+            if (i % 3 == 0) {
+                remove.add(i);
+            }
+        }
+        remove.add(null);
+        final List<Integer> expected = new ArrayList<>(collection);
+        expected.removeAll(remove);
+        assertEquals(expected, ListUtils.removeAll(collection, remove));
+        collection.add(null);
+        assertEquals(expected, ListUtils.removeAll(collection, remove));
+    }
+
     @Test
     void testRetainAll() {
         final List<String> sub = new ArrayList<>();
@@ -390,6 +409,21 @@ class ListUtilsTest {
                 "expecting NullPointerException");
     }
 
+    @Test
+    void testRetainAllLargeList() {
+        final List<Integer> collection = new ArrayList<>();
+        final LinkedList<Integer> retain = new LinkedList<>();
+        for (int i = 0; i < 1000; i++) {
+            collection.add(i % 300);
+            if (i % 7 == 0) {
+                retain.add(i);
+            }
+        }
+        final List<Integer> expected = new ArrayList<>(collection);
+        expected.retainAll(retain);
+        assertEquals(expected, ListUtils.retainAll(collection, retain));
+    }
+
     @Test
     @SuppressWarnings("boxing") // OK in test code
     void testSelect() {
@@ -29,9 +29,11 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.apache.commons.collections4.SetUtils.SetView;
 import org.apache.commons.collections4.set.PredicatedSet;
@@ -82,6 +84,24 @@ class SetUtilsTest {
         assertThrows(NullPointerException.class, () -> SetUtils.difference(null, setA));
     }
 
+    @Test
+    void testDifferenceOfNestedViews() {
+        final Set<Integer> big = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            big.add(i);
+        }
+        final SetView<Integer> union = SetUtils.union(setA, setB);
+        final SetView<Integer> difference = SetUtils.difference(big, union);
+        assertEquals(93, difference.size());
+        assertFalse(difference.contains(7));
+        assertTrue(difference.contains(8));
+        // the views still follow changes to the decorated sets
+        setB.add(8);
+        assertEquals(92, difference.size());
+        assertFalse(difference.contains(8));
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8)), SetUtils.intersection(big, union).toSet());
+    }
+
     @Test
     void testDisjunction() {
         final SetView<Integer> set = SetUtils.disjunction(setA, setB);
@@ -185,6 +205,31 @@ class SetUtilsTest {
         assertThrows(NullPointerException.class, () -> SetUtils.intersection(null, setA));
     }
 
+    @Test
+    void testIntersectionOfNestedViews() {
+        final Set<Integer> big = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            big.add(i);
+        }
+        // a small set probing a large view
+        final Set<Integer> small = new HashSet<>(Arrays.asList(5, 500, 2000));
+        final SetView<Integer> union = SetUtils.union(big, setB);
+        assertEquals(new HashSet<>(Arrays.asList(5, 500)), SetUtils.intersection(small, union).toSet());
+        assertEquals(Collections.singleton(2000), SetUtils.difference(small, union).toSet());
+        assertEquals(2, SetUtils.intersection(small, union).size());
+        // a view over a sorted set keeps the membership of its comparator
+        final Set<String> lower = new HashSet<>();
+        for (char c = 'a'; c <= 'z'; c++) {
+            lower.add(String.valueOf(c));
+        }
+        final Set<String> upper = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        upper.addAll(Arrays.asList("A", "B", "C"));
+        final SetView<String> mixed = SetUtils.union(upper, new HashSet<>(Arrays.asList("x", "y")));
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c", "x", "y")), SetUtils.intersection(lower, mixed).toSet());
+        assertEquals(21, SetUtils.difference(lower, mixed).size());
+        assertFalse(SetUtils.difference(lower, mixed).contains("a"));
+    }
+
     @Test
     void testNewIdentityHashSet() {
         final Set<String> set = SetUtils.newIdentityHashSet();
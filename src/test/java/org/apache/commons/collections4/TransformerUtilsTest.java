@@ -24,11 +24,13 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -36,6 +38,7 @@ import org.apache.commons.collections4.functors.ConstantTransformer;
 import org.apache.commons.collections4.functors.EqualPredicate;
 import org.apache.commons.collections4.functors.ExceptionTransformer;
 import org.apache.commons.collections4.functors.FalsePredicate;
+import org.apache.commons.collections4.functors.InvokerTransformer;
 import org.apache.commons.collections4.functors.NOPTransformer;
 import org.apache.commons.collections4.functors.StringValueTransformer;
 import org.apache.commons.collections4.functors.TruePredicate;
@@ -167,6 +170,25 @@ class TransformerUtilsTest {
         assertEquals(new Date(1000L), trans.transform(Date.class));
     }
 
+    @Test
+    void testInstantiateTransformerCachedConstructor() {
+        final Transformer<Class<?>, Object> trans = TransformerUtils.instantiateTransformer(new Class[] { String.class },
+                new Object[] { "x" });
+        for (int i = 0; i < 3; i++) {
+            assertEquals("x", trans.transform(String.class));
+            assertEquals("x", trans.transform(StringBuilder.class).toString());
+        }
+        // the constructor throws
+        final FunctorException ex = assertThrows(FunctorException.class, () -> trans.transform(Integer.class));
+        assertTrue(ex.getCause() instanceof InvocationTargetException);
+        assertTrue(ex.getCause().getCause() instanceof NumberFormatException);
+        // abstract class
+        assertThrows(FunctorException.class, () -> TransformerUtils.instantiateTransformer().transform(Number.class));
+        // reflection widens the int argument
+        assertEquals(new Date(1000L),
+                TransformerUtils.instantiateTransformer(new Class[] { Long.TYPE }, new Object[] { 1000 }).transform(Date.class));
+    }
+
     @Test
     void testInvokerTransformer() {
         final List<Object> list = new ArrayList<>();
@@ -193,6 +215,43 @@ class TransformerUtilsTest {
         assertThrows(IllegalArgumentException.class, () -> TransformerUtils.invokerTransformer("badArgs", new Class[] {}, new Object[] { cString }));
     }
 
+    @Test
+    void testInvokerTransformerCachedMethod() {
+        final Transformer<Object, Object> trans = TransformerUtils.invokerTransformer("size");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1, trans.transform(new ArrayList<>(Collections.singleton(cString))));
+            assertEquals(0, trans.transform(new HashSet<>()));
+            assertEquals(1, trans.transform(new HashMap<>(Collections.singletonMap(cString, cString))));
+        }
+        assertThrows(FunctorException.class, () -> trans.transform(cString));
+
+        final Transformer<Object, Object> substring = TransformerUtils.invokerTransformer("substring",
+                new Class[] { Integer.TYPE }, new Object[] { 1 });
+        assertEquals("ello", substring.transform("Hello"));
+        final FunctorException ex = assertThrows(FunctorException.class, () -> substring.transform(""));
+        assertTrue(ex.getCause() instanceof InvocationTargetException);
+        assertTrue(ex.getCause().getCause() instanceof StringIndexOutOfBoundsException);
+        // reflection widens the char argument
+        assertEquals("ello", TransformerUtils.invokerTransformer("substring", new Class[] { Integer.TYPE }, new Object[] { (char) 1 })
+                .transform("Hello"));
+        // public method of a private class
+        assertThrows(FunctorException.class, () -> TransformerUtils.invokerTransformer("hasNext").transform(new ArrayList<>().iterator()));
+    }
+
+    @Test
+    void testInvokerTransformerStaticMethod() {
+        final Transformer<Object, Object> valueOf = new InvokerTransformer<>("valueOf", new Class<?>[] { String.class }, new Object[] { "42" });
+        for (int i = 0; i < 3; i++) {
+            assertEquals(42, valueOf.transform(7));
+        }
+        final FunctorException ex = assertThrows(FunctorException.class,
+                () -> new InvokerTransformer<>("valueOf", new Class<?>[] { String.class }, new Object[] { "x" }).transform(7));
+        assertTrue(ex.getCause() instanceof InvocationTargetException);
+        assertTrue(ex.getCause().getCause() instanceof NumberFormatException);
+        assertEquals("true", TransformerUtils.invokerTransformer("toString", new Class[] { Boolean.TYPE }, new Object[] { true })
+                .transform(Boolean.FALSE));
+    }
+
     @Test
     @SuppressWarnings("boxing") // OK in test code
     void testMapTransformer() {
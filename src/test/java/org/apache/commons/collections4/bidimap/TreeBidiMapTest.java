@@ -16,9 +16,18 @@
  */
 package org.apache.commons.collections4.bidimap;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Spliterator;
 import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.BidiMap;
+import org.apache.commons.collections4.OrderedBidiMap;
+import org.junit.jupiter.api.Test;
 
 /**
  * JUnit tests.
@@ -60,6 +69,26 @@ public class TreeBidiMapTest<K extends Comparable<K>, V extends Comparable<V>> e
         return new TreeBidiMap<>();
     }
 
+    @Test
+    void testSpliterator() {
+        final TreeBidiMap<Integer, String> map = new TreeBidiMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, String.format("%04d", 999 - i));
+        }
+        final Spliterator<Integer> spliterator = map.keySet().spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SORTED));
+        assertEquals(1000, spliterator.getExactSizeIfKnown());
+        assertNotNull(spliterator.trySplit());
+
+        assertEquals(new ArrayList<>(map.keySet()), map.keySet().parallelStream().collect(Collectors.toList()));
+        assertEquals(new ArrayList<>(map.values()), map.values().parallelStream().collect(Collectors.toList()));
+        assertEquals(new ArrayList<>(map.entrySet()), map.entrySet().parallelStream().collect(Collectors.toList()));
+        final OrderedBidiMap<String, Integer> inverse = map.inverseBidiMap();
+        assertEquals(new ArrayList<>(inverse.keySet()), inverse.keySet().parallelStream().collect(Collectors.toList()));
+        assertEquals(new ArrayList<>(inverse.entrySet()),
+                inverse.entrySet().parallelStream().collect(Collectors.toList()));
+    }
+
 //    void testCreate() throws Exception {
 //        resetEmpty();
 //        writeExternalFormToDisk((java.io.Serializable) map, "src/test/resources/data/test/TreeBidiMap.emptyCollection.version4.obj");
@@ -38,9 +38,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
 import java.util.function.Predicate;
 
 import org.apache.commons.collections4.AbstractObjectTest;
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.bag.AbstractBagTest;
 import org.apache.commons.collections4.list.AbstractListTest;
 import org.apache.commons.collections4.map.AbstractMapTest;
@@ -1162,6 +1164,43 @@ public abstract class AbstractCollectionTest<E> extends AbstractObjectTest {
         assertFalse(getCollection().isEmpty(), "Size of full collection should be greater than zero");
     }
 
+    /**
+     *  Tests {@link Collection#spliterator()}, splitting it as far as it goes.
+     */
+    @Test
+    void testCollectionSpliterator() {
+        resetFull();
+        final List<E> expected = new ArrayList<>();
+        getCollection().forEach(expected::add);
+        final Spliterator<E> spliterator = getCollection().spliterator();
+        final boolean ordered = spliterator.hasCharacteristics(Spliterator.ORDERED);
+        final List<E> actual = new ArrayList<>();
+        splitAndTraverse(spliterator, actual);
+        if (ordered) {
+            assertEquals(expected, actual, "Ordered spliterator should return the elements in iteration order");
+        } else {
+            assertTrue(CollectionUtils.isEqualCollection(expected, actual),
+                    "Spliterator should return the same elements as the iterator");
+        }
+        assertEquals(expected.size(), getCollection().parallelStream().count(),
+                "Parallel stream should see every element");
+    }
+
+    private void splitAndTraverse(final Spliterator<E> spliterator, final List<E> result) {
+        final long exactSize = spliterator.getExactSizeIfKnown();
+        final int start = result.size();
+        final Spliterator<E> prefix = spliterator.trySplit();
+        if (prefix != null) {
+            splitAndTraverse(prefix, result);
+            splitAndTraverse(spliterator, result);
+        } else {
+            spliterator.forEachRemaining(result::add);
+        }
+        if (exactSize >= 0) {
+            assertEquals(exactSize, result.size() - start, "SIZED spliterator should report the exact size");
+        }
+    }
+
     /**
      *  Tests {@link Collection#toArray()}.
      */
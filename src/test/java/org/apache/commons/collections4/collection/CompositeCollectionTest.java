@@ -27,7 +27,11 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.collections4.bag.HashBag;
 import org.junit.jupiter.api.Test;
@@ -257,6 +261,73 @@ public class CompositeCollectionTest<E> extends AbstractCollectionTest<E> {
         assertEquals(0, cc.size());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCachedSize() {
+        setUpMutatorTest();
+        one.add((E) "1");
+        two.add((E) "2");
+        c.addComposited(one, two);
+        c.setCached(true);
+        assertTrue(c.isCached());
+        assertEquals(2, c.size());
+        c.add((E) "3");
+        assertEquals(4, c.size());
+        final Iterator<E> it = c.iterator();
+        it.next();
+        it.remove();
+        assertEquals(3, c.size());
+        // a direct change is seen once invalidated
+        one.add((E) "4");
+        assertEquals(3, c.size());
+        c.invalidate();
+        assertEquals(4, c.size());
+        assertFalse(c.isEmpty());
+        c.clear();
+        assertTrue(c.isEmpty());
+        c.setCached(false);
+        one.add((E) "5");
+        assertEquals(1, c.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCachedSizeReadByMutator() {
+        setUpTest();
+        one.add((E) "1");
+        c.addComposited(one);
+        c.setCached(true);
+        c.setMutator(new CompositeCollection.CollectionMutator<E>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public boolean add(final CompositeCollection<E> composite, final List<Collection<E>> collections, final E obj) {
+                // reads the size of the composite before changing it
+                return composite.size() >= 0 && collections.get(0).add(obj);
+            }
+
+            @Override
+            public boolean addAll(final CompositeCollection<E> composite,
+                    final List<Collection<E>> collections, final Collection<? extends E> coll) {
+                return composite.size() >= 0 && collections.get(0).addAll(coll);
+            }
+
+            @Override
+            public boolean remove(final CompositeCollection<E> composite,
+                    final List<Collection<E>> collections, final Object obj) {
+                return composite.size() >= 0 && collections.get(0).remove(obj);
+            }
+        });
+        assertEquals(1, c.size());
+        c.add((E) "2");
+        assertEquals(2, c.size());
+        c.addAll(Arrays.asList((E) "3", (E) "4"));
+        assertEquals(4, c.size());
+        c.remove("1");
+        assertEquals(3, c.size());
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     void testClear() {
@@ -435,6 +506,20 @@ public class CompositeCollectionTest<E> extends AbstractCollectionTest<E> {
         assertEquals(Integer.MAX_VALUE, composite.size());
     }
 
+    @Test
+    void testSpliterator() {
+        final CompositeCollection<Integer> composite = new CompositeCollection<>();
+        for (int i = 0; i < 30; i++) {
+            composite.addComposited(IntStream.range(i * 100, i * 100 + i).boxed().collect(Collectors.toList()));
+        }
+        final List<Integer> expected = new ArrayList<>(composite);
+        assertEquals(expected, StreamSupport.stream(composite.spliterator(), true).collect(Collectors.toList()));
+        assertEquals(expected, composite.parallelStream().collect(Collectors.toList()));
+        assertTrue(composite.spliterator().hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED));
+        assertEquals(expected.size(), composite.spliterator().getExactSizeIfKnown());
+        assertEquals(expected, Arrays.asList(composite.toArray()));
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     void testToCollection() {
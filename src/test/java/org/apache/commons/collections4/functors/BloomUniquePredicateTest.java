@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.functors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.collections4.Predicate;
+import org.apache.commons.collections4.bloomfilter.EnhancedDoubleHasher;
+import org.apache.commons.collections4.bloomfilter.Shape;
+import org.apache.commons.collections4.bloomfilter.SimpleBloomFilter;
+import org.junit.jupiter.api.Test;
+
+class BloomUniquePredicateTest extends AbstractPredicateTest {
+
+    @Override
+    protected Predicate<?> generatePredicate() {
+        return BloomUniquePredicate.bloomUniquePredicate(Shape.fromNP(100, 0.01));
+    }
+
+    @Test
+    void testFalsePositiveRate() {
+        final Predicate<Integer> predicate = BloomUniquePredicate.bloomUniquePredicate(Shape.fromNP(10000, 0.01));
+        int accepted = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (predicate.test(i)) {
+                accepted++;
+            }
+        }
+        // about 1% of the new elements may be rejected, and no duplicate is accepted
+        final int total = accepted;
+        assertTrue(total > 9800, () -> "accepted " + total);
+        for (int i = 0; i < 10000; i++) {
+            assertPredicateFalse(predicate, i);
+        }
+    }
+
+    @Test
+    void testHasherFunction() {
+        final Predicate<String> predicate = BloomUniquePredicate.bloomUniquePredicate(new SimpleBloomFilter(Shape.fromNP(100, 0.01)),
+                s -> new EnhancedDoubleHasher(s.getBytes(StandardCharsets.UTF_8)));
+        assertPredicateTrue(predicate, cString);
+        assertPredicateFalse(predicate, cString);
+        assertPredicateTrue(predicate, "World");
+        assertThrows(NullPointerException.class, () -> new BloomUniquePredicate<>(null, s -> null));
+        assertThrows(NullPointerException.class, () -> BloomUniquePredicate.bloomUniquePredicate((Shape) null));
+    }
+
+    @Test
+    void testNull() {
+        final Predicate<Object> predicate = BloomUniquePredicate.bloomUniquePredicate(Shape.fromNP(100, 0.01));
+        assertPredicateTrue(predicate, null);
+        assertPredicateFalse(predicate, null);
+        assertPredicateTrue(predicate, cObject);
+        assertPredicateFalse(predicate, cObject);
+    }
+
+    @Test
+    void testSlidingWindow() {
+        final Predicate<Integer> predicate = BloomUniquePredicate.bloomUniquePredicate(Shape.fromNP(100, 0.001), 100, 3);
+        for (int i = 0; i < 1000; i++) {
+            predicate.test(i);
+        }
+        // the oldest elements have been forgotten, the newest are remembered
+        int forgotten = 0;
+        for (int i = 0; i < 100; i++) {
+            if (predicate.test(i)) {
+                forgotten++;
+            }
+        }
+        final int total = forgotten;
+        assertTrue(total > 95, () -> "forgotten " + total);
+        final Predicate<Integer> recent = BloomUniquePredicate.bloomUniquePredicate(Shape.fromNP(100, 0.001), 100, 3);
+        for (int i = 0; i < 1000; i++) {
+            recent.test(i);
+        }
+        int remembered = 0;
+        for (int i = 950; i < 1000; i++) {
+            if (!recent.test(i)) {
+                remembered++;
+            }
+        }
+        assertEquals(50, remembered);
+        assertThrows(IllegalArgumentException.class, () -> BloomUniquePredicate.bloomUniquePredicate(Shape.fromNP(100, 0.01), 0, 3));
+        assertThrows(IllegalArgumentException.class, () -> BloomUniquePredicate.bloomUniquePredicate(Shape.fromNP(100, 0.01), 10, 0));
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.functors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.collections4.Predicate;
+import org.apache.commons.collections4.PredicateUtils;
+import org.junit.jupiter.api.Test;
+
+class CompiledPredicateTest extends AbstractPredicateTest {
+
+    private static final List<Object> INPUTS = Arrays.asList(null, -3, 0, 1, 2, 3, 4, 5, 8, 13, 21, "a", "bb", 2.5, 'c');
+
+    private static void assertEquivalent(final Predicate<Object> expected, final Predicate<Object> actual) {
+        for (final Object input : INPUTS) {
+            assertEquals(expected.test(input), actual.test(input), () -> String.valueOf(input));
+        }
+    }
+
+    private static Predicate<Object> intPredicate(final java.util.function.IntPredicate predicate) {
+        return o -> o instanceof Integer && predicate.test((Integer) o);
+    }
+
+    @Override
+    protected Predicate<?> generatePredicate() {
+        return CompiledPredicate.compiledPredicate(PredicateUtils.andPredicate(PredicateUtils.notNullPredicate(),
+                PredicateUtils.andPredicate(PredicateUtils.instanceofPredicate(String.class), PredicateUtils.equalPredicate("a"))), false);
+    }
+
+    @Test
+    void testAdaptiveReordering() {
+        final AtomicInteger slowCalls = new AtomicInteger();
+        final Predicate<Object> slow = o -> {
+            slowCalls.incrementAndGet();
+            return true;
+        };
+        final Predicate<Object> selective = intPredicate(i -> i % 10 == 0);
+        final Predicate<Object> tree = PredicateUtils.allPredicate(PredicateUtils.notPredicate(PredicateUtils.notPredicate(slow)),
+                PredicateUtils.notNullPredicate(), selective);
+        final CompiledPredicate<Object> compiled = (CompiledPredicate<Object>) PredicateUtils.compiledPredicate(tree, true);
+        assertFalse(compiled.isDisjunction());
+        assertSame(slow, compiled.getPredicates()[0]);
+        for (int i = 0; i < 2 * CompiledPredicate.REORDER_PERIOD; i++) {
+            assertEquals(i % 10 == 0, compiled.test(i));
+        }
+        assertSame(selective, compiled.getPredicates()[0]);
+        slowCalls.set(0);
+        for (int i = 0; i < 1000; i++) {
+            compiled.test(i);
+        }
+        assertEquals(100, slowCalls.get());
+        assertEquivalent(tree, compiled);
+    }
+
+    @Test
+    void testConstantsAndNegation() {
+        final Predicate<Object> positive = intPredicate(i -> i > 0);
+        assertSame(positive, PredicateUtils.compiledPredicate(PredicateUtils.notPredicate(PredicateUtils.notPredicate(positive))));
+        assertSame(FalsePredicate.INSTANCE, PredicateUtils.compiledPredicate(PredicateUtils.andPredicate(positive, FalsePredicate.INSTANCE)));
+        assertSame(TruePredicate.INSTANCE, PredicateUtils.compiledPredicate(PredicateUtils.orPredicate(TruePredicate.INSTANCE, positive)));
+        assertSame(positive, PredicateUtils.compiledPredicate(PredicateUtils.orPredicate(FalsePredicate.INSTANCE, positive)));
+        assertSame(NotNullPredicate.INSTANCE, PredicateUtils.compiledPredicate(PredicateUtils.notPredicate(PredicateUtils.nullPredicate())));
+        assertSame(TruePredicate.INSTANCE,
+                PredicateUtils.compiledPredicate(PredicateUtils.nonePredicate(FalsePredicate.INSTANCE, FalsePredicate.INSTANCE)));
+        final Predicate<Object> none = PredicateUtils.nonePredicate(positive, PredicateUtils.nullPredicate());
+        assertEquivalent(none, PredicateUtils.compiledPredicate(none));
+    }
+
+    @Test
+    void testDeduplication() {
+        final Predicate<Object> positive = intPredicate(i -> i > 0);
+        final Predicate<Object> tree = PredicateUtils.andPredicate(
+                PredicateUtils.andPredicate(PredicateUtils.instanceofPredicate(Integer.class), positive),
+                PredicateUtils.andPredicate(positive, PredicateUtils.instanceofPredicate(Integer.class)));
+        final CompiledPredicate<Object> compiled = (CompiledPredicate<Object>) PredicateUtils.compiledPredicate(tree);
+        assertEquals(2, compiled.getPredicates().length);
+        assertEquivalent(tree, compiled);
+        final Predicate<Object> equals = PredicateUtils.orPredicate(PredicateUtils.equalPredicate(3), PredicateUtils.equalPredicate(3));
+        assertInstanceOf(EqualPredicate.class, PredicateUtils.compiledPredicate(equals));
+    }
+
+    @Test
+    void testFlattening() {
+        final Predicate<Object> positive = intPredicate(i -> i > 0);
+        final Predicate<Object> even = intPredicate(i -> i % 2 == 0);
+        final Predicate<Object> small = intPredicate(i -> i < 10);
+        final Predicate<Object> odd = intPredicate(i -> i % 2 != 0);
+        final Predicate<Object> tree = PredicateUtils.orPredicate(
+                PredicateUtils.andPredicate(positive, PredicateUtils.allPredicate(even, PredicateUtils.andPredicate(small, positive))),
+                PredicateUtils.anyPredicate(PredicateUtils.orPredicate(odd, PredicateUtils.instanceofPredicate(String.class)),
+                        PredicateUtils.onePredicate(even, PredicateUtils.andPredicate(small, small))));
+        final CompiledPredicate<Object> compiled = (CompiledPredicate<Object>) PredicateUtils.compiledPredicate(tree);
+        assertTrue(compiled.isDisjunction());
+        assertEquals(4, compiled.getPredicates().length);
+        final CompiledPredicate<?> conjunction = (CompiledPredicate<?>) compiled.getPredicates()[0];
+        assertEquals(Arrays.asList(positive, even, small), Arrays.asList(conjunction.getPredicates()));
+        assertEquivalent(tree, compiled);
+        assertEquivalent(tree, PredicateUtils.compiledPredicate(tree, true));
+        assertEquivalent(tree, PredicateUtils.compiledPredicate(compiled));
+    }
+
+    @Test
+    void testMembership() {
+        final Predicate<Object> tree = PredicateUtils.anyPredicate(PredicateUtils.equalPredicate(1), PredicateUtils.equalPredicate("a"),
+                PredicateUtils.orPredicate(PredicateUtils.equalPredicate(8), PredicateUtils.nullPredicate()), PredicateUtils.equalPredicate(2.5));
+        final Predicate<Object> compiled = PredicateUtils.compiledPredicate(tree);
+        assertFalse(compiled instanceof CompiledPredicate);
+        assertEquivalent(tree, compiled);
+        final Predicate<Object> negative = intPredicate(i -> i < 0);
+        final Predicate<Object> mixed = PredicateUtils.orPredicate(negative, PredicateUtils.orPredicate(tree, PredicateUtils.equalPredicate(21)));
+        final CompiledPredicate<Object> compiledMixed = (CompiledPredicate<Object>) PredicateUtils.compiledPredicate(mixed);
+        assertEquals(2, compiledMixed.getPredicates().length);
+        assertSame(negative, compiledMixed.getPredicates()[0]);
+        assertEquivalent(mixed, compiledMixed);
+        // an equator keeps the clause apart
+        final Predicate<Object> equator = PredicateUtils.orPredicate(tree, EqualPredicate.<Object>equalPredicate(3, DefaultEquator.defaultEquator()));
+        assertEquivalent(equator, PredicateUtils.compiledPredicate(equator));
+    }
+
+    @Test
+    void testNullPredicate() {
+        assertThrows(NullPointerException.class, () -> PredicateUtils.compiledPredicate(null));
+        final Predicate<Object> leaf = PredicateUtils.instanceofPredicate(String.class);
+        assertSame(leaf, PredicateUtils.compiledPredicate(leaf, true));
+    }
+
+}
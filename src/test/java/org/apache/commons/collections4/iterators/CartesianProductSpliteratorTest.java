@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.iterators;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.collections4.IteratorUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the CartesianProductSpliterator.
+ */
+public class CartesianProductSpliteratorTest {
+
+    private static final List<Character> LETTERS = Arrays.asList('A', 'B', 'C');
+    private static final List<Character> NUMBERS = Arrays.asList('1', '2', '3', '4');
+    private static final List<Character> SYMBOLS = Arrays.asList('!', '?');
+
+    @Test
+    void testEmpty() {
+        assertEquals(0, new CartesianProductSpliterator<Character>().count());
+        final CartesianProductSpliterator<Character> spliterator =
+                new CartesianProductSpliterator<>(LETTERS, Collections.emptyList(), NUMBERS);
+        assertEquals(0, spliterator.estimateSize());
+        assertEquals(0, StreamSupport.stream(spliterator, false).count());
+        assertThrows(IndexOutOfBoundsException.class, () -> spliterator.get(0));
+        assertThrows(NullPointerException.class, () -> new CartesianProductSpliterator<>(LETTERS, null));
+    }
+
+    @Test
+    void testGetAndRank() {
+        final CartesianProductSpliterator<Character> spliterator =
+                new CartesianProductSpliterator<>(LETTERS, NUMBERS, SYMBOLS);
+        assertEquals(24, spliterator.count());
+        assertEquals(3, spliterator.width());
+        assertEquals(Arrays.asList('A', '1', '!'), spliterator.get(0));
+        assertEquals(Arrays.asList('B', '3', '?'), spliterator.get(spliterator.rank(1, 2, 1)));
+        assertEquals(13, spliterator.rank(1, 2, 1));
+        assertEquals(Arrays.asList('C', '4', '?'), spliterator.get(23));
+        assertThrows(IllegalArgumentException.class, () -> spliterator.rank(1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> spliterator.rank(1, 4, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> spliterator.get(24));
+    }
+
+    @Test
+    void testMatchesCartesianProductIterator() {
+        final List<List<Character>> expected =
+                IteratorUtils.toList(new CartesianProductIterator<>(LETTERS, NUMBERS, SYMBOLS));
+        final CartesianProductSpliterator<Character> spliterator =
+                new CartesianProductSpliterator<>(LETTERS, NUMBERS, SYMBOLS);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), spliterator.get(i));
+        }
+        assertEquals(expected, StreamSupport.stream(spliterator, false).collect(Collectors.toList()));
+        assertEquals(expected, StreamSupport.stream(new CartesianProductSpliterator<>(LETTERS, NUMBERS, SYMBOLS), true)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testOverflow() {
+        final List<Integer> big = Collections.nCopies(1 << 16, 0);
+        assertThrows(IllegalArgumentException.class, () -> new CartesianProductSpliterator<>(big, big, big, big));
+    }
+
+    @Test
+    void testSplit() {
+        final CartesianProductSpliterator<Character> suffix = new CartesianProductSpliterator<>(LETTERS, NUMBERS);
+        assertTrue(suffix.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED));
+        final Spliterator<List<Character>> prefix = suffix.trySplit();
+        final Spliterator<List<Character>> quarter = prefix.trySplit();
+        assertEquals(3, quarter.estimateSize());
+        assertEquals(3, prefix.estimateSize());
+        assertEquals(6, suffix.estimateSize());
+        final List<List<Character>> all = new ArrayList<>();
+        quarter.forEachRemaining(all::add);
+        prefix.forEachRemaining(all::add);
+        suffix.forEachRemaining(all::add);
+        assertEquals(IteratorUtils.toList(new CartesianProductIterator<>(LETTERS, NUMBERS)), all);
+        assertNull(suffix.trySplit());
+    }
+
+    @Test
+    void testTryAdvanceBuffer() {
+        final CartesianProductSpliterator<Character> spliterator = new CartesianProductSpliterator<>(LETTERS, NUMBERS);
+        spliterator.trySplit();
+        final Character[] buffer = new Character[2];
+        assertTrue(spliterator.tryAdvance(buffer));
+        assertArrayEquals(new Character[] {'B', '3'}, buffer);
+        assertTrue(spliterator.tryAdvance(buffer));
+        assertArrayEquals(new Character[] {'B', '4'}, buffer);
+        assertTrue(spliterator.tryAdvance(buffer));
+        assertArrayEquals(new Character[] {'C', '1'}, buffer);
+        assertThrows(IllegalArgumentException.class, () -> spliterator.tryAdvance(new Character[1]));
+    }
+
+}
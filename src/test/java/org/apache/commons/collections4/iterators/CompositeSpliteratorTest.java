@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.iterators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the CompositeSpliterator.
+ */
+public class CompositeSpliteratorTest {
+
+    private static List<Integer> range(final int from, final int to) {
+        return IntStream.range(from, to).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    void testCharacteristics() {
+        final CompositeSpliterator<Integer> lists =
+                new CompositeSpliterator<>(Arrays.asList(range(0, 3), range(3, 5)), 0);
+        assertTrue(lists.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals(5, lists.getExactSizeIfKnown());
+        final CompositeSpliterator<Integer> mixed = new CompositeSpliterator<>(
+                Arrays.asList(range(0, 3), new HashSet<>(range(3, 5))), Spliterator.DISTINCT);
+        assertFalse(mixed.hasCharacteristics(Spliterator.ORDERED));
+        assertTrue(mixed.hasCharacteristics(Spliterator.DISTINCT | Spliterator.SIZED));
+        assertThrows(NullPointerException.class, () -> new CompositeSpliterator<>(Arrays.asList(range(0, 3), null), 0));
+    }
+
+    @Test
+    void testEmpty() {
+        final CompositeSpliterator<Integer> spliterator = new CompositeSpliterator<>(Collections.emptyList(), 0);
+        assertEquals(0, spliterator.estimateSize());
+        assertNull(spliterator.trySplit());
+        assertFalse(spliterator.tryAdvance(e -> { }));
+        final List<List<Integer>> empties = Arrays.asList(range(0, 0), range(0, 0), range(0, 1));
+        assertEquals(range(0, 1), StreamSupport.stream(new CompositeSpliterator<>(empties, 0), false)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testParallelStream() {
+        final List<List<Integer>> parts = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            parts.add(range(i * 1000, i * 1000 + (i % 3) * 1000));
+        }
+        final List<Integer> expected = parts.stream().flatMap(List::stream).collect(Collectors.toList());
+        assertEquals(expected, StreamSupport.stream(new CompositeSpliterator<>(parts, 0), true)
+                .collect(Collectors.toList()));
+        assertEquals(expected.stream().mapToLong(Integer::longValue).sum(),
+                StreamSupport.stream(new CompositeSpliterator<>(parts, 0), true).mapToLong(Integer::longValue).sum());
+    }
+
+    @Test
+    void testSplit() {
+        final CompositeSpliterator<Integer> suffix = new CompositeSpliterator<>(
+                Arrays.asList(range(0, 6), range(6, 8), range(8, 10), range(10, 12)), 0);
+        final Spliterator<Integer> prefix = suffix.trySplit();
+        // the first list holds half of the elements
+        assertEquals(6, prefix.estimateSize());
+        assertEquals(6, suffix.estimateSize());
+        final Spliterator<Integer> quarter = suffix.trySplit();
+        assertEquals(2, quarter.estimateSize());
+        // a single list is split by its own spliterator
+        final Spliterator<Integer> within = prefix.trySplit();
+        assertEquals(3, within.estimateSize());
+        final List<Integer> all = new ArrayList<>();
+        within.forEachRemaining(all::add);
+        prefix.forEachRemaining(all::add);
+        quarter.forEachRemaining(all::add);
+        assertTrue(suffix.tryAdvance(all::add));
+        suffix.forEachRemaining(all::add);
+        assertEquals(range(0, 12), all);
+    }
+
+    @Test
+    void testSplitAfterAdvance() {
+        final CompositeSpliterator<Integer> suffix = new CompositeSpliterator<>(
+                Arrays.asList(range(0, 2), range(2, 4), range(4, 6)), 0);
+        final List<Integer> all = new ArrayList<>();
+        assertTrue(suffix.tryAdvance(all::add));
+        final Spliterator<Integer> prefix = suffix.trySplit();
+        prefix.forEachRemaining(all::add);
+        suffix.forEachRemaining(all::add);
+        assertEquals(range(0, 6), all);
+    }
+
+}
@@ -23,9 +23,13 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.apache.commons.collections4.IteratorUtils;
 import org.apache.commons.collections4.Transformer;
@@ -126,6 +130,9 @@ class ObjectGraphIteratorTest extends AbstractIteratorTest<Object> {
 
     }
 
+    /** Walks nested lists, returning the other objects. */
+    private static final Transformer<Object, Object> LIST_WALKER = o -> o instanceof List ? ((List<?>) o).iterator() : o;
+
     protected String[] testArray = { "One", "Two", "Three", "Four", "Five", "Six" };
 
     protected List<String> list1;
@@ -165,6 +172,31 @@ class ObjectGraphIteratorTest extends AbstractIteratorTest<Object> {
         iteratorList.add(list3.iterator());
     }
 
+    @Test
+    void testIteration_BreadthFirst() {
+        final List<Object> root = Arrays.asList("a", Arrays.asList("b", Arrays.asList("c")), "d", Arrays.asList("e"));
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"),
+                IteratorUtils.toList(new ObjectGraphIterator<>(root, LIST_WALKER, false, false)));
+        assertEquals(Arrays.asList("a", "d", "b", "e", "c"),
+                IteratorUtils.toList(new ObjectGraphIterator<>(root, LIST_WALKER, true, false)));
+    }
+
+    @Test
+    void testIteration_DeepGraph() {
+        Object root = Collections.singletonList("leaf");
+        for (int i = 0; i < 100_000; i++) {
+            root = Collections.singletonList(root);
+        }
+        assertEquals(Collections.singletonList("leaf"), IteratorUtils.toList(new ObjectGraphIterator<>(root, LIST_WALKER)));
+        final List<Iterator<String>> iterators = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            iterators.add(IteratorUtils.<String>emptyIterator());
+        }
+        iterators.add(list1.iterator());
+        final Iterator<Object> it = new ObjectGraphIterator<>(iterators.iterator());
+        assertEquals("One", it.next());
+    }
+
     @Test
     void testIteration_IteratorOfIterators() {
         final List<Iterator<String>> iteratorList = new ArrayList<>();
@@ -303,6 +335,26 @@ class ObjectGraphIteratorTest extends AbstractIteratorTest<Object> {
         assertThrows(NoSuchElementException.class, () -> it.next());
     }
 
+    @Test
+    void testIteration_VisitOnce() {
+        final List<Object> shared = Arrays.asList("x", "y");
+        final List<Object> root = Arrays.asList(shared, "z", shared);
+        assertEquals(Arrays.asList("x", "y", "z", "x", "y"),
+                IteratorUtils.toList(new ObjectGraphIterator<>(root, LIST_WALKER)));
+        assertEquals(Arrays.asList("x", "y", "z"), IteratorUtils.toList(new ObjectGraphIterator<>(root, LIST_WALKER, false, true)));
+        assertEquals(Arrays.asList("z", "x", "y"), IteratorUtils.toList(new ObjectGraphIterator<>(root, LIST_WALKER, true, true)));
+        final List<Object> cycle = new ArrayList<>();
+        cycle.add("a");
+        cycle.add(cycle);
+        cycle.add("b");
+        assertEquals(Arrays.asList("a", "b"), IteratorUtils.toList(new ObjectGraphIterator<>(cycle, LIST_WALKER, true, true)));
+        assertEquals(Arrays.asList("a", "b"), IteratorUtils.toList(new ObjectGraphIterator<>(cycle, LIST_WALKER, false, true)));
+        // elements shared by identity are returned each time they are found
+        final List<Object> leaves = Arrays.asList(Integer.valueOf(1), Boolean.TRUE, "s", Arrays.asList(Integer.valueOf(1), Boolean.TRUE, "s"));
+        assertEquals(Arrays.asList(1, true, "s", 1, true, "s"), IteratorUtils.toList(new ObjectGraphIterator<>(leaves, LIST_WALKER, false, true)));
+        assertEquals(Arrays.asList(1, true, "s", 1, true, "s"), IteratorUtils.toList(new ObjectGraphIterator<>(leaves, LIST_WALKER, true, true)));
+    }
+
     @Test
     void testIteratorConstructor_null_next() {
         final Iterator<Object> it = new ObjectGraphIterator<>(null);
@@ -409,4 +461,45 @@ class ObjectGraphIteratorTest extends AbstractIteratorTest<Object> {
         assertEquals(0, list3.size());
     }
 
+    @Test
+    void testParallelForEach() {
+        final List<Object> root = new ArrayList<>();
+        final List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final List<Object> branch = new ArrayList<>();
+            for (int j = 0; j < 100; j++) {
+                branch.add(Collections.singletonList(i * 100 + j));
+                expected.add(i * 100 + j);
+            }
+            root.add(branch);
+        }
+        final Queue<Object> seen = new ConcurrentLinkedQueue<>();
+        ObjectGraphIterator.parallelForEach(root, LIST_WALKER, false, seen::add);
+        final List<Object> actual = new ArrayList<>(seen);
+        actual.sort(null);
+        assertEquals(expected, actual);
+
+        final List<Object> shared = Arrays.asList("x", "y");
+        final List<Object> cycle = new ArrayList<>(Arrays.asList(shared, shared, "z"));
+        cycle.add(cycle);
+        seen.clear();
+        ObjectGraphIterator.parallelForEach(cycle, LIST_WALKER, true, seen::add);
+        assertEquals(3, seen.size());
+        assertTrue(seen.containsAll(Arrays.asList("x", "y", "z")));
+
+        final List<Object> leaves = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            leaves.add(Arrays.asList(Integer.valueOf(1), Boolean.TRUE, shared));
+        }
+        seen.clear();
+        ObjectGraphIterator.parallelForEach(leaves, LIST_WALKER, true, seen::add);
+        assertEquals(202, seen.size());
+        assertEquals(100, seen.stream().filter(Boolean.TRUE::equals).count());
+
+        assertThrows(IllegalStateException.class, () -> ObjectGraphIterator.parallelForEach(root, LIST_WALKER, false, o -> {
+            throw new IllegalStateException();
+        }));
+        assertThrows(NullPointerException.class, () -> ObjectGraphIterator.parallelForEach(root, LIST_WALKER, false, null));
+    }
+
 }
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.iterators;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.collections4.IteratorUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the PermutationSpliterator.
+ */
+public class PermutationSpliteratorTest {
+
+    private static final List<Character> ELEMENTS = Arrays.asList('A', 'B', 'C', 'D');
+
+    @Test
+    void testEmptyAndSingleton() {
+        final PermutationSpliterator<Character> empty = new PermutationSpliterator<>(Collections.emptyList());
+        assertEquals(1, empty.count());
+        assertEquals(Collections.singletonList(Collections.emptyList()),
+                StreamSupport.stream(empty, false).collect(Collectors.toList()));
+        final PermutationSpliterator<Character> singleton = new PermutationSpliterator<>(Collections.singleton('A'));
+        assertEquals(Collections.singletonList(Collections.singletonList('A')),
+                StreamSupport.stream(singleton, false).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testGetAndRank() {
+        final PermutationSpliterator<Character> spliterator = new PermutationSpliterator<>(ELEMENTS);
+        assertEquals(24, spliterator.count());
+        assertEquals(ELEMENTS, spliterator.get(0));
+        assertEquals(Arrays.asList('D', 'C', 'B', 'A'), spliterator.get(23));
+        assertEquals(Arrays.asList('A', 'B', 'D', 'C'), spliterator.get(1));
+        assertEquals(Arrays.asList('B', 'A', 'C', 'D'), spliterator.get(6));
+        for (long rank = 0; rank < spliterator.count(); rank++) {
+            final int[] positions = spliterator.get(rank).stream().mapToInt(ELEMENTS::indexOf).toArray();
+            assertEquals(rank, PermutationSpliterator.rank(positions));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> spliterator.get(24));
+        assertThrows(IndexOutOfBoundsException.class, () -> spliterator.get(-1));
+        assertThrows(IllegalArgumentException.class, () -> PermutationSpliterator.rank(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> PermutationSpliterator.rank(0, 2));
+    }
+
+    @Test
+    void testLargeRanks() {
+        final List<Integer> twenty = IntStream.range(0, PermutationSpliterator.MAX_SIZE).boxed()
+                .collect(Collectors.toList());
+        final PermutationSpliterator<Integer> spliterator = new PermutationSpliterator<>(twenty);
+        final List<Integer> reversed = new ArrayList<>(twenty);
+        Collections.reverse(reversed);
+        assertEquals(reversed, spliterator.get(spliterator.count() - 1));
+        final long rank = spliterator.count() / 3;
+        final int[] positions = spliterator.get(rank).stream().mapToInt(Integer::intValue).toArray();
+        assertEquals(rank, PermutationSpliterator.rank(positions));
+        twenty.add(20);
+        assertThrows(IllegalArgumentException.class, () -> new PermutationSpliterator<>(twenty));
+    }
+
+    @Test
+    void testMatchesPermutationIterator() {
+        final List<List<Character>> ordered = StreamSupport.stream(new PermutationSpliterator<>(ELEMENTS), false)
+                .collect(Collectors.toList());
+        assertEquals(24, ordered.size());
+        assertEquals(new HashSet<>(IteratorUtils.toList(new PermutationIterator<>(ELEMENTS))), new HashSet<>(ordered));
+        for (int i = 0; i < ordered.size(); i++) {
+            assertEquals(new PermutationSpliterator<>(ELEMENTS).get(i), ordered.get(i));
+        }
+    }
+
+    @Test
+    void testParallelStream() {
+        final List<Integer> elements = IntStream.range(0, 8).boxed().collect(Collectors.toList());
+        final Set<List<Integer>> permutations = StreamSupport.stream(new PermutationSpliterator<>(elements), true)
+                .collect(Collectors.toSet());
+        assertEquals(40320, permutations.size());
+    }
+
+    @Test
+    void testSplit() {
+        final PermutationSpliterator<Character> suffix = new PermutationSpliterator<>(ELEMENTS);
+        assertTrue(suffix.tryAdvance(t -> { }));
+        assertTrue(suffix.hasCharacteristics(Spliterator.SUBSIZED));
+        final Spliterator<List<Character>> prefix = suffix.trySplit();
+        assertEquals(11, prefix.estimateSize());
+        assertEquals(12, suffix.estimateSize());
+        final List<List<Character>> all = new ArrayList<>();
+        all.add(ELEMENTS);
+        prefix.forEachRemaining(all::add);
+        suffix.forEachRemaining(all::add);
+        final PermutationSpliterator<Character> whole = new PermutationSpliterator<>(ELEMENTS);
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(whole.get(i), all.get(i));
+        }
+        assertEquals(24, all.size());
+        assertNull(suffix.trySplit());
+    }
+
+    @Test
+    void testTryAdvanceBuffer() {
+        final PermutationSpliterator<Character> spliterator = new PermutationSpliterator<>(ELEMENTS);
+        final Character[] buffer = new Character[4];
+        assertThrows(IllegalArgumentException.class, () -> spliterator.tryAdvance(new Character[3]));
+        int count = 0;
+        while (spliterator.tryAdvance(buffer)) {
+            count++;
+        }
+        assertEquals(24, count);
+        assertArrayEquals(new Character[] {'D', 'C', 'B', 'A'}, buffer);
+        assertFalse(spliterator.tryAdvance(buffer));
+        assertArrayEquals(new Character[] {'B', 'A', 'C', 'D'}, spliterator.get(6, buffer));
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.iterators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.collections4.IteratorUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the PipelineIterator.
+ */
+public class PipelineIteratorTest extends AbstractIteratorTest<String> {
+
+    private static final List<String> ELEMENTS = Arrays.asList("a", "bb", "c", "dd", "a", "eee", "c", "ff");
+
+    @Override
+    public Iterator<String> makeEmptyIterator() {
+        return PipelineIterator.builder(new ArrayList<String>().iterator()).filter(s -> true).build();
+    }
+
+    @Override
+    public Iterator<String> makeObject() {
+        return PipelineIterator.builder(new ArrayList<>(ELEMENTS).iterator()).filter(s -> s.length() > 1).build();
+    }
+
+    @Test
+    void testForEachRemaining() {
+        final PipelineIterator<Integer> it = PipelineIterator.builder(ELEMENTS.iterator())
+                .skip(1).transform(String::length).limit(5).build();
+        assertEquals(2, it.next());
+        final List<Integer> rest = new ArrayList<>();
+        assertTrue(it.hasNext());
+        it.forEachRemaining(rest::add);
+        assertEquals(Arrays.asList(1, 2, 1, 3), rest);
+        assertFalse(it.hasNext());
+        assertThrows(IllegalStateException.class, it::remove);
+    }
+
+    @Test
+    void testLimitOnInfiniteSource() {
+        final Iterator<Integer> it = IteratorUtils.pipeline(Stream.iterate(0, i -> i + 1).iterator())
+                .filter(i -> i % 3 == 0).limit(4).build();
+        assertEquals(Arrays.asList(0, 3, 6, 9), IteratorUtils.toList(it));
+        assertTrue(IteratorUtils.toList(IteratorUtils.pipeline(Stream.iterate(0, i -> i + 1).iterator())
+                .limit(0).build()).isEmpty());
+    }
+
+    @Test
+    void testMatchesNestedDecorators() {
+        final List<String> expected = ELEMENTS.stream().filter(s -> !s.startsWith("b")).map(String::toUpperCase)
+                .distinct().skip(1).limit(3).collect(Collectors.toList());
+        final Iterator<String> it = PipelineIterator.builder(ELEMENTS.iterator()).filter(s -> !s.startsWith("b"))
+                .transform(String::toUpperCase).unique().skip(1).limit(3).build();
+        assertEquals(expected, IteratorUtils.toList(it));
+        assertEquals(Arrays.asList("C", "DD", "EEE"), expected);
+    }
+
+    @Test
+    void testNegativeCounts() {
+        final PipelineIterator.Builder<String> builder = PipelineIterator.builder(ELEMENTS.iterator());
+        assertThrows(IllegalArgumentException.class, () -> builder.limit(-1));
+        assertThrows(IllegalArgumentException.class, () -> builder.skip(-1));
+        assertThrows(NullPointerException.class, () -> builder.filter(null));
+        assertThrows(NullPointerException.class, () -> builder.transform(null));
+        assertThrows(NullPointerException.class, () -> PipelineIterator.builder(null));
+    }
+
+    @Test
+    void testRemoveFromSource() {
+        final List<String> list = new ArrayList<>(ELEMENTS);
+        final Iterator<String> it = PipelineIterator.builder(list.iterator()).filter(s -> s.length() == 2).build();
+        assertEquals("bb", it.next());
+        it.remove();
+        assertEquals("dd", it.next());
+        assertTrue(it.hasNext());
+        assertThrows(IllegalStateException.class, it::remove);
+        assertEquals(Arrays.asList("a", "c", "dd", "a", "eee", "c", "ff"), list);
+    }
+
+    @Test
+    void testTryAdvance() {
+        final PipelineIterator<String> it = PipelineIterator.builder(ELEMENTS.iterator()).unique().skip(4).build();
+        final List<String> seen = new ArrayList<>();
+        assertTrue(it.tryAdvance(seen::add));
+        assertTrue(it.tryAdvance(seen::add));
+        assertFalse(it.tryAdvance(seen::add));
+        assertEquals(Arrays.asList("eee", "ff"), seen);
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+
+    @Test
+    void testUnmodifiable() {
+        final Iterator<String> it = PipelineIterator.builder(Collections.singletonList("a").iterator()).unmodifiable()
+                .build();
+        assertEquals("a", it.next());
+        assertThrows(UnsupportedOperationException.class, it::remove);
+    }
+
+}
@@ -25,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -32,6 +33,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Random;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -460,6 +462,70 @@ public class CursorableLinkedListTest<E> extends AbstractLinkedListTest<E> {
         it.close();
     }
 
+    @Test
+    void testCursorsNotifiedByPosition() {
+        final CursorableLinkedList<Integer> numbers = new CursorableLinkedList<>();
+        for (int i = 0; i < 100; i++) {
+            numbers.add(i);
+        }
+        final Random random = new Random(7);
+        final List<CursorableLinkedList.Cursor<Integer>> cursors = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            cursors.add(numbers.cursor(random.nextInt(numbers.size() + 1)));
+        }
+        for (int step = 0; step < 2000; step++) {
+            final CursorableLinkedList.Cursor<Integer> cursor = cursors.get(random.nextInt(cursors.size()));
+            switch (random.nextInt(6)) {
+            case 0:
+                numbers.add(random.nextInt(numbers.size() + 1), -step);
+                break;
+            case 1:
+                if (!numbers.isEmpty()) {
+                    numbers.remove(random.nextInt(numbers.size()));
+                }
+                break;
+            case 2:
+                if (cursor.hasNext()) {
+                    cursor.next();
+                }
+                break;
+            case 3:
+                if (cursor.hasPrevious()) {
+                    // previous() then next(), as an insertion right after the last node returned
+                    // by previous() moves the cursor onto the new node without updating its index
+                    cursor.previous();
+                    cursor.next();
+                }
+                break;
+            case 4:
+                cursor.add(step);
+                break;
+            default:
+                if (cursor.current != null) {
+                    cursor.remove();
+                }
+                break;
+            }
+            for (final CursorableLinkedList.Cursor<Integer> each : cursors) {
+                // the next node is still linked, at the index the cursor reports
+                int index = 0;
+                AbstractLinkedList.Node<Integer> node = numbers.header.next;
+                while (node != each.next && node != numbers.header) {
+                    index++;
+                    node = node.next;
+                }
+                assertSame(each.next, node);
+                assertEquals(index, each.nextIndex());
+            }
+        }
+        final CursorableLinkedList.Cursor<Integer> closed = cursors.get(0);
+        closed.close();
+        assertNull(closed.reference);
+        numbers.add(0, -1);
+        numbers.clear();
+        assertEquals(0, cursors.get(1).nextIndex());
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     void testEqualsAndHashCode() {
@@ -650,7 +716,8 @@ public class CursorableLinkedListTest<E> extends AbstractLinkedListTest<E> {
 
         assertEquals("B", list.remove(1));
 
-        assertFalse(c1.nextIndexValid);
+        // the removal is away from the cursor, whose next index is recounted rather than notified
+        assertEquals(2, c1.nextIndex());
         assertFalse(c1.currentRemovedByAnother);
         assertEquals("C", c1.current.value);
         assertEquals("D", c1.next.value);
@@ -22,8 +22,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
@@ -141,6 +143,68 @@ public class DefaultAbstractLinkedListJava21Test<E> extends AbstractListTest<E>
         assertThrows(IndexOutOfBoundsException.class, () -> list.getNode(3, true), "Expecting IndexOutOfBoundsException.");
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetNodeAfterClear() {
+        resetEmpty();
+        final AbstractLinkedListJava21<E> list = getCollection();
+        for (int i = 0; i < 10; i++) {
+            list.add((E) Integer.toString(i));
+        }
+        assertEquals("7", list.get(7));
+        list.clear();
+        for (int i = 0; i < 5; i++) {
+            list.add((E) Integer.toString(-i));
+        }
+        assertEquals("-4", list.get(4));
+        assertEquals("-3", list.get(3));
+        list.removeFirst();
+        assertEquals("-3", list.get(2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetNodeNearPreviousIndex() {
+        resetEmpty();
+        final AbstractLinkedListJava21<E> list = getCollection();
+        final List<E> expected = new ArrayList<>();
+        final Random random = new Random(3);
+        int index = 0;
+        for (int i = 0; i < 3000; i++) {
+            // mostly walk near the previous index, sometimes jump
+            index = random.nextInt(8) == 0 ? random.nextInt(expected.size() + 1)
+                    : Math.max(0, Math.min(expected.size(), index + random.nextInt(5) - 2));
+            switch (random.nextInt(4)) {
+            case 0:
+            case 1:
+                final E value = (E) Integer.toString(i);
+                list.add(index, value);
+                expected.add(index, value);
+                break;
+            case 2:
+                if (index < expected.size()) {
+                    assertEquals(expected.remove(index), list.remove(index));
+                }
+                break;
+            default:
+                if (index < expected.size()) {
+                    assertEquals(expected.get(index), list.get(index));
+                    assertEquals(expected.set(index, (E) "set"), list.set(index, (E) "set"));
+                }
+                break;
+            }
+            if (!expected.isEmpty() && random.nextInt(50) == 0) {
+                // a change by node, which forgets the node last found
+                list.removeNode(list.getNode(0, false));
+                expected.remove(0);
+            }
+        }
+        assertEquals(expected, list);
+        for (int i = expected.size() - 1; i >= 0; i--) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     void testRemoveFirst() {
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.list;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the {@link SetUniqueListTest} tests against a {@link SetUniqueList} decorating an
+ * {@link IndexedUniqueList}.
+ *
+ * @param <E> the type of elements in the list.
+ */
+public class IndexedSetUniqueListTest<E> extends SetUniqueListTest<E> {
+
+    @Override
+    public List<E> makeObject() {
+        return SetUniqueList.indexedSetUniqueList(Collections.emptyList());
+    }
+
+    @Test
+    void testFactoryCopies() {
+        final List<Integer> list = new ArrayList<>(Arrays.asList(1, 2, 3, 2, 1));
+        final SetUniqueList<Integer> unique = SetUniqueList.indexedSetUniqueList(list);
+        assertInstanceOf(IndexedUniqueList.class, unique.decorated());
+        assertEquals(Arrays.asList(1, 2, 3), unique);
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3)), unique.asSet());
+        assertEquals(5, list.size());
+        assertThrows(NullPointerException.class, () -> SetUniqueList.indexedSetUniqueList(null));
+    }
+
+    @Test
+    void testMatchesSetUniqueList() {
+        final Random random = new Random(42);
+        final SetUniqueList<Integer> indexed = SetUniqueList.indexedSetUniqueList(Collections.emptyList());
+        final SetUniqueList<Integer> expected = SetUniqueList.setUniqueList(new ArrayList<>());
+        for (int i = 0; i < 5000; i++) {
+            final int op = random.nextInt(10);
+            final Integer value = random.nextInt(500);
+            if (op < 4 || expected.isEmpty()) {
+                assertEquals(expected.add(value), indexed.add(value));
+            } else if (op < 5) {
+                final int index = random.nextInt(expected.size() + 1);
+                expected.add(index, value);
+                indexed.add(index, value);
+            } else if (op < 7) {
+                final int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, value), indexed.set(index, value));
+            } else if (op < 8) {
+                assertEquals(expected.remove(value), indexed.remove(value));
+            } else {
+                final int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), indexed.remove(index));
+            }
+            assertEquals(expected.indexOf(value), indexed.indexOf(value));
+            assertEquals(expected.lastIndexOf(value), indexed.lastIndexOf(value));
+            assertEquals(expected.size(), indexed.size());
+        }
+        assertEquals(expected, indexed);
+        assertEquals(expected.asSet(), indexed.asSet());
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.list;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Extension of {@link AbstractListTest} for exercising the {@link IndexedUniqueList} implementation.
+ *
+ * @param <E> the type of elements in the list.
+ */
+public class IndexedUniqueListTest<E> extends AbstractListTest<E> {
+
+    @Override
+    public String getCompatibilityVersion() {
+        return "4.6.1";
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E[] getFullNonNullElements() {
+        // override to avoid duplicate "One"
+        return (E[]) new Object[] {
+            StringUtils.EMPTY,
+            "One",
+            Integer.valueOf(2),
+            "Three",
+            Integer.valueOf(4),
+            Double.valueOf(5),
+            Float.valueOf(6),
+            "Seven",
+            "Eight",
+            "Nine",
+            Integer.valueOf(10),
+            Short.valueOf((short) 11),
+            Long.valueOf(12),
+            "Thirteen",
+            "14",
+            "15",
+            Byte.valueOf((byte) 16)
+        };
+    }
+
+    @Override
+    public List<E> makeObject() {
+        return new IndexedUniqueList<>();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAddDuplicates() {
+        final List<E> list = makeObject();
+        assertTrue(list.add((E) "a"));
+        assertFalse(list.add((E) "a"));
+        list.add(0, (E) "a");
+        assertTrue(list.addAll(0, Arrays.asList((E) "b", (E) "a", (E) "b", (E) "c")));
+        assertEquals(Arrays.asList("b", "c", "a"), list);
+        assertThrows(IllegalArgumentException.class, () -> list.set(0, (E) "a"));
+        assertEquals("b", list.set(0, (E) "d"));
+        assertEquals(Arrays.asList("d", "c", "a"), list);
+    }
+
+    @Test
+    @Override
+    public void testCollectionAddAll() {
+        // override for set behavior
+        resetEmpty();
+        E[] elements = getFullElements();
+        boolean r = getCollection().addAll(Arrays.asList(elements));
+        getConfirmed().addAll(Arrays.asList(elements));
+        verify();
+        assertTrue(r, "Empty collection should change after addAll");
+
+        resetFull();
+        final int size = getCollection().size();
+        elements = getOtherElements();
+        r = getCollection().addAll(Arrays.asList(elements));
+        getConfirmed().addAll(Arrays.asList(elements));
+        verify();
+        assertTrue(r, "Full collection should change after addAll");
+        assertEquals(size + elements.length, getCollection().size(), "Size should increase after addAll");
+    }
+
+    @Test
+    @Override
+    public void testListIteratorAdd() {
+        // override to add elements not yet in the list
+        resetEmpty();
+        final E[] elements = getOtherElements();
+        ListIterator<E> iter1 = getCollection().listIterator();
+        ListIterator<E> iter2 = getConfirmed().listIterator();
+        for (final E element : elements) {
+            iter1.add(element);
+            iter2.add(element);
+            verify();
+        }
+
+        resetFull();
+        iter1 = getCollection().listIterator();
+        iter2 = getConfirmed().listIterator();
+        for (final E element : elements) {
+            iter1.next();
+            iter2.next();
+            iter1.add(element);
+            iter2.add(element);
+            verify();
+        }
+    }
+
+    @Test
+    @Override
+    public void testListSetByIndex() {
+        // override for set behavior
+        resetFull();
+        final E[] other = getOtherElements();
+        for (int i = 0; i < other.length && i < getCollection().size(); i++) {
+            assertEquals(getConfirmed().set(i, other[i]), getCollection().set(i, other[i]));
+            verify();
+        }
+        final E first = getCollection().get(0);
+        assertThrows(IllegalArgumentException.class, () -> getCollection().set(1, first));
+        verify();
+    }
+
+    @Test
+    void testMatchesArrayList() {
+        final Random random = new Random(42);
+        final IndexedUniqueList<Integer> list = new IndexedUniqueList<>();
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            final int op = random.nextInt(10);
+            if (op < 5 || expected.isEmpty()) {
+                final Integer value = random.nextInt(3000);
+                if (!expected.contains(value)) {
+                    expected.add(value);
+                }
+                list.add(value);
+            } else if (op < 6) {
+                final Integer value = 3000 + i;
+                final int index = random.nextInt(expected.size() + 1);
+                expected.add(index, value);
+                list.add(index, value);
+            } else if (op < 8) {
+                final int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else {
+                final Integer value = random.nextInt(3000);
+                assertEquals(expected.remove(value), list.remove(value));
+            }
+            final Integer probe = random.nextInt(3000);
+            assertEquals(expected.indexOf(probe), list.indexOf(probe));
+            assertEquals(expected.size(), list.size());
+        }
+        assertEquals(expected, list);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+            assertEquals(i, list.indexOf(expected.get(i)));
+        }
+        final Iterator<Integer> it = list.iterator();
+        while (it.hasNext()) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        expected.removeIf(e -> e % 2 == 0);
+        assertEquals(expected, list);
+        assertEquals(expected, new IndexedUniqueList<>(expected));
+    }
+
+//    void testCreate() throws Exception {
+//        resetEmpty();
+//        writeExternalFormToDisk((java.io.Serializable) getCollection(),
+//            "src/test/resources/org/apache/commons/collections4/data/test/IndexedUniqueList.emptyCollection.version4.6.1.obj");
+//        resetFull();
+//        writeExternalFormToDisk((java.io.Serializable) getCollection(),
+//            "src/test/resources/org/apache/commons/collections4/data/test/IndexedUniqueList.fullCollection.version4.6.1.obj");
+//    }
+
+}
@@ -20,10 +20,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 
@@ -346,6 +349,22 @@ public class TreeListTest<E> extends AbstractListTest<E> {
         assertEquals("harald", l.get(i++));
     }
 
+    @Test
+    void testSpliterator() {
+        final TreeList<Integer> list = new TreeList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+        final Spliterator<Integer> spliterator = list.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+        assertEquals(500, prefix.getExactSizeIfKnown());
+        assertEquals(500, spliterator.getExactSizeIfKnown());
+
+        assertEquals(new ArrayList<>(list), list.parallelStream().collect(Collectors.toList()));
+        assertEquals(499500, list.parallelStream().mapToInt(Integer::intValue).sum());
+    }
+
     @Test
     void testTreeListIteratorConstruction() throws Throwable {
         final TreeList<String> treeList = new TreeList<>();
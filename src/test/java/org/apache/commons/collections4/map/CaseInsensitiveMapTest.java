@@ -17,12 +17,15 @@
 package org.apache.commons.collections4.map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.InvalidObjectException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -84,6 +87,27 @@ public class CaseInsensitiveMapTest<K, V> extends AbstractIterableMapTest<K, V>
         assertThrows(InvalidObjectException.class, () -> serializeDeserialize(map));
     }
 
+    @Test
+    void testFoldedLookups() {
+        final CaseInsensitiveMap<Object, String> map = new CaseInsensitiveMap<>();
+        map.put("Content-Type", "text/plain");
+        map.put("\u00C9T\u00C9", "summer");
+        map.put(new StringBuilder("X-Request-ID"), "42");
+        assertEquals("text/plain", map.get("content-type"));
+        assertEquals("text/plain", map.get("CONTENT-TYPE"));
+        assertEquals("summer", map.get("\u00E9t\u00E9"));
+        assertEquals("42", map.get("x-request-id"));
+        assertTrue(map.containsKey(new StringBuilder("X-REQUEST-ID")));
+        assertFalse(map.containsKey("content-typ"));
+        assertFalse(map.containsKey("content-typf"));
+        assertEquals(new HashSet<>(Arrays.asList("content-type", "\u00E9t\u00E9", "x-request-id")), map.keySet());
+        // hash codes agree with the lowercase keys
+        final CaseInsensitiveMap<Object, String> copy = new CaseInsensitiveMap<>(map);
+        assertEquals(map, copy);
+        assertEquals("text/plain", copy.remove("Content-TYPE"));
+        assertEquals(2, copy.size());
+    }
+
     /**
      * Test for <a href="https://issues.apache.org/jira/browse/COLLECTIONS-323">COLLECTIONS-323</a>.
      */
@@ -27,6 +27,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -122,6 +123,47 @@ public class CompositeMapTest<K, V> extends AbstractIterableMapTest<K, V> {
         assertThrows(IllegalArgumentException.class, () -> map.addComposited(three));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCachedContainsKey() {
+        final Map<K, V> one = buildOne();
+        final Map<K, V> two = buildTwo();
+        final CompositeMap<K, V> map = new CompositeMap<>(one, two, new EmptyMapMutator<>());
+        map.setCached(true);
+        assertTrue(map.isCached());
+        assertTrue(map.containsKey("1"));
+        assertEquals("four", map.get("4"));
+        assertFalse(map.containsKey("5"));
+        assertEquals("two", map.remove("2"));
+        assertFalse(map.containsKey("2"));
+        // a direct addition is seen once invalidated
+        two.put((K) "6", (V) "six");
+        map.invalidate();
+        assertEquals("six", map.get("6"));
+        final HashMap<K, V> three = new HashMap<>();
+        three.put((K) "5", (V) "five");
+        map.addComposited(three);
+        assertTrue(map.containsKey("5"));
+        map.removeComposited(three);
+        assertFalse(map.containsKey("5"));
+        assertEquals(new HashMap<>(map), map);
+    }
+
+    @Test
+    void testCachedContainsKeyNotHashBased() {
+        final Map<String, Integer> sorted = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        sorted.put("abc", 1);
+        final Map<String, Integer> insensitive = new CaseInsensitiveMap<>();
+        insensitive.put("def", 2);
+        final CompositeMap<String, Integer> map = new CompositeMap<>(sorted, insensitive);
+        map.setCached(true);
+        assertEquals(1, map.get("ABC"));
+        assertTrue(map.containsKey("aBc"));
+        assertEquals(2, map.get("DEF"));
+        assertTrue(map.containsKey("dEf"));
+        assertFalse(map.containsKey("ghi"));
+    }
+
     @Test
     void testGet() {
         final CompositeMap<K, V> map = new CompositeMap<>(buildOne(), buildTwo());
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.commons.collections4.BulkTest;
+import org.apache.commons.collections4.IterableMap;
+import org.apache.commons.collections4.MapIterator;
+import org.apache.commons.collections4.iterators.AbstractMapIteratorTest;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link FlatNMap}.
+ * <p>
+ * The map under test is created with a capacity large enough to hold all the sample
+ * mappings in flat mode, so the bulk tests exercise the flat arrays.
+ * </p>
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public class FlatNMapTest<K, V> extends AbstractIterableMapTest<K, V> {
+
+    @Nested
+    public class FlatMapIteratorTest extends AbstractMapIteratorTest<K, V> {
+
+        @Override
+        public V[] addSetValues() {
+            return getNewSampleValues();
+        }
+
+        @Override
+        public Map<K, V> getConfirmedMap() {
+            // assumes makeFullMapIterator() called first
+            return getConfirmed();
+        }
+
+        @Override
+        public IterableMap<K, V> getMap() {
+            // assumes makeFullMapIterator() called first
+            return FlatNMapTest.this.getMap();
+        }
+
+        @Override
+        public MapIterator<K, V> makeEmptyIterator() {
+            resetEmpty();
+            return FlatNMapTest.this.getMap().mapIterator();
+        }
+
+        @Override
+        public MapIterator<K, V> makeObject() {
+            resetFull();
+            return FlatNMapTest.this.getMap().mapIterator();
+        }
+
+        @Override
+        public boolean supportsRemove() {
+            return isRemoveSupported();
+        }
+
+        @Override
+        public boolean supportsSetValue() {
+            return isSetValueSupported();
+        }
+
+        @Override
+        public void verify() {
+            super.verify();
+            FlatNMapTest.this.verify();
+        }
+    }
+
+    private static final Integer ONE = Integer.valueOf(1);
+    private static final Integer TWO = Integer.valueOf(2);
+    private static final Integer THREE = Integer.valueOf(3);
+    private static final Integer FOUR = Integer.valueOf(4);
+
+    @Override
+    public BulkTest bulkTestMapIterator() {
+        return new FlatMapIteratorTest();
+    }
+
+    @Override
+    public String getCompatibilityVersion() {
+        return "4.6.1";
+    }
+
+    @Override
+    public FlatNMap<K, V> makeObject() {
+        return new FlatNMap<>(32);
+    }
+
+    @Test
+    void testCapacity() {
+        assertEquals(FlatNMap.DEFAULT_CAPACITY, new FlatNMap<>().capacity());
+        assertEquals(5, new FlatNMap<>(5).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new FlatNMap<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new FlatNMap<>(FlatNMap.MAXIMUM_CAPACITY + 1));
+    }
+
+    @Test
+    void testClone() {
+        final FlatNMap<Integer, Integer> map = new FlatNMap<>(3);
+        map.put(ONE, ONE);
+        map.put(TWO, TWO);
+        final FlatNMap<Integer, Integer> flatClone = map.clone();
+        map.put(THREE, THREE);
+        assertEquals(2, flatClone.size());
+        assertFalse(flatClone.containsKey(THREE));
+
+        map.put(FOUR, FOUR);
+        final FlatNMap<Integer, Integer> delegateClone = map.clone();
+        map.clear();
+        assertEquals(4, delegateClone.size());
+        assertEquals(FOUR, delegateClone.get(FOUR));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void testConvertToDelegateAndBack() {
+        final FlatNMap<Integer, Integer> map = new FlatNMap<>(3);
+        map.put(ONE, ONE);
+        map.put(null, TWO);
+        map.put(THREE, null);
+        assertEquals(3, map.size());
+        map.put(FOUR, FOUR);
+        assertEquals(4, map.size());
+        assertEquals(ONE, map.get(ONE));
+        assertEquals(TWO, map.get(null));
+        assertTrue(map.containsKey(THREE));
+        assertTrue(map.containsValue(null));
+        assertEquals(FOUR, map.get(FOUR));
+        map.clear();
+        assertTrue(map.isEmpty());
+        map.put(TWO, TWO);
+        assertEquals(TWO, map.get(TWO));
+        assertEquals("{2=2}", map.toString());
+    }
+
+    @Test
+    void testEntryIteratorRemove() {
+        final FlatNMap<Integer, Integer> map = new FlatNMap<>();
+        map.put(ONE, ONE);
+        map.put(TWO, TWO);
+        map.put(THREE, THREE);
+        final Iterator<Map.Entry<Integer, Integer>> it = map.entrySet().iterator();
+        final Map.Entry<Integer, Integer> first = it.next();
+        it.remove();
+        assertThrows(IllegalStateException.class, first::getKey);
+        assertThrows(IllegalStateException.class, it::remove);
+        int count = 0;
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+        assertEquals(2, count);
+        assertEquals(2, map.size());
+        assertFalse(map.containsKey(ONE));
+    }
+
+    @Test
+    void testKeySetIteratorRemoveAll() {
+        final FlatNMap<Integer, Integer> map = new FlatNMap<>();
+        map.put(ONE, ONE);
+        map.put(TWO, TWO);
+        map.put(THREE, THREE);
+        map.put(FOUR, FOUR);
+        final Map<Integer, Integer> seen = new HashMap<>();
+        for (final Iterator<Integer> it = map.keySet().iterator(); it.hasNext();) {
+            final Integer key = it.next();
+            seen.put(key, key);
+            it.remove();
+        }
+        assertEquals(4, seen.size());
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testPutAllLargerThanCapacity() {
+        final Map<Integer, Integer> source = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            source.put(i, i);
+        }
+        final FlatNMap<Integer, Integer> map = new FlatNMap<>(4);
+        map.putAll(source);
+        assertEquals(source, map);
+        assertEquals(source.hashCode(), map.hashCode());
+    }
+
+    @Test
+    void testRemove() {
+        final FlatNMap<Integer, Integer> map = new FlatNMap<>();
+        map.put(ONE, ONE);
+        map.put(null, TWO);
+        map.put(THREE, THREE);
+        assertEquals(TWO, map.remove(null));
+        assertNull(map.remove(null));
+        assertEquals(ONE, map.remove(ONE));
+        assertEquals(THREE, map.get(THREE));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSerializationKeepsCapacity() throws Exception {
+        final FlatNMap<Integer, Integer> map = new FlatNMap<>(5);
+        map.put(ONE, ONE);
+        map.put(TWO, TWO);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(map);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final FlatNMap<Integer, Integer> ser = (FlatNMap<Integer, Integer>) in.readObject();
+            assertEquals(5, ser.capacity());
+            assertEquals(map, ser);
+        }
+    }
+
+//    void testCreate() throws Exception {
+//        resetEmpty();
+//        writeExternalFormToDisk(
+//            (java.io.Serializable) map,
+//            "src/test/resources/data/test/FlatNMap.emptyCollection.version4.6.1.obj");
+//        resetFull();
+//        writeExternalFormToDisk(
+//            (java.io.Serializable) map,
+//            "src/test/resources/data/test/FlatNMap.fullCollection.version4.6.1.obj");
+//    }
+
+}
@@ -17,10 +17,14 @@
 package org.apache.commons.collections4.map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.InvalidObjectException;
+import java.util.Spliterator;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -82,6 +86,24 @@ public class HashedMapTest<K, V> extends AbstractIterableMapTest<K, V> {
         assertEquals(1, map.data.length);
     }
 
+    @Test
+    void testSpliterator() {
+        final HashedMap<Integer, Integer> map = new HashedMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i * 2);
+        }
+        final Spliterator<Integer> spliterator = map.keySet().spliterator();
+        assertEquals(1000, spliterator.getExactSizeIfKnown());
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        assertFalse(prefix.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(1000, prefix.estimateSize() + spliterator.estimateSize());
+
+        assertEquals(499500, map.keySet().parallelStream().mapToInt(Integer::intValue).sum());
+        assertEquals(999000, map.values().parallelStream().mapToInt(Integer::intValue).sum());
+        assertTrue(map.entrySet().parallelStream().allMatch(e -> e.getValue() == e.getKey() * 2));
+    }
+
     @Test
     void testInternalState() {
         final HashedMap<Integer, Integer> map = new HashedMap<>(42, 0.75f);
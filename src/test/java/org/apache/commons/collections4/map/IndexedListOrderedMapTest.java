@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import java.util.HashMap;
+
+import org.apache.commons.collections4.list.IndexedUniqueList;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the {@link ListOrderedMapTest} tests against a {@link ListOrderedMap} keeping its order in an
+ * {@link IndexedUniqueList}.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public class IndexedListOrderedMapTest<K, V> extends ListOrderedMapTest<K, V> {
+
+    @Override
+    public ListOrderedMap<K, V> makeObject() {
+        return ListOrderedMap.listOrderedMap(new HashMap<>(), new IndexedUniqueList<>());
+    }
+
+    @Test
+    void testLargeMapRemoval() {
+        final ListOrderedMap<Integer, String> map = ListOrderedMap.listOrderedMap(new HashMap<>(), new IndexedUniqueList<>());
+        final int size = 200_000;
+        for (int i = 0; i < size; i++) {
+            map.put(i, Integer.toString(i));
+        }
+        for (int i = 0; i < size; i += 2) {
+            map.remove(Integer.valueOf(i));
+        }
+        assertEquals(size / 2, map.size());
+        assertEquals(1, map.indexOf(3));
+        assertEquals(Integer.valueOf(7), map.nextKey(5));
+        assertEquals(Integer.valueOf(3), map.previousKey(5));
+        assertNull(map.previousKey(1));
+        assertEquals(Integer.valueOf(size - 1), map.lastKey());
+        assertEquals("5", map.remove(2));
+        assertEquals(Integer.valueOf(7), map.get(2));
+        map.put(0, 5, "five");
+        assertEquals(0, map.indexOf(5));
+        assertThrows(IllegalArgumentException.class,
+                () -> ListOrderedMap.listOrderedMap(new HashMap<>(), new IndexedUniqueList<>(Collections.singleton("x"))));
+    }
+
+}
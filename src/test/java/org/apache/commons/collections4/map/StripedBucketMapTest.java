@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link StripedBucketMap}.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public class StripedBucketMapTest<K, V> extends AbstractIterableMapTest<K, V> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isFailFastExpected() {
+        return false;
+    }
+
+    @Override
+    public StripedBucketMap<K, V> makeObject() {
+        // small stripes so the bulk tests rehash
+        return new StripedBucketMap<>(4, 2);
+    }
+
+    @Test
+    void testAtomicKeyCompoundUpdate() throws InterruptedException {
+        final StripedBucketMap<String, Integer> map = new StripedBucketMap<>();
+        final int threads = 4;
+        final int increments = 1000;
+        final List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final Thread worker = new Thread(() -> {
+                for (int i = 0; i < increments; i++) {
+                    map.atomic("counter", () -> {
+                        final Integer current = map.get("counter");
+                        map.put("counter", current == null ? 1 : current + 1);
+                    });
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (final Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(threads * increments, map.get("counter"));
+    }
+
+    @Test
+    void testConcurrentReadsDuringRehash() throws InterruptedException {
+        final StripedBucketMap<Integer, Integer> map = new StripedBucketMap<>(2, 1);
+        final int count = 20000;
+        // keys present from the start must stay visible while the stripes grow
+        for (int i = 0; i < 100; i++) {
+            map.put(-i - 1, i);
+        }
+        final AtomicBoolean failed = new AtomicBoolean();
+        final AtomicBoolean done = new AtomicBoolean();
+        final Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                for (int i = 0; i < 100; i++) {
+                    if (!Integer.valueOf(i).equals(map.get(-i - 1))) {
+                        failed.set(true);
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < count; i++) {
+            map.put(i, i);
+        }
+        done.set(true);
+        reader.join();
+        assertFalse(failed.get());
+        assertEquals(count + 100, map.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(Integer.valueOf(i), map.get(i));
+        }
+    }
+
+    @Test
+    void testGrowAndClear() {
+        final StripedBucketMap<Integer, Integer> map = new StripedBucketMap<>(3, 1);
+        assertEquals(4, map.getStripeCount());
+        for (int i = 0; i < 1000; i++) {
+            assertNull(map.put(i, i));
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(Integer.valueOf(i), map.remove(i));
+        }
+        assertEquals(500, map.size());
+        assertFalse(map.containsKey(0));
+        assertTrue(map.containsKey(1));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testNullKey() {
+        final StripedBucketMap<K, V> map = new StripedBucketMap<>();
+        map.put(null, (V) "A");
+        assertTrue(map.containsKey(null));
+        assertEquals("A", map.get(null));
+        for (int i = 'A'; i <= 'Z'; i++) {
+            final String str = String.valueOf((char) i);
+            assertFalse(map.containsKey(str), "String: " + str);
+            assertNull(map.get(str), "String: " + str);
+        }
+        assertEquals("A", map.remove(null));
+        assertFalse(map.containsKey(null));
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.apache.commons.collections4.ListValuedMap;
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.collection.AbstractCollectionTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link CompactListValuedHashMap}.
+ */
+public class CompactListValuedHashMapTest<K, V> extends AbstractMultiValuedMapTest<K, V> {
+
+    @Override
+    public String getCompatibilityVersion() {
+        return "4.6.1";
+    }
+
+    @Override
+    protected int getIterationBehaviour() {
+        return AbstractCollectionTest.UNORDERED;
+    }
+
+    @Override
+    public MultiValuedMap<K, V> makeConfirmedMap() {
+        return new ArrayListValuedHashMap<>();
+    }
+
+    @Override
+    public ListValuedMap<K, V> makeObject() {
+        return new CompactListValuedHashMap<>();
+    }
+
+    @Test
+    void testInverted() {
+        final CompactListValuedHashMap<String, String> shopping = new CompactListValuedHashMap<>(4);
+        shopping.put("Alice", "Bread");
+        shopping.put("Alice", "Milk");
+        shopping.put("Bob", "Bread");
+        final ListValuedMap<String, String> inverted = shopping.inverted();
+        assertEquals(Arrays.asList("Alice"), inverted.get("Milk"));
+        assertEquals(2, inverted.get("Bread").size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLiveViewAcrossPromotion() {
+        final ListValuedMap<K, V> listMap = makeObject();
+        final List<V> list = listMap.get((K) "A");
+        list.add((V) "a1");
+        assertEquals(Arrays.asList("a1"), listMap.get((K) "A"));
+        listMap.put((K) "A", (V) "a2");
+        assertEquals(Arrays.asList("a1", "a2"), list);
+        assertTrue(listMap.removeMapping("A", "a1"));
+        assertEquals(Arrays.asList("a2"), list);
+        assertEquals("a2", list.remove(0));
+        assertFalse(listMap.containsKey("A"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testListValuedMapAddViaListIterator() {
+        final ListValuedMap<K, V> listMap = makeObject();
+        final ListIterator<V> listIt = listMap.get((K) "B").listIterator();
+        listIt.add((V) "b1");
+        listIt.add((V) "b2");
+        listIt.add((V) "b3");
+        assertEquals(3, listMap.size());
+        assertEquals("{B=[b1, b2, b3]}", listMap.toString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTrimToSize() {
+        final CompactListValuedHashMap<K, V> listMap = new CompactListValuedHashMap<>(4);
+        listMap.put((K) "A", (V) "W");
+        listMap.put((K) "A", (V) "X");
+        listMap.put((K) "B", (V) "F");
+        listMap.trimToSize();
+        assertEquals(2, listMap.get((K) "A").size());
+        assertEquals(1, listMap.get((K) "B").size());
+        listMap.put((K) "A", (V) "Y");
+        assertEquals("{A=[W, X, Y], B=[F]}", listMap.toString());
+    }
+
+//    void testCreate() throws Exception {
+//        writeExternalFormToDisk((java.io.Serializable) makeObject(),
+//                "src/test/resources/org/apache/commons/collections4/data/test/CompactListValuedHashMap.emptyCollection.version4.6.1.obj");
+//        writeExternalFormToDisk((java.io.Serializable) makeFullMap(),
+//                "src/test/resources/org/apache/commons/collections4/data/test/CompactListValuedHashMap.fullCollection.version4.6.1.obj");
+//    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.collections4.list.AbstractListTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Extension of {@link AbstractListTest} for exercising the {@link CompactValueList}.
+ */
+public class CompactValueListTest<E> extends AbstractListTest<E> {
+
+    @Override
+    public boolean isTestSerialization() {
+        return false;
+    }
+
+    @Override
+    public List<E> makeObject() {
+        return new CompactValueList<>();
+    }
+
+    @Test
+    void testInlineAndPromote() {
+        final CompactValueList<String> list = new CompactValueList<>();
+        list.add("b");
+        assertEquals(Arrays.asList("b"), list);
+        list.add(0, "a");
+        assertEquals(Arrays.asList("a", "b"), list);
+        list.add("c");
+        list.add("d");
+        list.add("e");
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), list);
+        list.trimToSize();
+        list.add(2, "x");
+        assertEquals(Arrays.asList("a", "b", "x", "c", "d", "e"), list);
+        list.subList(1, 5).clear();
+        assertEquals(Arrays.asList("a", "e"), list);
+        assertEquals("a", list.remove(0));
+        assertEquals(Arrays.asList("e"), list);
+        assertEquals("e", list.set(0, "f"));
+        assertEquals("f", list.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(2, "g"));
+    }
+
+    @Test
+    void testArrayElementInline() {
+        // an inline element which is itself an array must not be mistaken for the element array
+        final CompactValueList<Object> list = new CompactValueList<>();
+        final Object[] element = { "a", "b" };
+        list.add(element);
+        assertEquals(1, list.size());
+        assertEquals(element, list.get(0));
+        list.add("c");
+        list.remove(1);
+        assertEquals(element, list.get(0));
+    }
+
+}
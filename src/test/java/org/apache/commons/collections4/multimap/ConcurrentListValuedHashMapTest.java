@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.apache.commons.collections4.ListValuedMap;
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.collection.AbstractCollectionTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ConcurrentListValuedHashMap}.
+ */
+public class ConcurrentListValuedHashMapTest<K, V> extends AbstractMultiValuedMapTest<K, V> {
+
+    @Override
+    public String getCompatibilityVersion() {
+        return "4.6.1";
+    }
+
+    @Override
+    protected int getIterationBehaviour() {
+        return AbstractCollectionTest.UNORDERED;
+    }
+
+    @Override
+    public boolean isAllowNullKey() {
+        return false;
+    }
+
+    @Override
+    public MultiValuedMap<K, V> makeConfirmedMap() {
+        return new ArrayListValuedHashMap<>();
+    }
+
+    @Override
+    public ListValuedMap<K, V> makeObject() {
+        return new ConcurrentListValuedHashMap<>();
+    }
+
+    @Test
+    void testConcurrentPut() throws InterruptedException {
+        final ConcurrentListValuedHashMap<Integer, Integer> map = new ConcurrentListValuedHashMap<>();
+        final int threads = 4;
+        final int values = 1000;
+        final List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final Thread worker = new Thread(() -> {
+                for (int i = 0; i < values; i++) {
+                    map.put(i % 4, i);
+                    map.get(i % 4).remove(Integer.valueOf(i));
+                    map.put(i % 4, i);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (final Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(threads * values, map.size());
+        assertEquals(4, map.keySet().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testListIteratorIsReadOnlySnapshot() {
+        final ListValuedMap<K, V> listMap = makeObject();
+        listMap.get((K) "A").addAll(Arrays.asList((V) "W", (V) "X"));
+        final ListIterator<V> it = listMap.get((K) "A").listIterator();
+        listMap.put((K) "A", (V) "F");
+        assertEquals("W", it.next());
+        assertEquals("X", it.next());
+        assertFalse(it.hasNext());
+        assertThrows(UnsupportedOperationException.class, () -> it.add((V) "Q"));
+        assertEquals(3, listMap.get((K) "A").size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testListValuedMapAddByIndexInvalidIndexLeavesKeyAbsent() {
+        final ListValuedMap<K, V> listMap = makeObject();
+        final List<V> list = listMap.get((K) "A");
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(1, (V) "a1"));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.set(0, (V) "a1"));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(0));
+        assertFalse(listMap.containsKey("A"));
+        assertEquals(0, listMap.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testListValuedMapRemove() {
+        final ListValuedMap<K, V> listMap = makeObject();
+        final List<V> list = listMap.get((K) "A");
+        list.add((V) "a1");
+        list.add((V) "a2");
+        list.add((V) "a3");
+        assertEquals(3, listMap.size());
+        assertEquals("a1", list.remove(0));
+        assertEquals(2, listMap.size());
+        assertEquals("a2", list.remove(0));
+        assertEquals("a3", list.set(0, (V) "a4"));
+        assertEquals("a4", list.remove(0));
+        assertEquals(0, listMap.size());
+        assertFalse(listMap.containsKey("A"));
+    }
+
+    @Test
+    void testWrappedListAddAll() {
+        final ListValuedMap<K, V> listMap = makeObject();
+        final List<V> listA = listMap.get((K) "A");
+        listA.addAll(0, Arrays.asList((V) "W", (V) "X", (V) "F"));
+        listA.add(1, (V) "Q");
+        assertEquals("{A=[W, Q, X, F]}", listMap.toString());
+        assertEquals(3, listA.indexOf("F"));
+        assertEquals(-1, listA.lastIndexOf("A"));
+        assertTrue(listA.retainAll(Arrays.asList("W", "F")));
+        assertEquals(Arrays.asList("W", "F"), listA);
+        listA.clear();
+        assertTrue(listMap.isEmpty());
+    }
+
+//    void testCreate() throws Exception {
+//        writeExternalFormToDisk((java.io.Serializable) makeObject(),
+//                "src/test/resources/org/apache/commons/collections4/data/test/ConcurrentListValuedHashMap.emptyCollection.version4.6.1.obj");
+//        writeExternalFormToDisk((java.io.Serializable) makeFullMap(),
+//                "src/test/resources/org/apache/commons/collections4/data/test/ConcurrentListValuedHashMap.fullCollection.version4.6.1.obj");
+//    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.SetValuedMap;
+import org.apache.commons.collections4.collection.AbstractCollectionTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ConcurrentSetValuedHashMap}.
+ */
+public class ConcurrentSetValuedHashMapTest<K, V> extends AbstractMultiValuedMapTest<K, V> {
+
+    @Override
+    public String getCompatibilityVersion() {
+        return "4.6.1";
+    }
+
+    @Override
+    protected int getIterationBehaviour() {
+        return AbstractCollectionTest.UNORDERED;
+    }
+
+    @Override
+    public boolean isAllowNullKey() {
+        return false;
+    }
+
+    @Override
+    public boolean isHashSetValue() {
+        return true;
+    }
+
+    @Override
+    public MultiValuedMap<K, V> makeConfirmedMap() {
+        return new HashSetValuedHashMap<>();
+    }
+
+    @Override
+    public SetValuedMap<K, V> makeObject() {
+        return new ConcurrentSetValuedHashMap<>();
+    }
+
+    @Test
+    void testConcurrentPutAndRemoveMapping() throws InterruptedException {
+        final ConcurrentSetValuedHashMap<Integer, Integer> map = new ConcurrentSetValuedHashMap<>();
+        final int threads = 4;
+        final int values = 2000;
+        final AtomicBoolean failed = new AtomicBoolean();
+        final List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int offset = t * values;
+            final Thread worker = new Thread(() -> {
+                for (int i = 0; i < values; i++) {
+                    map.put(i % 8, offset + i);
+                    // the key must never be dropped while a value is added
+                    if (i % 2 == 1 && !map.removeMapping(i % 8, offset + i)) {
+                        failed.set(true);
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (final Thread worker : workers) {
+            worker.join();
+        }
+        assertFalse(failed.get());
+        assertEquals(threads * values / 2, map.size());
+        for (final Map.Entry<Integer, Integer> entry : map.entries()) {
+            assertEquals(0, entry.getValue() % 2);
+        }
+    }
+
+    @Test
+    void testEntriesWeaklyConsistent() {
+        final ConcurrentSetValuedHashMap<String, String> map = new ConcurrentSetValuedHashMap<>();
+        map.put("A", "a1");
+        map.put("B", "b1");
+        map.put("C", "c1");
+        final Iterator<Map.Entry<String, String>> it = map.entries().iterator();
+        map.remove("A");
+        map.remove("B");
+        map.remove("C");
+        // does not fail even though the keys are gone
+        while (it.hasNext()) {
+            it.next();
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testInverted() {
+        final ConcurrentSetValuedHashMap<String, String> dependencies = new ConcurrentSetValuedHashMap<>();
+        dependencies.put("commons-configuration2", "commons-logging");
+        dependencies.put("commons-configuration2", "commons-lang3");
+        dependencies.put("commons-beanutils", "commons-logging");
+        final Set<String> loggingUsages = dependencies.inverted().get("commons-logging");
+        assertEquals(2, loggingUsages.size());
+        assertTrue(loggingUsages.contains("commons-beanutils"));
+        assertTrue(loggingUsages.contains("commons-configuration2"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSetValuedMapRemoveViaIterator() {
+        final SetValuedMap<K, V> setMap = makeObject();
+        final Set<V> set = setMap.get((K) "A");
+        set.add((V) "a1");
+        set.add((V) "a2");
+        set.add((V) "a1");
+
+        final Iterator<V> it = set.iterator();
+        while (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+        assertEquals(0, setMap.size());
+        assertFalse(setMap.containsKey("A"));
+    }
+
+//    void testCreate() throws Exception {
+//        writeExternalFormToDisk((java.io.Serializable) makeObject(),
+//                "src/test/resources/org/apache/commons/collections4/data/test/ConcurrentSetValuedHashMap.emptyCollection.version4.6.1.obj");
+//        writeExternalFormToDisk((java.io.Serializable) makeFullMap(),
+//                "src/test/resources/org/apache/commons/collections4/data/test/ConcurrentSetValuedHashMap.fullCollection.version4.6.1.obj");
+//    }
+
+}
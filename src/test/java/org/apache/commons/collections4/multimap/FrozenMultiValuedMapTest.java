@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.collections4.MapIterator;
+import org.apache.commons.collections4.MultiMapUtils;
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.ResettableIterator;
+import org.apache.commons.collections4.collection.AbstractCollectionTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link FrozenMultiValuedMap}.
+ */
+public class FrozenMultiValuedMapTest<K, V> extends AbstractMultiValuedMapTest<K, V> {
+
+    @Override
+    public String getCompatibilityVersion() {
+        return "4.6.1";
+    }
+
+    @Override
+    protected int getIterationBehaviour() {
+        return AbstractCollectionTest.UNORDERED;
+    }
+
+    @Override
+    public boolean isAddSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isRemoveSupported() {
+        return false;
+    }
+
+    @Override
+    protected MultiValuedMap<K, V> makeFullMap() {
+        final MultiValuedMap<K, V> map = new ArrayListValuedHashMap<>();
+        addSampleMappings(map);
+        return FrozenMultiValuedMap.frozenMultiValuedMap(map);
+    }
+
+    @Override
+    public MultiValuedMap<K, V> makeObject() {
+        return FrozenMultiValuedMap.frozenMultiValuedMap(new ArrayListValuedHashMap<K, V>());
+    }
+
+    @Test
+    void testFactory() {
+        final MultiValuedMap<K, V> map = makeFullMap();
+        assertSame(map, FrozenMultiValuedMap.frozenMultiValuedMap(map));
+        assertSame(map, MultiMapUtils.freeze(map));
+        assertThrows(NullPointerException.class, () -> FrozenMultiValuedMap.frozenMultiValuedMap(null));
+    }
+
+    @Test
+    void testGetIsListView() {
+        final ArrayListValuedHashMap<String, String> source = new ArrayListValuedHashMap<>();
+        source.put("A", "a1");
+        source.put("A", "a2");
+        source.put("A", "a1");
+        source.put(null, "n");
+        source.put("B", null);
+        final FrozenMultiValuedMap<String, String> frozen = FrozenMultiValuedMap.frozenMultiValuedMap(source);
+        source.put("C", "c1");
+        assertFalse(frozen.containsKey("C"));
+        assertEquals(source.get("A"), frozen.get("A"));
+        assertEquals(2, frozen.get("A").lastIndexOf("a1"));
+        assertEquals(Collections.singletonList("n"), frozen.get(null));
+        assertEquals(Collections.singletonList(null), frozen.get("B"));
+        assertTrue(frozen.containsMapping("B", null));
+        assertTrue(frozen.get("C").isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> frozen.get("A").add("a3"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.get("A").set(0, "a3"));
+        assertEquals(5, frozen.size());
+        assertEquals(3, frozen.keys().getCount("A"));
+    }
+
+    @Test
+    void testManyKeys() {
+        final ArrayListValuedHashMap<Integer, Integer> source = new ArrayListValuedHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            source.put(i % 300, i);
+        }
+        final FrozenMultiValuedMap<Integer, Integer> frozen = FrozenMultiValuedMap.frozenMultiValuedMap(source);
+        assertEquals(source, frozen);
+        assertEquals(frozen, source);
+        assertEquals(source.hashCode(), frozen.hashCode());
+        assertEquals(source.toString(), frozen.toString());
+        for (int i = 0; i < 300; i++) {
+            assertEquals(source.get(i), frozen.get(i));
+        }
+        assertFalse(frozen.containsKey(300));
+        assertFalse(frozen.containsKey("0"));
+    }
+
+    @Test
+    void testMapIteratorReset() {
+        final ArrayListValuedHashMap<String, String> source = new ArrayListValuedHashMap<>();
+        source.putAll("A", Arrays.asList("a1", "a2"));
+        source.put("B", "b1");
+        final MapIterator<String, String> it = FrozenMultiValuedMap.frozenMultiValuedMap(source).mapIterator();
+        final List<String> first = new ArrayList<>();
+        while (it.hasNext()) {
+            first.add(it.next() + "=" + it.getValue());
+        }
+        assertEquals(3, first.size());
+        ((ResettableIterator<String>) it).reset();
+        assertThrows(IllegalStateException.class, it::getKey);
+        assertTrue(it.hasNext());
+        assertEquals(first.get(0), it.next() + "=" + it.getValue());
+        assertThrows(UnsupportedOperationException.class, it::remove);
+    }
+
+//    void testCreate() throws Exception {
+//        writeExternalFormToDisk((java.io.Serializable) makeObject(),
+//                "src/test/resources/org/apache/commons/collections4/data/test/FrozenMultiValuedMap.emptyCollection.version4.6.1.obj");
+//        writeExternalFormToDisk((java.io.Serializable) makeFullMap(),
+//                "src/test/resources/org/apache/commons/collections4/data/test/FrozenMultiValuedMap.fullCollection.version4.6.1.obj");
+//    }
+
+}
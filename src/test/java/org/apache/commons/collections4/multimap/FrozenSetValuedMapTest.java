@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.multimap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.collections4.MultiMapUtils;
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.SetValuedMap;
+import org.apache.commons.collections4.collection.AbstractCollectionTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link FrozenSetValuedMap}.
+ */
+public class FrozenSetValuedMapTest<K, V> extends AbstractMultiValuedMapTest<K, V> {
+
+    @Override
+    public String getCompatibilityVersion() {
+        return "4.6.1";
+    }
+
+    @Override
+    protected int getIterationBehaviour() {
+        return AbstractCollectionTest.UNORDERED;
+    }
+
+    @Override
+    public boolean isAddSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isHashSetValue() {
+        return true;
+    }
+
+    @Override
+    public boolean isRemoveSupported() {
+        return false;
+    }
+
+    @Override
+    public MultiValuedMap<K, V> makeConfirmedMap() {
+        return new HashSetValuedHashMap<>();
+    }
+
+    @Override
+    protected MultiValuedMap<K, V> makeFullMap() {
+        final SetValuedMap<K, V> map = new HashSetValuedHashMap<>();
+        addSampleMappings(map);
+        return FrozenSetValuedMap.frozenSetValuedMap(map);
+    }
+
+    @Override
+    public SetValuedMap<K, V> makeObject() {
+        return FrozenSetValuedMap.frozenSetValuedMap(new HashSetValuedHashMap<K, V>());
+    }
+
+    @Test
+    void testFactory() {
+        final SetValuedMap<K, V> map = (SetValuedMap<K, V>) makeFullMap();
+        assertSame(map, FrozenSetValuedMap.frozenSetValuedMap(map));
+        assertSame(map, MultiMapUtils.freeze(map));
+        assertThrows(NullPointerException.class, () -> FrozenSetValuedMap.frozenSetValuedMap(null));
+    }
+
+    @Test
+    void testFreezeEqualsSource() {
+        final HashSetValuedHashMap<String, String> source = new HashSetValuedHashMap<>();
+        source.putAll("A", Arrays.asList("a1", "a2", "a3"));
+        source.put("B", "b1");
+        source.put(null, null);
+        final MultiValuedMap<String, String> frozen = MultiMapUtils.freeze(source);
+        assertInstanceOf(SetValuedMap.class, frozen);
+        assertEquals(source, frozen);
+        assertEquals(frozen, source);
+        assertEquals(source.hashCode(), frozen.hashCode());
+        assertEquals(source.asMap(), frozen.asMap());
+        final Set<String> values = ((SetValuedMap<String, String>) frozen).get("A");
+        assertEquals(new HashSet<>(Arrays.asList("a1", "a2", "a3")), values);
+        assertTrue(values.contains("a2"));
+        assertFalse(values.contains("b1"));
+        assertTrue(((SetValuedMap<String, String>) frozen).get("C").isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> values.add("a4"));
+        assertThrows(UnsupportedOperationException.class, () -> values.remove("a1"));
+        source.put("C", "c1");
+        assertFalse(frozen.containsKey("C"));
+        // a list-valued map is still frozen into a list-valued copy
+        final ArrayListValuedHashMap<String, String> list = new ArrayListValuedHashMap<>(source);
+        assertEquals(list, MultiMapUtils.freeze(list));
+    }
+
+//    void testCreate() throws Exception {
+//        writeExternalFormToDisk((java.io.Serializable) makeObject(),
+//                "src/test/resources/org/apache/commons/collections4/data/test/FrozenSetValuedMap.emptyCollection.version4.6.1.obj");
+//        writeExternalFormToDisk((java.io.Serializable) makeFullMap(),
+//                "src/test/resources/org/apache/commons/collections4/data/test/FrozenSetValuedMap.fullCollection.version4.6.1.obj");
+//    }
+
+}
@@ -19,18 +19,23 @@ package org.apache.commons.collections4.properties;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import java.io.BufferedReader;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Properties;
 import java.util.stream.Stream;
 
 import org.apache.commons.collections4.BulkTest;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -112,6 +117,47 @@ public abstract class AbstractPropertiesFactoryTest<T extends Properties> {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource(value = "getParameters")
+    void testLoadParallel(final String fileExtension) throws Exception {
+        assertContents(factory.loadParallel(Paths.get(getPathString(fileExtension))));
+    }
+
+    @Test
+    void testLoadParallelChunks(@TempDir final Path tempDir) throws Exception {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            builder.append("key").append(i % 150).append(" = value").append(i).append(i % 3 == 0 ? "\r\n" : "\n");
+            if (i % 7 == 0) {
+                builder.append("# comment ending with a backslash \\\n");
+            }
+            if (i % 11 == 0) {
+                builder.append("multi").append(i).append(": first \\\n    # not a comment \\\r\n  last\n");
+            }
+            if (i % 13 == 0) {
+                builder.append("esc\\u00e9").append(i).append("\\:\\ x=tab\\there\\\\\n\n   \n");
+            }
+        }
+        builder.append("last\\");
+        final Path path = tempDir.resolve("chunks.properties");
+        Files.write(path, builder.toString().getBytes(StandardCharsets.ISO_8859_1));
+        final T expected = factory.createProperties();
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            expected.load(inputStream);
+        }
+        for (final int chunkSize : new int[] {1, 64, 1000, Integer.MAX_VALUE}) {
+            final T actual = factory.loadParallel(path, chunkSize);
+            assertEquals(expected, actual);
+            if (expected.getClass() != Properties.class) {
+                // the order of the file, or the sorted order
+                assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+            }
+        }
+        final Path empty = tempDir.resolve("empty.properties");
+        Files.write(empty, new byte[0]);
+        assertTrue(factory.loadParallel(empty, 1).isEmpty());
+    }
+
     @ParameterizedTest
     @MethodSource(value = "getParameters")
     void testLoadPath(final String fileExtension) throws Exception {
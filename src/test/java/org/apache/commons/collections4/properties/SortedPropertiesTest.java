@@ -18,12 +18,16 @@ package org.apache.commons.collections4.properties;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.ConcurrentModificationException;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.Map;
@@ -69,6 +73,19 @@ class SortedPropertiesTest {
         return assertAscendingOrder(sortedProperties);
     }
 
+    @Test
+    void testClone() {
+        final SortedProperties sortedProperties = new SortedProperties();
+        sortedProperties.put("b", "2");
+        sortedProperties.put("a", "1");
+        assertEquals("[a, b]", sortedProperties.keySet().toString());
+        final SortedProperties clone = (SortedProperties) sortedProperties.clone();
+        clone.put("c", "3");
+        sortedProperties.remove("a");
+        assertEquals("[a, b, c]", clone.keySet().toString());
+        assertEquals("[b]", sortedProperties.keySet().toString());
+    }
+
     @Test
     void testCompute() {
         final SortedProperties sortedProperties = new SortedProperties();
@@ -169,6 +186,35 @@ class SortedPropertiesTest {
         });
     }
 
+    @Test
+    void testIndexFollowsChanges() {
+        final SortedProperties sortedProperties = new SortedProperties();
+        for (char ch = 'E'; ch >= 'A'; ch--) {
+            sortedProperties.put(String.valueOf(ch), "Value" + ch);
+        }
+        final Set<String> names = sortedProperties.stringPropertyNames();
+        assertSame(names, sortedProperties.stringPropertyNames());
+        assertThrows(UnsupportedOperationException.class, () -> names.add("F"));
+        final Iterator<Object> keys = sortedProperties.keySet().iterator();
+        assertEquals("A", keys.next());
+        keys.remove();
+        assertFalse(sortedProperties.containsKey("A"));
+        assertEquals("[B, C, D, E]", sortedProperties.stringPropertyNames().toString());
+        assertTrue(sortedProperties.values().remove("ValueC"));
+        assertEquals("[B, D, E]", sortedProperties.keySet().toString());
+        sortedProperties.replace("D", Integer.valueOf(4));
+        assertEquals("[B, E]", sortedProperties.stringPropertyNames().toString());
+        sortedProperties.computeIfPresent("E", (k, v) -> null);
+        sortedProperties.putAll(Collections.singletonMap("A", "ValueA"));
+        assertEquals(Arrays.asList("A", "B", "D"), Collections.list(sortedProperties.keys()));
+        assertEquals("[A, B]", sortedProperties.stringPropertyNames().toString());
+        assertThrows(ConcurrentModificationException.class, () -> {
+            for (final Object key : sortedProperties.keySet()) {
+                sortedProperties.put(key + "0", "Value");
+            }
+        });
+    }
+
     @Test
     void testKeys() {
         final SortedProperties sortedProperties = new SortedProperties();
@@ -195,6 +241,18 @@ class SortedPropertiesTest {
         }
     }
 
+    @Test
+    void testKeysSnapshot() {
+        final SortedProperties sortedProperties = new SortedProperties();
+        sortedProperties.put("B", "ValueB");
+        sortedProperties.put("A", "ValueA");
+        final Enumeration<Object> keys = sortedProperties.keys();
+        sortedProperties.put("C", "ValueC");
+        sortedProperties.remove("B");
+        assertEquals(Arrays.asList("A", "B"), Collections.list(keys));
+        assertEquals(Arrays.asList("A", "C"), Collections.list(sortedProperties.keys()));
+    }
+
     @Test
     void testLoadOrderedKeys() throws IOException {
         final SortedProperties sortedProperties = new SortedProperties();
@@ -324,6 +382,18 @@ class SortedPropertiesTest {
         assertTrue(sortedProperties.stringPropertyNames().isEmpty());
     }
 
+    @Test
+    void testStringPropertyNamesAfterValuesRemove() {
+        final SortedProperties sortedProperties = new SortedProperties();
+        sortedProperties.put("1", "1");
+        sortedProperties.put("2", "2");
+        sortedProperties.put("3", "3");
+        assertEquals("[1, 2, 3]", sortedProperties.stringPropertyNames().toString());
+        assertTrue(sortedProperties.values().remove("2"));
+        assertEquals("[1, 3]", sortedProperties.stringPropertyNames().toString());
+        assertEquals(Arrays.asList("1", "3"), Collections.list(sortedProperties.propertyNames()));
+    }
+
     @Test
     void testToString() {
         final SortedProperties sortedProperties = new SortedProperties();
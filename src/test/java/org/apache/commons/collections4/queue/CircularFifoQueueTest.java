@@ -29,6 +29,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Queue;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 
@@ -469,6 +471,22 @@ public class CircularFifoQueueTest<E> extends AbstractQueueTest<E> {
         assertTrue(b3.contains("c"));
     }
 
+    @Test
+    void testSpliteratorWrapped() {
+        final CircularFifoQueue<Integer> fifo = new CircularFifoQueue<>(100);
+        for (int i = 0; i < 250; i++) {
+            fifo.add(i);
+        }
+        fifo.remove();
+        final Spliterator<Integer> spliterator = fifo.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+        assertEquals(49, prefix.getExactSizeIfKnown());
+        assertEquals(50, spliterator.getExactSizeIfKnown());
+
+        assertEquals(new ArrayList<>(fifo), fifo.parallelStream().collect(Collectors.toList()));
+    }
+
 //    void testCreate() throws Exception {
 //        resetEmpty();
 //        writeExternalFormToDisk((java.io.Serializable) getCollection(), "src/test/resources/data/test/CircularFifoQueue.emptyCollection.version4.obj");
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for ConcurrentCircularFifoQueue.
+ */
+public class ConcurrentCircularFifoQueueTest {
+
+    private static List<Integer> consume(final ConcurrentCircularFifoQueue<Integer> queue, final int producers,
+            final int perProducer) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int base = p * perProducer;
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    if (i % 7 == 0) {
+                        queue.offerAll(Arrays.asList(base + i));
+                    } else {
+                        queue.offer(base + i);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        final AtomicBoolean done = new AtomicBoolean();
+        final List<Integer> consumed = new ArrayList<>();
+        final Thread joiner = new Thread(() -> {
+            for (final Thread thread : threads) {
+                try {
+                    thread.join();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            done.set(true);
+        });
+        joiner.start();
+        start.countDown();
+        while (!done.get()) {
+            if (queue.drainTo(consumed, 16) == 0) {
+                final Integer element = queue.poll();
+                if (element != null) {
+                    consumed.add(element);
+                }
+            }
+        }
+        joiner.join();
+        queue.drainTo(consumed);
+        assertTrue(queue.isEmpty());
+        return consumed;
+    }
+
+    @Test
+    void testConstructorExceptions() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentCircularFifoQueue<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentCircularFifoQueue<>(-20, false));
+        assertEquals(32, new ConcurrentCircularFifoQueue<>().maxSize());
+    }
+
+    @Test
+    void testDrainTo() {
+        final ConcurrentCircularFifoQueue<Integer> queue = new ConcurrentCircularFifoQueue<>(5, false);
+        assertEquals(8, queue.offerAll(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8)));
+        assertTrue(queue.isAtFullCapacity());
+        final List<Integer> drained = new ArrayList<>();
+        assertEquals(2, queue.drainTo(drained, 2));
+        assertEquals(Arrays.asList(4, 5), drained);
+        assertEquals(3, queue.size());
+        assertEquals(3, queue.drainTo(drained));
+        assertEquals(Arrays.asList(4, 5, 6, 7, 8), drained);
+        assertEquals(0, queue.drainTo(drained));
+        assertTrue(queue.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> queue.drainTo(queue));
+        assertThrows(NullPointerException.class, () -> queue.drainTo(null));
+    }
+
+    @Test
+    void testMatchesCircularFifoQueue() {
+        final Random random = new Random(42);
+        final ConcurrentCircularFifoQueue<Integer> queue = new ConcurrentCircularFifoQueue<>(7);
+        final Queue<Integer> expected = new CircularFifoQueue<>(7);
+        int next = 0;
+        for (int i = 0; i < 5000; i++) {
+            final int op = random.nextInt(10);
+            if (op < 4) {
+                queue.add(next);
+                expected.add(next++);
+            } else if (op < 5) {
+                final List<Integer> batch = new ArrayList<>();
+                for (int j = random.nextInt(12); j > 0; j--) {
+                    batch.add(next++);
+                }
+                assertEquals(!batch.isEmpty(), queue.addAll(batch));
+                expected.addAll(batch);
+            } else if (op < 8) {
+                assertEquals(expected.poll(), queue.poll());
+            } else if (op < 9) {
+                assertEquals(expected.peek(), queue.peek());
+            } else if (random.nextInt(10) == 0) {
+                queue.clear();
+                expected.clear();
+            }
+            assertEquals(expected.size(), queue.size());
+            assertEquals(new ArrayList<>(expected), new ArrayList<>(queue));
+        }
+    }
+
+    @Test
+    void testMultipleProducers() throws InterruptedException {
+        final int producers = 4;
+        final int perProducer = 20000;
+        final List<Integer> consumed = consume(new ConcurrentCircularFifoQueue<>(64), producers, perProducer);
+        final int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        for (final Integer element : consumed) {
+            final int producer = element / perProducer;
+            assertTrue(element % perProducer > last[producer], "out of order or duplicated: " + element);
+            last[producer] = element % perProducer;
+        }
+        assertTrue(consumed.size() >= 64, "at least the last elements added are kept");
+    }
+
+    @Test
+    void testNullElements() {
+        final ConcurrentCircularFifoQueue<Integer> queue = new ConcurrentCircularFifoQueue<>(3);
+        assertThrows(NullPointerException.class, () -> queue.add(null));
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+        assertThrows(NullPointerException.class, () -> queue.offerAll(Arrays.asList(1, null)));
+        assertThrows(NullPointerException.class, () -> queue.offerAll(null));
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+        assertEquals(0, queue.offerAll(Collections.emptyList()));
+        assertFalse(queue.isFull());
+    }
+
+    @Test
+    void testOverwrite() {
+        final ConcurrentCircularFifoQueue<String> queue = new ConcurrentCircularFifoQueue<>(3);
+        queue.add("a");
+        queue.add("b");
+        queue.add("c");
+        assertTrue(queue.isAtFullCapacity());
+        final Iterator<String> iterator = queue.iterator();
+        queue.add("d");
+        assertEquals("b", iterator.next());
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+        assertEquals(Arrays.asList("b", "c", "d"), new ArrayList<>(queue));
+        assertEquals("b", queue.peek());
+        assertEquals(3, queue.size());
+        assertEquals("b", queue.remove());
+        assertEquals(2, queue.size());
+        assertFalse(queue.isAtFullCapacity());
+    }
+
+    @Test
+    void testSingleProducer() throws InterruptedException {
+        final int count = 50000;
+        final List<Integer> consumed = consume(new ConcurrentCircularFifoQueue<>(16, false), 1, count);
+        int last = -1;
+        for (final Integer element : consumed) {
+            assertTrue(element > last, "out of order or duplicated: " + element);
+            last = element;
+        }
+        assertEquals(count - 1, last);
+    }
+
+}
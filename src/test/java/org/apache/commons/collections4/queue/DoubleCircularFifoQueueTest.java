@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.queue;
+
+import static org.apache.commons.collections4.BulkTest.serializeDeserialize;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for DoubleCircularFifoQueue.
+ */
+public class DoubleCircularFifoQueueTest {
+
+    private static void assertMatches(final CircularFifoQueue<Double> expected, final DoubleCircularFifoQueue queue) {
+        assertEquals(expected.size(), queue.size());
+        assertEquals(expected.isAtFullCapacity(), queue.isAtFullCapacity());
+        assertEquals(expected.toString(), queue.toString());
+        assertEquals(expected.stream().mapToDouble(Double::doubleValue).sum(), queue.sum(), 1e-9);
+        if (!expected.isEmpty()) {
+            assertEquals(expected.stream().mapToDouble(Double::doubleValue).min().getAsDouble(), queue.min());
+            assertEquals(expected.stream().mapToDouble(Double::doubleValue).max().getAsDouble(), queue.max());
+            assertEquals(expected.stream().mapToDouble(Double::doubleValue).average().getAsDouble(), queue.average(),
+                    1e-9);
+            assertEquals(expected.element().doubleValue(), queue.element());
+        }
+    }
+
+    @Test
+    void testAddAll() {
+        final DoubleCircularFifoQueue queue = new DoubleCircularFifoQueue(3);
+        queue.addAll(5, 1, 4.5, 2, 3);
+        assertTrue(queue.isAtFullCapacity());
+        assertArrayEquals(new double[] {4.5, 2, 3}, queue.toArray());
+        assertEquals(2, queue.get(1));
+        assertEquals(9.5, queue.sum());
+        assertEquals(2, queue.min());
+        assertEquals(4.5, queue.max());
+    }
+
+    @Test
+    void testCompensatedSum() {
+        final DoubleCircularFifoQueue queue = new DoubleCircularFifoQueue(2);
+        queue.add(1e17);
+        queue.add(1);
+        queue.add(1);
+        assertEquals(2, queue.sum());
+        final DoubleCircularFifoQueue window = new DoubleCircularFifoQueue(10);
+        for (int i = 0; i < 100_000; i++) {
+            window.add(i % 3 == 0 ? 0.1 : 1e10);
+        }
+        assertEquals(window.stream().sum(), window.sum(), 1e-6);
+    }
+
+    @Test
+    void testConstructorExceptions() {
+        assertThrows(IllegalArgumentException.class, () -> new DoubleCircularFifoQueue(0));
+        assertThrows(IllegalArgumentException.class, () -> new DoubleCircularFifoQueue(-20));
+        assertEquals(32, new DoubleCircularFifoQueue().maxSize());
+    }
+
+    @Test
+    void testEmpty() {
+        final DoubleCircularFifoQueue queue = new DoubleCircularFifoQueue(3);
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.sum());
+        assertThrows(NoSuchElementException.class, queue::min);
+        assertThrows(NoSuchElementException.class, queue::max);
+        assertThrows(NoSuchElementException.class, queue::average);
+        assertThrows(NoSuchElementException.class, queue::element);
+        assertThrows(NoSuchElementException.class, queue::remove);
+        assertThrows(NoSuchElementException.class, () -> queue.get(0));
+    }
+
+    @Test
+    void testMatchesCircularFifoQueue() {
+        final Random random = new Random(42);
+        final DoubleCircularFifoQueue queue = new DoubleCircularFifoQueue(9);
+        final CircularFifoQueue<Double> expected = new CircularFifoQueue<>(9);
+        for (int i = 0; i < 5000; i++) {
+            final int op = random.nextInt(10);
+            if (op < 6) {
+                // few distinct values, to exercise ties
+                final double value = (random.nextInt(20) - 10) / 4.0;
+                queue.add(value);
+                expected.add(value);
+            } else if (op < 9) {
+                if (!expected.isEmpty()) {
+                    assertEquals(expected.remove().doubleValue(), queue.remove());
+                }
+            } else if (random.nextInt(20) == 0) {
+                queue.clear();
+                expected.clear();
+            }
+            assertMatches(expected, queue);
+        }
+    }
+
+    @Test
+    void testNonFiniteValues() {
+        final DoubleCircularFifoQueue queue = new DoubleCircularFifoQueue(3);
+        queue.addAll(1, Double.POSITIVE_INFINITY, 2);
+        assertEquals(Double.POSITIVE_INFINITY, queue.sum());
+        assertEquals(Double.POSITIVE_INFINITY, queue.max());
+        queue.add(Double.NEGATIVE_INFINITY);
+        assertEquals(Double.NaN, queue.sum());
+        assertEquals(Double.NEGATIVE_INFINITY, queue.min());
+        queue.add(Double.NaN);
+        assertEquals(Double.NaN, queue.min());
+        assertEquals(Double.NaN, queue.max());
+        queue.addAll(4, -0.0, 0.0);
+        assertEquals(4, queue.sum());
+        assertEquals(-0.0, queue.min());
+        assertEquals(4, queue.max());
+        queue.addAll(5, 6);
+        assertEquals(0.0, queue.min());
+    }
+
+    @Test
+    void testSerialization() throws Exception {
+        final DoubleCircularFifoQueue queue = new DoubleCircularFifoQueue(4);
+        queue.addAll(3, 9, -2.5, 6, 1);
+        final DoubleCircularFifoQueue copy = serializeDeserialize(queue);
+        assertEquals(4, copy.maxSize());
+        assertArrayEquals(queue.toArray(), copy.toArray());
+        assertEquals(13.5, copy.sum());
+        assertEquals(-2.5, copy.min());
+        assertEquals(9, copy.max());
+    }
+
+}
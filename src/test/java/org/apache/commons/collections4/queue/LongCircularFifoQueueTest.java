@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.collections4.queue;
+
+import static org.apache.commons.collections4.BulkTest.serializeDeserialize;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for LongCircularFifoQueue.
+ */
+public class LongCircularFifoQueueTest {
+
+    private static void assertMatches(final CircularFifoQueue<Long> expected, final LongCircularFifoQueue queue) {
+        assertEquals(expected.size(), queue.size());
+        assertEquals(expected.isAtFullCapacity(), queue.isAtFullCapacity());
+        assertEquals(expected.toString(), queue.toString());
+        assertEquals(expected.stream().mapToLong(Long::longValue).sum(), queue.sum());
+        if (!expected.isEmpty()) {
+            assertEquals(expected.stream().mapToLong(Long::longValue).min().getAsLong(), queue.min());
+            assertEquals(expected.stream().mapToLong(Long::longValue).max().getAsLong(), queue.max());
+            assertEquals(expected.stream().mapToLong(Long::longValue).average().getAsDouble(), queue.average(), 1e-9);
+            assertEquals(expected.element().longValue(), queue.element());
+        }
+    }
+
+    @Test
+    void testAddAll() {
+        final LongCircularFifoQueue queue = new LongCircularFifoQueue(3);
+        queue.addAll(5, 1, 4, 2, 3);
+        assertTrue(queue.isAtFullCapacity());
+        assertFalse(queue.isFull());
+        assertArrayEquals(new long[] {4, 2, 3}, queue.toArray());
+        assertEquals(2, queue.get(1));
+        assertEquals(9, queue.sum());
+        assertEquals(2, queue.min());
+        assertEquals(4, queue.max());
+        assertEquals(3, queue.average());
+    }
+
+    @Test
+    void testConstructorExceptions() {
+        assertThrows(IllegalArgumentException.class, () -> new LongCircularFifoQueue(0));
+        assertThrows(IllegalArgumentException.class, () -> new LongCircularFifoQueue(-20));
+        assertEquals(32, new LongCircularFifoQueue().maxSize());
+    }
+
+    @Test
+    void testEmpty() {
+        final LongCircularFifoQueue queue = new LongCircularFifoQueue(3);
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.sum());
+        assertEquals("[]", queue.toString());
+        assertThrows(NoSuchElementException.class, queue::min);
+        assertThrows(NoSuchElementException.class, queue::max);
+        assertThrows(NoSuchElementException.class, queue::average);
+        assertThrows(NoSuchElementException.class, queue::element);
+        assertThrows(NoSuchElementException.class, queue::remove);
+        assertThrows(NoSuchElementException.class, () -> queue.get(0));
+        queue.add(7);
+        assertThrows(NoSuchElementException.class, () -> queue.get(1));
+        assertThrows(NoSuchElementException.class, () -> queue.get(-1));
+    }
+
+    @Test
+    void testMatchesCircularFifoQueue() {
+        final Random random = new Random(42);
+        final LongCircularFifoQueue queue = new LongCircularFifoQueue(9);
+        final CircularFifoQueue<Long> expected = new CircularFifoQueue<>(9);
+        for (int i = 0; i < 5000; i++) {
+            final int op = random.nextInt(10);
+            if (op < 6) {
+                // few distinct values, to exercise ties
+                final long value = random.nextInt(20) - 10;
+                queue.add(value);
+                expected.add(value);
+            } else if (op < 9) {
+                if (!expected.isEmpty()) {
+                    assertEquals(expected.remove().longValue(), queue.remove());
+                }
+            } else if (random.nextInt(20) == 0) {
+                queue.clear();
+                expected.clear();
+            }
+            assertMatches(expected, queue);
+        }
+    }
+
+    @Test
+    void testSerialization() throws Exception {
+        final LongCircularFifoQueue queue = new LongCircularFifoQueue(4);
+        queue.addAll(3, 9, -2, 6, 1);
+        final LongCircularFifoQueue copy = serializeDeserialize(queue);
+        assertEquals(4, copy.maxSize());
+        assertArrayEquals(queue.toArray(), copy.toArray());
+        assertEquals(14, copy.sum());
+        assertEquals(-2, copy.min());
+        assertEquals(9, copy.max());
+    }
+
+}
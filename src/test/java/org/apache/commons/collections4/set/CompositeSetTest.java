@@ -28,6 +28,10 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.apache.commons.collections4.set.CompositeSet.SetMutator;
 import org.junit.jupiter.api.Test;
@@ -38,6 +42,29 @@ import org.junit.jupiter.api.Test;
  */
 public class CompositeSetTest<E> extends AbstractSetTest<E> {
 
+    /** An element that counts how many times its hash code is computed. */
+    private static final class Key {
+
+        private final int value;
+
+        private int hashes;
+
+        Key(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key && ((Key) obj).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            hashes++;
+            return value;
+        }
+    }
+
     /** An empty-iterating set that reports {@code Integer.MAX_VALUE} elements. */
     private static Set<String> maxSizeSet() {
         return new AbstractSet<String>() {
@@ -131,6 +158,101 @@ public class CompositeSetTest<E> extends AbstractSetTest<E> {
                 "Expecting UnsupportedOperationException.");
     }
 
+    @Test
+    void testCachedContains() {
+        final CompositeSet<Key> set = new CompositeSet<>();
+        for (int i = 0; i < 20; i++) {
+            set.addComposited(IntStream.range(i * 1000, i * 1000 + 500).mapToObj(Key::new)
+                    .collect(Collectors.toCollection(HashSet::new)));
+        }
+        set.setCached(true);
+        assertTrue(set.isCached());
+        assertEquals(10000, set.size());
+        int lookups = 0;
+        for (int i = 0; i < 20000; i += 7) {
+            final Key key = new Key(i);
+            assertEquals(i % 1000 < 500, set.contains(key));
+            // one hash for the Bloom filters, then one per set queried
+            lookups += key.hashes - 1;
+        }
+        // most of the sets are skipped
+        assertTrue(lookups < 20000 / 7 * 2, "lookups: " + lookups);
+        final Set<Key> added = new HashSet<>();
+        added.add(new Key(-1));
+        set.setMutator(new EmptySetMutator<>(set.getSets().get(3)));
+        set.addAll(added);
+        assertTrue(set.contains(new Key(-1)));
+        assertTrue(set.remove(new Key(-1)));
+        assertFalse(set.contains(new Key(-1)));
+        assertEquals(10000, set.size());
+        // a direct addition is seen once invalidated
+        set.getSets().get(5).add(new Key(-2));
+        assertEquals(10000, set.size());
+        set.invalidate();
+        assertEquals(10001, set.size());
+        assertTrue(set.contains(new Key(-2)));
+        set.removeComposited(set.getSets().get(5));
+        assertFalse(set.contains(new Key(-2)));
+        assertFalse(set.contains(new Key(5000)));
+        assertTrue(set.contains(new Key(6000)));
+        assertEquals(9500, set.size());
+    }
+
+    @Test
+    void testCachedContainsNotHashBased() {
+        final Set<String> sorted = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        sorted.add("abc");
+        final Set<String> hashed = new HashSet<>();
+        hashed.add("def");
+        final CompositeSet<String> set = new CompositeSet<>(sorted, hashed);
+        set.setCached(true);
+        assertTrue(set.contains("ABC"));
+        assertTrue(set.contains("aBc"));
+        assertTrue(set.contains("def"));
+        assertFalse(set.contains("DEF"));
+        assertTrue(set.remove("ABC"));
+        assertFalse(set.contains("abc"));
+    }
+
+    @Test
+    void testCachedMutatorFailure() {
+        final Set<String> one = new HashSet<>(Collections.singleton("a"));
+        final Set<String> two = new HashSet<>(Collections.singleton("b"));
+        final CompositeSet<String> set = new CompositeSet<>(one, two);
+        set.setCached(true);
+        assertEquals(2, set.size());
+        assertFalse(set.contains("c"));
+        set.setMutator(new SetMutator<String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public boolean add(final CompositeSet<String> composite, final List<Set<String>> collections, final String obj) {
+                collections.get(0).add(obj);
+                throw new IllegalStateException();
+            }
+
+            @Override
+            public boolean addAll(final CompositeSet<String> composite, final List<Set<String>> collections,
+                    final Collection<? extends String> coll) {
+                // changes a set but reports no change
+                collections.get(1).addAll(coll);
+                return false;
+            }
+
+            @Override
+            public void resolveCollision(final CompositeSet<String> comp, final Set<String> existing, final Set<String> added,
+                    final Collection<String> intersects) {
+                throw new IllegalArgumentException();
+            }
+        });
+        assertThrows(IllegalStateException.class, () -> set.add("c"));
+        assertEquals(3, set.size());
+        assertTrue(set.contains("c"));
+        assertFalse(set.addAll(Collections.singleton("d")));
+        assertEquals(4, set.size());
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     void testContains() {
@@ -219,6 +341,18 @@ public class CompositeSetTest<E> extends AbstractSetTest<E> {
         assertEquals(Integer.MAX_VALUE, set.size());
     }
 
+    @Test
+    void testSpliterator() {
+        final CompositeSet<Integer> set = new CompositeSet<>();
+        for (int i = 0; i < 10; i++) {
+            set.addComposited(IntStream.range(i * 100, i * 100 + 50).boxed().collect(Collectors.toSet()));
+        }
+        assertTrue(set.spliterator().hasCharacteristics(Spliterator.DISTINCT | Spliterator.SIZED));
+        assertEquals(500, set.spliterator().getExactSizeIfKnown());
+        assertEquals(set, set.parallelStream().collect(Collectors.toSet()));
+        assertEquals(500, set.parallelStream().distinct().count());
+    }
+
 //    void testCreate() throws Exception {
 //        resetEmpty();
 //        writeExternalFormToDisk((java.io.Serializable) getCollection(), "src/test/resources/data/test/CompositeSet.emptyCollection.version4.obj");
@@ -33,6 +33,7 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.Spliterator;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -40,6 +41,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.Trie;
 import org.apache.commons.collections4.map.AbstractSortedMapTest;
@@ -684,6 +686,23 @@ public class PatriciaTrieTest<V> extends AbstractSortedMapTest<String, V> {
         assertTrue(trie.prefixMap(prefixString).containsKey(longerString));
     }
 
+    @Test
+    void testSpliterator() {
+        final PatriciaTrie<Integer> trie = new PatriciaTrie<>();
+        for (int i = 0; i < 2000; i++) {
+            trie.put(Integer.toString(i * 7919, 36), i);
+        }
+        trie.put("", -1);
+        final Spliterator<String> spliterator = trie.keySet().spliterator();
+        assertEquals(trie.size(), spliterator.getExactSizeIfKnown());
+        final Spliterator<String> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+
+        assertEquals(new ArrayList<>(trie.keySet()), trie.keySet().parallelStream().collect(Collectors.toList()));
+        assertEquals(new ArrayList<>(trie.values()), trie.values().parallelStream().collect(Collectors.toList()));
+        assertEquals(new ArrayList<>(trie.entrySet()), trie.entrySet().parallelStream().collect(Collectors.toList()));
+    }
+
     @Test
     void testSubmap() {
         final PatriciaTrie<String> trie = new PatriciaTrie<>();